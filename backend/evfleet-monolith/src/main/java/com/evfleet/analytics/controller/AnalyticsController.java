@@ -1,25 +1,38 @@
 package com.evfleet.analytics.controller;
 
 import com.evfleet.analytics.dto.*;
+import com.evfleet.analytics.model.HistoricalMetric.MetricType;
+import com.evfleet.analytics.model.HistoricalMetric.PeriodType;
 import com.evfleet.analytics.service.AnalyticsService;
+import com.evfleet.analytics.service.BatteryDegradationService;
+import com.evfleet.analytics.service.HistoricalDataService;
 import com.evfleet.analytics.service.TCOAnalysisService;
 import com.evfleet.analytics.service.EnergyAnalyticsService;
+import com.evfleet.analytics.service.EnergyAnalyticsBatchEngine;
+import com.evfleet.analytics.service.EnergyAnalyticsBatchEngine.BackfillJob;
+import com.evfleet.analytics.service.EfficiencyLeaderboard.Metric;
 import com.evfleet.analytics.service.ReportGenerationService;
 import com.evfleet.common.dto.ApiResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Analytics Controller
@@ -38,7 +51,10 @@ public class AnalyticsController {
     private final AnalyticsService analyticsService;
     private final TCOAnalysisService tcoAnalysisService;
     private final EnergyAnalyticsService energyAnalyticsService;
+    private final EnergyAnalyticsBatchEngine energyAnalyticsBatchEngine;
     private final ReportGenerationService reportGenerationService;
+    private final HistoricalDataService historicalDataService;
+    private final BatteryDegradationService batteryDegradationService;
 
     @GetMapping("/fleet")
     @Operation(summary = "Get fleet analytics summary (default: today)")
@@ -188,6 +204,23 @@ public class AnalyticsController {
         return ResponseEntity.ok(ApiResponse.success("TCO trend retrieved successfully", trend));
     }
 
+    /**
+     * Trend analysis for several historical metrics in one call
+     */
+    @GetMapping("/trends")
+    @Operation(summary = "Get trend analysis for several metrics (all metrics when none given)")
+    public ResponseEntity<ApiResponse<Map<MetricType, HistoricalDataService.TrendAnalysisResponse>>> getTrends(
+            @RequestParam Long companyId,
+            @RequestParam(required = false) List<MetricType> metrics,
+            @RequestParam(defaultValue = "MONTHLY") PeriodType periodType,
+            @RequestParam(defaultValue = "12") int periods) {
+        log.info("GET /api/v1/analytics/trends - companyId: {}, metrics: {}, periodType: {}, periods: {}",
+                companyId, metrics, periodType, periods);
+        Map<MetricType, HistoricalDataService.TrendAnalysisResponse> trends =
+                historicalDataService.calculateTrends(companyId, metrics, periodType, periods);
+        return ResponseEntity.ok(ApiResponse.success("Trends retrieved successfully", trends));
+    }
+
     /**
      * E5: Get energy consumption for a vehicle
      */
@@ -259,55 +292,151 @@ public class AnalyticsController {
         return ResponseEntity.ok(ApiResponse.success("Energy trend retrieved successfully", trend));
     }
 
+    /**
+     * E5: Efficiency leaderboard for a company and month
+     */
+    @GetMapping("/energy-leaderboard")
+    @Operation(summary = "Get the vehicle efficiency leaderboard for a month")
+    public ResponseEntity<ApiResponse<EfficiencyLeaderboardResponse>> getEfficiencyLeaderboard(
+            @RequestParam Long companyId,
+            @RequestParam(required = false) YearMonth month,
+            @RequestParam(defaultValue = "ENERGY_EFFICIENCY") Metric metric,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "50,75,90") double[] percentiles) {
+        log.info("GET /api/v1/analytics/energy-leaderboard - companyId: {}, month: {}, metric: {}",
+                companyId, month, metric);
+
+        if (month == null) month = YearMonth.now();
+        if (limit < 1 || limit > 500) {
+            throw new IllegalArgumentException("Limit must be between 1 and 500");
+        }
+
+        EfficiencyLeaderboardResponse leaderboard = energyAnalyticsService.getEfficiencyLeaderboard(
+                companyId, month, metric, limit, percentiles);
+        return ResponseEntity.ok(ApiResponse.success("Efficiency leaderboard retrieved successfully", leaderboard));
+    }
+
+    /**
+     * E5: A vehicle's place on the efficiency leaderboard
+     */
+    @GetMapping("/energy-leaderboard/vehicle/{vehicleId}")
+    @Operation(summary = "Get a vehicle's efficiency rank and percentile for a month")
+    public ResponseEntity<ApiResponse<EfficiencyLeaderboardResponse.Entry>> getVehicleStanding(
+            @PathVariable Long vehicleId,
+            @RequestParam(required = false) YearMonth month,
+            @RequestParam(defaultValue = "ENERGY_EFFICIENCY") Metric metric) {
+        log.info("GET /api/v1/analytics/energy-leaderboard/vehicle/{} - month: {}, metric: {}",
+                vehicleId, month, metric);
+
+        if (month == null) month = YearMonth.now();
+
+        EfficiencyLeaderboardResponse.Entry standing = energyAnalyticsService.getVehicleStanding(vehicleId, month, metric);
+        return ResponseEntity.ok(ApiResponse.success("Vehicle standing retrieved successfully", standing));
+    }
+
+    /**
+     * E5: Start recomputing daily energy analytics for all EVs over a date range (days in parallel)
+     */
+    @PostMapping("/energy/backfill")
+    @Operation(summary = "Start a backfill of daily energy analytics for all electric vehicles")
+    public ResponseEntity<ApiResponse<BackfillJob>> backfillEnergyAnalytics(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        log.info("POST /api/v1/analytics/energy/backfill - startDate: {}, endDate: {}", startDate, endDate);
+
+        BackfillJob job = energyAnalyticsBatchEngine.backfill(startDate, endDate);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Energy analytics backfill started", job));
+    }
+
+    /**
+     * Progress of an energy analytics backfill
+     */
+    @GetMapping("/energy/backfill/{jobId}")
+    @Operation(summary = "Get the progress of an energy analytics backfill")
+    public ResponseEntity<ApiResponse<BackfillJob>> getEnergyBackfill(@PathVariable String jobId) {
+        log.info("GET /api/v1/analytics/energy/backfill/{}", jobId);
+
+        return ResponseEntity.ok(ApiResponse.success(energyAnalyticsBatchEngine.getBackfill(jobId)));
+    }
+
+    /**
+     * Battery degradation fit and end-of-life projection of a vehicle
+     */
+    @GetMapping("/battery-degradation/vehicle/{vehicleId}")
+    @Operation(summary = "Get a vehicle's battery degradation rate and projected end of life")
+    public ResponseEntity<ApiResponse<BatteryDegradationResponse>> getBatteryDegradation(@PathVariable Long vehicleId) {
+        log.info("GET /api/v1/analytics/battery-degradation/vehicle/{}", vehicleId);
+
+        BatteryDegradationResponse degradation = batteryDegradationService.getDegradation(vehicleId);
+        return ResponseEntity.ok(ApiResponse.success("Battery degradation retrieved successfully", degradation));
+    }
+
+    /**
+     * Packs projected to reach end-of-life SOH within the next months, soonest first
+     */
+    @GetMapping("/battery-degradation/end-of-life")
+    @Operation(summary = "Get battery packs projected to reach end of life within the next months")
+    public ResponseEntity<ApiResponse<List<BatteryDegradationResponse>>> getPacksReachingEndOfLife(
+            @RequestParam Long companyId,
+            @RequestParam(defaultValue = "6") int months) {
+        log.info("GET /api/v1/analytics/battery-degradation/end-of-life - companyId: {}, months: {}",
+                companyId, months);
+
+        List<BatteryDegradationResponse> packs = batteryDegradationService.getPacksReachingEndOfLife(companyId, months);
+        return ResponseEntity.ok(ApiResponse.success("Packs reaching end of life retrieved successfully", packs));
+    }
+
+    /**
+     * Refit battery degradation for the whole fleet now instead of waiting for the nightly run.
+     * The refit runs in the background; the summary is logged when it finishes.
+     */
+    @PostMapping("/battery-degradation/refit")
+    @Operation(summary = "Refit battery degradation models for all vehicles")
+    public ResponseEntity<ApiResponse<Void>> refitBatteryDegradation() {
+        log.info("POST /api/v1/analytics/battery-degradation/refit");
+
+        batteryDegradationService.refitAll();
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Battery degradation refit started"));
+    }
+
     /**
      * E6: Generate comprehensive vehicle report (PDF)
+     * Streamed to the response; headers are set only once the document is ready
      */
     @PostMapping("/reports/vehicle")
     @Operation(summary = "Generate comprehensive vehicle report in PDF format")
-    public ResponseEntity<byte[]> generateVehicleReport(@RequestBody VehicleReportRequest request) {
+    public void generateVehicleReport(@RequestBody VehicleReportRequest request,
+                                      HttpServletResponse response) throws IOException {
         log.info("POST /api/v1/analytics/reports/vehicle - vehicleId: {}", request.getVehicleId());
         
-        try {
-            byte[] pdfBytes = reportGenerationService.generateVehicleReport(request);
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_PDF);
-            headers.setContentDispositionFormData("attachment", "vehicle-report-" + request.getVehicleId() + ".pdf");
-            
-            return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(pdfBytes);
-        } catch (IOException e) {
-            log.error("Error generating vehicle report", e);
-            return ResponseEntity.internalServerError().build();
-        }
+        reportGenerationService.writeVehicleReport(request,
+                () -> pdfResponse(response, "vehicle-report-" + request.getVehicleId() + ".pdf"));
     }
 
     /**
      * E6: Generate genealogy report (event timeline PDF)
+     * Streamed to the response; headers are set only once the document is ready
      */
     @GetMapping("/reports/genealogy/{vehicleId}")
     @Operation(summary = "Generate vehicle genealogy report (event timeline) in PDF format")
-    public ResponseEntity<byte[]> generateGenealogyReport(
+    public void generateGenealogyReport(
             @PathVariable Long vehicleId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            HttpServletResponse response) throws IOException {
         log.info("GET /api/v1/analytics/reports/genealogy/{} - vehicleId: {}, startDate: {}, endDate: {}", 
                 vehicleId, vehicleId, startDate, endDate);
         
-        try {
-            byte[] pdfBytes = reportGenerationService.generateGenealogyReport(vehicleId, startDate, endDate);
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_PDF);
-            headers.setContentDispositionFormData("attachment", "genealogy-report-" + vehicleId + ".pdf");
-            
-            return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(pdfBytes);
-        } catch (IOException e) {
-            log.error("Error generating genealogy report", e);
-            return ResponseEntity.internalServerError().build();
-        }
+        reportGenerationService.writeGenealogyReport(vehicleId, startDate, endDate,
+                () -> pdfResponse(response, "genealogy-report-" + vehicleId + ".pdf"));
+    }
+
+    private static OutputStream pdfResponse(HttpServletResponse response, String filename) throws IOException {
+        response.setContentType(MediaType.APPLICATION_PDF_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(filename).build().toString());
+        return response.getOutputStream();
     }
 }
@@ -0,0 +1,76 @@
+package com.evfleet.analytics.controller;
+
+import com.evfleet.analytics.service.BulkExportService;
+import com.evfleet.analytics.service.BulkExportService.ExportTable;
+import com.evfleet.common.dto.ApiResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Bulk Export Controller
+ *
+ * Streams telemetry, trips, charging sessions and historical metrics as
+ * gzip-compressed CSV for warehouse loading. Rows are ordered by id; to resume
+ * an interrupted download, repeat the request with {@code afterId} set to the
+ * last id received and the {@code upToId} returned by the first response.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/v1/analytics/exports")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Bulk Export", description = "Bulk data export APIs")
+public class BulkExportController {
+
+    private static final String UP_TO_ID_HEADER = "X-Export-Up-To-Id";
+
+    private final BulkExportService bulkExportService;
+
+    @GetMapping("/{table}/snapshot")
+    @Operation(summary = "Get the id bound to use for a consistent (resumable) export")
+    public ResponseEntity<ApiResponse<Map<String, Long>>> snapshot(@PathVariable String table) {
+        long upToId = bulkExportService.snapshotUpperId(ExportTable.fromPath(table));
+        return ResponseEntity.ok(ApiResponse.success(Map.of("upToId", upToId)));
+    }
+
+    @GetMapping("/{table}")
+    @Operation(summary = "Export a table as gzip-compressed CSV",
+               description = "Supported tables: telemetry-snapshots, trips, charging-sessions, historical-metrics")
+    public void export(
+            @PathVariable String table,
+            @RequestParam Long companyId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "0") long afterId,
+            @RequestParam(required = false) Long upToId,
+            HttpServletResponse response) throws IOException {
+        ExportTable exportTable = ExportTable.fromPath(table);
+        long upperId = upToId != null ? upToId : bulkExportService.snapshotUpperId(exportTable);
+        log.info("GET /api/v1/analytics/exports/{} - company: {}, {} to {}, id {}..{}",
+                table, companyId, startDate, endDate, afterId, upperId);
+
+        String filename = exportTable.getTableName() + "-" + companyId + "-" + startDate + "-" + endDate
+                + (afterId > 0 ? "-after-" + afterId : "") + ".csv.gz";
+        bulkExportService.exportCsv(exportTable, companyId, startDate, endDate, afterId, upperId, () -> {
+            response.setContentType("application/gzip");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.attachment().filename(filename).build().toString());
+            response.setHeader(UP_TO_ID_HEADER, String.valueOf(upperId));
+            return response.getOutputStream();
+        });
+    }
+}
@@ -3,15 +3,20 @@ package com.evfleet.analytics.controller;
 import com.evfleet.analytics.dto.DashboardMetricsResponse;
 import com.evfleet.analytics.dto.LiveVehiclePositionResponse;
 import com.evfleet.analytics.service.DashboardMetricsService;
+import com.evfleet.analytics.service.LivePositionStreamService;
+import com.evfleet.analytics.service.VehicleClusterIndex;
 import com.evfleet.common.dto.ApiResponse;
+import com.evfleet.common.exception.InvalidInputException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.concurrent.TimeUnit;
 
@@ -24,6 +29,7 @@ import java.util.concurrent.TimeUnit;
  * Performance Optimizations:
  * - 5-minute cache TTL for summary metrics
  * - 30-second cache TTL for live positions
+ * - Server-Sent Events stream of position deltas for live maps
  * - ETag support for conditional requests (304 Not Modified)
  * - Cache-Control headers for browser caching
  * - Lightweight DTOs for minimal payload size
@@ -39,6 +45,7 @@ import java.util.concurrent.TimeUnit;
 public class DashboardMetricsController {
 
     private final DashboardMetricsService dashboardMetricsService;
+    private final LivePositionStreamService livePositionStreamService;
 
     // ========== SUMMARY METRICS ==========
 
@@ -79,13 +86,31 @@ public class DashboardMetricsController {
 
     @GetMapping("/live")
     @Operation(summary = "Get real-time vehicle positions",
-               description = "Returns live vehicle positions with 30-second cache TTL for map rendering")
+               description = "Returns live vehicle positions with 30-second cache TTL for map rendering. " +
+                       "With bbox (minLat, minLng, maxLat, maxLng) and zoom, returns only clusters and vehicles in view.")
     public ResponseEntity<ApiResponse<LiveVehiclePositionResponse>> getLivePositions(
-            @RequestParam Long companyId) {
-        
-        log.debug("GET /api/v1/dashboard/live - companyId: {}", companyId);
-        
-        LiveVehiclePositionResponse positions = dashboardMetricsService.getLivePositions(companyId);
+            @RequestParam Long companyId,
+            @RequestParam(required = false) Double minLat,
+            @RequestParam(required = false) Double minLng,
+            @RequestParam(required = false) Double maxLat,
+            @RequestParam(required = false) Double maxLng,
+            @RequestParam(required = false) Integer zoom) {
+        
+        log.debug("GET /api/v1/dashboard/live - companyId: {}, zoom: {}", companyId, zoom);
+        
+        LiveVehiclePositionResponse positions;
+        boolean hasBbox = minLat != null || minLng != null || maxLat != null || maxLng != null;
+        if (hasBbox && (minLat == null || minLng == null || maxLat == null || maxLng == null)) {
+            throw new InvalidInputException("bbox", "requires minLat, minLng, maxLat and maxLng");
+        }
+        if (hasBbox || zoom != null) {
+            positions = dashboardMetricsService.getLivePositionsInView(companyId,
+                    hasBbox ? minLat : -90, hasBbox ? minLng : -180,
+                    hasBbox ? maxLat : 90, hasBbox ? maxLng : 180,
+                    zoom != null ? zoom : VehicleClusterIndex.MAX_ZOOM + 1);
+        } else {
+            positions = dashboardMetricsService.getLivePositions(companyId);
+        }
         
         return ResponseEntity.ok()
                 .cacheControl(CacheControl.maxAge(30, TimeUnit.SECONDS).cachePublic())
@@ -96,9 +121,25 @@ public class DashboardMetricsController {
     @Operation(summary = "Get live positions by company ID (path parameter)",
                description = "Alternative endpoint using path parameter for company ID")
     public ResponseEntity<ApiResponse<LiveVehiclePositionResponse>> getLivePositionsByPath(
-            @PathVariable Long companyId) {
+            @PathVariable Long companyId,
+            @RequestParam(required = false) Double minLat,
+            @RequestParam(required = false) Double minLng,
+            @RequestParam(required = false) Double maxLat,
+            @RequestParam(required = false) Double maxLng,
+            @RequestParam(required = false) Integer zoom) {
+        
+        return getLivePositions(companyId, minLat, minLng, maxLat, maxLng, zoom);
+    }
+
+    @GetMapping(value = "/live/{companyId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Subscribe to live position updates",
+               description = "Server-Sent Events stream. Sends a snapshot frame, then delta frames with only changed " +
+                       "vehicles. Coordinates are integers scaled by the frame's 'scale' field.")
+    public SseEmitter streamLivePositions(@PathVariable Long companyId) {
+        
+        log.debug("GET /api/v1/dashboard/live/{}/stream", companyId);
         
-        return getLivePositions(companyId);
+        return livePositionStreamService.subscribe(companyId);
     }
 
     // ========== CACHE MANAGEMENT ==========
@@ -0,0 +1,88 @@
+package com.evfleet.analytics.controller;
+
+import com.evfleet.analytics.dto.ReportJobResponse;
+import com.evfleet.analytics.dto.VehicleReportRequest;
+import com.evfleet.analytics.service.ReportJobService;
+import com.evfleet.analytics.service.ReportJobService.ReportResult;
+import com.evfleet.common.dto.ApiResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Report Job Controller
+ *
+ * Asynchronous report generation: submit a report, poll the job, then download
+ * the stored result. Identical submissions return the same job while the
+ * underlying data is unchanged.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/v1/analytics/report-jobs")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Report Jobs", description = "Asynchronous report generation APIs")
+public class ReportJobController {
+
+    private final ReportJobService reportJobService;
+
+    @PostMapping("/vehicle")
+    @Operation(summary = "Submit a vehicle PDF report")
+    public ResponseEntity<ApiResponse<ReportJobResponse>> submitVehicleReport(
+            @RequestBody VehicleReportRequest request) {
+        log.info("POST /api/v1/analytics/report-jobs/vehicle - vehicle: {}", request.getVehicleId());
+        ReportJobResponse job = reportJobService.submitVehicleReport(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Report job accepted", job));
+    }
+
+    @PostMapping("/genealogy/{vehicleId}")
+    @Operation(summary = "Submit a vehicle genealogy PDF report")
+    public ResponseEntity<ApiResponse<ReportJobResponse>> submitGenealogyReport(
+            @PathVariable Long vehicleId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        log.info("POST /api/v1/analytics/report-jobs/genealogy/{} - {} to {}", vehicleId, startDate, endDate);
+        ReportJobResponse job = reportJobService.submitGenealogyReport(vehicleId, startDate, endDate);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Report job accepted", job));
+    }
+
+    @PostMapping("/esg/{reportId}/csv")
+    @Operation(summary = "Submit an ESG report CSV export")
+    public ResponseEntity<ApiResponse<ReportJobResponse>> submitEsgCsvExport(@PathVariable Long reportId) {
+        log.info("POST /api/v1/analytics/report-jobs/esg/{}/csv", reportId);
+        ReportJobResponse job = reportJobService.submitEsgCsvExport(reportId);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Report job accepted", job));
+    }
+
+    @GetMapping("/{jobId}")
+    @Operation(summary = "Get report job status")
+    public ResponseEntity<ApiResponse<ReportJobResponse>> getJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(ApiResponse.success(reportJobService.getJob(jobId)));
+    }
+
+    @GetMapping("/{jobId}/download")
+    @Operation(summary = "Download a completed report")
+    public ResponseEntity<Resource> download(@PathVariable String jobId) {
+        log.info("GET /api/v1/analytics/report-jobs/{}/download", jobId);
+        ReportResult result = reportJobService.getResult(jobId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(result.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + result.downloadName() + "\"")
+                .body(result.resource());
+    }
+}
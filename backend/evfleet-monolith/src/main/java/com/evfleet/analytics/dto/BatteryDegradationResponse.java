@@ -0,0 +1,61 @@
+package com.evfleet.analytics.dto;
+
+import com.evfleet.analytics.model.BatteryDegradationFit;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Battery Degradation Response DTO
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatteryDegradationResponse {
+
+    private Long vehicleId;
+    private Long companyId;
+    private Integer sampleCount;
+
+    // Latest reading
+    private Double currentSoh;  // %
+    private Integer currentCycleCount;
+    private LocalDateTime lastRecordedAt;
+
+    // Degradation rates
+    private Double sohLossPerYear;  // percentage points
+    private Double sohLossPer1000Cycles;  // percentage points
+    private Double rSquared;
+
+    // End-of-life projection
+    private Double eolSoh;  // %
+    private LocalDate projectedEolDate;
+    private Integer projectedEolCycles;
+    private LocalDateTime fittedAt;
+
+    public static BatteryDegradationResponse fromEntity(BatteryDegradationFit fit) {
+        return BatteryDegradationResponse.builder()
+                .vehicleId(fit.getVehicleId())
+                .companyId(fit.getCompanyId())
+                .sampleCount(fit.getSampleCount())
+                .currentSoh(fit.getLastSoh())
+                .currentCycleCount(fit.getLastCycleCount())
+                .lastRecordedAt(fit.getLastRecordedAt())
+                .sohLossPerYear(fit.getSlopePerDay() != null ? -fit.getSlopePerDay() * 365 : null)
+                .sohLossPer1000Cycles(fit.getSlopePerCycle() != null ? -fit.getSlopePerCycle() * 1000 : null)
+                .rSquared(fit.getRSquared())
+                .eolSoh(fit.getEolSoh())
+                .projectedEolDate(fit.getProjectedEolDate())
+                .projectedEolCycles(fit.getProjectedEolCycles())
+                .fittedAt(fit.getFittedAt())
+                .build();
+    }
+}
@@ -0,0 +1,50 @@
+package com.evfleet.analytics.dto;
+
+import com.evfleet.analytics.service.EfficiencyLeaderboard.Metric;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Efficiency Leaderboard Response DTO
+ *
+ * Vehicle rankings for one company, month and metric
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EfficiencyLeaderboardResponse {
+
+    private Long companyId;
+    private String month;  // yyyy-MM
+    private Metric metric;
+    private boolean lowerIsBetter;
+    private int rankedVehicles;
+    private List<Entry> entries;
+    private Map<String, BigDecimal> percentiles;  // e.g. "p50" -> metric value
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Entry {
+        private int rank;
+        private BigDecimal percentile;  // share of ranked vehicles this one is at least as good as
+        private Long vehicleId;
+        private String vehicleName;
+        private BigDecimal value;
+        private BigDecimal energyConsumed;  // kWh
+        private BigDecimal distance;  // km
+        private BigDecimal chargingCost;
+        private Integer chargingSessions;
+    }
+}
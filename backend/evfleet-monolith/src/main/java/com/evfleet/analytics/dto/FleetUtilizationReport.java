@@ -0,0 +1,31 @@
+package com.evfleet.analytics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Fleet Utilization Report
+ * Per-vehicle utilization of a company over a date range; the cached unit of
+ * utilization reports
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FleetUtilizationReport {
+
+    private Long companyId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private LocalDateTime computedAt;
+    private List<VehicleUtilizationResponse> vehicles;
+}
@@ -0,0 +1,38 @@
+package com.evfleet.analytics.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Live Position Frame DTO
+ *
+ * Compact frame pushed over the live position stream. Coordinates are
+ * quantized to integers (degrees * scale) to keep frames small.
+ *
+ * Each row in {@code u} is {@code [vehicleId, latE5, lonE5, batterySoc]},
+ * where batterySoc is -1 when unknown.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LivePositionFrame {
+
+    public static final String TYPE_SNAPSHOT = "snapshot";
+    public static final String TYPE_DELTA = "delta";
+
+    private String type;  // snapshot, delta
+    private long seq;     // Per-company tick sequence
+    private long ts;      // Epoch millis
+    private int scale;    // Coordinate quantization factor
+    private List<long[]> u;
+}
@@ -30,6 +30,8 @@ public class LiveVehiclePositionResponse {
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime timestamp;
 
+    private Integer zoom; // Set for viewport queries
+
     private int totalVehicles;
     private int trackableVehicles;
 
@@ -85,6 +87,7 @@ public class LiveVehiclePositionResponse {
         private BigDecimal latitude;
         private BigDecimal longitude;
         private int vehicleCount;
+        private Integer expansionZoom; // Zoom at which this cluster splits
         private String areaName;
     }
 
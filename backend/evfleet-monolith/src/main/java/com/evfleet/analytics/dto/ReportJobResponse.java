@@ -0,0 +1,51 @@
+package com.evfleet.analytics.dto;
+
+import com.evfleet.analytics.model.ReportJob;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Report Job Response DTO
+ *
+ * Status of an asynchronous report; the result can be downloaded from
+ * {@code downloadUrl} once the status is COMPLETED.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportJobResponse {
+
+    private String jobId;
+    private ReportJob.ReportType reportType;
+    private Long subjectId;
+    private ReportJob.JobStatus status;
+    private Long sizeBytes;
+    private String errorMessage;
+    private String downloadUrl;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+
+    public static ReportJobResponse fromEntity(ReportJob job) {
+        return ReportJobResponse.builder()
+                .jobId(job.getJobId())
+                .reportType(job.getReportType())
+                .subjectId(job.getSubjectId())
+                .status(job.getStatus())
+                .sizeBytes(job.getSizeBytes())
+                .errorMessage(job.getErrorMessage())
+                .downloadUrl(job.getStatus() == ReportJob.JobStatus.COMPLETED
+                        ? "/api/v1/analytics/report-jobs/" + job.getJobId() + "/download"
+                        : null)
+                .createdAt(job.getCreatedAt())
+                .completedAt(job.getCompletedAt())
+                .build();
+    }
+}
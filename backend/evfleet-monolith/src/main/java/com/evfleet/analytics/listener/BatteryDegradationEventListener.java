@@ -0,0 +1,44 @@
+package com.evfleet.analytics.listener;
+
+import com.evfleet.analytics.service.BatteryDegradationService;
+import com.evfleet.common.event.EventListenerSupport;
+import com.evfleet.fleet.event.BatteryHealthRecordedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Updates a vehicle's battery degradation fit when a new battery reading is recorded
+ *
+ * BatteryHealthService publishes the event only after the reading's transaction
+ * commits, so a first fit loaded from history includes the new reading and a
+ * rolled-back reading is never applied.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class BatteryDegradationEventListener extends EventListenerSupport {
+
+    private final BatteryDegradationService batteryDegradationService;
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleBatteryHealthRecorded(BatteryHealthRecordedEvent event) {
+        logEventReceived(event);
+
+        try {
+            if (event.getCompanyId() != null && event.getSoh() != null && event.getCycleCount() != null) {
+                batteryDegradationService.applyReading(event.getVehicleId(), event.getCompanyId(),
+                        event.getRecordedAt(), event.getSoh(), event.getCycleCount());
+            }
+            logEventProcessed(event);
+        } catch (Exception e) {
+            logEventError(event, e);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.evfleet.analytics.listener;
+
+import com.evfleet.analytics.service.TCOLedgerService;
+import com.evfleet.charging.event.ChargingSessionCompletedEvent;
+import com.evfleet.common.event.EventListenerSupport;
+import com.evfleet.fleet.event.TripCompletedEvent;
+import com.evfleet.maintenance.event.MaintenanceCompletedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps per-vehicle TCO cost ledgers current from completion events
+ *
+ * Each event is keyed by its source record, so redelivered events and events
+ * racing a ledger seed are counted once.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class TCOLedgerEventListener extends EventListenerSupport {
+
+    private final TCOLedgerService tcoLedgerService;
+
+    @EventListener
+    @Async
+    public void handleTripCompleted(TripCompletedEvent event) {
+        logEventReceived(event);
+
+        try {
+            tcoLedgerService.recordTrip(event.getTripId(), event.getVehicleId(), event.getDistance());
+            logEventProcessed(event);
+        } catch (Exception e) {
+            logEventError(event, e);
+        }
+    }
+
+    @EventListener
+    @Async
+    public void handleChargingSessionCompleted(ChargingSessionCompletedEvent event) {
+        logEventReceived(event);
+
+        try {
+            tcoLedgerService.recordChargingCost(event.getSessionId(), event.getVehicleId(), event.getCost());
+            logEventProcessed(event);
+        } catch (Exception e) {
+            logEventError(event, e);
+        }
+    }
+
+    @EventListener
+    @Async
+    public void handleMaintenanceCompleted(MaintenanceCompletedEvent event) {
+        logEventReceived(event);
+
+        try {
+            tcoLedgerService.recordMaintenanceCost(event.getRecordId(), event.getVehicleId(), event.getCost());
+            logEventProcessed(event);
+        } catch (Exception e) {
+            logEventError(event, e);
+        }
+    }
+}
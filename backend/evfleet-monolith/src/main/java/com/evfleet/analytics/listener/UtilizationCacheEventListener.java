@@ -0,0 +1,40 @@
+package com.evfleet.analytics.listener;
+
+import com.evfleet.analytics.service.UtilizationReportService;
+import com.evfleet.common.event.EventListenerSupport;
+import com.evfleet.fleet.event.TripCompletedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Invalidates cached utilization reports when a trip completes
+ *
+ * TripService publishes the event only after the trip's transaction commits,
+ * so a report recomputed right after invalidation sees the completed trip.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class UtilizationCacheEventListener extends EventListenerSupport {
+
+    private final UtilizationReportService utilizationReportService;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleTripCompleted(TripCompletedEvent event) {
+        logEventReceived(event);
+
+        try {
+            if (event.getCompanyId() != null && event.getStartTime() != null) {
+                utilizationReportService.invalidate(event.getCompanyId(), event.getStartTime().toLocalDate());
+            }
+            logEventProcessed(event);
+        } catch (Exception e) {
+            logEventError(event, e);
+        }
+    }
+}
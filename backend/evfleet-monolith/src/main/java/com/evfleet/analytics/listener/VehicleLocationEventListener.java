@@ -0,0 +1,52 @@
+package com.evfleet.analytics.listener;
+
+import com.evfleet.analytics.service.LivePositionStreamService;
+import com.evfleet.analytics.service.VehicleClusterIndex;
+import com.evfleet.common.event.EventListenerSupport;
+import com.evfleet.fleet.event.VehicleLocationUpdatedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds vehicle location updates into the live position stream and cluster index
+ *
+ * Runs on the async event multicaster thread; recording a position is an
+ * in-memory update, so no additional @Async hop is needed.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class VehicleLocationEventListener extends EventListenerSupport {
+
+    private final LivePositionStreamService livePositionStreamService;
+    private final VehicleClusterIndex vehicleClusterIndex;
+
+    @EventListener
+    public void handleVehicleLocationUpdated(VehicleLocationUpdatedEvent event) {
+        if (event.getCompanyId() == null || event.getLatitude() == null || event.getLongitude() == null) {
+            logEventIgnored(event, "missing company or coordinates");
+            return;
+        }
+
+        try {
+            livePositionStreamService.recordPosition(
+                event.getCompanyId(),
+                event.getVehicleId(),
+                event.getLatitude(),
+                event.getLongitude(),
+                event.getBatterySoc());
+            vehicleClusterIndex.update(
+                event.getCompanyId(),
+                event.getVehicleId(),
+                event.getLatitude(),
+                event.getLongitude());
+        } catch (Exception e) {
+            logEventError(event, e);
+        }
+    }
+}
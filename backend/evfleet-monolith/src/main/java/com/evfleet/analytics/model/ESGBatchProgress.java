@@ -0,0 +1,79 @@
+package com.evfleet.analytics.model;
+
+import com.evfleet.common.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * ESG Batch Progress Entity
+ *
+ * One row per company per scheduled ESG report batch (e.g. the monthly BRSR run).
+ * Rows are created up front when a batch starts and marked as each company
+ * finishes, so an interrupted batch resumes with the companies still pending.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "esg_batch_progress",
+    uniqueConstraints = @UniqueConstraint(name = "uk_esg_batch_company", columnNames = {"batch_key", "company_id"}),
+    indexes = {
+        @Index(name = "idx_esg_batch_status", columnList = "batch_key, status")
+    })
+@Data
+@EqualsAndHashCode(callSuper = false)
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ESGBatchProgress extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Batch identifier, e.g. MONTHLY:2025-01
+     */
+    @Column(name = "batch_key", nullable = false, length = 50)
+    private String batchKey;
+
+    @Column(name = "company_id", nullable = false)
+    private Long companyId;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(name = "period_end", nullable = false)
+    private LocalDate periodEnd;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    private BatchStatus status = BatchStatus.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(name = "report_id")
+    private Long reportId;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    public enum BatchStatus {
+        PENDING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -20,7 +20,10 @@ import java.time.LocalDate;
  * @version 1.0.0
  */
 @Entity
-@Table(name = "energy_consumption_analytics")
+@Table(name = "energy_consumption_analytics",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_energy_vehicle_date", columnNames = {"vehicle_id", "analysis_date"})
+    })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -22,7 +22,10 @@ import java.time.YearMonth;
  * @version 1.0.0
  */
 @Entity
-@Table(name = "historical_metrics", indexes = {
+@Table(name = "historical_metrics", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_historical_metric",
+            columnNames = {"company_id", "period_type", "period_start", "metric_type"})
+}, indexes = {
     @Index(name = "idx_hist_company_period", columnList = "company_id, period_type, period_start"),
     @Index(name = "idx_hist_metric_type", columnList = "metric_type, company_id"),
     @Index(name = "idx_hist_period_start", columnList = "period_start"),
@@ -177,6 +180,13 @@ public class HistoricalMetric extends BaseEntity {
      * Get display label for the period
      */
     public String getPeriodLabel() {
+        return periodLabel(periodType, periodStart);
+    }
+
+    /**
+     * Display label for a period of the given type starting on a date
+     */
+    public static String periodLabel(PeriodType periodType, LocalDate periodStart) {
         return switch (periodType) {
             case DAILY -> periodStart.toString();
             case WEEKLY -> "Week " + periodStart.toString();
@@ -0,0 +1,126 @@
+package com.evfleet.analytics.model;
+
+import com.evfleet.common.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Report Job Entity
+ *
+ * An asynchronously rendered report (vehicle PDF, genealogy PDF or ESG CSV).
+ * The content hash covers the report type, its parameters and a fingerprint of
+ * the underlying data, so identical requests share one job and its stored file
+ * until that data changes.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "report_jobs",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_report_job_id", columnNames = "job_id"),
+        @UniqueConstraint(name = "uk_report_job_hash", columnNames = "content_hash")
+    },
+    indexes = {
+        @Index(name = "idx_report_job_status", columnList = "status, updated_at")
+    })
+@Data
+@EqualsAndHashCode(callSuper = false)
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportJob extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Public job identifier returned to clients
+     */
+    @Column(name = "job_id", nullable = false, length = 36)
+    private String jobId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "report_type", nullable = false, length = 20)
+    private ReportType reportType;
+
+    /**
+     * Vehicle ID for vehicle/genealogy reports, ESG report ID for ESG exports
+     */
+    @Column(name = "subject_id", nullable = false)
+    private Long subjectId;
+
+    /**
+     * Report request as JSON (vehicle and genealogy reports)
+     */
+    @Column(name = "request_payload", columnDefinition = "TEXT")
+    private String requestPayload;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    private JobStatus status = JobStatus.QUEUED;
+
+    /**
+     * Stored result file name, relative to the report directory
+     */
+    @Column(name = "file_name", length = 100)
+    private String fileName;
+
+    @Column(name = "size_bytes")
+    private Long sizeBytes;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    public enum ReportType {
+        VEHICLE_PDF("application/pdf", ".pdf", "vehicle-report-"),
+        GENEALOGY_PDF("application/pdf", ".pdf", "genealogy-report-"),
+        ESG_CSV("text/csv", ".csv", "esg-report-");
+
+        private final String contentType;
+        private final String extension;
+        private final String downloadPrefix;
+
+        ReportType(String contentType, String extension, String downloadPrefix) {
+            this.contentType = contentType;
+            this.extension = extension;
+            this.downloadPrefix = downloadPrefix;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public String downloadName(Long subjectId) {
+            return downloadPrefix + subjectId + extension;
+        }
+    }
+
+    public enum JobStatus {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
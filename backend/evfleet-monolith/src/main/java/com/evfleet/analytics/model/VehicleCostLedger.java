@@ -0,0 +1,63 @@
+package com.evfleet.analytics.model;
+
+import com.evfleet.common.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Vehicle Cost Ledger Entity
+ *
+ * Running lifetime totals that feed a vehicle's TCO: distance, charging spend
+ * and maintenance spend. Seeded once from history, then incremented by trip,
+ * charging and maintenance completion events, so TCO reads no longer scan the
+ * vehicle's full history.
+ *
+ * Every record counted in the totals has a {@link VehicleCostLedgerEntry}, so
+ * events for records already part of the seed are not applied again.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "vehicle_cost_ledgers", indexes = {
+    @Index(name = "idx_cost_ledger_company", columnList = "company_id")
+})
+@Data
+@EqualsAndHashCode(callSuper = false)
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VehicleCostLedger extends BaseEntity {
+
+    @Id
+    @Column(name = "vehicle_id")
+    private Long vehicleId;
+
+    @Column(name = "company_id", nullable = false)
+    private Long companyId;
+
+    @Column(name = "total_distance_km", nullable = false)
+    @Builder.Default
+    private Double totalDistanceKm = 0.0;
+
+    @Column(name = "charging_cost", precision = 14, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal chargingCost = BigDecimal.ZERO;
+
+    @Column(name = "maintenance_cost", precision = 14, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal maintenanceCost = BigDecimal.ZERO;
+
+    /**
+     * Time the totals were last rebuilt from history
+     */
+    @Column(name = "seeded_at", nullable = false)
+    private LocalDateTime seededAt;
+}
@@ -0,0 +1,65 @@
+package com.evfleet.analytics.model;
+
+import com.evfleet.common.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Vehicle Cost Ledger Entry Entity
+ *
+ * One row per trip, charging session or completed maintenance record counted in
+ * a {@link VehicleCostLedger}, with the amount it contributed. The unique source
+ * key makes every increment idempotent: an event only adds to the ledger when it
+ * inserts its entry, and seeding or rebuilding inserts entries for the committed
+ * records it sums, so each record is counted exactly once whichever side sees it first.
+ *
+ * Rows are written with JDBC by TCOLedgerService; the entity maps the table.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "vehicle_cost_ledger_entries",
+    uniqueConstraints = @UniqueConstraint(name = "uk_cost_ledger_entry_source", columnNames = {"source_type", "source_id"}),
+    indexes = {
+        @Index(name = "idx_cost_ledger_entry_vehicle", columnList = "vehicle_id")
+    })
+@Data
+@EqualsAndHashCode(callSuper = false)
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VehicleCostLedgerEntry extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "source_type", nullable = false, length = 20)
+    private SourceType sourceType;
+
+    @Column(name = "source_id", nullable = false)
+    private Long sourceId;
+
+    @Column(name = "vehicle_id", nullable = false)
+    private Long vehicleId;
+
+    /**
+     * Distance in km for trips, cost in INR otherwise
+     */
+    @Column(name = "amount", precision = 16, scale = 3, nullable = false)
+    private BigDecimal amount;
+
+    public enum SourceType {
+        TRIP,
+        CHARGING,
+        MAINTENANCE
+    }
+}
@@ -0,0 +1,39 @@
+package com.evfleet.analytics.repository;
+
+import com.evfleet.analytics.model.BatteryDegradationFit;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for per-vehicle battery degradation fits
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Repository
+public interface BatteryDegradationFitRepository extends JpaRepository<BatteryDegradationFit, Long> {
+
+    /**
+     * Lock a fit while a new reading is folded into it
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM BatteryDegradationFit f WHERE f.vehicleId = :vehicleId")
+    Optional<BatteryDegradationFit> findForUpdate(@Param("vehicleId") Long vehicleId);
+
+    /**
+     * Packs of a company projected to reach end of life within [from, to], soonest first
+     */
+    @Query("SELECT f FROM BatteryDegradationFit f WHERE f.companyId = :companyId " +
+           "AND f.projectedEolDate BETWEEN :from AND :to ORDER BY f.projectedEolDate, f.vehicleId")
+    List<BatteryDegradationFit> findReachingEndOfLife(@Param("companyId") Long companyId,
+                                                      @Param("from") LocalDate from,
+                                                      @Param("to") LocalDate to);
+}
@@ -0,0 +1,44 @@
+package com.evfleet.analytics.repository;
+
+import com.evfleet.analytics.model.ESGBatchProgress;
+import com.evfleet.analytics.model.ESGBatchProgress.BatchStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for ESG batch checkpoints
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Repository
+public interface ESGBatchProgressRepository extends JpaRepository<ESGBatchProgress, Long> {
+
+    /**
+     * Companies already registered for a batch
+     */
+    @Query("SELECT p.companyId FROM ESGBatchProgress p WHERE p.batchKey = :batchKey")
+    List<Long> findCompanyIdsByBatchKey(@Param("batchKey") String batchKey);
+
+    /**
+     * Work still to do for a batch: pending rows and failed rows with retries left
+     */
+    @Query("SELECT p FROM ESGBatchProgress p WHERE p.batchKey = :batchKey " +
+           "AND (p.status = 'PENDING' OR (p.status = 'FAILED' AND p.attempts < :maxAttempts)) " +
+           "ORDER BY p.companyId")
+    List<ESGBatchProgress> findRemaining(@Param("batchKey") String batchKey,
+                                         @Param("maxAttempts") int maxAttempts);
+
+    /**
+     * Batches interrupted before every company finished
+     */
+    @Query("SELECT DISTINCT p.batchKey FROM ESGBatchProgress p " +
+           "WHERE p.status = 'PENDING' OR (p.status = 'FAILED' AND p.attempts < :maxAttempts)")
+    List<String> findUnfinishedBatchKeys(@Param("maxAttempts") int maxAttempts);
+
+    long countByBatchKeyAndStatus(String batchKey, BatchStatus status);
+}
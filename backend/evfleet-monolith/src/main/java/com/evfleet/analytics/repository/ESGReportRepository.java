@@ -151,6 +151,30 @@ public interface ESGReportRepository extends JpaRepository<ESGReport, Long> {
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
 
+    // ========== FLEET ACTIVITY ==========
+
+    /**
+     * Completed trip and charging totals per vehicle for a period.
+     * One row per company vehicle: [vehicleId, fuelType, km, tripKwh, tripFuel, chargedKwh]
+     */
+    @Query(value = "SELECT v.id, v.fuel_type, " +
+           "COALESCE(t.km, 0), COALESCE(t.kwh, 0), COALESCE(t.fuel, 0), COALESCE(c.kwh, 0) " +
+           "FROM vehicles v " +
+           "LEFT JOIN (SELECT vehicle_id, SUM(distance) AS km, SUM(energy_consumed) AS kwh, " +
+           "    SUM(fuel_consumed) AS fuel " +
+           "  FROM trips WHERE company_id = :companyId AND status = 'COMPLETED' " +
+           "  AND start_time >= :startTime AND start_time < :endTime " +
+           "  GROUP BY vehicle_id) t ON t.vehicle_id = v.id " +
+           "LEFT JOIN (SELECT vehicle_id, SUM(energy_consumed) AS kwh " +
+           "  FROM charging_sessions WHERE company_id = :companyId AND status = 'COMPLETED' " +
+           "  AND start_time >= :startTime AND start_time < :endTime " +
+           "  GROUP BY vehicle_id) c ON c.vehicle_id = v.id " +
+           "WHERE v.company_id = :companyId", nativeQuery = true)
+    List<Object[]> aggregateVehicleActivity(
+            @Param("companyId") Long companyId,
+            @Param("startTime") java.time.LocalDateTime startTime,
+            @Param("endTime") java.time.LocalDateTime endTime);
+
     // ========== CHECK EXISTENCE ==========
 
     /**
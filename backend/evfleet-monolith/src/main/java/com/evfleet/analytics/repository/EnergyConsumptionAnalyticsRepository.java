@@ -72,6 +72,31 @@ public interface EnergyConsumptionAnalyticsRepository extends JpaRepository<Ener
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
 
+    /**
+     * Daily totals of a company's vehicles within date range:
+     * [vehicleId, analysisDate, energy, distance, chargingCost, chargingSessions]
+     */
+    @Query("SELECT e.vehicleId, e.analysisDate, e.totalEnergyConsumed, e.totalDistance, " +
+           "e.totalChargingCost, e.totalChargingSessions FROM EnergyConsumptionAnalytics e " +
+           "WHERE e.companyId = :companyId AND e.analysisDate BETWEEN :startDate AND :endDate")
+    List<Object[]> findDailyTotalsByCompanyId(
+            @Param("companyId") Long companyId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    /**
+     * Per-vehicle totals of a company within date range:
+     * [vehicleId, energy, distance, chargingCost, chargingSessions]
+     */
+    @Query("SELECT e.vehicleId, SUM(e.totalEnergyConsumed), SUM(e.totalDistance), " +
+           "SUM(e.totalChargingCost), SUM(e.totalChargingSessions) FROM EnergyConsumptionAnalytics e " +
+           "WHERE e.companyId = :companyId AND e.analysisDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY e.vehicleId")
+    List<Object[]> sumTotalsByVehicleForCompany(
+            @Param("companyId") Long companyId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
     /**
      * Delete all energy analytics older than a specific date
      */
@@ -11,6 +11,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -107,6 +108,25 @@ public interface HistoricalMetricRepository extends JpaRepository<HistoricalMetr
             @Param("metricType") MetricType metricType,
             @Param("periodType") PeriodType periodType);
 
+    /**
+     * Last N periods of several metric types, limited per type in SQL.
+     * Rows in chronological order per type:
+     * [metricType, periodStart, metricValue, changePercent, trendDirection]
+     */
+    @Query(value = "SELECT r.metric_type, r.period_start, r.metric_value, r.change_percent, r.trend_direction " +
+           "FROM (SELECT h.metric_type, h.period_start, h.metric_value, h.change_percent, h.trend_direction, " +
+           "    ROW_NUMBER() OVER (PARTITION BY h.metric_type ORDER BY h.period_start DESC) AS rn " +
+           "  FROM historical_metrics h " +
+           "  WHERE h.company_id = :companyId AND h.period_type = :periodType " +
+           "  AND h.metric_type IN (:metricTypes)) r " +
+           "WHERE r.rn <= :periodsBack " +
+           "ORDER BY r.metric_type, r.period_start", nativeQuery = true)
+    List<Object[]> findRecentSeries(
+            @Param("companyId") Long companyId,
+            @Param("periodType") String periodType,
+            @Param("metricTypes") Collection<String> metricTypes,
+            @Param("periodsBack") int periodsBack);
+
     /**
      * Find previous period metric for comparison
      */
@@ -0,0 +1,71 @@
+package com.evfleet.analytics.repository;
+
+import com.evfleet.analytics.model.ReportJob;
+import com.evfleet.analytics.model.ReportJob.JobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for asynchronous report jobs
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Repository
+public interface ReportJobRepository extends JpaRepository<ReportJob, Long> {
+
+    Optional<ReportJob> findByJobId(String jobId);
+
+    Optional<ReportJob> findByContentHash(String contentHash);
+
+    /**
+     * Jobs last touched before a cutoff (expired results, abandoned runs)
+     */
+    List<ReportJob> findByStatusInAndUpdatedAtBefore(Collection<JobStatus> statuses, LocalDateTime cutoff);
+
+    /**
+     * Mark queued/running jobs that stopped making progress (e.g. node restart) as failed
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ReportJob j SET j.status = :failed, j.errorMessage = 'Abandoned', j.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE j.status IN :active AND j.updatedAt < :cutoff")
+    int failAbandoned(@Param("failed") JobStatus failed,
+                      @Param("active") Collection<JobStatus> active,
+                      @Param("cutoff") LocalDateTime cutoff);
+
+    // ========== DATA FINGERPRINTS ==========
+
+    /**
+     * Row count and last modification of everything a vehicle or genealogy report reads
+     */
+    @Query(value = "SELECT concat_ws('|', " +
+           "(SELECT COUNT(*) || '/' || COALESCE(CAST(MAX(updated_at) AS TEXT), '-') FROM trips " +
+           "  WHERE vehicle_id = :vehicleId AND start_time BETWEEN :startDate AND :endDate), " +
+           "(SELECT COUNT(*) || '/' || COALESCE(CAST(MAX(updated_at) AS TEXT), '-') FROM charging_sessions " +
+           "  WHERE vehicle_id = :vehicleId AND start_time BETWEEN :startDate AND :endDate), " +
+           "(SELECT COUNT(*) || '/' || COALESCE(CAST(MAX(updated_at) AS TEXT), '-') FROM maintenance_records " +
+           "  WHERE vehicle_id = :vehicleId " +
+           "  AND scheduled_date BETWEEN CAST(:startDate AS DATE) AND CAST(:endDate AS DATE)), " +
+           "(SELECT COALESCE(CAST(MAX(updated_at) AS TEXT), '-') FROM battery_health WHERE vehicle_id = :vehicleId), " +
+           "(SELECT CAST(updated_at AS TEXT) FROM vehicles WHERE id = :vehicleId))", nativeQuery = true)
+    String vehicleDataFingerprint(
+            @Param("vehicleId") Long vehicleId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Last modification of an ESG report
+     */
+    @Query(value = "SELECT CAST(updated_at AS TEXT) FROM esg_reports WHERE id = :reportId", nativeQuery = true)
+    String esgReportFingerprint(@Param("reportId") Long reportId);
+}
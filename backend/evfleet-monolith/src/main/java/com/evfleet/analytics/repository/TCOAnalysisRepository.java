@@ -52,6 +52,13 @@ public interface TCOAnalysisRepository extends JpaRepository<TCOAnalysis, Long>
     @Query("SELECT t FROM TCOAnalysis t WHERE t.vehicleId = :vehicleId ORDER BY t.analysisDate DESC LIMIT 1")
     Optional<TCOAnalysis> findLatestByVehicleId(@Param("vehicleId") Long vehicleId);
 
+    /**
+     * Find the latest TCO analysis of every vehicle (batch recalculation)
+     */
+    @Query("SELECT t FROM TCOAnalysis t WHERE t.analysisDate = " +
+           "(SELECT MAX(t2.analysisDate) FROM TCOAnalysis t2 WHERE t2.vehicleId = t.vehicleId)")
+    List<TCOAnalysis> findLatestForAllVehicles();
+
     /**
      * Find all TCO analyses for a company ordered by date descending
      */
@@ -0,0 +1,18 @@
+package com.evfleet.analytics.repository;
+
+import com.evfleet.analytics.model.VehicleCostLedger;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for per-vehicle TCO cost ledgers
+ *
+ * Reads only; ledgers and their entries are written with JDBC by TCOLedgerService,
+ * which locks the ledger row around every change.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Repository
+public interface VehicleCostLedgerRepository extends JpaRepository<VehicleCostLedger, Long> {
+}
@@ -1,7 +1,8 @@
 package com.evfleet.analytics.scheduler;
 
+import com.evfleet.analytics.service.BatteryDegradationService;
 import com.evfleet.analytics.service.EnergyAnalyticsService;
-import com.evfleet.analytics.service.TCOAnalysisService;
+import com.evfleet.analytics.service.TCOBatchEngine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -22,7 +23,8 @@ import java.time.LocalDate;
 public class AnalyticsAggregationScheduler {
 
     private final EnergyAnalyticsService energyAnalyticsService;
-    private final TCOAnalysisService tcoAnalysisService;
+    private final TCOBatchEngine tcoBatchEngine;
+    private final BatteryDegradationService batteryDegradationService;
 
     /**
      * Daily energy analytics aggregation
@@ -40,16 +42,41 @@ public class AnalyticsAggregationScheduler {
         }
     }
 
+    /**
+     * Nightly battery degradation refit
+     * Runs at 4 AM every day; the chunks run on the service's workers
+     */
+    @Scheduled(cron = "0 0 4 * * ?")
+    public void refitBatteryDegradation() {
+        log.info("Starting nightly battery degradation refit job");
+        try {
+            batteryDegradationService.refitAll().whenComplete((result, error) -> {
+                if (error != null) {
+                    log.error("Error in nightly battery degradation refit job", error);
+                } else {
+                    log.info("Nightly battery degradation refit job completed successfully");
+                }
+            });
+        } catch (Exception e) {
+            log.error("Error in nightly battery degradation refit job", e);
+        }
+    }
+
     /**
      * Weekly TCO recalculation
-     * Runs at 2 AM every Sunday
+     * Runs at 2 AM every Sunday; the chunks run on the engine's workers
      */
     @Scheduled(cron = "0 0 2 ? * SUN")
     public void recalculateTCO() {
         log.info("Starting weekly TCO recalculation job");
         try {
-            tcoAnalysisService.recalculateTCOForAllVehicles();
-            log.info("Weekly TCO recalculation job completed successfully");
+            tcoBatchEngine.recalculateAll().whenComplete((result, error) -> {
+                if (error != null) {
+                    log.error("Error in weekly TCO recalculation job", error);
+                } else {
+                    log.info("Weekly TCO recalculation job completed successfully");
+                }
+            });
         } catch (Exception e) {
             log.error("Error in weekly TCO recalculation job", e);
         }
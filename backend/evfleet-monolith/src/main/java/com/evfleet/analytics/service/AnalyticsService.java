@@ -5,11 +5,11 @@ import com.evfleet.analytics.model.FleetSummary;
 import com.evfleet.analytics.repository.FleetSummaryRepository;
 import com.evfleet.charging.repository.ChargingSessionRepository;
 import com.evfleet.common.exception.ResourceNotFoundException;
-import com.evfleet.fleet.model.BatteryHealth;
 import com.evfleet.fleet.model.FuelType;
 import com.evfleet.fleet.model.Trip;
 import com.evfleet.fleet.model.Vehicle;
-import com.evfleet.fleet.repository.BatteryHealthRepository;
+import com.evfleet.fleet.model.VehicleBatteryStatus;
+import com.evfleet.fleet.repository.VehicleBatteryStatusRepository;
 import com.evfleet.fleet.repository.TripRepository;
 import com.evfleet.fleet.repository.VehicleRepository;
 import com.evfleet.maintenance.repository.MaintenanceRecordRepository;
@@ -41,10 +41,11 @@ public class AnalyticsService {
 
     private final FleetSummaryRepository fleetSummaryRepository;
     private final VehicleRepository vehicleRepository;
-    private final BatteryHealthRepository batteryHealthRepository;
+    private final VehicleBatteryStatusRepository vehicleBatteryStatusRepository;
     private final TripRepository tripRepository;
     private final ChargingSessionRepository chargingSessionRepository;
     private final MaintenanceRecordRepository maintenanceRecordRepository;
+    private final UtilizationReportService utilizationReportService;
 
     @Transactional(readOnly = true)
     public FleetSummaryResponse getFleetSummary(Long companyId, LocalDate date) {
@@ -197,24 +198,23 @@ public class AnalyticsService {
                 .filter(v -> v.getFuelType() == FuelType.EV || v.getFuelType() == FuelType.HYBRID)
                 .collect(Collectors.toList());
         
-        List<Long> batteryVehicleIds = batteryTrackedVehicles.stream().map(Vehicle::getId).collect(Collectors.toList());
-        List<BatteryHealth> latestBatteryHealth = new ArrayList<>();
-        for (Long vehicleId : batteryVehicleIds) {
-            batteryHealthRepository.findFirstByVehicleIdOrderByRecordedAtDesc(vehicleId)
-                    .ifPresent(latestBatteryHealth::add);
-        }
+        // Latest reading per vehicle comes from the maintained status table in one query
+        Set<Long> batteryVehicleIds = batteryTrackedVehicles.stream().map(Vehicle::getId).collect(Collectors.toSet());
+        List<VehicleBatteryStatus> latestBatteryHealth = vehicleBatteryStatusRepository.findByCompanyId(companyId).stream()
+                .filter(status -> batteryVehicleIds.contains(status.getVehicleId()))
+                .collect(Collectors.toList());
 
-        Double averageBatteryLevel = latestBatteryHealth.isEmpty() ? 0.0 :
-                latestBatteryHealth.stream()
-                        .mapToDouble(BatteryHealth::getCurrentSoc)
-                        .average()
-                        .orElse(0.0);
+        Double averageBatteryLevel = latestBatteryHealth.stream()
+                .map(VehicleBatteryStatus::getCurrentSoc)
+                .filter(Objects::nonNull)
+                .mapToDouble(Double::doubleValue)
+                .average()
+                .orElse(0.0);
 
-        Double averageBatteryHealth = latestBatteryHealth.isEmpty() ? 0.0 :
-                latestBatteryHealth.stream()
-                        .mapToDouble(BatteryHealth::getSoh)
-                        .average()
-                        .orElse(0.0);
+        Double averageBatteryHealth = latestBatteryHealth.stream()
+                .mapToDouble(VehicleBatteryStatus::getSoh)
+                .average()
+                .orElse(0.0);
 
         // Get trip metrics for the last 30 days
         LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
@@ -281,74 +281,7 @@ public class AnalyticsService {
         log.info("GET utilization reports - companyId: {}, startDate: {}, endDate: {}",
                 companyId, startDate, endDate);
 
-        List<Vehicle> vehicles = vehicleRepository.findByCompanyId(companyId);
-        LocalDateTime startDateTime = startDate.atStartOfDay();
-        LocalDateTime endDateTime = endDate.atTime(23, 59, 59);
-
-        List<VehicleUtilizationResponse> reports = new ArrayList<>();
-
-        for (Vehicle vehicle : vehicles) {
-            // Get trips for this vehicle in the date range
-            List<Trip> trips = tripRepository.findByCompanyAndDateRange(
-                    companyId, startDateTime, endDateTime).stream()
-                    .filter(t -> t.getVehicleId().equals(vehicle.getId()))
-                    .collect(Collectors.toList());
-
-            // Calculate metrics
-            int tripCount = trips.size();
-            double totalDistance = trips.stream()
-                    .mapToDouble(t -> t.getDistance() != null ? t.getDistance() : 0.0)
-                    .sum();
-            double totalEnergy = trips.stream()
-                    .mapToDouble(t -> t.getEnergyConsumed() != null ? t.getEnergyConsumed().doubleValue() : 0.0)
-                    .sum();
-
-            double activeHours = trips.stream()
-                    .mapToDouble(trip -> {
-                        if (trip.getStartTime() != null && trip.getEndTime() != null) {
-                            return ChronoUnit.MINUTES.between(trip.getStartTime(), trip.getEndTime()) / 60.0;
-                        }
-                        return 0.0;
-                    })
-                    .sum();
-
-            // Calculate utilization rate
-            long daysBetween = ChronoUnit.DAYS.between(startDate, endDate) + 1;
-            double totalAvailableHours = daysBetween * 24.0;
-            double utilizationRate = (activeHours / totalAvailableHours) * 100;
-
-            // Calculate efficiency (km/kWh or km/L)
-            double efficiency = totalEnergy > 0 ? totalDistance / totalEnergy : 0.0;
-
-            // Determine status
-            String status;
-            if (utilizationRate >= 75) {
-                status = "optimal";
-            } else if (utilizationRate >= 50) {
-                status = "underutilized";
-            } else {
-                status = "severely-underutilized";
-            }
-
-            String vehicleName = vehicle.getMake() + " " + vehicle.getModel();
-
-            reports.add(VehicleUtilizationResponse.builder()
-                    .vehicleId(vehicle.getId())
-                    .vehicleName(vehicleName)
-                    .vehicleNumber(vehicle.getVehicleNumber())
-                    .utilizationRate(utilizationRate)
-                    .activeHours(activeHours)
-                    .trips(tripCount)
-                    .distance(totalDistance)
-                    .efficiency(efficiency)
-                    .status(status)
-                    .build());
-        }
-
-        // Sort by utilization rate descending
-        reports.sort((a, b) -> Double.compare(b.getUtilizationRate(), a.getUtilizationRate()));
-
-        return reports;
+        return utilizationReportService.getUtilization(companyId, startDate, endDate);
     }
 
     /**
@@ -0,0 +1,390 @@
+package com.evfleet.analytics.service;
+
+import com.evfleet.analytics.dto.BatteryDegradationResponse;
+import com.evfleet.analytics.model.BatteryDegradationFit;
+import com.evfleet.analytics.repository.BatteryDegradationFitRepository;
+import com.evfleet.common.exception.ResourceNotFoundException;
+import com.evfleet.fleet.repository.BatteryHealthRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.math3.stat.descriptive.rank.Median;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Battery Degradation Service
+ *
+ * Fits each vehicle's SOH history to straight lines over time and over charge
+ * cycles and projects when SOH reaches end of life (80% by default):
+ * - The nightly refit loads histories in chunks of vehicles, one query per chunk,
+ *   and fits chunks in parallel on a bounded pool. Each fit is a Huber regression
+ *   by iteratively reweighted least squares with a median-absolute-residual scale,
+ *   so sensor glitches and post-service jumps do not drag the line.
+ * - Between refits each new reading is folded into the stored weighted sums with
+ *   its Huber weight against the current line, and the projection is re-solved.
+ * - Projected end-of-life dates are indexed per company, so "packs reaching end
+ *   of life within N months" is a single index range scan.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Service
+@Slf4j
+public class BatteryDegradationService {
+
+    private static final int MAX_IRLS_ITERATIONS = 20;
+    private static final double WEIGHT_TOLERANCE = 1e-4;
+    private static final double MAD_TO_SIGMA = 1.4826;
+
+    private static final String UPSERT_SQL = "INSERT INTO battery_degradation_fits " +
+            "(vehicle_id, company_id, origin_at, sample_count, weight_sum, sum_x, sum_y, sum_xx, sum_xy, sum_yy, " +
+            "sum_c, sum_cc, sum_cy, residual_scale, intercept, slope_per_day, cycle_intercept, slope_per_cycle, " +
+            "r_squared, last_soh, last_cycle_count, last_recorded_at, eol_soh, projected_eol_date, " +
+            "projected_eol_cycles, fitted_at, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, " +
+            "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (vehicle_id) DO UPDATE SET company_id = EXCLUDED.company_id, " +
+            "origin_at = EXCLUDED.origin_at, sample_count = EXCLUDED.sample_count, " +
+            "weight_sum = EXCLUDED.weight_sum, sum_x = EXCLUDED.sum_x, sum_y = EXCLUDED.sum_y, " +
+            "sum_xx = EXCLUDED.sum_xx, sum_xy = EXCLUDED.sum_xy, sum_yy = EXCLUDED.sum_yy, " +
+            "sum_c = EXCLUDED.sum_c, sum_cc = EXCLUDED.sum_cc, sum_cy = EXCLUDED.sum_cy, " +
+            "residual_scale = EXCLUDED.residual_scale, intercept = EXCLUDED.intercept, " +
+            "slope_per_day = EXCLUDED.slope_per_day, cycle_intercept = EXCLUDED.cycle_intercept, " +
+            "slope_per_cycle = EXCLUDED.slope_per_cycle, r_squared = EXCLUDED.r_squared, " +
+            "last_soh = EXCLUDED.last_soh, last_cycle_count = EXCLUDED.last_cycle_count, " +
+            "last_recorded_at = EXCLUDED.last_recorded_at, eol_soh = EXCLUDED.eol_soh, " +
+            "projected_eol_date = EXCLUDED.projected_eol_date, " +
+            "projected_eol_cycles = EXCLUDED.projected_eol_cycles, fitted_at = EXCLUDED.fitted_at, " +
+            "updated_at = CURRENT_TIMESTAMP " +
+            // A reading folded in after the history was loaded is kept until the next refit
+            "WHERE battery_degradation_fits.last_recorded_at <= EXCLUDED.last_recorded_at";
+
+    private final BatteryHealthRepository batteryHealthRepository;
+    private final BatteryDegradationFitRepository fitRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor workers;
+
+    @Value("${analytics.battery.degradation.min-samples:5}")
+    private int minSamples;
+
+    @Value("${analytics.battery.degradation.min-span-days:30}")
+    private double minSpanDays;
+
+    @Value("${analytics.battery.degradation.eol-soh:80.0}")
+    private double eolSoh;
+
+    @Value("${analytics.battery.degradation.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${analytics.battery.degradation.jdbc-batch-size:200}")
+    private int jdbcBatchSize;
+
+    // Metrics
+    private final Counter fitsWritten;
+    private final Counter readingsApplied;
+    private final Timer refitTimer;
+
+    public BatteryDegradationService(
+            BatteryHealthRepository batteryHealthRepository,
+            BatteryDegradationFitRepository fitRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${analytics.battery.degradation.workers:4}") int workerCount) {
+        this.batteryHealthRepository = batteryHealthRepository;
+        this.fitRepository = fitRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.workers = new ThreadPoolTaskExecutor();
+        this.workers.setCorePoolSize(workerCount);
+        this.workers.setMaxPoolSize(workerCount);
+        this.workers.setThreadNamePrefix("degradation-fit-");
+        this.workers.initialize();
+
+        this.fitsWritten = Counter.builder("battery.degradation.fits.written")
+                .description("Battery degradation fits written by full refits")
+                .register(meterRegistry);
+
+        this.readingsApplied = Counter.builder("battery.degradation.readings.applied")
+                .description("Battery readings folded into existing degradation fits")
+                .register(meterRegistry);
+
+        this.refitTimer = Timer.builder("battery.degradation.refit.duration")
+                .description("Time to refit battery degradation for the whole fleet")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    // ========== FULL REFIT ==========
+
+    /**
+     * Start refitting every vehicle with enough readings, chunks of vehicles in
+     * parallel; the returned future completes with the result once all chunks finish
+     */
+    public CompletableFuture<RefitResult> refitAll() {
+        Timer.Sample sample = Timer.start();
+        long startedAt = System.nanoTime();
+        Map<Long, Long> companyByVehicle = new LinkedHashMap<>();
+        for (Object[] row : batteryHealthRepository.findVehiclesWithReadingsAtLeast(minSamples)) {
+            companyByVehicle.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+        }
+
+        List<Long> vehicleIds = new ArrayList<>(companyByVehicle.keySet());
+        AtomicInteger fitted = new AtomicInteger();
+        AtomicInteger failedChunks = new AtomicInteger();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int from = 0; from < vehicleIds.size(); from += chunkSize) {
+            List<Long> chunk = vehicleIds.subList(from, Math.min(from + chunkSize, vehicleIds.size()));
+            futures.add(CompletableFuture.runAsync(() -> {
+                try {
+                    fitted.addAndGet(refitChunk(chunk, companyByVehicle));
+                } catch (Exception e) {
+                    log.error("Error refitting battery degradation for {} vehicles: {}", chunk.size(), e.getMessage());
+                    failedChunks.incrementAndGet();
+                }
+            }, workers));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(done -> {
+                    sample.stop(refitTimer);
+                    long elapsedMs = (System.nanoTime() - startedAt) / 1_000_000;
+                    log.info("Refitted battery degradation: {} vehicles, {} fitted, {} chunks failed in {} ms",
+                            vehicleIds.size(), fitted.get(), failedChunks.get(), elapsedMs);
+                    return new RefitResult(vehicleIds.size(), fitted.get(), failedChunks.get(), elapsedMs);
+                });
+    }
+
+    public record RefitResult(int vehicles, int fitted, int failedChunks, long elapsedMs) {
+    }
+
+    private int refitChunk(List<Long> vehicleIds, Map<Long, Long> companyByVehicle) {
+        Map<Long, List<Reading>> histories = loadHistories(vehicleIds);
+        List<BatteryDegradationFit> fits = new ArrayList<>(histories.size());
+        for (Map.Entry<Long, List<Reading>> history : histories.entrySet()) {
+            BatteryDegradationFit fit = fitRobust(history.getKey(),
+                    companyByVehicle.get(history.getKey()), history.getValue());
+            if (fit != null) {
+                fits.add(fit);
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> write(fits));
+        fitsWritten.increment(fits.size());
+        return fits.size();
+    }
+
+    // ========== INCREMENTAL UPDATES ==========
+
+    /**
+     * Fold a new reading into the vehicle's fit, or fit its history once it has
+     * enough readings. Readings older than the fit's latest are left to the next refit.
+     */
+    public void applyReading(Long vehicleId, Long companyId, LocalDateTime recordedAt, Double soh, Integer cycleCount) {
+        transactionTemplate.executeWithoutResult(status -> {
+            BatteryDegradationFit fit = fitRepository.findForUpdate(vehicleId).orElse(null);
+            if (fit == null) {
+                if (batteryHealthRepository.countByVehicleId(vehicleId) >= minSamples) {
+                    BatteryDegradationFit initial = fitRobust(vehicleId, companyId,
+                            loadHistories(List.of(vehicleId)).getOrDefault(vehicleId, List.of()));
+                    if (initial != null) {
+                        write(List.of(initial));
+                        log.debug("Fitted battery degradation for vehicle {}", vehicleId);
+                    }
+                }
+                return;
+            }
+            if (!recordedAt.isAfter(fit.getLastRecordedAt())) {
+                return;
+            }
+
+            double days = fit.daysSinceOrigin(recordedAt);
+            fit.accumulate(days, cycleCount, soh, fit.huberWeight(days, soh));
+            fit.setCompanyId(companyId);
+            fit.setLastSoh(soh);
+            fit.setLastCycleCount(cycleCount);
+            fit.setLastRecordedAt(recordedAt);
+            if (fit.solve()) {
+                fit.projectEndOfLife(eolSoh);
+            }
+            readingsApplied.increment();
+        });
+    }
+
+    // ========== QUERIES ==========
+
+    @Transactional(readOnly = true)
+    public BatteryDegradationResponse getDegradation(Long vehicleId) {
+        return fitRepository.findById(vehicleId)
+                .map(BatteryDegradationResponse::fromEntity)
+                .orElseThrow(() -> new ResourceNotFoundException("BatteryDegradationFit", "vehicleId", vehicleId));
+    }
+
+    /**
+     * Packs of a company projected to reach end-of-life SOH within the next {@code months}
+     */
+    @Transactional(readOnly = true)
+    public List<BatteryDegradationResponse> getPacksReachingEndOfLife(Long companyId, int months) {
+        if (months < 1 || months > 120) {
+            throw new IllegalArgumentException("Months must be between 1 and 120");
+        }
+        LocalDate today = LocalDate.now();
+        return fitRepository.findReachingEndOfLife(companyId, today, today.plusMonths(months)).stream()
+                .map(BatteryDegradationResponse::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    // ========== ROBUST FIT ==========
+
+    private record Reading(LocalDateTime recordedAt, double soh, int cycleCount) {
+    }
+
+    private Map<Long, List<Reading>> loadHistories(List<Long> vehicleIds) {
+        Map<Long, List<Reading>> histories = new LinkedHashMap<>();
+        for (Object[] row : batteryHealthRepository.findReadingsByVehicleIds(vehicleIds)) {
+            histories.computeIfAbsent(((Number) row[0]).longValue(), id -> new ArrayList<>())
+                    .add(new Reading((LocalDateTime) row[1], ((Number) row[2]).doubleValue(),
+                            ((Number) row[3]).intValue()));
+        }
+        return histories;
+    }
+
+    /**
+     * Huber regression of a vehicle's history (oldest first) by iteratively
+     * reweighted least squares; null when the history is too short to fit
+     */
+    private BatteryDegradationFit fitRobust(Long vehicleId, Long companyId, List<Reading> history) {
+        int n = history.size();
+        if (n < minSamples || companyId == null) {
+            return null;
+        }
+        Reading first = history.get(0);
+        Reading last = history.get(n - 1);
+
+        BatteryDegradationFit fit = newFit(vehicleId, companyId, first.recordedAt());
+        double[] x = new double[n];
+        double[] c = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            Reading reading = history.get(i);
+            x[i] = fit.daysSinceOrigin(reading.recordedAt());
+            c[i] = reading.cycleCount();
+            y[i] = reading.soh();
+        }
+        if (x[n - 1] < minSpanDays) {
+            return null;
+        }
+
+        double[] weights = new double[n];
+        Arrays.fill(weights, 1.0);
+        double[] absResiduals = new double[n];
+        Median median = new Median();
+        double scale = 0.0;
+        for (int iteration = 0; iteration < MAX_IRLS_ITERATIONS; iteration++) {
+            fit = newFit(vehicleId, companyId, first.recordedAt());
+            for (int i = 0; i < n; i++) {
+                fit.accumulate(x[i], c[i], y[i], weights[i]);
+            }
+            if (!fit.solve()) {
+                return null;
+            }
+
+            for (int i = 0; i < n; i++) {
+                absResiduals[i] = Math.abs(y[i] - fit.predictSoh(x[i]));
+            }
+            scale = MAD_TO_SIGMA * median.evaluate(absResiduals);
+            if (scale <= 1e-9) {
+                break;  // (near) exact fit, nothing to down-weight
+            }
+
+            double maxChange = 0.0;
+            for (int i = 0; i < n; i++) {
+                double u = absResiduals[i] / scale;
+                double weight = u <= BatteryDegradationFit.HUBER_K ? 1.0 : BatteryDegradationFit.HUBER_K / u;
+                maxChange = Math.max(maxChange, Math.abs(weight - weights[i]));
+                weights[i] = weight;
+            }
+            if (maxChange < WEIGHT_TOLERANCE) {
+                break;
+            }
+        }
+
+        fit.setResidualScale(scale);
+        fit.setLastSoh(last.soh());
+        fit.setLastCycleCount(last.cycleCount());
+        fit.setLastRecordedAt(last.recordedAt());
+        fit.setFittedAt(LocalDateTime.now());
+        fit.projectEndOfLife(eolSoh);
+        return fit;
+    }
+
+    private static BatteryDegradationFit newFit(Long vehicleId, Long companyId, LocalDateTime originAt) {
+        return BatteryDegradationFit.builder()
+                .vehicleId(vehicleId)
+                .companyId(companyId)
+                .originAt(originAt)
+                .build();
+    }
+
+    // ========== JDBC BATCH WRITES ==========
+
+    private void write(List<BatteryDegradationFit> fits) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, fits, jdbcBatchSize, (ps, f) -> {
+            int i = 1;
+            ps.setLong(i++, f.getVehicleId());
+            ps.setLong(i++, f.getCompanyId());
+            ps.setTimestamp(i++, Timestamp.valueOf(f.getOriginAt()));
+            ps.setInt(i++, f.getSampleCount());
+            ps.setDouble(i++, f.getWeightSum());
+            ps.setDouble(i++, f.getSumX());
+            ps.setDouble(i++, f.getSumY());
+            ps.setDouble(i++, f.getSumXx());
+            ps.setDouble(i++, f.getSumXy());
+            ps.setDouble(i++, f.getSumYy());
+            ps.setDouble(i++, f.getSumC());
+            ps.setDouble(i++, f.getSumCc());
+            ps.setDouble(i++, f.getSumCy());
+            ps.setDouble(i++, f.getResidualScale());
+            ps.setObject(i++, f.getIntercept(), Types.DOUBLE);
+            ps.setObject(i++, f.getSlopePerDay(), Types.DOUBLE);
+            ps.setObject(i++, f.getCycleIntercept(), Types.DOUBLE);
+            ps.setObject(i++, f.getSlopePerCycle(), Types.DOUBLE);
+            ps.setObject(i++, f.getRSquared(), Types.DOUBLE);
+            ps.setDouble(i++, f.getLastSoh());
+            ps.setInt(i++, f.getLastCycleCount());
+            ps.setTimestamp(i++, Timestamp.valueOf(f.getLastRecordedAt()));
+            ps.setDouble(i++, f.getEolSoh());
+            ps.setObject(i++, f.getProjectedEolDate() != null ? Date.valueOf(f.getProjectedEolDate()) : null,
+                    Types.DATE);
+            ps.setObject(i++, f.getProjectedEolCycles(), Types.INTEGER);
+            ps.setTimestamp(i, Timestamp.valueOf(f.getFittedAt()));
+        });
+    }
+}
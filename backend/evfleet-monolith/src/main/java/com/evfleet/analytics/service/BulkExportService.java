@@ -0,0 +1,301 @@
+package com.evfleet.analytics.service;
+
+import com.evfleet.analytics.service.ReportGenerationService.ReportOutput;
+import com.evfleet.common.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bulk Export Service
+ *
+ * Streams analytics tables to a data warehouse as gzip-compressed CSV:
+ * - Rows are read through a forward-only server-side cursor (read-only
+ *   transaction plus fetch size) and written column by column from the
+ *   ResultSet, so no entities or row lists are materialized
+ * - Rows are ordered by id and bounded by an id snapshot taken when the export
+ *   starts; the id is the first column, so an interrupted download resumes with
+ *   {@code afterId} = last id received and the same {@code upToId}
+ * - The output is a series of gzip members of a fixed number of rows each, so a
+ *   truncated download still decompresses up to the last complete member
+ *
+ * Concurrent exports are capped; each holds one connection for its duration.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Service
+@Slf4j
+public class BulkExportService {
+
+    private static final int WRITE_BUFFER_BYTES = 64 * 1024;
+
+    /**
+     * Exportable tables with the timestamp column used for range filtering
+     */
+    @Getter
+    public enum ExportTable {
+        TELEMETRY_SNAPSHOTS("telemetry_snapshots", "timestamp"),
+        TRIPS("trips", "start_time"),
+        CHARGING_SESSIONS("charging_sessions", "start_time"),
+        HISTORICAL_METRICS("historical_metrics", "period_start");
+
+        private final String tableName;
+        private final String timeColumn;
+
+        ExportTable(String tableName, String timeColumn) {
+            this.tableName = tableName;
+            this.timeColumn = timeColumn;
+        }
+
+        /**
+         * Resolve a table from its name as used in URLs, e.g. "charging-sessions"
+         */
+        public static ExportTable fromPath(String name) {
+            String normalized = name.trim().replace('-', '_').toUpperCase(Locale.ROOT);
+            return Arrays.stream(values())
+                    .filter(table -> table.name().equals(normalized))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unsupported export table: " + name));
+        }
+
+        String selectSql() {
+            return "SELECT * FROM " + tableName + " WHERE company_id = ? AND " + timeColumn + " >= ? AND "
+                    + timeColumn + " < ? AND id > ? AND id <= ? ORDER BY id";
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore exportPermits;
+
+    @Value("${evfleet.exports.fetch-size:5000}")
+    private int fetchSize;
+
+    @Value("${evfleet.exports.rows-per-member:50000}")
+    private int rowsPerMember;
+
+    public BulkExportService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${evfleet.exports.max-concurrent:2}") int maxConcurrent) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+        this.exportPermits = new Semaphore(maxConcurrent);
+
+        Gauge.builder("exports.active", exportPermits, p -> maxConcurrent - p.availablePermits())
+                .description("Bulk exports currently streaming")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Highest id currently in the table; pass it as {@code upToId} to every
+     * request of one export so resumed requests see the same rows
+     */
+    public long snapshotUpperId(ExportTable table) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table.getTableName(), Long.class);
+        return maxId != null ? maxId : 0L;
+    }
+
+    /**
+     * Stream a company's rows of {@code table} with time column in [from, to]
+     * and id in (afterId, upToId] as gzip CSV with a header line. The output is
+     * opened only after the export slot is acquired.
+     *
+     * @return Rows written
+     */
+    public long exportCsv(ExportTable table, Long companyId, LocalDate from, LocalDate to,
+                          long afterId, long upToId, ReportOutput output) throws IOException {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        if (!exportPermits.tryAcquire()) {
+            throw new ServiceUnavailableException("Too many exports in progress, please retry shortly");
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long startNanos = System.nanoTime();
+        try (GzipMembers gzip = new GzipMembers(output.open())) {
+            Long rows = readOnlyTransaction.execute(status -> jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(table.selectSql(),
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                ps.setLong(1, companyId);
+                ps.setTimestamp(2, Timestamp.valueOf(from.atStartOfDay()));
+                ps.setTimestamp(3, Timestamp.valueOf(to.plusDays(1).atStartOfDay()));
+                ps.setLong(4, afterId);
+                ps.setLong(5, upToId);
+                return ps;
+            }, (ResultSetExtractor<Long>) rs -> writeCsv(rs, gzip)));
+
+            long written = rows != null ? rows : 0L;
+            Counter.builder("exports.rows")
+                    .tag("table", table.getTableName())
+                    .description("Rows written by bulk exports")
+                    .register(meterRegistry)
+                    .increment(written);
+
+            double seconds = (System.nanoTime() - startNanos) / 1e9;
+            log.info("Exported {} {} rows for company {} ({}..{}, id {}..{}) in {}s ({} rows/s)",
+                    written, table.getTableName(), companyId, from, to, afterId, upToId,
+                    String.format("%.1f", seconds), seconds > 0 ? Math.round(written / seconds) : written);
+            return written;
+        } catch (UncheckedIOException e) {
+            // Typically the client went away; nothing more can be sent
+            log.warn("Export of {} for company {} aborted: {}", table.getTableName(), companyId, e.getMessage());
+            throw e.getCause();
+        } finally {
+            sample.stop(Timer.builder("exports.duration")
+                    .tag("table", table.getTableName())
+                    .description("Time to stream a bulk export")
+                    .register(meterRegistry));
+            exportPermits.release();
+        }
+    }
+
+    private long writeCsv(ResultSet rs, GzipMembers gzip) throws SQLException {
+        try {
+            ResultSetMetaData meta = rs.getMetaData();
+            int columns = meta.getColumnCount();
+
+            Writer out = gzip.writer();
+            for (int c = 1; c <= columns; c++) {
+                if (c > 1) {
+                    out.write(',');
+                }
+                writeField(out, meta.getColumnLabel(c));
+            }
+            out.write('\n');
+
+            long rows = 0;
+            while (rs.next()) {
+                for (int c = 1; c <= columns; c++) {
+                    if (c > 1) {
+                        out.write(',');
+                    }
+                    String value = rs.getString(c);
+                    if (value != null) {
+                        writeField(out, value);
+                    }
+                }
+                out.write('\n');
+
+                if (++rows % rowsPerMember == 0) {
+                    out = gzip.nextMember();
+                }
+            }
+            out.flush();
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * RFC 4180 field: quoted only when it contains a delimiter, quote or line break
+     */
+    private static void writeField(Writer out, String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char ch = value.charAt(i);
+            quote = ch == ',' || ch == '"' || ch == '\n' || ch == '\r';
+        }
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+
+    /**
+     * Concatenated gzip members over one response stream (valid gzip per RFC 1952).
+     * Closing finishes the current member but leaves the response stream open.
+     */
+    private static final class GzipMembers implements AutoCloseable {
+
+        private final OutputStream nonClosingTarget;
+        private Writer writer;
+
+        GzipMembers(OutputStream target) {
+            this.nonClosingTarget = new OutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    target.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    target.write(b, off, len);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    target.flush();
+                }
+            };
+        }
+
+        Writer writer() throws IOException {
+            if (writer == null) {
+                GZIPOutputStream member = new GZIPOutputStream(nonClosingTarget, WRITE_BUFFER_BYTES) {
+                    {
+                        def.setLevel(Deflater.BEST_SPEED);
+                    }
+                };
+                writer = new BufferedWriter(new OutputStreamWriter(member, StandardCharsets.UTF_8),
+                        WRITE_BUFFER_BYTES);
+            }
+            return writer;
+        }
+
+        /**
+         * Finish the current member and start a new one
+         */
+        Writer nextMember() throws IOException {
+            close();
+            return writer();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (writer != null) {
+                writer.close();
+                writer = null;
+            }
+        }
+    }
+}
@@ -6,42 +6,42 @@ import com.evfleet.analytics.dto.LiveVehiclePositionResponse;
 import com.evfleet.analytics.dto.LiveVehiclePositionResponse.*;
 import com.evfleet.analytics.model.FleetSummary;
 import com.evfleet.analytics.repository.FleetSummaryRepository;
+import com.evfleet.common.cache.TieredCache;
+import com.evfleet.common.cache.TieredCacheManager;
 import com.evfleet.fleet.model.FuelType;
 import com.evfleet.fleet.model.Vehicle;
 import com.evfleet.fleet.repository.VehicleRepository;
 import io.micrometer.core.annotation.Timed;
-import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.security.MessageDigest;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
  * Dashboard Metrics Service
  * 
  * Provides optimized, cached dashboard metrics for fast loading.
- * Implements in-memory caching with TTL, ETag support, and compression-ready data.
+ * Implements two-level caching with TTL, ETag support, and compression-ready data.
  * 
  * Key Features:
- * - In-memory cache with 5-minute TTL
+ * - Two-level cache (bounded local L1 + shared Redis L2) with 5-minute TTL,
+ *   single-flight loading and stale-while-revalidate refresh
  * - ETag generation for conditional requests
  * - Lightweight DTOs for minimal payload
  * - Real-time vehicle position tracking
+ * - Zoom-aware clustering via {@link VehicleClusterIndex}
  * - Performance metrics via Micrometer
  * 
  * @author SEV Platform Team
@@ -54,18 +54,20 @@ public class DashboardMetricsService {
     private final VehicleRepository vehicleRepository;
     private final FleetSummaryRepository fleetSummaryRepository;
     private final MeterRegistry meterRegistry;
+    private final VehicleClusterIndex clusterIndex;
 
-    // In-memory cache for dashboard metrics
-    private final Map<Long, CachedMetrics> metricsCache = new ConcurrentHashMap<>();
-    private final Map<Long, CachedPositions> positionsCache = new ConcurrentHashMap<>();
+    // Two-level caches for dashboard metrics and live positions
+    private final TieredCache<DashboardMetricsResponse> metricsCache;
+    private final TieredCache<LiveVehiclePositionResponse> positionsCache;
 
-    // Cache TTL settings (in milliseconds)
-    private static final long METRICS_CACHE_TTL_MS = 5 * 60 * 1000; // 5 minutes
-    private static final long POSITIONS_CACHE_TTL_MS = 30 * 1000;   // 30 seconds
+    // Cache settings: entries older than the TTL are served for the stale window while refreshing
+    private static final Duration METRICS_CACHE_TTL = Duration.ofMinutes(5);
+    private static final Duration METRICS_STALE_WINDOW = Duration.ofMinutes(1);
+    private static final Duration POSITIONS_CACHE_TTL = Duration.ofSeconds(30);
+    private static final Duration POSITIONS_STALE_WINDOW = Duration.ofSeconds(15);
+    private static final long MAX_CACHED_COMPANIES = 10_000;
 
     // Metrics
-    private final Counter cacheHits;
-    private final Counter cacheMisses;
     private final Timer metricsLoadTime;
 
     // Battery thresholds
@@ -73,22 +75,25 @@ public class DashboardMetricsService {
     private static final BigDecimal BATTERY_LOW = new BigDecimal("20");
     private static final BigDecimal BATTERY_FULL = new BigDecimal("90");
 
+    // Cells at zoom 10 are ~0.09 degrees wide, close to the old 0.1 degree rounding
+    private static final int DEFAULT_CLUSTER_ZOOM = 10;
+
     @Autowired
     public DashboardMetricsService(
             VehicleRepository vehicleRepository,
             FleetSummaryRepository fleetSummaryRepository,
-            MeterRegistry meterRegistry) {
+            MeterRegistry meterRegistry,
+            VehicleClusterIndex clusterIndex,
+            TieredCacheManager tieredCacheManager) {
         this.vehicleRepository = vehicleRepository;
         this.fleetSummaryRepository = fleetSummaryRepository;
         this.meterRegistry = meterRegistry;
+        this.clusterIndex = clusterIndex;
 
-        this.cacheHits = Counter.builder("dashboard.cache.hits")
-                .description("Dashboard metrics cache hits")
-                .register(meterRegistry);
-
-        this.cacheMisses = Counter.builder("dashboard.cache.misses")
-                .description("Dashboard metrics cache misses")
-                .register(meterRegistry);
+        this.metricsCache = tieredCacheManager.getCache("dashboardMetrics", DashboardMetricsResponse.class,
+                METRICS_CACHE_TTL, METRICS_STALE_WINDOW, MAX_CACHED_COMPANIES);
+        this.positionsCache = tieredCacheManager.getCache("dashboardPositions", LiveVehiclePositionResponse.class,
+                POSITIONS_CACHE_TTL, POSITIONS_STALE_WINDOW, MAX_CACHED_COMPANIES);
 
         this.metricsLoadTime = Timer.builder("dashboard.metrics.load.time")
                 .description("Time to load dashboard metrics")
@@ -99,54 +104,80 @@ public class DashboardMetricsService {
 
     /**
      * Get cached dashboard summary metrics
-     * Uses in-memory cache with 5-minute TTL
+     * Uses the two-level cache with 5-minute TTL
      */
     @Timed(value = "dashboard.getSummary", description = "Get dashboard summary")
     @Transactional(readOnly = true)
     public DashboardMetricsResponse getSummaryMetrics(Long companyId, String requestEtag) {
         log.debug("Getting dashboard summary for company {}", companyId);
 
-        // Check cache
-        CachedMetrics cached = metricsCache.get(companyId);
-        if (cached != null && !cached.isExpired()) {
-            cacheHits.increment();
-            
+        TieredCache.Lookup<DashboardMetricsResponse> lookup = metricsCache.get(String.valueOf(companyId),
+                () -> metricsLoadTime.record(() -> computeMetrics(companyId)));
+        DashboardMetricsResponse metrics = lookup.value();
+
+        if (lookup.fromCache()) {
             // Check ETag for 304 Not Modified
-            if (requestEtag != null && requestEtag.equals(cached.etag)) {
+            if (requestEtag != null && requestEtag.equals(metrics.getEtag())) {
                 log.debug("Cache hit with matching ETag for company {}", companyId);
                 return null; // Signal 304 response
             }
-            
-            log.debug("Cache hit for company {}", companyId);
-            cached.metrics.setCached(true);
-            return cached.metrics;
+            // The cached instance is shared between callers; flag a copy
+            metrics = metrics.toBuilder().cached(true).build();
         }
 
-        cacheMisses.increment();
-        log.debug("Cache miss for company {}, computing metrics", companyId);
-
-        // Compute fresh metrics
-        return metricsLoadTime.record(() -> computeAndCacheMetrics(companyId));
+        return metrics;
     }
 
     /**
      * Get live vehicle positions
-     * Uses in-memory cache with 30-second TTL
+     * Uses the two-level cache with 30-second TTL
      */
     @Timed(value = "dashboard.getLivePositions", description = "Get live vehicle positions")
     @Transactional(readOnly = true)
     public LiveVehiclePositionResponse getLivePositions(Long companyId) {
         log.debug("Getting live positions for company {}", companyId);
 
-        // Check cache
-        CachedPositions cached = positionsCache.get(companyId);
-        if (cached != null && !cached.isExpired()) {
-            cacheHits.increment();
-            return cached.positions;
+        return positionsCache.get(String.valueOf(companyId), () -> computePositions(companyId)).value();
+    }
+
+    /**
+     * Get clusters and individual vehicles inside a map viewport
+     * Clusters come from the incrementally maintained cluster index; vehicle details
+     * come from the cached live positions
+     */
+    @Timed(value = "dashboard.getLivePositionsInView", description = "Get live vehicle positions in a viewport")
+    @Transactional(readOnly = true)
+    public LiveVehiclePositionResponse getLivePositionsInView(Long companyId, double minLat, double minLng,
+                                                              double maxLat, double maxLng, int zoom) {
+        log.debug("Getting live positions for company {} in [{},{} - {},{}] at zoom {}",
+                companyId, minLat, minLng, maxLat, maxLng, zoom);
+
+        LiveVehiclePositionResponse all = getLivePositions(companyId);
+        if (!clusterIndex.isSeeded(companyId)) {
+            clusterIndex.seedIfAbsent(companyId, vehicleRepository.findByCompanyId(companyId));
+        }
+
+        VehicleClusterIndex.ViewportResult view =
+                clusterIndex.query(companyId, minLat, minLng, maxLat, maxLng, zoom);
+
+        Set<Long> visibleIds = new HashSet<>(view.vehicleIds());
+        List<VehiclePosition> visible = new ArrayList<>(visibleIds.size());
+        for (VehiclePosition position : all.getVehicles()) {
+            if (visibleIds.contains(position.getVehicleId())) {
+                visible.add(position);
+            }
         }
 
-        cacheMisses.increment();
-        return computeAndCachePositions(companyId);
+        return LiveVehiclePositionResponse.builder()
+                .companyId(companyId)
+                .timestamp(all.getTimestamp())
+                .zoom(zoom)
+                .totalVehicles(all.getTotalVehicles())
+                .trackableVehicles(all.getTrackableVehicles())
+                .vehicles(visible)
+                .clusters(toVehicleClusters(view.clusters()))
+                .geofenceAlerts(all.getGeofenceAlerts())
+                .build();
     }
 
     // ========== FORCE REFRESH ==========
@@ -154,39 +185,25 @@ public class DashboardMetricsService {
     /**
      * Force refresh dashboard metrics cache for a company
      */
-    @CacheEvict(value = "dashboardMetrics", key = "#companyId")
     public DashboardMetricsResponse refreshMetrics(Long companyId) {
         log.info("Force refreshing metrics cache for company {}", companyId);
-        metricsCache.remove(companyId);
-        return computeAndCacheMetrics(companyId);
+        metricsCache.invalidate(String.valueOf(companyId));
+        return metricsCache.get(String.valueOf(companyId), () -> computeMetrics(companyId)).value();
     }
 
     /**
      * Force refresh all dashboard caches
      */
-    @CacheEvict(value = "dashboardMetrics", allEntries = true)
     public void refreshAllMetrics() {
         log.info("Force refreshing all metrics caches");
-        metricsCache.clear();
-        positionsCache.clear();
-    }
-
-    // ========== CACHE CLEANUP ==========
-
-    /**
-     * Scheduled task to clean expired cache entries
-     */
-    @Scheduled(fixedRate = 60000) // Every minute
-    public void cleanExpiredCaches() {
-        long now = System.currentTimeMillis();
-        
-        metricsCache.entrySet().removeIf(entry -> entry.getValue().isExpired());
-        positionsCache.entrySet().removeIf(entry -> entry.getValue().isExpired());
+        metricsCache.invalidateAll();
+        positionsCache.invalidateAll();
+        clusterIndex.evictAll();
     }
 
     // ========== PRIVATE METHODS ==========
 
-    private DashboardMetricsResponse computeAndCacheMetrics(Long companyId) {
+    private DashboardMetricsResponse computeMetrics(Long companyId) {
         LocalDateTime now = LocalDateTime.now();
         List<Vehicle> vehicles = vehicleRepository.findByCompanyId(companyId);
 
@@ -223,13 +240,10 @@ public class DashboardMetricsService {
                 .charging(charging)
                 .build();
 
-        // Cache the result
-        metricsCache.put(companyId, new CachedMetrics(response, etag));
-        
         return response;
     }
 
-    private LiveVehiclePositionResponse computeAndCachePositions(Long companyId) {
+    private LiveVehiclePositionResponse computePositions(Long companyId) {
         LocalDateTime now = LocalDateTime.now();
         List<Vehicle> vehicles = vehicleRepository.findByCompanyId(companyId);
 
@@ -238,7 +252,8 @@ public class DashboardMetricsService {
                 .collect(Collectors.toList());
 
         // Compute clusters for zoomed out view
-        List<VehicleCluster> clusters = computeClusters(positions);
+        clusterIndex.seedIfAbsent(companyId, vehicles);
+        List<VehicleCluster> clusters = computeClusters(companyId);
 
         LiveVehiclePositionResponse response = LiveVehiclePositionResponse.builder()
                 .companyId(companyId)
@@ -250,9 +265,6 @@ public class DashboardMetricsService {
                 .geofenceAlerts(new ArrayList<>()) // Would come from geofence service
                 .build();
 
-        // Cache the result
-        positionsCache.put(companyId, new CachedPositions(response));
-
         return response;
     }
 
@@ -633,25 +645,26 @@ public class DashboardMetricsService {
                 .build();
     }
 
-    private List<VehicleCluster> computeClusters(List<VehiclePosition> positions) {
-        // Simple clustering by rounding coordinates
-        Map<String, List<VehiclePosition>> clustered = positions.stream()
-                .collect(Collectors.groupingBy(p -> 
-                        p.getLatitude().setScale(1, RoundingMode.HALF_UP) + "," +
-                        p.getLongitude().setScale(1, RoundingMode.HALF_UP)));
-
-        return clustered.entrySet().stream()
-                .filter(e -> e.getValue().size() > 1)
-                .map(e -> {
-                    String[] coords = e.getKey().split(",");
-                    return VehicleCluster.builder()
-                            .latitude(new BigDecimal(coords[0]))
-                            .longitude(new BigDecimal(coords[1]))
-                            .vehicleCount(e.getValue().size())
-                            .areaName("Cluster " + e.getKey())
-                            .build();
-                })
-                .collect(Collectors.toList());
+    private List<VehicleCluster> computeClusters(Long companyId) {
+        VehicleClusterIndex.ViewportResult world =
+                clusterIndex.query(companyId, -90, -180, 90, 180, DEFAULT_CLUSTER_ZOOM);
+        return toVehicleClusters(world.clusters());
+    }
+
+    private List<VehicleCluster> toVehicleClusters(List<VehicleClusterIndex.Cluster> clusters) {
+        List<VehicleCluster> result = new ArrayList<>(clusters.size());
+        for (VehicleClusterIndex.Cluster cluster : clusters) {
+            BigDecimal lat = BigDecimal.valueOf(cluster.latitude()).setScale(4, RoundingMode.HALF_UP);
+            BigDecimal lng = BigDecimal.valueOf(cluster.longitude()).setScale(4, RoundingMode.HALF_UP);
+            result.add(VehicleCluster.builder()
+                    .latitude(lat)
+                    .longitude(lng)
+                    .vehicleCount(cluster.count())
+                    .expansionZoom(cluster.expansionZoom())
+                    .areaName("Cluster " + lat + "," + lng)
+                    .build());
+        }
+        return result;
     }
 
     private String getStatusColor(Vehicle.VehicleStatus status) {
@@ -704,36 +717,4 @@ public class DashboardMetricsService {
             return "\"" + System.currentTimeMillis() + "\"";
         }
     }
-
-    // ========== CACHE WRAPPER CLASSES ==========
-
-    private static class CachedMetrics {
-        final DashboardMetricsResponse metrics;
-        final String etag;
-        final long cachedAt;
-
-        CachedMetrics(DashboardMetricsResponse metrics, String etag) {
-            this.metrics = metrics;
-            this.etag = etag;
-            this.cachedAt = System.currentTimeMillis();
-        }
-
-        boolean isExpired() {
-            return System.currentTimeMillis() - cachedAt > METRICS_CACHE_TTL_MS;
-        }
-    }
-
-    private static class CachedPositions {
-        final LiveVehiclePositionResponse positions;
-        final long cachedAt;
-
-        CachedPositions(LiveVehiclePositionResponse positions) {
-            this.positions = positions;
-            this.cachedAt = System.currentTimeMillis();
-        }
-
-        boolean isExpired() {
-            return System.currentTimeMillis() - cachedAt > POSITIONS_CACHE_TTL_MS;
-        }
-    }
 }
@@ -0,0 +1,312 @@
+package com.evfleet.analytics.service;
+
+import com.evfleet.analytics.dto.ESGReportRequest;
+import com.evfleet.analytics.model.ESGBatchProgress;
+import com.evfleet.analytics.model.ESGBatchProgress.BatchStatus;
+import com.evfleet.analytics.model.ESGReport.ComplianceStandard;
+import com.evfleet.analytics.model.ESGReport.ReportType;
+import com.evfleet.analytics.repository.ESGBatchProgressRepository;
+import com.evfleet.analytics.repository.ESGReportRepository;
+import com.evfleet.fleet.repository.VehicleRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ESG Report Batch Runner
+ *
+ * Generates the scheduled monthly ESG reports for every company.
+ *
+ * - Companies are spread over a bounded worker pool, so one slow company does
+ *   not hold up the rest
+ * - Each company's report and its checkpoint commit in one transaction
+ * - Checkpoints live in esg_batch_progress; on startup any unfinished batch is
+ *   resumed with the companies still pending (failed companies are retried up
+ *   to {@link #MAX_ATTEMPTS} times)
+ * - Progress is exposed as remaining, throughput and ETA gauges
+ * - Entry points only start the work and return; the scheduler thread is never
+ *   held for the length of a batch
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Service
+@Slf4j
+public class ESGReportBatchRunner {
+
+    static final int MAX_ATTEMPTS = 3;
+    private static final String MONTHLY_BATCH_PREFIX = "MONTHLY:";
+
+    private final ESGReportService esgReportService;
+    private final ESGReportRepository esgReportRepository;
+    private final ESGBatchProgressRepository progressRepository;
+    private final VehicleRepository vehicleRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor workers;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    // Progress of the current run, read by the gauges
+    private final AtomicLong remaining = new AtomicLong();
+    private final AtomicLong processedInRun = new AtomicLong();
+    private volatile long runStartedAt;
+
+    // Metrics
+    private final Counter companiesSucceeded;
+    private final Counter companiesFailed;
+    private final Timer companyTimer;
+
+    public ESGReportBatchRunner(
+            ESGReportService esgReportService,
+            ESGReportRepository esgReportRepository,
+            ESGBatchProgressRepository progressRepository,
+            VehicleRepository vehicleRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${evfleet.esg.batch.workers:4}") int workerCount) {
+        this.esgReportService = esgReportService;
+        this.esgReportRepository = esgReportRepository;
+        this.progressRepository = progressRepository;
+        this.vehicleRepository = vehicleRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.workers = new ThreadPoolTaskExecutor();
+        this.workers.setCorePoolSize(workerCount);
+        this.workers.setMaxPoolSize(workerCount);
+        this.workers.setThreadNamePrefix("esg-batch-");
+        this.workers.initialize();
+
+        this.companiesSucceeded = Counter.builder("esg.batch.companies")
+                .tag("result", "success")
+                .description("Companies processed by the ESG report batch")
+                .register(meterRegistry);
+
+        this.companiesFailed = Counter.builder("esg.batch.companies")
+                .tag("result", "failed")
+                .description("Companies processed by the ESG report batch")
+                .register(meterRegistry);
+
+        this.companyTimer = Timer.builder("esg.batch.company.duration")
+                .description("Time to generate one company's batch report")
+                .register(meterRegistry);
+
+        Gauge.builder("esg.batch.remaining", remaining, AtomicLong::get)
+                .description("Companies left in the running ESG batch")
+                .register(meterRegistry);
+
+        Gauge.builder("esg.batch.throughput", this, ESGReportBatchRunner::throughputPerMinute)
+                .description("Companies processed per minute in the running ESG batch")
+                .register(meterRegistry);
+
+        Gauge.builder("esg.batch.eta.seconds", this, ESGReportBatchRunner::etaSeconds)
+                .description("Estimated seconds until the running ESG batch finishes")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    // ========== SCHEDULED ENTRY POINTS ==========
+
+    /**
+     * Generate last month's ESG reports for all companies
+     */
+    @Scheduled(cron = "0 0 6 1 * ?") // Run at 6 AM on the first of each month
+    public void generateMonthlyReports() {
+        runMonthly(YearMonth.now().minusMonths(1));
+    }
+
+    /**
+     * Resume batches interrupted by a shutdown or crash
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedBatches() {
+        // One batch at a time: each starts when the previous one completes
+        CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+        for (String batchKey : progressRepository.findUnfinishedBatchKeys(MAX_ATTEMPTS)) {
+            chain = chain.thenCompose(previous -> {
+                log.info("Resuming unfinished ESG batch {}", batchKey);
+                return run(batchKey);
+            });
+        }
+        chain.exceptionally(error -> {
+            log.error("Failed to resume ESG batches: {}", error.getMessage(), error);
+            return null;
+        });
+    }
+
+    /**
+     * Register every company for a month's batch and start processing the ones not
+     * yet done; the returned future completes when the batch finishes
+     */
+    public CompletableFuture<Void> runMonthly(YearMonth month) {
+        String batchKey = MONTHLY_BATCH_PREFIX + month;
+        registerCompanies(batchKey, month.atDay(1), month.atEndOfMonth());
+        return run(batchKey);
+    }
+
+    // ========== BATCH EXECUTION ==========
+
+    private void registerCompanies(String batchKey, LocalDate periodStart, LocalDate periodEnd) {
+        Set<Long> registered = new HashSet<>(progressRepository.findCompanyIdsByBatchKey(batchKey));
+
+        List<ESGBatchProgress> newRows = vehicleRepository.findAllCompanyIds().stream()
+                .filter(companyId -> !registered.contains(companyId))
+                .map(companyId -> ESGBatchProgress.builder()
+                        .batchKey(batchKey)
+                        .companyId(companyId)
+                        .periodStart(periodStart)
+                        .periodEnd(periodEnd)
+                        .build())
+                .toList();
+
+        progressRepository.saveAll(newRows);
+        log.info("ESG batch {}: registered {} companies ({} already registered)",
+                batchKey, newRows.size(), registered.size());
+    }
+
+    /**
+     * Start processing a batch's remaining companies; the returned future completes
+     * once every company is done and the run state is cleared
+     */
+    private CompletableFuture<Void> run(String batchKey) {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("ESG batch already running, skipping {}", batchKey);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        try {
+            List<ESGBatchProgress> work = progressRepository.findRemaining(batchKey, MAX_ATTEMPTS);
+            log.info("ESG batch {}: {} companies to process with {} workers",
+                    batchKey, work.size(), workers.getMaxPoolSize());
+
+            remaining.set(work.size());
+            processedInRun.set(0);
+            runStartedAt = System.currentTimeMillis();
+
+            List<CompletableFuture<Boolean>> results = work.stream()
+                    .map(progress -> CompletableFuture.supplyAsync(() -> processCompany(progress), workers))
+                    .toList();
+            return CompletableFuture.allOf(results.toArray(new CompletableFuture[0]))
+                    .whenComplete((result, error) -> {
+                        if (error != null) {
+                            log.error("ESG batch {} failed: {}", batchKey, error.getMessage(), error);
+                        } else {
+                            long succeeded = results.stream().filter(CompletableFuture::join).count();
+                            log.info("ESG batch {} finished in {} ms: {} succeeded, {} failed",
+                                    batchKey, System.currentTimeMillis() - runStartedAt,
+                                    succeeded, work.size() - succeeded);
+                        }
+                        remaining.set(0);
+                        running.set(false);
+                    })
+                    .exceptionally(error -> null);
+        } catch (RuntimeException e) {
+            remaining.set(0);
+            running.set(false);
+            throw e;
+        }
+    }
+
+    /**
+     * Generate one company's report and checkpoint it in the same transaction
+     */
+    private boolean processCompany(ESGBatchProgress progress) {
+        Timer.Sample sample = Timer.start();
+        int attempt = progress.getAttempts() + 1;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                progress.setReportId(generateIfAbsent(progress));
+                progress.setStatus(BatchStatus.COMPLETED);
+                progress.setAttempts(attempt);
+                progress.setErrorMessage(null);
+                progress.setCompletedAt(LocalDateTime.now());
+                progressRepository.save(progress);
+            });
+            companiesSucceeded.increment();
+            return true;
+        } catch (Exception e) {
+            log.error("Failed to generate ESG report for company {} in batch {}: {}",
+                    progress.getCompanyId(), progress.getBatchKey(), e.getMessage());
+            companiesFailed.increment();
+            markFailed(progress, attempt, e);
+            return false;
+        } finally {
+            sample.stop(companyTimer);
+            processedInRun.incrementAndGet();
+            remaining.decrementAndGet();
+        }
+    }
+
+    private Long generateIfAbsent(ESGBatchProgress progress) {
+        boolean exists = esgReportRepository.existsByCompanyIdAndReportTypeAndPeriodStartAndPeriodEnd(
+                progress.getCompanyId(), ReportType.MONTHLY, progress.getPeriodStart(), progress.getPeriodEnd());
+        if (exists) {
+            log.debug("Monthly ESG report already exists for company {}, skipping", progress.getCompanyId());
+            return null;
+        }
+
+        ESGReportRequest request = ESGReportRequest.builder()
+                .companyId(progress.getCompanyId())
+                .reportType(ReportType.MONTHLY)
+                .complianceStandard(ComplianceStandard.SEBI_BRSR)
+                .periodStart(progress.getPeriodStart())
+                .periodEnd(progress.getPeriodEnd())
+                .build();
+
+        return esgReportService.generateReport(request).getId();
+    }
+
+    private void markFailed(ESGBatchProgress progress, int attempt, Exception e) {
+        try {
+            progress.setStatus(BatchStatus.FAILED);
+            progress.setAttempts(attempt);
+            progress.setReportId(null);
+            progress.setCompletedAt(null);
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            progress.setErrorMessage(message.length() > 500 ? message.substring(0, 500) : message);
+            progressRepository.save(progress);
+        } catch (Exception saveError) {
+            log.error("Failed to record ESG batch failure for company {}: {}",
+                    progress.getCompanyId(), saveError.getMessage());
+        }
+    }
+
+    // ========== PROGRESS METRICS ==========
+
+    private double throughputPerMinute() {
+        long elapsedMs = System.currentTimeMillis() - runStartedAt;
+        if (!running.get() || elapsedMs <= 0) {
+            return 0;
+        }
+        return processedInRun.get() * 60_000.0 / elapsedMs;
+    }
+
+    private double etaSeconds() {
+        double perMinute = throughputPerMinute();
+        return perMinute > 0 ? remaining.get() * 60.0 / perMinute : 0;
+    }
+}
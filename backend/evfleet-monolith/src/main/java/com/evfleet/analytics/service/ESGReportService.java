@@ -8,9 +8,8 @@ import com.evfleet.analytics.model.ESGReport.ComplianceStandard;
 import com.evfleet.analytics.model.ESGReport.ReportStatus;
 import com.evfleet.analytics.model.ESGReport.ReportType;
 import com.evfleet.analytics.repository.ESGReportRepository;
+import com.evfleet.analytics.service.FleetActivityAggregator.FleetActivity;
 import com.evfleet.fleet.model.FuelType;
-import com.evfleet.fleet.model.Vehicle;
-import com.evfleet.fleet.repository.VehicleRepository;
 import io.micrometer.core.annotation.Timed;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -18,7 +17,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,7 +25,6 @@ import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -42,7 +39,7 @@ import java.util.stream.Collectors;
  * - Carbon footprint calculation (Scope 1, 2, 3 emissions)
  * - CO2 savings vs ICE baseline
  * - Government compliance reports (SEBI BRSR, GRI, CDP)
- * - Monthly/Quarterly/Annual report generation
+ * - Monthly/Quarterly/Annual report generation (scheduled batch in ESGReportBatchRunner)
  * - Emissions trend tracking
  * - CSV/PDF export support
  * 
@@ -54,7 +51,7 @@ import java.util.stream.Collectors;
 public class ESGReportService {
 
     private final ESGReportRepository esgReportRepository;
-    private final VehicleRepository vehicleRepository;
+    private final FleetActivityAggregator fleetActivityAggregator;
     private final MeterRegistry meterRegistry;
 
     // ========== EMISSION FACTORS (kg CO2 per unit) ==========
@@ -63,29 +60,24 @@ public class ESGReportService {
      * India-specific emission factors
      * Source: Ministry of Environment, Forest and Climate Change / UNFCCC
      */
-    private static final BigDecimal EMISSION_FACTOR_PETROL_PER_LITER = new BigDecimal("2.31");    // kg CO2/liter
-    private static final BigDecimal EMISSION_FACTOR_DIESEL_PER_LITER = new BigDecimal("2.68");    // kg CO2/liter
-    private static final BigDecimal EMISSION_FACTOR_CNG_PER_KG = new BigDecimal("2.75");          // kg CO2/kg
-    private static final BigDecimal EMISSION_FACTOR_LPG_PER_LITER = new BigDecimal("1.51");       // kg CO2/liter
-    private static final BigDecimal EMISSION_FACTOR_ELECTRICITY_PER_KWH = new BigDecimal("0.82"); // kg CO2/kWh (India grid average)
+    private static final double EMISSION_FACTOR_PETROL_PER_LITER = 2.31;    // kg CO2/liter
+    private static final double EMISSION_FACTOR_DIESEL_PER_LITER = 2.68;    // kg CO2/liter
+    private static final double EMISSION_FACTOR_CNG_PER_KG = 2.75;          // kg CO2/kg
+    private static final double EMISSION_FACTOR_LPG_PER_LITER = 1.51;       // kg CO2/liter
+    private static final double EMISSION_FACTOR_ELECTRICITY_PER_KWH = 0.82; // kg CO2/kWh (India grid average)
 
-    // ========== VEHICLE EFFICIENCY CONSTANTS ==========
-    
-    private static final BigDecimal AVG_PETROL_EFFICIENCY_KM_PER_LITER = new BigDecimal("12.0");
-    private static final BigDecimal AVG_DIESEL_EFFICIENCY_KM_PER_LITER = new BigDecimal("15.0");
-    private static final BigDecimal AVG_EV_EFFICIENCY_KWH_PER_KM = new BigDecimal("0.15");
-    private static final BigDecimal AVG_CNG_EFFICIENCY_KM_PER_KG = new BigDecimal("22.0");
-    private static final BigDecimal AVG_LPG_EFFICIENCY_KM_PER_LITER = new BigDecimal("10.0");
+    // Scope 3 estimated at 10% of direct emissions (supply chain, maintenance, etc.)
+    private static final double SCOPE3_SHARE = 0.10;
 
     // ========== CARBON COST (rupees per kg CO2) ==========
     
-    private static final BigDecimal CARBON_COST_PER_KG = new BigDecimal("5.0");
+    private static final double CARBON_COST_PER_KG = 5.0;
 
     // ========== ENVIRONMENTAL EQUIVALENTS ==========
     
-    private static final BigDecimal KG_CO2_PER_TREE_PER_YEAR = new BigDecimal("22.0");       // One tree absorbs ~22 kg CO2/year
-    private static final BigDecimal KG_CO2_PER_CAR_PER_YEAR = new BigDecimal("4600.0");     // Average car emits ~4,600 kg CO2/year
-    private static final BigDecimal KG_CO2_PER_HOME_PER_YEAR = new BigDecimal("2200.0");    // Average home emits ~2,200 kg CO2/year
+    private static final double KG_CO2_PER_TREE_PER_YEAR = 22.0;       // One tree absorbs ~22 kg CO2/year
+    private static final double KG_CO2_PER_CAR_PER_YEAR = 4600.0;     // Average car emits ~4,600 kg CO2/year
+    private static final double KG_CO2_PER_HOME_PER_YEAR = 2200.0;    // Average home emits ~2,200 kg CO2/year
 
     // Metrics
     private final Counter esgReportsGenerated;
@@ -94,10 +86,10 @@ public class ESGReportService {
     @Autowired
     public ESGReportService(
             ESGReportRepository esgReportRepository,
-            VehicleRepository vehicleRepository,
+            FleetActivityAggregator fleetActivityAggregator,
             MeterRegistry meterRegistry) {
         this.esgReportRepository = esgReportRepository;
-        this.vehicleRepository = vehicleRepository;
+        this.fleetActivityAggregator = fleetActivityAggregator;
         this.meterRegistry = meterRegistry;
 
         this.esgReportsGenerated = Counter.builder("esg.reports.generated")
@@ -118,156 +110,89 @@ public class ESGReportService {
     @Transactional(readOnly = true)
     public CarbonEmissions calculateCarbonFootprint(Long companyId, LocalDate startDate, LocalDate endDate) {
         log.info("Calculating carbon footprint for company {} from {} to {}", companyId, startDate, endDate);
+        return calculateCarbonFootprint(fleetActivityAggregator.aggregate(companyId, startDate, endDate));
+    }
 
-        List<Vehicle> vehicles = vehicleRepository.findByCompanyId(companyId);
-        
-        if (vehicles.isEmpty()) {
-            log.warn("No vehicles found for company {}", companyId);
-            return CarbonEmissions.builder()
-                    .scope1EmissionsKg(BigDecimal.ZERO)
-                    .scope2EmissionsKg(BigDecimal.ZERO)
-                    .scope3EmissionsKg(BigDecimal.ZERO)
-                    .totalEmissionsKg(BigDecimal.ZERO)
-                    .build();
-        }
-
-        BigDecimal scope1 = BigDecimal.ZERO;
-        BigDecimal scope2 = BigDecimal.ZERO;
-        BigDecimal scope3 = BigDecimal.ZERO;
-        BigDecimal totalKmDriven = BigDecimal.ZERO;
-
-        for (Vehicle vehicle : vehicles) {
-            BigDecimal kmDriven = estimateKmDriven(vehicle, startDate, endDate);
-            totalKmDriven = totalKmDriven.add(kmDriven);
-            
-            FuelType fuelType = vehicle.getFuelType() != null ? vehicle.getFuelType() : FuelType.EV;
-            
-            switch (fuelType) {
-                case EV:
-                    // EVs: Scope 2 emissions (from electricity)
-                    BigDecimal kwhUsed = kmDriven.multiply(AVG_EV_EFFICIENCY_KWH_PER_KM);
-                    scope2 = scope2.add(kwhUsed.multiply(EMISSION_FACTOR_ELECTRICITY_PER_KWH));
-                    break;
-                    
-                case ICE:
-                    // ICE vehicles: Scope 1 emissions (direct from fuel)
-                    BigDecimal litersUsed = kmDriven.divide(AVG_PETROL_EFFICIENCY_KM_PER_LITER, 4, RoundingMode.HALF_UP);
-                    scope1 = scope1.add(litersUsed.multiply(EMISSION_FACTOR_PETROL_PER_LITER));
-                    break;
-                    
-                case HYBRID:
-                    // Hybrid: 60% ICE + 40% EV
-                    BigDecimal hybridIceLiters = kmDriven.multiply(new BigDecimal("0.6"))
-                            .divide(AVG_PETROL_EFFICIENCY_KM_PER_LITER.multiply(new BigDecimal("1.3")), 4, RoundingMode.HALF_UP);
-                    BigDecimal hybridEvKwh = kmDriven.multiply(new BigDecimal("0.4")).multiply(AVG_EV_EFFICIENCY_KWH_PER_KM);
-                    scope1 = scope1.add(hybridIceLiters.multiply(EMISSION_FACTOR_PETROL_PER_LITER));
-                    scope2 = scope2.add(hybridEvKwh.multiply(EMISSION_FACTOR_ELECTRICITY_PER_KWH));
-                    break;
-                    
-                case CNG:
-                    BigDecimal cngKgUsed = kmDriven.divide(AVG_CNG_EFFICIENCY_KM_PER_KG, 4, RoundingMode.HALF_UP);
-                    scope1 = scope1.add(cngKgUsed.multiply(EMISSION_FACTOR_CNG_PER_KG));
-                    break;
-                    
-                case LPG:
-                    BigDecimal lpgLitersUsed = kmDriven.divide(AVG_LPG_EFFICIENCY_KM_PER_LITER, 4, RoundingMode.HALF_UP);
-                    scope1 = scope1.add(lpgLitersUsed.multiply(EMISSION_FACTOR_LPG_PER_LITER));
-                    break;
-            }
-        }
-
-        // Scope 3: Estimate at 10% of direct emissions (supply chain, maintenance, etc.)
-        scope3 = scope1.add(scope2).multiply(new BigDecimal("0.10"));
-
-        BigDecimal totalEmissions = scope1.add(scope2).add(scope3);
-        BigDecimal totalEmissionsTons = totalEmissions.divide(new BigDecimal("1000"), 2, RoundingMode.HALF_UP);
+    /**
+     * Calculate CO2 savings vs ICE baseline
+     */
+    @Timed(value = "esg.calculateCarbonSavings", description = "Calculate carbon savings vs ICE")
+    @Transactional(readOnly = true)
+    public CarbonSavings calculateCarbonSavings(Long companyId, LocalDate startDate, LocalDate endDate) {
+        log.info("Calculating carbon savings for company {} from {} to {}", companyId, startDate, endDate);
+        return calculateCarbonSavings(fleetActivityAggregator.aggregate(companyId, startDate, endDate));
+    }
 
-        int treesEquivalent = totalEmissions.divide(KG_CO2_PER_TREE_PER_YEAR, 0, RoundingMode.HALF_UP).intValue();
-        
-        BigDecimal carbonIntensity = totalKmDriven.compareTo(BigDecimal.ZERO) > 0
-                ? totalEmissions.divide(totalKmDriven, 4, RoundingMode.HALF_UP)
-                : BigDecimal.ZERO;
+    private CarbonEmissions calculateCarbonFootprint(FleetActivity activity) {
+        double scope1 = calculateDirectEmissions(activity);
+        double scope2 = activity.getTotalKwh() * EMISSION_FACTOR_ELECTRICITY_PER_KWH;
+        double scope3 = (scope1 + scope2) * SCOPE3_SHARE;
+        double totalEmissions = scope1 + scope2 + scope3;
+        double totalKm = activity.getTotalKm();
 
         return CarbonEmissions.builder()
-                .scope1EmissionsKg(scope1.setScale(2, RoundingMode.HALF_UP))
+                .scope1EmissionsKg(round(scope1, 2))
                 .scope1Description("Direct emissions from fleet vehicles (petrol, diesel, CNG, LPG)")
-                .scope2EmissionsKg(scope2.setScale(2, RoundingMode.HALF_UP))
+                .scope2EmissionsKg(round(scope2, 2))
                 .scope2Description("Indirect emissions from electricity consumption (EV charging)")
-                .scope3EmissionsKg(scope3.setScale(2, RoundingMode.HALF_UP))
+                .scope3EmissionsKg(round(scope3, 2))
                 .scope3Description("Other indirect emissions (maintenance, supply chain)")
-                .totalEmissionsKg(totalEmissions.setScale(2, RoundingMode.HALF_UP))
-                .totalEmissionsTons(totalEmissionsTons)
-                .treesEquivalent(treesEquivalent)
-                .carbonIntensityPerKm(carbonIntensity)
+                .totalEmissionsKg(round(totalEmissions, 2))
+                .totalEmissionsTons(round(totalEmissions / 1000, 2))
+                .treesEquivalent((int) Math.round(totalEmissions / KG_CO2_PER_TREE_PER_YEAR))
+                .carbonIntensityPerKm(totalKm > 0 ? round(totalEmissions / totalKm, 4) : BigDecimal.ZERO)
                 .build();
     }
 
-    /**
-     * Calculate CO2 savings vs ICE baseline
-     */
-    @Timed(value = "esg.calculateCarbonSavings", description = "Calculate carbon savings vs ICE")
-    public CarbonSavings calculateCarbonSavings(Long companyId, LocalDate startDate, LocalDate endDate) {
-        log.info("Calculating carbon savings for company {} from {} to {}", companyId, startDate, endDate);
+    private CarbonSavings calculateCarbonSavings(FleetActivity activity) {
+        double totalKm = activity.getTotalKm();
 
-        List<Vehicle> vehicles = vehicleRepository.findByCompanyId(companyId);
-        
-        BigDecimal actualEmissions = BigDecimal.ZERO;
-        BigDecimal baselineIceEmissions = BigDecimal.ZERO;
-        BigDecimal totalKmDriven = BigDecimal.ZERO;
-
-        for (Vehicle vehicle : vehicles) {
-            BigDecimal kmDriven = estimateKmDriven(vehicle, startDate, endDate);
-            totalKmDriven = totalKmDriven.add(kmDriven);
-            
-            // Calculate ICE baseline (what emissions would be if this vehicle was ICE)
-            BigDecimal litersIfIce = kmDriven.divide(AVG_PETROL_EFFICIENCY_KM_PER_LITER, 4, RoundingMode.HALF_UP);
-            BigDecimal iceEmission = litersIfIce.multiply(EMISSION_FACTOR_PETROL_PER_LITER);
-            baselineIceEmissions = baselineIceEmissions.add(iceEmission);
-            
-            // Calculate actual emissions based on fuel type
-            FuelType fuelType = vehicle.getFuelType() != null ? vehicle.getFuelType() : FuelType.EV;
-            BigDecimal vehicleEmission = calculateVehicleEmission(fuelType, kmDriven);
-            actualEmissions = actualEmissions.add(vehicleEmission);
-        }
+        // ICE baseline: what emissions would be if every vehicle ran on petrol
+        double litersIfAllIce = totalKm / FleetActivityAggregator.AVG_PETROL_EFFICIENCY_KM_PER_LITER;
+        double baselineIceEmissions = litersIfAllIce * EMISSION_FACTOR_PETROL_PER_LITER;
+        double actualEmissions = calculateDirectEmissions(activity)
+                + activity.getTotalKwh() * EMISSION_FACTOR_ELECTRICITY_PER_KWH;
 
-        BigDecimal savings = baselineIceEmissions.subtract(actualEmissions);
-        BigDecimal savingsTons = savings.divide(new BigDecimal("1000"), 2, RoundingMode.HALF_UP);
-        
-        BigDecimal reductionPercent = baselineIceEmissions.compareTo(BigDecimal.ZERO) > 0
-                ? savings.multiply(new BigDecimal("100")).divide(baselineIceEmissions, 2, RoundingMode.HALF_UP)
-                : BigDecimal.ZERO;
-
-        BigDecimal carbonCost = actualEmissions.multiply(CARBON_COST_PER_KG);
-        BigDecimal carbonSavingsRupees = savings.multiply(CARBON_COST_PER_KG);
+        double savings = baselineIceEmissions - actualEmissions;
 
         // Track carbon savings in metrics
-        if (savings.compareTo(BigDecimal.ZERO) > 0) {
-            carbonSavingsTracked.increment(savings.doubleValue());
+        if (savings > 0) {
+            carbonSavingsTracked.increment(savings);
         }
 
         // Environmental equivalents
-        BigDecimal litersIfAllIce = totalKmDriven.divide(AVG_PETROL_EFFICIENCY_KM_PER_LITER, 2, RoundingMode.HALF_UP);
-        BigDecimal actualFuelLiters = calculateActualFuelUsed(vehicles, startDate, endDate);
-        BigDecimal litersSaved = litersIfAllIce.subtract(actualFuelLiters);
+        double litersSaved = Math.max(0, litersIfAllIce - activity.getTotalFuelLiters());
 
         EnvironmentalEquivalent equivalents = EnvironmentalEquivalent.builder()
-                .treesPlanted(savings.divide(KG_CO2_PER_TREE_PER_YEAR, 0, RoundingMode.HALF_UP).intValue())
-                .carsOffRoad(savings.divide(KG_CO2_PER_CAR_PER_YEAR, 0, RoundingMode.HALF_UP).intValue())
-                .homesPowered(savings.divide(KG_CO2_PER_HOME_PER_YEAR, 0, RoundingMode.HALF_UP).intValue())
-                .litersPetrolSaved(litersSaved.max(BigDecimal.ZERO).setScale(2, RoundingMode.HALF_UP))
+                .treesPlanted((int) Math.round(savings / KG_CO2_PER_TREE_PER_YEAR))
+                .carsOffRoad((int) Math.round(savings / KG_CO2_PER_CAR_PER_YEAR))
+                .homesPowered((int) Math.round(savings / KG_CO2_PER_HOME_PER_YEAR))
+                .litersPetrolSaved(round(litersSaved, 2))
                 .build();
 
         return CarbonSavings.builder()
-                .baselineIceEmissionsKg(baselineIceEmissions.setScale(2, RoundingMode.HALF_UP))
-                .carbonSavingsKg(savings.setScale(2, RoundingMode.HALF_UP))
-                .carbonSavingsTons(savingsTons)
-                .emissionsReductionPercent(reductionPercent)
-                .carbonCostRupees(carbonCost.setScale(2, RoundingMode.HALF_UP))
-                .carbonSavingsRupees(carbonSavingsRupees.setScale(2, RoundingMode.HALF_UP))
+                .baselineIceEmissionsKg(round(baselineIceEmissions, 2))
+                .carbonSavingsKg(round(savings, 2))
+                .carbonSavingsTons(round(savings / 1000, 2))
+                .emissionsReductionPercent(baselineIceEmissions > 0
+                        ? round(savings * 100 / baselineIceEmissions, 2)
+                        : BigDecimal.ZERO)
+                .carbonCostRupees(round(actualEmissions * CARBON_COST_PER_KG, 2))
+                .carbonSavingsRupees(round(savings * CARBON_COST_PER_KG, 2))
                 .equivalents(equivalents)
                 .build();
     }
 
+    /**
+     * Scope 1: direct emissions from fuel burned in ICE, hybrid, diesel, CNG and LPG vehicles
+     */
+    private double calculateDirectEmissions(FleetActivity activity) {
+        return (activity.getFuel(FuelType.ICE) + activity.getFuel(FuelType.HYBRID)) * EMISSION_FACTOR_PETROL_PER_LITER
+                + activity.getFuel(FuelType.DIESEL) * EMISSION_FACTOR_DIESEL_PER_LITER
+                + activity.getFuel(FuelType.CNG) * EMISSION_FACTOR_CNG_PER_KG
+                + activity.getFuel(FuelType.LPG) * EMISSION_FACTOR_LPG_PER_LITER;
+    }
+
     // ========== REPORT GENERATION ==========
 
     /**
@@ -281,15 +206,13 @@ public class ESGReportService {
 
         validateRequest(request);
 
-        // Calculate all metrics
-        CarbonEmissions carbonEmissions = calculateCarbonFootprint(
-                request.getCompanyId(), request.getPeriodStart(), request.getPeriodEnd());
-        
-        CarbonSavings carbonSavings = calculateCarbonSavings(
-                request.getCompanyId(), request.getPeriodStart(), request.getPeriodEnd());
-        
-        FleetMetrics fleetMetrics = calculateFleetMetrics(
+        // Calculate all metrics from one aggregation of the period's activity
+        FleetActivity activity = fleetActivityAggregator.aggregate(
                 request.getCompanyId(), request.getPeriodStart(), request.getPeriodEnd());
+
+        CarbonEmissions carbonEmissions = calculateCarbonFootprint(activity);
+        CarbonSavings carbonSavings = calculateCarbonSavings(activity);
+        FleetMetrics fleetMetrics = calculateFleetMetrics(activity);
         
         List<EmissionsTrend> trend = request.isIncludeTrend() 
                 ? trackEmissionsTrend(request.getCompanyId(), request.getPeriodStart(), request.getPeriodEnd())
@@ -384,8 +307,9 @@ public class ESGReportService {
                 currentEnd = endDate;
             }
 
-            CarbonEmissions emissions = calculateCarbonFootprint(companyId, currentStart, currentEnd);
-            CarbonSavings savings = calculateCarbonSavings(companyId, currentStart, currentEnd);
+            FleetActivity activity = fleetActivityAggregator.aggregate(companyId, currentStart, currentEnd);
+            CarbonEmissions emissions = calculateCarbonFootprint(activity);
+            CarbonSavings savings = calculateCarbonSavings(activity);
 
             EmissionsTrend trend = EmissionsTrend.builder()
                     .month(currentStart.format(DateTimeFormatter.ofPattern("MMM")))
@@ -403,40 +327,6 @@ public class ESGReportService {
         return trends;
     }
 
-    // ========== SCHEDULED REPORT GENERATION ==========
-
-    /**
-     * Generate monthly ESG reports for all companies
-     */
-    @Scheduled(cron = "0 0 6 1 * ?") // Run at 6 AM on the first of each month
-    @Transactional
-    public void generateMonthlyReports() {
-        log.info("Generating monthly ESG reports for all companies");
-
-        LocalDate lastMonth = LocalDate.now().minusMonths(1);
-        LocalDate startDate = lastMonth.withDayOfMonth(1);
-        LocalDate endDate = lastMonth.withDayOfMonth(lastMonth.lengthOfMonth());
-
-        List<Long> companyIds = vehicleRepository.findAllCompanyIds();
-
-        for (Long companyId : companyIds) {
-            try {
-                ESGReportRequest request = ESGReportRequest.builder()
-                        .companyId(companyId)
-                        .reportType(ReportType.MONTHLY)
-                        .complianceStandard(ComplianceStandard.SEBI_BRSR)
-                        .periodStart(startDate)
-                        .periodEnd(endDate)
-                        .build();
-
-                generateReport(request);
-                log.info("Generated monthly ESG report for company {}", companyId);
-            } catch (Exception e) {
-                log.error("Failed to generate monthly ESG report for company {}: {}", companyId, e.getMessage());
-            }
-        }
-    }
-
     // ========== REPORT RETRIEVAL ==========
 
     /**
@@ -514,118 +404,36 @@ public class ESGReportService {
 
     // ========== HELPER METHODS ==========
 
-    private BigDecimal estimateKmDriven(Vehicle vehicle, LocalDate startDate, LocalDate endDate) {
-        // Estimate based on odometer or assume average of 100 km/day
-        BigDecimal dailyKm = new BigDecimal("100");
-        long days = ChronoUnit.DAYS.between(startDate, endDate) + 1;
-        return dailyKm.multiply(BigDecimal.valueOf(days));
-    }
-
-    private BigDecimal calculateVehicleEmission(FuelType fuelType, BigDecimal kmDriven) {
-        switch (fuelType) {
-            case EV:
-                BigDecimal kwhUsed = kmDriven.multiply(AVG_EV_EFFICIENCY_KWH_PER_KM);
-                return kwhUsed.multiply(EMISSION_FACTOR_ELECTRICITY_PER_KWH);
-            case ICE:
-                BigDecimal litersUsed = kmDriven.divide(AVG_PETROL_EFFICIENCY_KM_PER_LITER, 4, RoundingMode.HALF_UP);
-                return litersUsed.multiply(EMISSION_FACTOR_PETROL_PER_LITER);
-            case HYBRID:
-                BigDecimal hybridEmission = kmDriven.multiply(new BigDecimal("0.12")); // ~120g CO2/km
-                return hybridEmission;
-            case CNG:
-                BigDecimal cngKg = kmDriven.divide(AVG_CNG_EFFICIENCY_KM_PER_KG, 4, RoundingMode.HALF_UP);
-                return cngKg.multiply(EMISSION_FACTOR_CNG_PER_KG);
-            case LPG:
-                BigDecimal lpgLiters = kmDriven.divide(AVG_LPG_EFFICIENCY_KM_PER_LITER, 4, RoundingMode.HALF_UP);
-                return lpgLiters.multiply(EMISSION_FACTOR_LPG_PER_LITER);
-            default:
-                return BigDecimal.ZERO;
-        }
-    }
-
-    private BigDecimal calculateActualFuelUsed(List<Vehicle> vehicles, LocalDate startDate, LocalDate endDate) {
-        BigDecimal totalFuel = BigDecimal.ZERO;
-        for (Vehicle vehicle : vehicles) {
-            BigDecimal kmDriven = estimateKmDriven(vehicle, startDate, endDate);
-            FuelType fuelType = vehicle.getFuelType() != null ? vehicle.getFuelType() : FuelType.EV;
-            
-            switch (fuelType) {
-                case ICE:
-                    totalFuel = totalFuel.add(kmDriven.divide(AVG_PETROL_EFFICIENCY_KM_PER_LITER, 4, RoundingMode.HALF_UP));
-                    break;
-                case HYBRID:
-                    totalFuel = totalFuel.add(kmDriven.multiply(new BigDecimal("0.6"))
-                            .divide(AVG_PETROL_EFFICIENCY_KM_PER_LITER.multiply(new BigDecimal("1.3")), 4, RoundingMode.HALF_UP));
-                    break;
-                case LPG:
-                    totalFuel = totalFuel.add(kmDriven.divide(AVG_LPG_EFFICIENCY_KM_PER_LITER, 4, RoundingMode.HALF_UP));
-                    break;
-                default:
-                    // EV and CNG don't use liquid fuel
-                    break;
-            }
-        }
-        return totalFuel;
+    private static BigDecimal round(double value, int scale) {
+        return BigDecimal.valueOf(value).setScale(scale, RoundingMode.HALF_UP);
     }
 
-    private FleetMetrics calculateFleetMetrics(Long companyId, LocalDate startDate, LocalDate endDate) {
-        List<Vehicle> vehicles = vehicleRepository.findByCompanyId(companyId);
-        
-        int evCount = 0, iceCount = 0, hybridCount = 0;
-        BigDecimal totalKm = BigDecimal.ZERO;
-        BigDecimal totalEnergy = BigDecimal.ZERO;
-        BigDecimal totalFuel = BigDecimal.ZERO;
-
-        for (Vehicle vehicle : vehicles) {
-            FuelType fuelType = vehicle.getFuelType() != null ? vehicle.getFuelType() : FuelType.EV;
-            BigDecimal kmDriven = estimateKmDriven(vehicle, startDate, endDate);
-            totalKm = totalKm.add(kmDriven);
-            
-            switch (fuelType) {
-                case EV:
-                    evCount++;
-                    totalEnergy = totalEnergy.add(kmDriven.multiply(AVG_EV_EFFICIENCY_KWH_PER_KM));
-                    break;
-                case ICE:
-                    iceCount++;
-                    totalFuel = totalFuel.add(kmDriven.divide(AVG_PETROL_EFFICIENCY_KM_PER_LITER, 4, RoundingMode.HALF_UP));
-                    break;
-                case HYBRID:
-                    hybridCount++;
-                    totalEnergy = totalEnergy.add(kmDriven.multiply(new BigDecimal("0.4")).multiply(AVG_EV_EFFICIENCY_KWH_PER_KM));
-                    totalFuel = totalFuel.add(kmDriven.multiply(new BigDecimal("0.6"))
-                            .divide(AVG_PETROL_EFFICIENCY_KM_PER_LITER.multiply(new BigDecimal("1.3")), 4, RoundingMode.HALF_UP));
-                    break;
-                default:
-                    iceCount++; // CNG, LPG treated as ICE for counting
-                    break;
-            }
-        }
-
-        int totalVehicles = evCount + iceCount + hybridCount;
-        BigDecimal electrificationPercent = totalVehicles > 0
-                ? BigDecimal.valueOf((evCount + hybridCount * 0.5) * 100.0 / totalVehicles).setScale(2, RoundingMode.HALF_UP)
-                : BigDecimal.ZERO;
-
-        BigDecimal energyIntensity = totalKm.compareTo(BigDecimal.ZERO) > 0 && totalEnergy.compareTo(BigDecimal.ZERO) > 0
-                ? totalEnergy.divide(totalKm, 4, RoundingMode.HALF_UP)
-                : BigDecimal.ZERO;
+    private FleetMetrics calculateFleetMetrics(FleetActivity activity) {
+        int evCount = activity.getVehicleCount(FuelType.EV);
+        int hybridCount = activity.getVehicleCount(FuelType.HYBRID);
+        int iceCount = activity.getVehicleCount(FuelType.ICE)
+                + activity.getVehicleCount(FuelType.DIESEL)
+                + activity.getVehicleCount(FuelType.CNG)
+                + activity.getVehicleCount(FuelType.LPG); // Diesel, CNG, LPG treated as ICE for counting
+        int totalVehicles = activity.getTotalVehicles();
 
-        BigDecimal fuelIntensity = totalKm.compareTo(BigDecimal.ZERO) > 0 && totalFuel.compareTo(BigDecimal.ZERO) > 0
-                ? totalFuel.divide(totalKm, 4, RoundingMode.HALF_UP)
-                : BigDecimal.ZERO;
+        double totalKm = activity.getTotalKm();
+        double totalEnergy = activity.getTotalKwh();
+        double totalFuel = activity.getTotalFuelLiters();
 
         return FleetMetrics.builder()
                 .totalVehicles(totalVehicles)
                 .evVehicleCount(evCount)
                 .iceVehicleCount(iceCount)
                 .hybridVehicleCount(hybridCount)
-                .electrificationPercent(electrificationPercent)
-                .totalKilometersDriven(totalKm.setScale(2, RoundingMode.HALF_UP))
-                .totalEnergyKwh(totalEnergy.setScale(2, RoundingMode.HALF_UP))
-                .totalFuelLiters(totalFuel.setScale(2, RoundingMode.HALF_UP))
-                .energyIntensityPerKm(energyIntensity)
-                .fuelIntensityPerKm(fuelIntensity)
+                .electrificationPercent(totalVehicles > 0
+                        ? round((evCount + hybridCount * 0.5) * 100.0 / totalVehicles, 2)
+                        : BigDecimal.ZERO)
+                .totalKilometersDriven(round(totalKm, 2))
+                .totalEnergyKwh(round(totalEnergy, 2))
+                .totalFuelLiters(round(totalFuel, 2))
+                .energyIntensityPerKm(totalKm > 0 && totalEnergy > 0 ? round(totalEnergy / totalKm, 4) : BigDecimal.ZERO)
+                .fuelIntensityPerKm(totalKm > 0 && totalFuel > 0 ? round(totalFuel / totalKm, 4) : BigDecimal.ZERO)
                 .avgDailyUtilizationPercent(new BigDecimal("75.00")) // Estimated
                 .build();
     }
@@ -0,0 +1,356 @@
+package com.evfleet.analytics.service;
+
+import com.evfleet.analytics.model.EnergyConsumptionAnalytics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Efficiency Leaderboard
+ *
+ * In-memory vehicle rankings per company and calendar month, maintained from
+ * daily energy analytics rows:
+ * - Each vehicle keeps its per-day energy, distance, cost and sessions in primitive
+ *   arrays plus running totals, so re-writing a day applies only the difference
+ * - Rankings per metric are sorted arrays, rebuilt lazily on the first read after
+ *   a change; top-N is a prefix, a vehicle's rank a map lookup and a value
+ *   percentile an array index
+ *
+ * Boards are seeded from the stored daily rows on first use and then fed by
+ * {@link #record}. Boards older than ten minutes are dropped and re-seeded on the
+ * next read, which bounds drift from rows written on other nodes.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+public class EfficiencyLeaderboard {
+
+    private static final long MAX_BOARD_AGE_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    /**
+     * Ranking metrics; per-km metrics only rank vehicles that were driven
+     */
+    public enum Metric {
+        ENERGY_EFFICIENCY(true),   // kWh per 100 km, lower is better
+        COST_PER_KM(true),         // charging cost per km, lower is better
+        CHARGING_SESSIONS(false);  // most sessions first
+
+        private final boolean lowerIsBetter;
+
+        Metric(boolean lowerIsBetter) {
+            this.lowerIsBetter = lowerIsBetter;
+        }
+
+        public boolean isLowerIsBetter() {
+            return lowerIsBetter;
+        }
+    }
+
+    private record BoardKey(Long companyId, YearMonth month) {
+    }
+
+    private final Map<BoardKey, Board> boards = new ConcurrentHashMap<>();
+
+    /**
+     * Build the board for a company and month if it does not exist yet, from rows of
+     * [vehicleId, analysisDate, energy, distance, chargingCost, chargingSessions]
+     */
+    public void seedIfAbsent(Long companyId, YearMonth month, List<Object[]> dailyTotals) {
+        boards.computeIfAbsent(new BoardKey(companyId, month), key -> {
+            Board board = new Board();
+            for (Object[] row : dailyTotals) {
+                board.set(((Number) row[0]).longValue(), ((LocalDate) row[1]).getDayOfMonth(),
+                        toDouble(row[2]), toDouble(row[3]), toDouble(row[4]),
+                        row[5] != null ? ((Number) row[5]).intValue() : 0);
+            }
+            log.debug("Seeded efficiency leaderboard for company {} {} with {} vehicles",
+                    companyId, month, board.vehicles.size());
+            return board;
+        });
+    }
+
+    public boolean isSeeded(Long companyId, YearMonth month) {
+        return boards.containsKey(new BoardKey(companyId, month));
+    }
+
+    /**
+     * Apply written daily rows to the seeded boards they belong to. Inside a
+     * transaction the rows are applied once it commits.
+     */
+    public void record(Collection<EnergyConsumptionAnalytics> rows) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<EnergyConsumptionAnalytics> committed = List.copyOf(rows);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(committed);
+                }
+            });
+        } else {
+            apply(rows);
+        }
+    }
+
+    private void apply(Collection<EnergyConsumptionAnalytics> rows) {
+        for (EnergyConsumptionAnalytics row : rows) {
+            Board board = boards.get(new BoardKey(row.getCompanyId(), YearMonth.from(row.getAnalysisDate())));
+            if (board == null) {
+                continue;
+            }
+            board.lock.writeLock().lock();
+            try {
+                board.set(row.getVehicleId(), row.getAnalysisDate().getDayOfMonth(),
+                        toDouble(row.getTotalEnergyConsumed()), toDouble(row.getTotalDistance()),
+                        toDouble(row.getTotalChargingCost()),
+                        row.getTotalChargingSessions() != null ? row.getTotalChargingSessions() : 0);
+            } finally {
+                board.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public void evict(Long companyId, YearMonth month) {
+        boards.remove(new BoardKey(companyId, month));
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpired() {
+        long cutoff = System.currentTimeMillis() - MAX_BOARD_AGE_MILLIS;
+        boards.values().removeIf(board -> board.seededAt < cutoff);
+    }
+
+    // ========== QUERIES ==========
+
+    /**
+     * Best {@code limit} vehicles for a metric; empty when the board is not seeded
+     */
+    public List<Standing> top(Long companyId, YearMonth month, Metric metric, int limit) {
+        Ranking ranking = ranking(companyId, month, metric);
+        if (ranking == null) {
+            return List.of();
+        }
+        int n = Math.min(limit, ranking.size());
+        List<Standing> standings = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            standings.add(ranking.standing(i));
+        }
+        return standings;
+    }
+
+    /**
+     * A vehicle's standing; null when it is not ranked for the metric
+     */
+    public Standing standing(Long companyId, YearMonth month, Metric metric, Long vehicleId) {
+        Ranking ranking = ranking(companyId, month, metric);
+        if (ranking == null) {
+            return null;
+        }
+        Integer position = ranking.positions.get(vehicleId);
+        return position != null ? ranking.standing(position) : null;
+    }
+
+    /**
+     * Metric values at the given percentiles (0-100) of the fleet distribution,
+     * nearest-rank over ascending values; empty when nothing is ranked
+     */
+    public Map<Double, Double> percentiles(Long companyId, YearMonth month, Metric metric, double... percentiles) {
+        Ranking ranking = ranking(companyId, month, metric);
+        Map<Double, Double> values = new LinkedHashMap<>();
+        if (ranking == null || ranking.size() == 0) {
+            return values;
+        }
+        double[] ascending = ranking.ascending();
+        for (double p : percentiles) {
+            int rank = (int) Math.ceil(Math.max(0, Math.min(100, p)) / 100.0 * ascending.length);
+            values.put(p, ascending[Math.max(0, rank - 1)]);
+        }
+        return values;
+    }
+
+    public int rankedCount(Long companyId, YearMonth month, Metric metric) {
+        Ranking ranking = ranking(companyId, month, metric);
+        return ranking != null ? ranking.size() : 0;
+    }
+
+    private Ranking ranking(Long companyId, YearMonth month, Metric metric) {
+        Board board = boards.get(new BoardKey(companyId, month));
+        if (board == null) {
+            return null;
+        }
+        board.lock.readLock().lock();
+        try {
+            Ranking ranking = board.rankings.get(metric);
+            if (ranking != null) {
+                return ranking;
+            }
+        } finally {
+            board.lock.readLock().unlock();
+        }
+
+        board.lock.writeLock().lock();
+        try {
+            return board.rankings.computeIfAbsent(metric, board::rank);
+        } finally {
+            board.lock.writeLock().unlock();
+        }
+    }
+
+    private static double toDouble(Object value) {
+        return value instanceof Number number ? number.doubleValue() : 0.0;
+    }
+
+    // ========== RESULT TYPES ==========
+
+    /**
+     * A vehicle's place for one metric. Rank is 1-based and shared by ties;
+     * percentile is the share of ranked vehicles it is at least as good as (best = 100).
+     */
+    public record Standing(
+            int rank,
+            double percentile,
+            long vehicleId,
+            double value,
+            double energyConsumed,
+            double distance,
+            double chargingCost,
+            int chargingSessions) {
+    }
+
+    // ========== BOARD STRUCTURES ==========
+
+    private static class Board {
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        final Map<Long, VehicleMonth> vehicles = new HashMap<>();
+        final EnumMap<Metric, Ranking> rankings = new EnumMap<>(Metric.class);
+        final long seededAt = System.currentTimeMillis();
+
+        void set(long vehicleId, int dayOfMonth, double energy, double distance, double cost, int sessions) {
+            vehicles.computeIfAbsent(vehicleId, id -> new VehicleMonth())
+                    .set(dayOfMonth - 1, energy, distance, cost, sessions);
+            rankings.clear();
+        }
+
+        Ranking rank(Metric metric) {
+            List<Ranked> ranked = new ArrayList<>(vehicles.size());
+            for (Map.Entry<Long, VehicleMonth> entry : vehicles.entrySet()) {
+                VehicleMonth month = entry.getValue();
+                if (metric == Metric.CHARGING_SESSIONS || month.distance > 0) {
+                    ranked.add(new Ranked(entry.getKey(), month.value(metric), month.totals()));
+                }
+            }
+            Comparator<Ranked> byValue = Comparator.comparingDouble(Ranked::value);
+            ranked.sort(metric.isLowerIsBetter() ? byValue : byValue.reversed());
+
+            int n = ranked.size();
+            long[] ids = new long[n];
+            double[] values = new double[n];
+            Totals[] totals = new Totals[n];
+            Map<Long, Integer> positions = new HashMap<>(n * 2);
+            for (int i = 0; i < n; i++) {
+                Ranked r = ranked.get(i);
+                ids[i] = r.vehicleId();
+                values[i] = r.value();
+                totals[i] = r.totals();
+                positions.put(r.vehicleId(), i);
+            }
+            return new Ranking(metric, ids, values, totals, positions);
+        }
+    }
+
+    private record Ranked(long vehicleId, double value, Totals totals) {
+    }
+
+    private record Totals(double energy, double distance, double cost, int sessions) {
+    }
+
+    private static class VehicleMonth {
+        final double[] energyByDay = new double[31];
+        final double[] distanceByDay = new double[31];
+        final double[] costByDay = new double[31];
+        final int[] sessionsByDay = new int[31];
+        double energy;
+        double distance;
+        double cost;
+        int sessions;
+
+        void set(int day, double dayEnergy, double dayDistance, double dayCost, int daySessions) {
+            energy += dayEnergy - energyByDay[day];
+            distance += dayDistance - distanceByDay[day];
+            cost += dayCost - costByDay[day];
+            sessions += daySessions - sessionsByDay[day];
+            energyByDay[day] = dayEnergy;
+            distanceByDay[day] = dayDistance;
+            costByDay[day] = dayCost;
+            sessionsByDay[day] = daySessions;
+        }
+
+        double value(Metric metric) {
+            return switch (metric) {
+                case ENERGY_EFFICIENCY -> energy * 100 / distance;
+                case COST_PER_KM -> cost / distance;
+                case CHARGING_SESSIONS -> sessions;
+            };
+        }
+
+        Totals totals() {
+            return new Totals(energy, distance, cost, sessions);
+        }
+    }
+
+    /**
+     * Immutable snapshot of one metric's order, best first
+     */
+    private record Ranking(
+            Metric metric,
+            long[] vehicleIds,
+            double[] values,
+            Totals[] totals,
+            Map<Long, Integer> positions) {
+
+        int size() {
+            return vehicleIds.length;
+        }
+
+        Standing standing(int position) {
+            // Ties share the rank of the first vehicle with the same value
+            int first = position;
+            while (first > 0 && values[first - 1] == values[position]) {
+                first--;
+            }
+            int n = size();
+            double percentile = n > 1 ? (double) (n - 1 - first) / (n - 1) * 100 : 100;
+            Totals t = totals[position];
+            return new Standing(first + 1, percentile, vehicleIds[position], values[position],
+                    t.energy(), t.distance(), t.cost(), t.sessions());
+        }
+
+        double[] ascending() {
+            if (metric.isLowerIsBetter()) {
+                return values;
+            }
+            double[] ascending = new double[values.length];
+            for (int i = 0; i < values.length; i++) {
+                ascending[i] = values[values.length - 1 - i];
+            }
+            return ascending;
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.evfleet.analytics.service;
 
+import com.evfleet.analytics.dto.EfficiencyLeaderboardResponse;
 import com.evfleet.analytics.dto.EnergyConsumptionResponse;
 import com.evfleet.analytics.model.EnergyConsumptionAnalytics;
 import com.evfleet.analytics.repository.EnergyConsumptionAnalyticsRepository;
+import com.evfleet.analytics.service.EfficiencyLeaderboard.Metric;
+import com.evfleet.analytics.service.EfficiencyLeaderboard.Standing;
 import com.evfleet.charging.model.ChargingSession;
 import com.evfleet.charging.repository.ChargingSessionRepository;
 import com.evfleet.common.exception.ResourceNotFoundException;
@@ -14,13 +17,17 @@ import com.evfleet.fleet.repository.VehicleRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -41,6 +48,8 @@ public class EnergyAnalyticsService {
     private final VehicleRepository vehicleRepository;
     private final TripRepository tripRepository;
     private final ChargingSessionRepository chargingSessionRepository;
+    private final EnergyAnalyticsBatchEngine energyAnalyticsBatchEngine;
+    private final EfficiencyLeaderboard efficiencyLeaderboard;
 
     /**
      * Aggregate daily energy analytics for a vehicle
@@ -106,6 +115,7 @@ public class EnergyAnalyticsService {
 
         // Save analytics
         analytics = energyAnalyticsRepository.save(analytics);
+        efficiencyLeaderboard.record(List.of(analytics));
         log.info("Energy analytics saved for vehicle: {} on date: {}", vehicleId, date);
 
         return convertToResponse(analytics, vehicle);
@@ -153,68 +163,155 @@ public class EnergyAnalyticsService {
 
     /**
      * Compare vehicle efficiency across the fleet
+     *
+     * A whole calendar month is read from the efficiency leaderboard; any other range
+     * is summed per vehicle in one grouped query.
      */
     @Transactional(readOnly = true)
     public List<EnergyConsumptionResponse> compareVehicleEfficiency(
             Long companyId, LocalDate startDate, LocalDate endDate) {
         log.info("Comparing vehicle efficiency for company: {} from {} to {}", companyId, startDate, endDate);
 
-        List<Vehicle> electricVehicles = vehicleRepository.findByCompanyId(companyId).stream()
+        Map<Long, Vehicle> electricVehicles = vehicleRepository.findByCompanyId(companyId).stream()
                 .filter(v -> v.getFuelType() == FuelType.EV)
-                .collect(Collectors.toList());
-
-        return electricVehicles.stream()
-                .map(vehicle -> {
-                    // Get aggregated analytics for the period
-                    List<EnergyConsumptionAnalytics> analyticsList = energyAnalyticsRepository
-                            .findByVehicleIdAndAnalysisDateBetween(vehicle.getId(), startDate, endDate);
-
-                    if (analyticsList.isEmpty()) {
-                        return null;
-                    }
-
-                    // Aggregate metrics
-                    BigDecimal totalEnergy = analyticsList.stream()
-                            .map(EnergyConsumptionAnalytics::getTotalEnergyConsumed)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                    BigDecimal totalDistance = analyticsList.stream()
-                            .map(EnergyConsumptionAnalytics::getTotalDistance)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                    BigDecimal totalCost = analyticsList.stream()
-                            .map(EnergyConsumptionAnalytics::getTotalChargingCost)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
+                .collect(Collectors.toMap(Vehicle::getId, v -> v));
 
-                    int totalSessions = analyticsList.stream()
-                            .mapToInt(EnergyConsumptionAnalytics::getTotalChargingSessions)
-                            .sum();
+        return periodTotals(companyId, startDate, endDate).stream()
+                .filter(totals -> electricVehicles.containsKey(totals.vehicleId()))
+                .map(totals -> {
+                    Vehicle vehicle = electricVehicles.get(totals.vehicleId());
 
                     // Calculate average efficiency
                     BigDecimal avgEfficiency = BigDecimal.ZERO;
-                    if (totalDistance.compareTo(BigDecimal.ZERO) > 0) {
-                        avgEfficiency = totalEnergy
+                    if (totals.distance().compareTo(BigDecimal.ZERO) > 0) {
+                        avgEfficiency = totals.energy()
                                 .multiply(BigDecimal.valueOf(100))
-                                .divide(totalDistance, 4, RoundingMode.HALF_UP);
+                                .divide(totals.distance(), 4, RoundingMode.HALF_UP);
                     }
 
-                    String vehicleName = vehicle.getMake() + " " + vehicle.getModel();
-
                     return EnergyConsumptionResponse.builder()
                             .vehicleId(vehicle.getId())
-                            .vehicleName(vehicleName)
-                            .energyConsumed(totalEnergy)
-                            .distance(totalDistance)
-                            .chargingSessions(totalSessions)
+                            .vehicleName(vehicle.getMake() + " " + vehicle.getModel())
+                            .energyConsumed(totals.energy())
+                            .distance(totals.distance())
+                            .chargingSessions(totals.sessions())
                             .efficiency(avgEfficiency)
-                            .chargingCost(totalCost)
+                            .chargingCost(totals.cost())
                             .build();
                 })
-                .filter(r -> r != null)
                 .sorted((a, b) -> a.getEfficiency().compareTo(b.getEfficiency()))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Totals of every vehicle with analytics in the period
+     */
+    private List<VehicleTotals> periodTotals(Long companyId, LocalDate startDate, LocalDate endDate) {
+        YearMonth month = YearMonth.from(startDate);
+        if (startDate.equals(month.atDay(1)) && endDate.equals(month.atEndOfMonth())) {
+            // Session ranking includes every vehicle on the board, driven or not
+            seedLeaderboard(companyId, month);
+            int vehicles = efficiencyLeaderboard.rankedCount(companyId, month, Metric.CHARGING_SESSIONS);
+            return efficiencyLeaderboard.top(companyId, month, Metric.CHARGING_SESSIONS, vehicles).stream()
+                    .map(s -> new VehicleTotals(s.vehicleId(),
+                            BigDecimal.valueOf(s.energyConsumed()).setScale(2, RoundingMode.HALF_UP),
+                            BigDecimal.valueOf(s.distance()).setScale(2, RoundingMode.HALF_UP),
+                            BigDecimal.valueOf(s.chargingCost()).setScale(2, RoundingMode.HALF_UP),
+                            s.chargingSessions()))
+                    .collect(Collectors.toList());
+        }
+        return energyAnalyticsRepository.sumTotalsByVehicleForCompany(companyId, startDate, endDate).stream()
+                .map(row -> new VehicleTotals(((Number) row[0]).longValue(),
+                        decimal(row[1]), decimal(row[2]), decimal(row[3]),
+                        row[4] != null ? ((Number) row[4]).intValue() : 0))
+                .collect(Collectors.toList());
+    }
+
+    private record VehicleTotals(long vehicleId, BigDecimal energy, BigDecimal distance,
+                                 BigDecimal cost, int sessions) {
+    }
+
+    private static BigDecimal decimal(Object value) {
+        return value instanceof BigDecimal decimal ? decimal
+                : value instanceof Number number ? BigDecimal.valueOf(number.doubleValue())
+                : BigDecimal.ZERO;
+    }
+
+    /**
+     * Efficiency leaderboard of a company for a month: best vehicles and, optionally,
+     * metric values at fleet percentiles
+     */
+    @Transactional(readOnly = true)
+    public EfficiencyLeaderboardResponse getEfficiencyLeaderboard(
+            Long companyId, YearMonth month, Metric metric, int limit, double[] percentiles) {
+        log.info("Getting {} leaderboard for company: {} in {}", metric, companyId, month);
+
+        seedLeaderboard(companyId, month);
+        List<Standing> top = efficiencyLeaderboard.top(companyId, month, metric, limit);
+
+        Map<Long, Vehicle> vehicles = vehicleRepository.findAllById(
+                        top.stream().map(Standing::vehicleId).collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(Vehicle::getId, v -> v));
+
+        Map<String, BigDecimal> values = new LinkedHashMap<>();
+        efficiencyLeaderboard.percentiles(companyId, month, metric, percentiles)
+                .forEach((p, value) -> values.put("p" + BigDecimal.valueOf(p).stripTrailingZeros().toPlainString(),
+                        scaled(value)));
+
+        return EfficiencyLeaderboardResponse.builder()
+                .companyId(companyId)
+                .month(month.toString())
+                .metric(metric)
+                .lowerIsBetter(metric.isLowerIsBetter())
+                .rankedVehicles(efficiencyLeaderboard.rankedCount(companyId, month, metric))
+                .entries(top.stream()
+                        .map(s -> toLeaderboardEntry(s, vehicles.get(s.vehicleId())))
+                        .collect(Collectors.toList()))
+                .percentiles(values)
+                .build();
+    }
+
+    /**
+     * A vehicle's place on its company's leaderboard for a month
+     */
+    @Transactional(readOnly = true)
+    public EfficiencyLeaderboardResponse.Entry getVehicleStanding(Long vehicleId, YearMonth month, Metric metric) {
+        Vehicle vehicle = vehicleRepository.findById(vehicleId)
+                .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with id: " + vehicleId));
+
+        seedLeaderboard(vehicle.getCompanyId(), month);
+        Standing standing = efficiencyLeaderboard.standing(vehicle.getCompanyId(), month, metric, vehicleId);
+        if (standing == null) {
+            throw new ResourceNotFoundException("No " + metric + " ranking for vehicle " + vehicleId + " in " + month);
+        }
+        return toLeaderboardEntry(standing, vehicle);
+    }
+
+    private void seedLeaderboard(Long companyId, YearMonth month) {
+        if (!efficiencyLeaderboard.isSeeded(companyId, month)) {
+            efficiencyLeaderboard.seedIfAbsent(companyId, month, energyAnalyticsRepository
+                    .findDailyTotalsByCompanyId(companyId, month.atDay(1), month.atEndOfMonth()));
+        }
+    }
+
+    private static EfficiencyLeaderboardResponse.Entry toLeaderboardEntry(Standing standing, Vehicle vehicle) {
+        return EfficiencyLeaderboardResponse.Entry.builder()
+                .rank(standing.rank())
+                .percentile(BigDecimal.valueOf(standing.percentile()).setScale(1, RoundingMode.HALF_UP))
+                .vehicleId(standing.vehicleId())
+                .vehicleName(vehicle != null ? vehicle.getMake() + " " + vehicle.getModel() : null)
+                .value(scaled(standing.value()))
+                .energyConsumed(BigDecimal.valueOf(standing.energyConsumed()).setScale(2, RoundingMode.HALF_UP))
+                .distance(BigDecimal.valueOf(standing.distance()).setScale(2, RoundingMode.HALF_UP))
+                .chargingCost(BigDecimal.valueOf(standing.chargingCost()).setScale(2, RoundingMode.HALF_UP))
+                .chargingSessions(standing.chargingSessions())
+                .build();
+    }
+
+    private static BigDecimal scaled(double value) {
+        return BigDecimal.valueOf(value).setScale(4, RoundingMode.HALF_UP);
+    }
+
     /**
      * Get energy trend for a vehicle
      */
@@ -228,25 +325,12 @@ public class EnergyAnalyticsService {
 
     /**
      * Aggregate energy analytics for all vehicles (scheduled job)
+     * Runs as one bulk pass over the day; see {@link EnergyAnalyticsBatchEngine}
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void aggregateEnergyAnalyticsForAllVehicles(LocalDate date) {
         log.info("Starting energy analytics aggregation for all vehicles on date: {}", date);
-
-        List<Vehicle> electricVehicles = vehicleRepository.findAll().stream()
-                .filter(v -> v.getFuelType() == FuelType.EV)
-                .collect(Collectors.toList());
-
-        int count = 0;
-        for (Vehicle vehicle : electricVehicles) {
-            try {
-                aggregateDailyEnergyAnalytics(vehicle.getId(), date);
-                count++;
-            } catch (Exception e) {
-                log.error("Error aggregating energy analytics for vehicle: {}", vehicle.getId(), e);
-            }
-        }
-
+        int count = energyAnalyticsBatchEngine.aggregateDay(date);
         log.info("Completed energy analytics aggregation for {} vehicles", count);
     }
 
@@ -41,7 +41,11 @@ import java.util.stream.Collectors;
  * Features:
  * - Daily metrics aggregation from fleet summaries
  * - Monthly rollup from daily data
+ * - Set-based daily/monthly aggregation for all companies at once
+ *   ({@link HistoricalMetricAggregator}), used by the scheduled jobs
  * - Trend calculation with percentage changes
+ * - Multi-metric trend analysis (regression, moving average, seasonality,
+ *   anomaly z-scores) via {@link TrendEngine}
  * - Data retention policy (5 years default)
  * - Scheduled background aggregation
  * 
@@ -54,12 +58,17 @@ import java.util.stream.Collectors;
 @Transactional
 public class HistoricalDataService {
 
+    // A year of daily periods
+    private static final int MAX_TREND_PERIODS = 366;
+
     private final HistoricalMetricRepository historicalMetricRepository;
     private final FleetSummaryRepository fleetSummaryRepository;
     private final VehicleRepository vehicleRepository;
     private final TripRepository tripRepository;
     private final ChargingSessionRepository chargingSessionRepository;
     private final MaintenanceRecordRepository maintenanceRecordRepository;
+    private final TrendEngine trendEngine;
+    private final HistoricalMetricAggregator historicalMetricAggregator;
     private final MeterRegistry meterRegistry;
 
     @Value("${analytics.retention.years:5}")
@@ -268,76 +277,111 @@ public class HistoricalDataService {
     @Transactional(readOnly = true)
     public TrendAnalysisResponse calculateTrends(Long companyId, MetricType metricType, 
                                                   PeriodType periodType, int periodsBack) {
-        log.info("Calculating trends for company {}, metric {}, period {}, {} periods",
-                companyId, metricType, periodType, periodsBack);
-        
-        trendsCalculatedCounter.increment();
-        
-        List<HistoricalMetric> metrics = historicalMetricRepository
-                .findRecentMetrics(companyId, metricType, periodType);
-        
-        if (metrics.isEmpty()) {
-            return TrendAnalysisResponse.empty(metricType, periodType);
+        return calculateTrends(companyId, List.of(metricType), periodType, periodsBack).get(metricType);
+    }
+
+    /**
+     * Calculate trends for several metrics in one query (all metric types when empty)
+     */
+    @Transactional(readOnly = true)
+    public Map<MetricType, TrendAnalysisResponse> calculateTrends(Long companyId, Collection<MetricType> metricTypes,
+                                                                  PeriodType periodType, int periodsBack) {
+        if (periodsBack > MAX_TREND_PERIODS) {
+            throw new IllegalArgumentException("Periods must be at most " + MAX_TREND_PERIODS);
         }
-        
-        // Limit to requested periods
-        List<HistoricalMetric> limitedMetrics = metrics.stream()
-                .limit(periodsBack)
-                .collect(Collectors.toList());
-        
-        // Reverse to get chronological order
-        Collections.reverse(limitedMetrics);
-        
-        // Calculate statistics
-        List<BigDecimal> values = limitedMetrics.stream()
-                .map(HistoricalMetric::getMetricValue)
-                .toList();
-        
-        BigDecimal sum = values.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
-        BigDecimal avg = sum.divide(BigDecimal.valueOf(values.size()), 4, RoundingMode.HALF_UP);
-        BigDecimal min = values.stream().min(BigDecimal::compareTo).orElse(BigDecimal.ZERO);
-        BigDecimal max = values.stream().max(BigDecimal::compareTo).orElse(BigDecimal.ZERO);
-        
-        // Calculate overall trend
-        BigDecimal firstValue = values.get(0);
-        BigDecimal lastValue = values.get(values.size() - 1);
-        BigDecimal overallChange = BigDecimal.ZERO;
-        TrendDirection overallDirection = TrendDirection.STABLE;
-        
-        if (firstValue.compareTo(BigDecimal.ZERO) != 0) {
-            overallChange = lastValue.subtract(firstValue)
-                    .divide(firstValue, 4, RoundingMode.HALF_UP)
-                    .multiply(BigDecimal.valueOf(100));
-            
-            if (overallChange.compareTo(BigDecimal.valueOf(1)) > 0) {
-                overallDirection = TrendDirection.UP;
-            } else if (overallChange.compareTo(BigDecimal.valueOf(-1)) < 0) {
-                overallDirection = TrendDirection.DOWN;
+        Set<MetricType> types = metricTypes == null || metricTypes.isEmpty()
+                ? EnumSet.allOf(MetricType.class)
+                : EnumSet.copyOf(metricTypes);
+        log.info("Calculating trends for company {}, {} metrics, period {}, {} periods",
+                companyId, types.size(), periodType, periodsBack);
+
+        Map<MetricType, TrendAnalysisResponse> trends = new EnumMap<>(MetricType.class);
+        if (periodsBack <= 0) {
+            types.forEach(type -> trends.put(type, TrendAnalysisResponse.empty(type, periodType)));
+            return trends;
+        }
+
+        List<Object[]> rows = historicalMetricRepository.findRecentSeries(
+                companyId, periodType.name(),
+                types.stream().map(Enum::name).toList(),
+                periodsBack);
+
+        // Rows arrive grouped by metric type, oldest period first
+        int i = 0;
+        while (i < rows.size()) {
+            MetricType metricType = MetricType.valueOf((String) rows.get(i)[0]);
+            int from = i;
+            while (i < rows.size() && rows.get(i)[0].equals(rows.get(from)[0])) {
+                i++;
             }
+            trends.put(metricType, analyzeSeries(metricType, periodType, rows.subList(from, i)));
+            trendsCalculatedCounter.increment();
         }
-        
-        // Build data points
-        List<TrendDataPoint> dataPoints = limitedMetrics.stream()
-                .map(m -> TrendDataPoint.builder()
-                        .periodLabel(m.getPeriodLabel())
-                        .value(m.getMetricValue())
-                        .changePercent(m.getChangePercent())
-                        .trendDirection(m.getTrendDirection())
-                        .build())
-                .toList();
-        
+
+        for (MetricType type : types) {
+            trends.putIfAbsent(type, TrendAnalysisResponse.empty(type, periodType));
+        }
+        return trends;
+    }
+
+    private TrendAnalysisResponse analyzeSeries(MetricType metricType, PeriodType periodType, List<Object[]> rows) {
+        int n = rows.size();
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = ((Number) rows.get(i)[2]).doubleValue();
+        }
+
+        TrendEngine.SeriesAnalysis analysis = trendEngine.analyze(values, periodType);
+
+        List<TrendDataPoint> dataPoints = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Object[] row = rows.get(i);
+            dataPoints.add(TrendDataPoint.builder()
+                    .periodLabel(HistoricalMetric.periodLabel(periodType, toLocalDate(row[1])))
+                    .value(decimal(values[i]))
+                    .changePercent(row[3] != null ? decimal(((Number) row[3]).doubleValue()) : null)
+                    .trendDirection(row[4] != null ? TrendDirection.valueOf((String) row[4]) : null)
+                    .movingAverage(Double.isNaN(analysis.movingAverage()[i]) ? null : decimal(analysis.movingAverage()[i]))
+                    .trendValue(decimal(analysis.fitted()[i]))
+                    .anomalyScore(round(analysis.zScores()[i]))
+                    .anomaly(analysis.anomalies()[i])
+                    .build());
+        }
+
+        // First-vs-last change, kept alongside the fitted trend
+        BigDecimal overallChange = BigDecimal.ZERO;
+        if (values[0] != 0) {
+            overallChange = decimal((values[n - 1] - values[0]) / values[0] * 100);
+        }
+
+        double trendChange = analysis.trendChangePercent();
+        TrendDirection overallDirection = trendChange > 1 ? TrendDirection.UP
+                : trendChange < -1 ? TrendDirection.DOWN
+                : TrendDirection.STABLE;
+
+        List<Double> seasonalOffsets = new ArrayList<>(analysis.seasonalOffsets().length);
+        for (double offset : analysis.seasonalOffsets()) {
+            seasonalOffsets.add(round(offset));
+        }
+
         return TrendAnalysisResponse.builder()
                 .metricType(metricType)
                 .periodType(periodType)
-                .periodsAnalyzed(limitedMetrics.size())
+                .periodsAnalyzed(n)
                 .dataPoints(dataPoints)
-                .averageValue(avg)
-                .minValue(min)
-                .maxValue(max)
+                .averageValue(decimal(analysis.mean()))
+                .minValue(decimal(analysis.min()))
+                .maxValue(decimal(analysis.max()))
+                .stdDeviation(decimal(analysis.stdDeviation()))
                 .overallChangePercent(overallChange)
                 .overallTrend(overallDirection)
-                .firstPeriod(limitedMetrics.get(0).getPeriodLabel())
-                .lastPeriod(limitedMetrics.get(limitedMetrics.size() - 1).getPeriodLabel())
+                .slopePerPeriod(round(analysis.slope()))
+                .trendChangePercent(round(trendChange))
+                .goodnessOfFit(round(analysis.rSquared()))
+                .seasonalOffsets(seasonalOffsets)
+                .anomalyCount(analysis.anomalyCount())
+                .firstPeriod(dataPoints.get(0).getPeriodLabel())
+                .lastPeriod(dataPoints.get(n - 1).getPeriodLabel())
                 .build();
     }
 
@@ -408,50 +452,48 @@ public class HistoricalDataService {
 
     /**
      * Daily aggregation job - runs at 1 AM
+     * Aggregates yesterday for all companies with set-based statements
      */
     @Scheduled(cron = "0 0 1 * * *")
     public void scheduledDailyAggregation() {
         log.info("Starting scheduled daily aggregation");
         
         LocalDate yesterday = LocalDate.now().minusDays(1);
+        int rows = aggregateAllCompaniesDaily(yesterday, yesterday);
         
-        // Get all companies with fleet summaries
-        List<Long> companyIds = fleetSummaryRepository.findDistinctCompanyIds();
-        
-        for (Long companyId : companyIds) {
-            try {
-                aggregateDailyMetrics(companyId, yesterday);
-            } catch (Exception e) {
-                log.error("Failed to aggregate daily metrics for company {}: {}", 
-                        companyId, e.getMessage());
-            }
-        }
-        
-        log.info("Completed scheduled daily aggregation for {} companies", companyIds.size());
+        log.info("Completed scheduled daily aggregation: {} metrics written for {}", rows, yesterday);
     }
 
     /**
      * Monthly aggregation job - runs on 1st of each month at 2 AM
+     * Rolls up last month for all companies with one set-based statement
      */
     @Scheduled(cron = "0 0 2 1 * *")
     public void scheduledMonthlyAggregation() {
         log.info("Starting scheduled monthly aggregation");
         
         YearMonth lastMonth = YearMonth.now().minusMonths(1);
+        int rows = aggregateAllCompaniesMonthly(lastMonth, lastMonth);
         
-        // Get all companies
-        List<Long> companyIds = fleetSummaryRepository.findDistinctCompanyIds();
-        
-        for (Long companyId : companyIds) {
-            try {
-                aggregateMonthlyMetrics(companyId, lastMonth);
-            } catch (Exception e) {
-                log.error("Failed to aggregate monthly metrics for company {}: {}", 
-                        companyId, e.getMessage());
-            }
-        }
-        
-        log.info("Completed scheduled monthly aggregation for {} companies", companyIds.size());
+        log.info("Completed scheduled monthly aggregation: {} metrics written for {}", rows, lastMonth);
+    }
+
+    /**
+     * Aggregate daily metrics of all companies for a date range (also used for backfills)
+     */
+    public int aggregateAllCompaniesDaily(LocalDate from, LocalDate to) {
+        int rows = aggregationTimer.record(() -> historicalMetricAggregator.aggregateDaily(from, to));
+        aggregationsCounter.increment();
+        return rows;
+    }
+
+    /**
+     * Roll up monthly metrics of all companies for a month range (also used for backfills)
+     */
+    public int aggregateAllCompaniesMonthly(YearMonth from, YearMonth to) {
+        int rows = aggregationTimer.record(() -> historicalMetricAggregator.aggregateMonthly(from, to));
+        aggregationsCounter.increment();
+        return rows;
     }
 
     // ==================== Helper Methods ====================
@@ -521,7 +563,7 @@ public class HistoricalDataService {
         return historicalMetricRepository.save(metric);
     }
 
-    private boolean isCumulativeMetric(MetricType metricType) {
+    static boolean isCumulativeMetric(MetricType metricType) {
         return switch (metricType) {
             case TOTAL_TRIPS, TOTAL_DISTANCE_KM, TOTAL_ENERGY_KWH, TOTAL_COST,
                  FUEL_COST, ENERGY_COST, MAINTENANCE_COST, CHARGING_SESSIONS_COUNT,
@@ -531,6 +573,18 @@ public class HistoricalDataService {
         };
     }
 
+    private static BigDecimal decimal(double value) {
+        return BigDecimal.valueOf(value).setScale(4, RoundingMode.HALF_UP);
+    }
+
+    private static double round(double value) {
+        return BigDecimal.valueOf(value).setScale(4, RoundingMode.HALF_UP).doubleValue();
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof java.sql.Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+
     private LocalDate getOldestMetricDate(Long companyId) {
         List<HistoricalMetric> metrics = historicalMetricRepository
                 .findByCompanyIdAndPeriodTypeOrderByPeriodStartDesc(companyId, PeriodType.DAILY);
@@ -554,8 +608,14 @@ public class HistoricalDataService {
         private BigDecimal averageValue;
         private BigDecimal minValue;
         private BigDecimal maxValue;
+        private BigDecimal stdDeviation;
         private BigDecimal overallChangePercent;
         private TrendDirection overallTrend;
+        private double slopePerPeriod;
+        private double trendChangePercent;
+        private double goodnessOfFit; // R² of the linear trend
+        private List<Double> seasonalOffsets;
+        private int anomalyCount;
         private String firstPeriod;
         private String lastPeriod;
         
@@ -565,6 +625,7 @@ public class HistoricalDataService {
                     .periodType(periodType)
                     .periodsAnalyzed(0)
                     .dataPoints(List.of())
+                    .seasonalOffsets(List.of())
                     .overallTrend(TrendDirection.STABLE)
                     .build();
         }
@@ -577,6 +638,10 @@ public class HistoricalDataService {
         private BigDecimal value;
         private BigDecimal changePercent;
         private TrendDirection trendDirection;
+        private BigDecimal movingAverage;
+        private BigDecimal trendValue;
+        private double anomalyScore; // z-score of the residual
+        private boolean anomaly;
     }
 
     @lombok.Builder
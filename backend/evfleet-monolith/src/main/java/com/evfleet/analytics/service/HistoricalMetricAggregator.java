@@ -0,0 +1,167 @@
+package com.evfleet.analytics.service;
+
+import com.evfleet.analytics.model.HistoricalMetric.MetricType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Set-based historical metric aggregation
+ *
+ * Writes historical_metrics for every company at once with one
+ * {@code INSERT ... SELECT ... ON CONFLICT DO UPDATE} per metric family:
+ * - Daily: fleet_summaries rows are unpivoted into (metric, value) pairs
+ * - Monthly: DAILY metrics are rolled up per company, metric and month
+ *   (sum for cumulative metrics, average for rates)
+ *
+ * Previous value and change percent come from LAG() over the same statement's
+ * input, which reaches back one extra window (7 days, or one month) so the first
+ * period of a range still has a predecessor. Trend direction uses the same ±1%
+ * thresholds as {@code HistoricalMetric.calculateTrend()}.
+ *
+ * Statements join the caller's transaction.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HistoricalMetricAggregator {
+
+    private static final int DAILY_LOOKBACK_DAYS = 7;
+
+    /**
+     * Daily metric families: metric type to its expression over fleet_summaries (alias s)
+     */
+    private static final Map<String, Map<MetricType, String>> DAILY_FAMILIES = new LinkedHashMap<>();
+
+    static {
+        Map<MetricType, String> fleet = new LinkedHashMap<>();
+        fleet.put(MetricType.TOTAL_VEHICLES, "s.total_vehicles");
+        fleet.put(MetricType.ACTIVE_VEHICLES, "s.active_vehicles");
+        fleet.put(MetricType.VEHICLE_UTILIZATION_RATE,
+                "CASE WHEN s.total_vehicles > 0 " +
+                "THEN ROUND(s.active_vehicles::numeric / s.total_vehicles, 4) * 100 END");
+        DAILY_FAMILIES.put("fleet", fleet);
+
+        Map<MetricType, String> activity = new LinkedHashMap<>();
+        activity.put(MetricType.TOTAL_TRIPS, "s.total_trips");
+        activity.put(MetricType.TOTAL_DISTANCE_KM, "s.total_distance");
+        activity.put(MetricType.TOTAL_ENERGY_KWH, "s.total_energy_consumed");
+        DAILY_FAMILIES.put("activity", activity);
+
+        Map<MetricType, String> cost = new LinkedHashMap<>();
+        cost.put(MetricType.TOTAL_COST, "s.total_cost");
+        cost.put(MetricType.MAINTENANCE_COST, "s.maintenance_cost");
+        cost.put(MetricType.ENERGY_COST, "s.energy_cost");
+        cost.put(MetricType.COST_PER_KM,
+                "CASE WHEN s.total_distance > 0 " +
+                "THEN ROUND(s.total_cost / s.total_distance::numeric, 4) END");
+        DAILY_FAMILIES.put("cost", cost);
+    }
+
+    // Shared tail: change percent (clamped to the column's precision), trend and upsert
+    private static final String INSERT_COLUMNS =
+            "INSERT INTO historical_metrics (company_id, period_type, period_start, period_end, metric_type, " +
+            "metric_value, previous_value, change_percent, trend_direction, sample_count, " +
+            "min_value, max_value, avg_value, created_at, updated_at) ";
+
+    private static final String CHANGE_PERCENT =
+            "GREATEST(LEAST(ROUND((m.metric_value - m.previous_value) / NULLIF(m.previous_value, 0) * 100, 2), " +
+            "999999.99), -999999.99)";
+
+    private static final String UPSERT =
+            " ON CONFLICT (company_id, period_type, period_start, metric_type) DO UPDATE SET " +
+            "period_end = EXCLUDED.period_end, metric_value = EXCLUDED.metric_value, " +
+            "previous_value = EXCLUDED.previous_value, change_percent = EXCLUDED.change_percent, " +
+            "trend_direction = EXCLUDED.trend_direction, sample_count = EXCLUDED.sample_count, " +
+            "min_value = EXCLUDED.min_value, max_value = EXCLUDED.max_value, " +
+            "avg_value = EXCLUDED.avg_value, updated_at = EXCLUDED.updated_at";
+
+    private static final String MONTHLY_SQL = INSERT_COLUMNS +
+            "SELECT c.company_id, 'MONTHLY', c.period_start, c.period_end, c.metric_type, c.metric_value, " +
+            "c.previous_value, c.change_percent, " + trendDirection("c.change_percent") + ", c.sample_count, " +
+            "c.min_value, c.max_value, c.avg_value, now(), now() " +
+            "FROM (SELECT m.*, " + CHANGE_PERCENT + " AS change_percent " +
+            "  FROM (SELECT g.*, LAG(g.metric_value) OVER (PARTITION BY g.company_id, g.metric_type " +
+            "      ORDER BY g.period_start) AS previous_value " +
+            "    FROM (SELECT h.company_id, h.metric_type, " +
+            "        CAST(date_trunc('month', h.period_start) AS date) AS period_start, " +
+            "        CAST(date_trunc('month', h.period_start) + INTERVAL '1 month' - INTERVAL '1 day' AS date) AS period_end, " +
+            "        CASE WHEN h.metric_type IN (%s) THEN SUM(h.metric_value) " +
+            "             ELSE ROUND(AVG(h.metric_value), 4) END AS metric_value, " +
+            "        COUNT(*) AS sample_count, MIN(h.metric_value) AS min_value, " +
+            "        MAX(h.metric_value) AS max_value, ROUND(AVG(h.metric_value), 4) AS avg_value " +
+            "      FROM historical_metrics h " +
+            "      WHERE h.period_type = 'DAILY' AND h.period_start BETWEEN ? AND ? " +
+            "      GROUP BY h.company_id, h.metric_type, date_trunc('month', h.period_start)) g) m) c " +
+            "WHERE c.period_start >= ?" + UPSERT;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Aggregate daily metrics of all companies for a date range (both inclusive)
+     *
+     * @return Rows inserted or updated
+     */
+    public int aggregateDaily(LocalDate from, LocalDate to) {
+        int rows = 0;
+        for (Map.Entry<String, Map<MetricType, String>> family : DAILY_FAMILIES.entrySet()) {
+            int written = jdbcTemplate.update(dailySql(family.getValue()),
+                    Date.valueOf(from.minusDays(DAILY_LOOKBACK_DAYS)), Date.valueOf(to), Date.valueOf(from));
+            log.debug("Daily '{}' metrics for {}..{}: {} rows", family.getKey(), from, to, written);
+            rows += written;
+        }
+        return rows;
+    }
+
+    /**
+     * Roll up daily metrics of all companies into monthly metrics for a month range
+     *
+     * @return Rows inserted or updated
+     */
+    public int aggregateMonthly(YearMonth from, YearMonth to) {
+        String cumulative = Arrays.stream(MetricType.values())
+                .filter(HistoricalDataService::isCumulativeMetric)
+                .map(type -> "'" + type.name() + "'")
+                .collect(Collectors.joining(", "));
+
+        return jdbcTemplate.update(String.format(MONTHLY_SQL, cumulative),
+                Date.valueOf(from.minusMonths(1).atDay(1)), Date.valueOf(to.atEndOfMonth()),
+                Date.valueOf(from.atDay(1)));
+    }
+
+    private static String dailySql(Map<MetricType, String> metrics) {
+        String values = metrics.entrySet().stream()
+                .map(e -> "('" + e.getKey().name() + "', CAST(" + e.getValue() + " AS numeric))")
+                .collect(Collectors.joining(", "));
+
+        return INSERT_COLUMNS +
+                "SELECT c.company_id, 'DAILY', c.summary_date, c.summary_date, c.metric_type, c.metric_value, " +
+                "c.previous_value, c.change_percent, " + trendDirection("c.change_percent") + ", 1, " +
+                "NULL, NULL, NULL, now(), now() " +
+                "FROM (SELECT m.*, " + CHANGE_PERCENT + " AS change_percent " +
+                "  FROM (SELECT s.company_id, s.summary_date, v.metric_type, v.metric_value, " +
+                "      LAG(v.metric_value) OVER (PARTITION BY s.company_id, v.metric_type " +
+                "        ORDER BY s.summary_date) AS previous_value " +
+                "    FROM fleet_summaries s " +
+                "    CROSS JOIN LATERAL (VALUES " + values + ") AS v(metric_type, metric_value) " +
+                "    WHERE s.summary_date BETWEEN ? AND ? AND v.metric_value IS NOT NULL) m) c " +
+                "WHERE c.summary_date >= ?" + UPSERT;
+    }
+
+    private static String trendDirection(String changePercent) {
+        return "CASE WHEN " + changePercent + " > 1 THEN 'UP' " +
+                "WHEN " + changePercent + " < -1 THEN 'DOWN' ELSE 'STABLE' END";
+    }
+}
@@ -0,0 +1,421 @@
+package com.evfleet.analytics.service;
+
+import com.evfleet.analytics.dto.LivePositionFrame;
+import com.evfleet.fleet.model.Vehicle;
+import com.evfleet.fleet.repository.VehicleRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Live Position Stream Service
+ *
+ * Pushes vehicle position changes to open dashboards over Server-Sent Events.
+ * Replaces per-dashboard polling of the live endpoint with one fan-out per tick.
+ *
+ * How it works:
+ * - Location updates are coalesced per vehicle until the next tick
+ * - Each tick emits one delta frame per company containing only vehicles whose
+ *   quantized position or battery changed; the frame is serialized once and
+ *   shared by all subscribers of that company
+ * - Every subscriber has a bounded frame buffer drained by a small sender pool;
+ *   when a slow client fills its buffer, queued frames are merged so only the
+ *   latest position per vehicle is kept
+ * - New subscribers receive a snapshot frame first, then deltas
+ * - Ticks and heartbeats run on the stream's own scheduler thread, so long
+ *   scheduled jobs elsewhere never delay a frame
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Service
+@Slf4j
+public class LivePositionStreamService {
+
+    // 1e-5 degrees is roughly 1.1 m, well below map pin resolution
+    static final int COORDINATE_SCALE = 100_000;
+
+    private static final String TYPE_PING = "ping";
+
+    private final VehicleRepository vehicleRepository;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolTaskExecutor sendExecutor;
+    private final ThreadPoolTaskScheduler tickScheduler;
+
+    private final Map<Long, CompanyFeed> feeds = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    @Value("${evfleet.dashboard.live-stream.subscriber-buffer-frames:8}")
+    private int subscriberBufferFrames;
+
+    @Value("${evfleet.dashboard.live-stream.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${evfleet.dashboard.live-stream.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${evfleet.dashboard.live-stream.heartbeat-ms:15000}")
+    private long heartbeatMs;
+
+    // Metrics
+    private final Counter framesSent;
+    private final Counter framesCoalesced;
+
+    public LivePositionStreamService(
+            VehicleRepository vehicleRepository,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.vehicleRepository = vehicleRepository;
+        this.objectMapper = objectMapper;
+
+        this.sendExecutor = new ThreadPoolTaskExecutor();
+        this.sendExecutor.setCorePoolSize(4);
+        this.sendExecutor.setMaxPoolSize(8);
+        this.sendExecutor.setQueueCapacity(1000);
+        this.sendExecutor.setThreadNamePrefix("live-stream-");
+        this.sendExecutor.initialize();
+
+        this.tickScheduler = new ThreadPoolTaskScheduler();
+        this.tickScheduler.setPoolSize(1);
+        this.tickScheduler.setThreadNamePrefix("live-stream-tick-");
+        this.tickScheduler.initialize();
+
+        this.framesSent = Counter.builder("dashboard.live.frames.sent")
+                .description("Live position frames written to subscribers")
+                .register(meterRegistry);
+
+        this.framesCoalesced = Counter.builder("dashboard.live.frames.coalesced")
+                .description("Times a slow subscriber's buffered frames were merged")
+                .register(meterRegistry);
+
+        Gauge.builder("dashboard.live.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open live position streams")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void startTicks() {
+        tickScheduler.scheduleAtFixedRate(this::publishTick, Duration.ofMillis(tickMs));
+        tickScheduler.scheduleAtFixedRate(this::sendHeartbeats, Duration.ofMillis(heartbeatMs));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        tickScheduler.shutdown();
+        feeds.values().forEach(feed -> feed.subscribers.forEach(s -> s.emitter.complete()));
+        sendExecutor.shutdown();
+    }
+
+    // ========== SUBSCRIPTION ==========
+
+    /**
+     * Open a live position stream for a company.
+     * The first frame is a snapshot of all known positions, followed by deltas.
+     */
+    public SseEmitter subscribe(Long companyId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+
+        while (true) {
+            CompanyFeed feed = feeds.get(companyId);
+            if (feed == null) {
+                CompanyFeed seeded = new CompanyFeed(loadPositions(companyId));
+                feed = feeds.putIfAbsent(companyId, seeded);
+                if (feed == null) {
+                    feed = seeded;
+                }
+            }
+
+            synchronized (feed) {
+                if (feed.retired) {
+                    continue; // Last subscriber left concurrently, start over
+                }
+                feed.subscribers.add(subscriber);
+                enqueue(subscriber, encode(LivePositionFrame.TYPE_SNAPSHOT, feed.sequence,
+                        System.currentTimeMillis(), new ArrayList<>(feed.lastPublished.values())));
+            }
+
+            CompanyFeed subscribedFeed = feed;
+            emitter.onCompletion(() -> unsubscribe(companyId, subscribedFeed, subscriber));
+            emitter.onTimeout(emitter::complete);
+            emitter.onError(e -> unsubscribe(companyId, subscribedFeed, subscriber));
+
+            subscriberCount.incrementAndGet();
+            scheduleDrain(subscriber);
+            log.debug("Live stream opened for company {} ({} subscribers)", companyId, feed.subscribers.size());
+            return emitter;
+        }
+    }
+
+    /**
+     * Record a vehicle position. Later updates for the same vehicle within a tick replace earlier ones.
+     * Companies without open streams are ignored; their state is seeded from the database on subscribe.
+     */
+    public void recordPosition(Long companyId, Long vehicleId, double latitude, double longitude, Double batterySoc) {
+        CompanyFeed feed = feeds.get(companyId);
+        if (feed == null) {
+            return;
+        }
+        feed.pending.put(vehicleId, toRow(vehicleId, latitude, longitude, batterySoc));
+    }
+
+    // ========== TICK / FAN-OUT ==========
+
+    /**
+     * Emit one delta frame per company with changed positions
+     */
+    public void publishTick() {
+        long now = System.currentTimeMillis();
+
+        feeds.values().forEach(feed -> {
+            if (feed.pending.isEmpty()) {
+                return;
+            }
+            synchronized (feed) {
+                List<long[]> changed = feed.drainChanges();
+                if (changed.isEmpty()) {
+                    return;
+                }
+                feed.sequence++;
+                Frame frame = encode(LivePositionFrame.TYPE_DELTA, feed.sequence, now, changed);
+                for (Subscriber subscriber : feed.subscribers) {
+                    enqueue(subscriber, frame);
+                    scheduleDrain(subscriber);
+                }
+            }
+        });
+    }
+
+    /**
+     * Keep idle connections alive through proxies and detect closed clients
+     */
+    public void sendHeartbeats() {
+        Frame ping = new Frame(TYPE_PING, 0, 0, null, null);
+        feeds.values().forEach(feed -> feed.subscribers.forEach(subscriber -> {
+            boolean idle;
+            synchronized (subscriber) {
+                idle = subscriber.queue.isEmpty();
+            }
+            if (idle) {
+                enqueue(subscriber, ping);
+                scheduleDrain(subscriber);
+            }
+        }));
+    }
+
+    // ========== PRIVATE METHODS ==========
+
+    private void enqueue(Subscriber subscriber, Frame frame) {
+        synchronized (subscriber) {
+            if (subscriber.queue.size() >= subscriberBufferFrames) {
+                // Slow client: collapse the backlog, keeping only the latest row per vehicle
+                subscriber.queue.addLast(frame);
+                Frame merged = merge(subscriber.queue);
+                subscriber.queue.clear();
+                subscriber.queue.addLast(merged);
+                framesCoalesced.increment();
+            } else {
+                subscriber.queue.addLast(frame);
+            }
+        }
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.closed || !subscriber.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sendExecutor.execute(() -> drain(subscriber));
+        } catch (TaskRejectedException e) {
+            // Pool saturated; the next tick retries
+            subscriber.draining.set(false);
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            while (!subscriber.closed) {
+                Frame frame;
+                synchronized (subscriber) {
+                    frame = subscriber.queue.pollFirst();
+                }
+                if (frame == null) {
+                    break;
+                }
+                if (TYPE_PING.equals(frame.type)) {
+                    subscriber.emitter.send(SseEmitter.event().comment(TYPE_PING));
+                } else {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .name(frame.type)
+                            .id(String.valueOf(frame.seq))
+                            .data(frame.payload, MediaType.APPLICATION_JSON));
+                    framesSent.increment();
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Live stream subscriber disconnected: {}", e.getMessage());
+            subscriber.closed = true;
+            subscriber.emitter.completeWithError(e);
+        } finally {
+            subscriber.draining.set(false);
+        }
+
+        boolean pending;
+        synchronized (subscriber) {
+            pending = !subscriber.queue.isEmpty();
+        }
+        if (pending) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void unsubscribe(Long companyId, CompanyFeed feed, Subscriber subscriber) {
+        subscriber.closed = true;
+        synchronized (feed) {
+            if (!feed.subscribers.remove(subscriber)) {
+                return;
+            }
+            subscriberCount.decrementAndGet();
+            if (feed.subscribers.isEmpty()) {
+                feed.retired = true;
+                feeds.remove(companyId, feed);
+            }
+        }
+        log.debug("Live stream closed for company {}", companyId);
+    }
+
+    private Map<Long, long[]> loadPositions(Long companyId) {
+        Map<Long, long[]> positions = new LinkedHashMap<>();
+        for (Vehicle vehicle : vehicleRepository.findByCompanyId(companyId)) {
+            if (vehicle.getLatitude() == null || vehicle.getLongitude() == null) {
+                continue;
+            }
+            positions.put(vehicle.getId(), toRow(vehicle.getId(), vehicle.getLatitude(),
+                    vehicle.getLongitude(), vehicle.getCurrentBatterySoc()));
+        }
+        return positions;
+    }
+
+    private Frame merge(Deque<Frame> frames) {
+        Map<Long, long[]> latest = new LinkedHashMap<>();
+        String type = LivePositionFrame.TYPE_DELTA;
+        long seq = 0;
+        long ts = 0;
+
+        for (Frame frame : frames) {
+            if (frame.rows == null) {
+                continue; // Heartbeat
+            }
+            if (LivePositionFrame.TYPE_SNAPSHOT.equals(frame.type)) {
+                type = LivePositionFrame.TYPE_SNAPSHOT;
+            }
+            for (long[] row : frame.rows) {
+                latest.put(row[0], row);
+            }
+            seq = frame.seq;
+            ts = frame.ts;
+        }
+        return encode(type, seq, ts, new ArrayList<>(latest.values()));
+    }
+
+    private Frame encode(String type, long seq, long ts, List<long[]> rows) {
+        LivePositionFrame frame = LivePositionFrame.builder()
+                .type(type)
+                .seq(seq)
+                .ts(ts)
+                .scale(COORDINATE_SCALE)
+                .u(rows)
+                .build();
+        try {
+            return new Frame(type, seq, ts, rows, objectMapper.writeValueAsString(frame));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode live position frame", e);
+        }
+    }
+
+    private static long[] toRow(Long vehicleId, double latitude, double longitude, Double batterySoc) {
+        return new long[] {
+                vehicleId,
+                Math.round(latitude * COORDINATE_SCALE),
+                Math.round(longitude * COORDINATE_SCALE),
+                batterySoc != null ? Math.round(batterySoc) : -1
+        };
+    }
+
+    // ========== STATE CLASSES ==========
+
+    private static class CompanyFeed {
+        // Latest update per vehicle since the last tick
+        final Map<Long, long[]> pending = new ConcurrentHashMap<>();
+        // Last row sent per vehicle; guarded by the feed monitor
+        final Map<Long, long[]> lastPublished;
+        final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        long sequence;
+        boolean retired;
+
+        CompanyFeed(Map<Long, long[]> initialPositions) {
+            this.lastPublished = new HashMap<>(initialPositions);
+        }
+
+        List<long[]> drainChanges() {
+            List<long[]> changed = new ArrayList<>();
+            for (Long vehicleId : pending.keySet()) {
+                long[] row = pending.remove(vehicleId);
+                if (row == null || Arrays.equals(row, lastPublished.get(vehicleId))) {
+                    continue;
+                }
+                lastPublished.put(vehicleId, row);
+                changed.add(row);
+            }
+            return changed;
+        }
+    }
+
+    private static class Subscriber {
+        final SseEmitter emitter;
+        // Guarded by the subscriber monitor
+        final Deque<Frame> queue = new ArrayDeque<>();
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile boolean closed;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+
+    private static class Frame {
+        final String type;
+        final long seq;
+        final long ts;
+        final List<long[]> rows;
+        final String payload;
+
+        Frame(String type, long seq, long ts, List<long[]> rows, String payload) {
+            this.type = type;
+            this.seq = seq;
+            this.ts = ts;
+            this.rows = rows;
+            this.payload = payload;
+        }
+    }
+}
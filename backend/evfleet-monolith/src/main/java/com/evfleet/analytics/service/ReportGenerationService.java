@@ -4,6 +4,7 @@ import com.evfleet.analytics.dto.VehicleReportRequest;
 import com.evfleet.charging.model.ChargingSession;
 import com.evfleet.charging.repository.ChargingSessionRepository;
 import com.evfleet.common.exception.ResourceNotFoundException;
+import com.evfleet.common.exception.ServiceUnavailableException;
 import com.evfleet.fleet.model.BatteryHealth;
 import com.evfleet.fleet.model.Trip;
 import com.evfleet.fleet.model.Vehicle;
@@ -12,544 +13,527 @@ import com.evfleet.fleet.repository.TripRepository;
 import com.evfleet.fleet.repository.VehicleRepository;
 import com.evfleet.maintenance.model.MaintenanceRecord;
 import com.evfleet.maintenance.repository.MaintenanceRecordRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.pdmodel.PDPage;
-import org.apache.pdfbox.pdmodel.PDPageContentStream;
-import org.apache.pdfbox.pdmodel.common.PDRectangle;
-import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 /**
  * Report Generation Service
  * Handles PDF report generation for vehicles
  *
+ * Reports are rendered with bounded memory:
+ * - Section totals come from aggregate queries; listings load only the rows
+ *   printed, and the genealogy timeline reads trips, charging sessions and
+ *   maintenance records through server-side cursors, merged chronologically
+ * - Page content beyond a small in-memory budget spills to a PDFBox scratch file
+ * - The document is saved straight to the caller's stream (the servlet response),
+ *   after the read-only transaction used to lay it out has ended
+ * - At most {@code evfleet.reports.max-concurrent} reports render at once;
+ *   further requests wait briefly, then fail with 503
+ *
  * @author SEV Platform Team
  * @version 1.0.0
  */
 @Service
 @Slf4j
-@RequiredArgsConstructor
-@Transactional(readOnly = true)
 public class ReportGenerationService {
 
+    private static final int RECENT_TRIPS = 15;
+    private static final int RECENT_SESSIONS = 20;
+    private static final int MAINTENANCE_ROWS = 40;
+
     private final VehicleRepository vehicleRepository;
     private final TripRepository tripRepository;
     private final MaintenanceRecordRepository maintenanceRecordRepository;
     private final ChargingSessionRepository chargingSessionRepository;
     private final BatteryHealthRepository batteryHealthRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final Semaphore renderPermits;
+    private final long acquireTimeoutSeconds;
+    private final long pdfMainMemoryBytes;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
     private static final DateTimeFormatter DATE_ONLY_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
+    public ReportGenerationService(
+            VehicleRepository vehicleRepository,
+            TripRepository tripRepository,
+            MaintenanceRecordRepository maintenanceRecordRepository,
+            ChargingSessionRepository chargingSessionRepository,
+            BatteryHealthRepository batteryHealthRepository,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${evfleet.reports.max-concurrent:2}") int maxConcurrent,
+            @Value("${evfleet.reports.acquire-timeout-seconds:10}") long acquireTimeoutSeconds,
+            @Value("${evfleet.reports.pdf-main-memory-kb:4096}") long pdfMainMemoryKb) {
+        this.vehicleRepository = vehicleRepository;
+        this.tripRepository = tripRepository;
+        this.maintenanceRecordRepository = maintenanceRecordRepository;
+        this.chargingSessionRepository = chargingSessionRepository;
+        this.batteryHealthRepository = batteryHealthRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.renderPermits = new Semaphore(maxConcurrent, true);
+        this.acquireTimeoutSeconds = acquireTimeoutSeconds;
+        this.pdfMainMemoryBytes = pdfMainMemoryKb * 1024;
+
+        Gauge.builder("reports.pdf.active", renderPermits, p -> maxConcurrent - p.availablePermits())
+                .description("PDF reports currently rendering")
+                .register(meterRegistry);
+        Gauge.builder("reports.pdf.waiting", renderPermits, Semaphore::getQueueLength)
+                .description("PDF report requests waiting for a render slot")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Destination of a rendered report; opened only once the document is ready to
+     * be written, so earlier failures can still produce a normal error response
+     */
+    @FunctionalInterface
+    public interface ReportOutput {
+        OutputStream open() throws IOException;
+    }
+
     /**
      * Generate comprehensive vehicle report
      */
     public byte[] generateVehicleReport(VehicleReportRequest request) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writeVehicleReport(request, () -> baos);
+        return baos.toByteArray();
+    }
+
+    /**
+     * Render a comprehensive vehicle report to the given output
+     */
+    public void writeVehicleReport(VehicleReportRequest request, ReportOutput output) throws IOException {
         log.info("Generating vehicle report for vehicle: {}", request.getVehicleId());
 
-        Vehicle vehicle = vehicleRepository.findById(request.getVehicleId())
-                .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with id: " + request.getVehicleId()));
+        render(output, writer -> {
+            Vehicle vehicle = findVehicle(request.getVehicleId());
 
-        try (PDDocument document = new PDDocument()) {
             // Add title page
-            addTitlePage(document, vehicle, request);
+            addTitlePage(writer, vehicle, request);
+
+            // Totals shared by several sections, one aggregate query each
+            TripTotals tripTotals = request.isIncludeTripHistory() || request.isIncludePerformanceMetrics()
+                    || request.isIncludeCostAnalysis()
+                    ? tripTotals(vehicle.getId(), request.getStartDate(), request.getEndDate())
+                    : null;
+            ChargingTotals chargingTotals = request.isIncludeChargingHistory() || request.isIncludeCostAnalysis()
+                    ? chargingTotals(vehicle.getId(), request.getStartDate(), request.getEndDate())
+                    : null;
+            MaintenanceTotals maintenanceTotals = request.isIncludeMaintenanceHistory() || request.isIncludeCostAnalysis()
+                    ? maintenanceTotals(vehicle.getId(), request.getStartDate(), request.getEndDate())
+                    : null;
 
             // Add sections based on request
             if (request.isIncludeVehicleInfo()) {
-                addVehicleInfoSection(document, vehicle);
+                addVehicleInfoSection(writer, vehicle);
             }
 
             if (request.isIncludeTripHistory()) {
-                List<Trip> trips = tripRepository.findByVehicleIdAndStartTimeBetween(
-                        vehicle.getId(), request.getStartDate(), request.getEndDate());
-                addTripHistorySection(document, trips);
+                addTripHistorySection(writer, vehicle, request, tripTotals);
             }
 
             if (request.isIncludeMaintenanceHistory()) {
-                List<MaintenanceRecord> maintenanceRecords = maintenanceRecordRepository
-                        .findByVehicleIdAndScheduledDateBetween(
-                                vehicle.getId(), 
-                                request.getStartDate().toLocalDate(), 
-                                request.getEndDate().toLocalDate());
-                addMaintenanceHistorySection(document, maintenanceRecords);
+                addMaintenanceHistorySection(writer, vehicle, request, maintenanceTotals);
             }
 
             if (request.isIncludeChargingHistory()) {
-                List<ChargingSession> chargingSessions = chargingSessionRepository
-                        .findByVehicleIdAndStartTimeBetween(
-                                vehicle.getId(), request.getStartDate(), request.getEndDate());
-                addChargingHistorySection(document, chargingSessions);
+                addChargingHistorySection(writer, vehicle, request, chargingTotals);
             }
 
             if (request.isIncludePerformanceMetrics()) {
-                addPerformanceMetricsSection(document, vehicle, request);
+                addPerformanceMetricsSection(writer, vehicle, tripTotals);
             }
 
             if (request.isIncludeCostAnalysis()) {
-                addCostAnalysisSection(document, vehicle, request);
+                addCostAnalysisSection(writer, tripTotals, chargingTotals, maintenanceTotals);
             }
-
-            // Convert to byte array
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            document.save(baos);
-            log.info("Vehicle report generated successfully for vehicle: {}", request.getVehicleId());
-            return baos.toByteArray();
-        }
+        });
+        log.info("Vehicle report generated successfully for vehicle: {}", request.getVehicleId());
     }
 
     /**
      * Generate genealogy report (event timeline)
      */
     public byte[] generateGenealogyReport(Long vehicleId, LocalDateTime startDate, LocalDateTime endDate) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writeGenealogyReport(vehicleId, startDate, endDate, () -> baos);
+        return baos.toByteArray();
+    }
+
+    /**
+     * Render a genealogy report (event timeline) to the given output
+     */
+    public void writeGenealogyReport(Long vehicleId, LocalDateTime startDate, LocalDateTime endDate,
+                                     ReportOutput output) throws IOException {
         log.info("Generating genealogy report for vehicle: {}", vehicleId);
 
-        Vehicle vehicle = vehicleRepository.findById(vehicleId)
-                .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with id: " + vehicleId));
+        render(output, writer -> {
+            Vehicle vehicle = findVehicle(vehicleId);
 
-        try (PDDocument document = new PDDocument()) {
             // Title page
-            PDPage titlePage = new PDPage(PDRectangle.A4);
-            document.addPage(titlePage);
-
-            try (PDPageContentStream contentStream = new PDPageContentStream(document, titlePage)) {
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 20);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(50, 750);
-                contentStream.showText("Vehicle Genealogy Report");
-                contentStream.endText();
-
-                contentStream.setFont(PDType1Font.HELVETICA, 12);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(50, 720);
-                contentStream.showText("Vehicle: " + vehicle.getMake() + " " + vehicle.getModel());
-                contentStream.endText();
-
-                contentStream.beginText();
-                contentStream.newLineAtOffset(50, 700);
-                contentStream.showText("VIN: " + (vehicle.getVehicleNumber() != null ? vehicle.getVehicleNumber() : "N/A"));
-                contentStream.endText();
-
-                contentStream.beginText();
-                contentStream.newLineAtOffset(50, 680);
-                contentStream.showText("Period: " + startDate.format(DATE_FORMATTER) + " to " + endDate.format(DATE_FORMATTER));
-                contentStream.endText();
-            }
+            writer.newPage();
+            writer.heading("Vehicle Genealogy Report", 20, 30);
+            writer.text("Vehicle: " + vehicle.getMake() + " " + vehicle.getModel(), 12, 20);
+            writer.text("VIN: " + (vehicle.getVehicleNumber() != null ? vehicle.getVehicleNumber() : "N/A"), 12, 20);
+            writer.text("Period: " + startDate.format(DATE_FORMATTER) + " to " + endDate.format(DATE_FORMATTER), 12, 20);
 
             // Event timeline
-            addEventTimelineSection(document, vehicle, startDate, endDate);
+            addEventTimelineSection(writer, vehicle, startDate, endDate);
+        });
+        log.info("Genealogy report generated successfully for vehicle: {}", vehicleId);
+    }
 
-            // Convert to byte array
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            document.save(baos);
-            log.info("Genealogy report generated successfully for vehicle: {}", vehicleId);
-            return baos.toByteArray();
+    // ========== RENDERING ==========
+
+    @FunctionalInterface
+    private interface ReportContent {
+        void write(ReportPageWriter writer) throws IOException;
+    }
+
+    /**
+     * Lay out the report in a read-only transaction, then write it out. The permit is
+     * taken before any query, and the transaction (with its connection) ends before
+     * the document is sent, so queued or slow clients do not hold pool connections.
+     */
+    private void render(ReportOutput output, ReportContent content) throws IOException {
+        acquireRenderPermit();
+        try (PDDocument document = new PDDocument(MemoryUsageSetting.setupMixed(pdfMainMemoryBytes))) {
+            try {
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    try (ReportPageWriter writer = new ReportPageWriter(document)) {
+                        content.write(writer);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            try (OutputStream out = output.open()) {
+                document.save(out);
+            }
+        } finally {
+            renderPermits.release();
         }
     }
 
+    private Vehicle findVehicle(Long vehicleId) {
+        return vehicleRepository.findById(vehicleId)
+                .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with id: " + vehicleId));
+    }
+
+    private void acquireRenderPermit() {
+        try {
+            if (!renderPermits.tryAcquire(acquireTimeoutSeconds, TimeUnit.SECONDS)) {
+                throw new ServiceUnavailableException("Too many reports are being generated, please retry shortly");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while waiting to generate report", e);
+        }
+    }
+
+    // ========== SECTIONS ==========
+
     /**
      * Add title page to the report
      */
-    private void addTitlePage(PDDocument document, Vehicle vehicle, VehicleReportRequest request) throws IOException {
-        PDPage page = new PDPage(PDRectangle.A4);
-        document.addPage(page);
-
-        try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, 24);
-            contentStream.beginText();
-            contentStream.newLineAtOffset(50, 750);
-            contentStream.showText("Vehicle Report");
-            contentStream.endText();
-
-            contentStream.setFont(PDType1Font.HELVETICA, 14);
-            contentStream.beginText();
-            contentStream.newLineAtOffset(50, 710);
-            contentStream.showText("Vehicle: " + vehicle.getMake() + " " + vehicle.getModel());
-            contentStream.endText();
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(50, 685);
-            contentStream.showText("VIN: " + (vehicle.getVehicleNumber() != null ? vehicle.getVehicleNumber() : "N/A"));
-            contentStream.endText();
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(50, 660);
-            contentStream.showText("Report Period: " + 
-                    request.getStartDate().format(DATE_FORMATTER) + " to " + 
-                    request.getEndDate().format(DATE_FORMATTER));
-            contentStream.endText();
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(50, 635);
-            contentStream.showText("Generated: " + LocalDateTime.now().format(DATE_FORMATTER));
-            contentStream.endText();
-        }
+    private void addTitlePage(ReportPageWriter writer, Vehicle vehicle, VehicleReportRequest request) throws IOException {
+        writer.newPage();
+        writer.heading("Vehicle Report", 24, 40);
+        writer.text("Vehicle: " + vehicle.getMake() + " " + vehicle.getModel(), 14, 25);
+        writer.text("VIN: " + (vehicle.getVehicleNumber() != null ? vehicle.getVehicleNumber() : "N/A"), 14, 25);
+        writer.text("Report Period: " +
+                request.getStartDate().format(DATE_FORMATTER) + " to " +
+                request.getEndDate().format(DATE_FORMATTER), 14, 25);
+        writer.text("Generated: " + LocalDateTime.now().format(DATE_FORMATTER), 14, 25);
     }
 
     /**
      * Add vehicle information section
      */
-    private void addVehicleInfoSection(PDDocument document, Vehicle vehicle) throws IOException {
-        PDPage page = new PDPage(PDRectangle.A4);
-        document.addPage(page);
-
-        try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, 16);
-            contentStream.beginText();
-            contentStream.newLineAtOffset(50, 750);
-            contentStream.showText("Vehicle Information");
-            contentStream.endText();
-
-            contentStream.setFont(PDType1Font.HELVETICA, 12);
-            int yPosition = 720;
-
-            addTextField(contentStream, "Make:", vehicle.getMake(), yPosition);
-            yPosition -= 25;
-            addTextField(contentStream, "Model:", vehicle.getModel(), yPosition);
-            yPosition -= 25;
-            addTextField(contentStream, "Year:", String.valueOf(vehicle.getYear()), yPosition);
-            yPosition -= 25;
-            addTextField(contentStream, "VIN:", vehicle.getVehicleNumber(), yPosition);
-            yPosition -= 25;
-            addTextField(contentStream, "Fuel Type:", vehicle.getFuelType().toString(), yPosition);
-            yPosition -= 25;
-            addTextField(contentStream, "Status:", vehicle.getStatus().toString(), yPosition);
-            yPosition -= 25;
-
-            if (vehicle.getBatteryCapacity() != null) {
-                addTextField(contentStream, "Battery Capacity:", vehicle.getBatteryCapacity() + " kWh", yPosition);
-                yPosition -= 25;
-            }
+    private void addVehicleInfoSection(ReportPageWriter writer, Vehicle vehicle) throws IOException {
+        writer.newPage();
+        writer.heading("Vehicle Information", 16, 30);
+
+        writer.field("Make:", vehicle.getMake(), 12, 25);
+        writer.field("Model:", vehicle.getModel(), 12, 25);
+        writer.field("Year:", String.valueOf(vehicle.getYear()), 12, 25);
+        writer.field("VIN:", vehicle.getVehicleNumber(), 12, 25);
+        writer.field("Fuel Type:", vehicle.getFuelType().toString(), 12, 25);
+        writer.field("Status:", vehicle.getStatus().toString(), 12, 25);
+
+        if (vehicle.getBatteryCapacity() != null) {
+            writer.field("Battery Capacity:", vehicle.getBatteryCapacity() + " kWh", 12, 25);
         }
     }
 
     /**
      * Add trip history section
      */
-    private void addTripHistorySection(PDDocument document, List<Trip> trips) throws IOException {
-        PDPage page = new PDPage(PDRectangle.A4);
-        document.addPage(page);
-
-        try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, 16);
-            contentStream.beginText();
-            contentStream.newLineAtOffset(50, 750);
-            contentStream.showText("Trip History");
-            contentStream.endText();
-
-            contentStream.setFont(PDType1Font.HELVETICA, 10);
-            int yPosition = 720;
-
-            addTextField(contentStream, "Total Trips:", String.valueOf(trips.size()), yPosition);
-            yPosition -= 20;
-
-            double totalDistance = trips.stream()
-                    .mapToDouble(t -> t.getDistance() != null ? t.getDistance() : 0.0)
-                    .sum();
-            addTextField(contentStream, "Total Distance:", String.format("%.2f km", totalDistance), yPosition);
-            yPosition -= 20;
-
-            BigDecimal totalEnergy = trips.stream()
-                    .map(t -> t.getEnergyConsumed() != null ? t.getEnergyConsumed() : BigDecimal.ZERO)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            addTextField(contentStream, "Total Energy:", String.format("%.2f kWh", totalEnergy), yPosition);
-            yPosition -= 30;
-
-            // List recent trips (max 15)
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-            contentStream.beginText();
-            contentStream.newLineAtOffset(50, yPosition);
-            contentStream.showText("Recent Trips:");
-            contentStream.endText();
-            yPosition -= 20;
-
-            contentStream.setFont(PDType1Font.HELVETICA, 9);
-            int count = 0;
-            for (Trip trip : trips) {
-                if (count >= 15 || yPosition < 100) break;
-
-                String tripInfo = String.format("%s | %.1f km | %.2f kWh", 
-                        trip.getStartTime().format(DATE_FORMATTER),
-                        trip.getDistance() != null ? trip.getDistance() : 0.0,
-                        trip.getEnergyConsumed() != null ? trip.getEnergyConsumed() : BigDecimal.ZERO);
-
-                contentStream.beginText();
-                contentStream.newLineAtOffset(50, yPosition);
-                contentStream.showText(tripInfo);
-                contentStream.endText();
-                yPosition -= 15;
-                count++;
-            }
+    private void addTripHistorySection(ReportPageWriter writer, Vehicle vehicle, VehicleReportRequest request,
+                                       TripTotals totals) throws IOException {
+        writer.newPage();
+        writer.heading("Trip History", 16, 30);
+
+        writer.field("Total Trips:", String.valueOf(totals.count()), 10, 20);
+        writer.field("Total Distance:", String.format("%.2f km", totals.distanceKm()), 10, 20);
+        writer.field("Total Energy:", String.format("%.2f kWh", totals.energyKwh()), 10, 30);
+
+        // List recent trips
+        writer.heading("Recent Trips:", 12, 20);
+        List<Trip> trips = tripRepository.findByVehicleIdAndStartTimeBetweenOrderByStartTimeDesc(
+                vehicle.getId(), request.getStartDate(), request.getEndDate(), PageRequest.of(0, RECENT_TRIPS));
+        for (Trip trip : trips) {
+            writer.text(formatTrip(trip), 9, 15);
         }
     }
 
     /**
      * Add maintenance history section
      */
-    private void addMaintenanceHistorySection(PDDocument document, List<MaintenanceRecord> records) throws IOException {
-        PDPage page = new PDPage(PDRectangle.A4);
-        document.addPage(page);
-
-        try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, 16);
-            contentStream.beginText();
-            contentStream.newLineAtOffset(50, 750);
-            contentStream.showText("Maintenance History");
-            contentStream.endText();
-
-            contentStream.setFont(PDType1Font.HELVETICA, 10);
-            int yPosition = 720;
-
-            addTextField(contentStream, "Total Records:", String.valueOf(records.size()), yPosition);
-            yPosition -= 20;
-
-            BigDecimal totalCost = records.stream()
-                    .map(m -> m.getCost() != null ? m.getCost() : BigDecimal.ZERO)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            addTextField(contentStream, "Total Cost:", String.format("$%.2f", totalCost), yPosition);
-            yPosition -= 30;
-
-            // List maintenance records
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-            contentStream.beginText();
-            contentStream.newLineAtOffset(50, yPosition);
-            contentStream.showText("Maintenance Records:");
-            contentStream.endText();
-            yPosition -= 20;
-
-            contentStream.setFont(PDType1Font.HELVETICA, 9);
-            for (MaintenanceRecord record : records) {
-                if (yPosition < 100) break;
-
-                String recordInfo = String.format("%s | %s | $%.2f", 
-                        record.getScheduledDate().format(DATE_ONLY_FORMATTER),
-                        record.getDescription() != null ? record.getDescription() : "N/A",
-                        record.getCost() != null ? record.getCost() : BigDecimal.ZERO);
-
-                contentStream.beginText();
-                contentStream.newLineAtOffset(50, yPosition);
-                contentStream.showText(recordInfo);
-                contentStream.endText();
-                yPosition -= 15;
-            }
+    private void addMaintenanceHistorySection(ReportPageWriter writer, Vehicle vehicle, VehicleReportRequest request,
+                                              MaintenanceTotals totals) throws IOException {
+        writer.newPage();
+        writer.heading("Maintenance History", 16, 30);
+
+        writer.field("Total Records:", String.valueOf(totals.count()), 10, 20);
+        writer.field("Total Cost:", String.format("$%.2f", totals.cost()), 10, 30);
+
+        // List maintenance records
+        writer.heading("Maintenance Records:", 12, 20);
+        List<MaintenanceRecord> records = maintenanceRecordRepository
+                .findByVehicleIdAndScheduledDateBetweenOrderByScheduledDateAsc(
+                        vehicle.getId(),
+                        request.getStartDate().toLocalDate(),
+                        request.getEndDate().toLocalDate(),
+                        PageRequest.of(0, MAINTENANCE_ROWS));
+        for (MaintenanceRecord record : records) {
+            writer.text(String.format("%s | %s | $%.2f",
+                    record.getScheduledDate().format(DATE_ONLY_FORMATTER),
+                    record.getDescription() != null ? record.getDescription() : "N/A",
+                    record.getCost() != null ? record.getCost() : BigDecimal.ZERO), 9, 15);
         }
     }
 
     /**
      * Add charging history section
      */
-    private void addChargingHistorySection(PDDocument document, List<ChargingSession> sessions) throws IOException {
-        PDPage page = new PDPage(PDRectangle.A4);
-        document.addPage(page);
-
-        try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, 16);
-            contentStream.beginText();
-            contentStream.newLineAtOffset(50, 750);
-            contentStream.showText("Charging History");
-            contentStream.endText();
-
-            contentStream.setFont(PDType1Font.HELVETICA, 10);
-            int yPosition = 720;
-
-            addTextField(contentStream, "Total Sessions:", String.valueOf(sessions.size()), yPosition);
-            yPosition -= 20;
-
-            BigDecimal totalEnergy = sessions.stream()
-                    .map(s -> s.getEnergyConsumed() != null ? s.getEnergyConsumed() : BigDecimal.ZERO)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            addTextField(contentStream, "Total Energy:", String.format("%.2f kWh", totalEnergy), yPosition);
-            yPosition -= 20;
-
-            BigDecimal totalCost = sessions.stream()
-                    .map(s -> s.getCost() != null ? s.getCost() : BigDecimal.ZERO)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            addTextField(contentStream, "Total Cost:", String.format("$%.2f", totalCost), yPosition);
-            yPosition -= 30;
-
-            // List charging sessions
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-            contentStream.beginText();
-            contentStream.newLineAtOffset(50, yPosition);
-            contentStream.showText("Charging Sessions:");
-            contentStream.endText();
-            yPosition -= 20;
-
-            contentStream.setFont(PDType1Font.HELVETICA, 9);
-            int count = 0;
-            for (ChargingSession session : sessions) {
-                if (count >= 20 || yPosition < 100) break;
-
-                String sessionInfo = String.format("%s | %.2f kWh | $%.2f", 
-                        session.getStartTime().format(DATE_FORMATTER),
-                        session.getEnergyConsumed() != null ? session.getEnergyConsumed() : BigDecimal.ZERO,
-                        session.getCost() != null ? session.getCost() : BigDecimal.ZERO);
-
-                contentStream.beginText();
-                contentStream.newLineAtOffset(50, yPosition);
-                contentStream.showText(sessionInfo);
-                contentStream.endText();
-                yPosition -= 15;
-                count++;
-            }
+    private void addChargingHistorySection(ReportPageWriter writer, Vehicle vehicle, VehicleReportRequest request,
+                                           ChargingTotals totals) throws IOException {
+        writer.newPage();
+        writer.heading("Charging History", 16, 30);
+
+        writer.field("Total Sessions:", String.valueOf(totals.count()), 10, 20);
+        writer.field("Total Energy:", String.format("%.2f kWh", totals.energyKwh()), 10, 20);
+        writer.field("Total Cost:", String.format("$%.2f", totals.cost()), 10, 30);
+
+        // List charging sessions
+        writer.heading("Charging Sessions:", 12, 20);
+        List<ChargingSession> sessions = chargingSessionRepository.findByVehicleIdAndStartTimeBetweenOrderByStartTimeDesc(
+                vehicle.getId(), request.getStartDate(), request.getEndDate(), PageRequest.of(0, RECENT_SESSIONS));
+        for (ChargingSession session : sessions) {
+            writer.text(formatChargingSession(session), 9, 15);
         }
     }
 
     /**
      * Add performance metrics section
      */
-    private void addPerformanceMetricsSection(PDDocument document, Vehicle vehicle, VehicleReportRequest request) throws IOException {
-        PDPage page = new PDPage(PDRectangle.A4);
-        document.addPage(page);
-
-        try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, 16);
-            contentStream.beginText();
-            contentStream.newLineAtOffset(50, 750);
-            contentStream.showText("Performance Metrics");
-            contentStream.endText();
-
-            contentStream.setFont(PDType1Font.HELVETICA, 12);
-            int yPosition = 720;
-
-            // Get battery health
-            BatteryHealth latestBatteryHealth = batteryHealthRepository
-                    .findFirstByVehicleIdOrderByRecordedAtDesc(vehicle.getId())
-                    .orElse(null);
-
-            if (latestBatteryHealth != null) {
-                addTextField(contentStream, "Battery SOC:", String.format("%.1f%%", latestBatteryHealth.getCurrentSoc()), yPosition);
-                yPosition -= 25;
-                addTextField(contentStream, "Battery SOH:", String.format("%.1f%%", latestBatteryHealth.getSoh()), yPosition);
-                yPosition -= 25;
-            }
-
-
-            // Calculate average efficiency
-            List<Trip> trips = tripRepository.findByVehicleIdAndStartTimeBetween(
-                    vehicle.getId(), request.getStartDate(), request.getEndDate());
-
-            if (!trips.isEmpty()) {
-                double totalDistance = trips.stream()
-                        .mapToDouble(t -> t.getDistance() != null ? t.getDistance() : 0.0)
-                        .sum();
-
-                BigDecimal totalEnergy = trips.stream()
-                        .map(t -> t.getEnergyConsumed() != null ? t.getEnergyConsumed() : BigDecimal.ZERO)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private void addPerformanceMetricsSection(ReportPageWriter writer, Vehicle vehicle, TripTotals tripTotals) throws IOException {
+        writer.newPage();
+        writer.heading("Performance Metrics", 16, 30);
+
+        // Get battery health
+        BatteryHealth latestBatteryHealth = batteryHealthRepository
+                .findFirstByVehicleIdOrderByRecordedAtDesc(vehicle.getId())
+                .orElse(null);
+
+        if (latestBatteryHealth != null) {
+            writer.field("Battery SOC:", String.format("%.1f%%", latestBatteryHealth.getCurrentSoc()), 12, 25);
+            writer.field("Battery SOH:", String.format("%.1f%%", latestBatteryHealth.getSoh()), 12, 25);
+        }
 
-                if (totalDistance > 0) {
-                    double efficiency = totalEnergy.doubleValue() * 100 / totalDistance;
-                    addTextField(contentStream, "Avg Efficiency:", String.format("%.2f kWh/100km", efficiency), yPosition);
-                }
-            }
+        // Calculate average efficiency
+        if (tripTotals.count() > 0 && tripTotals.distanceKm() > 0) {
+            double efficiency = tripTotals.energyKwh().doubleValue() * 100 / tripTotals.distanceKm();
+            writer.field("Avg Efficiency:", String.format("%.2f kWh/100km", efficiency), 12, 25);
         }
     }
 
     /**
      * Add cost analysis section
      */
-    private void addCostAnalysisSection(PDDocument document, Vehicle vehicle, VehicleReportRequest request) throws IOException {
-        PDPage page = new PDPage(PDRectangle.A4);
-        document.addPage(page);
-
-        try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, 16);
-            contentStream.beginText();
-            contentStream.newLineAtOffset(50, 750);
-            contentStream.showText("Cost Analysis");
-            contentStream.endText();
-
-            contentStream.setFont(PDType1Font.HELVETICA, 12);
-            int yPosition = 720;
-
-            // Get charging costs
-            List<ChargingSession> sessions = chargingSessionRepository
-                    .findByVehicleIdAndStartTimeBetween(vehicle.getId(), request.getStartDate(), request.getEndDate());
-
-            BigDecimal energyCost = sessions.stream()
-                    .map(s -> s.getCost() != null ? s.getCost() : BigDecimal.ZERO)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            addTextField(contentStream, "Energy Costs:", String.format("$%.2f", energyCost), yPosition);
-            yPosition -= 25;
-
-            // Get maintenance costs
-            List<MaintenanceRecord> records = maintenanceRecordRepository
-                    .findByVehicleIdAndScheduledDateBetween(
-                            vehicle.getId(), 
-                            request.getStartDate().toLocalDate(), 
-                            request.getEndDate().toLocalDate());
-
-            BigDecimal maintenanceCost = records.stream()
-                    .map(m -> m.getCost() != null ? m.getCost() : BigDecimal.ZERO)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            addTextField(contentStream, "Maintenance Costs:", String.format("$%.2f", maintenanceCost), yPosition);
-            yPosition -= 25;
-
-            BigDecimal totalCost = energyCost.add(maintenanceCost);
-            addTextField(contentStream, "Total Costs:", String.format("$%.2f", totalCost), yPosition);
-            yPosition -= 25;
-
-            // Calculate cost per km
-            List<Trip> trips = tripRepository.findByVehicleIdAndStartTimeBetween(
-                    vehicle.getId(), request.getStartDate(), request.getEndDate());
-
-            double totalDistance = trips.stream()
-                    .mapToDouble(t -> t.getDistance() != null ? t.getDistance() : 0.0)
-                    .sum();
-
-            if (totalDistance > 0) {
-                double costPerKm = totalCost.doubleValue() / totalDistance;
-                addTextField(contentStream, "Cost per km:", String.format("$%.4f", costPerKm), yPosition);
-            }
+    private void addCostAnalysisSection(ReportPageWriter writer, TripTotals tripTotals,
+                                        ChargingTotals chargingTotals, MaintenanceTotals maintenanceTotals) throws IOException {
+        writer.newPage();
+        writer.heading("Cost Analysis", 16, 30);
+
+        BigDecimal energyCost = chargingTotals.cost();
+        writer.field("Energy Costs:", String.format("$%.2f", energyCost), 12, 25);
+
+        BigDecimal maintenanceCost = maintenanceTotals.cost();
+        writer.field("Maintenance Costs:", String.format("$%.2f", maintenanceCost), 12, 25);
+
+        BigDecimal totalCost = energyCost.add(maintenanceCost);
+        writer.field("Total Costs:", String.format("$%.2f", totalCost), 12, 25);
+
+        // Calculate cost per km
+        if (tripTotals.distanceKm() > 0) {
+            double costPerKm = totalCost.doubleValue() / tripTotals.distanceKm();
+            writer.field("Cost per km:", String.format("$%.4f", costPerKm), 12, 25);
         }
     }
 
     /**
      * Add event timeline section for genealogy report
+     *
+     * Trips, charging sessions and maintenance records are read through cursors in
+     * time order and merged, so only one row per source is held at a time.
      */
-    private void addEventTimelineSection(PDDocument document, Vehicle vehicle, 
+    private void addEventTimelineSection(ReportPageWriter writer, Vehicle vehicle,
                                          LocalDateTime startDate, LocalDateTime endDate) throws IOException {
-        PDPage page = new PDPage(PDRectangle.A4);
-        document.addPage(page);
-
-        try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, 14);
-            contentStream.beginText();
-            contentStream.newLineAtOffset(50, 750);
-            contentStream.showText("Event Timeline");
-            contentStream.endText();
-
-            contentStream.setFont(PDType1Font.HELVETICA, 10);
-            int yPosition = 720;
-
-            // This would include all events chronologically
-            // For now, showing a simplified version
-            contentStream.beginText();
-            contentStream.newLineAtOffset(50, yPosition);
-            contentStream.showText("Timeline of all vehicle events including trips, maintenance, and charging...");
-            contentStream.endText();
+        writer.newPage();
+        writer.heading("Event Timeline", 14, 30);
+
+        TripTotals trips = tripTotals(vehicle.getId(), startDate, endDate);
+        ChargingTotals charging = chargingTotals(vehicle.getId(), startDate, endDate);
+        MaintenanceTotals maintenance = maintenanceTotals(vehicle.getId(), startDate, endDate);
+        writer.text(String.format("Trips: %d | Charging sessions: %d | Maintenance records: %d",
+                trips.count(), charging.count(), maintenance.count()), 10, 25);
+
+        try (Stream<Trip> tripStream = tripRepository.streamByVehicleIdAndStartTimeBetween(
+                     vehicle.getId(), startDate, endDate);
+             Stream<ChargingSession> chargingStream = chargingSessionRepository.streamByVehicleIdAndStartTimeBetween(
+                     vehicle.getId(), startDate, endDate);
+             Stream<MaintenanceRecord> maintenanceStream = maintenanceRecordRepository.streamByVehicleIdAndScheduledDateBetween(
+                     vehicle.getId(), startDate.toLocalDate(), endDate.toLocalDate())) {
+
+            PriorityQueue<TimelineCursor> cursors = new PriorityQueue<>(
+                    Comparator.comparing((TimelineCursor c) -> c.head().time()));
+            offer(cursors, tripStream.map(trip ->
+                    new TimelineEvent(trip.getStartTime(), "Trip | " + formatTrip(detach(trip)))).iterator());
+            offer(cursors, chargingStream.map(session ->
+                    new TimelineEvent(session.getStartTime(), "Charging | " + formatChargingSession(detach(session)))).iterator());
+            offer(cursors, maintenanceStream.map(record ->
+                    new TimelineEvent(record.getScheduledDate().atStartOfDay(), formatMaintenanceEvent(detach(record)))).iterator());
+
+            while (!cursors.isEmpty()) {
+                TimelineCursor cursor = cursors.poll();
+                writer.text(cursor.head().text(), 9, 14);
+                offer(cursors, cursor.rest());
+            }
+        }
+    }
+
+    // ========== TOTALS ==========
+
+    private record TripTotals(long count, double distanceKm, BigDecimal energyKwh) {
+    }
+
+    private record ChargingTotals(long count, BigDecimal energyKwh, BigDecimal cost) {
+    }
+
+    private record MaintenanceTotals(long count, BigDecimal cost) {
+    }
+
+    private TripTotals tripTotals(Long vehicleId, LocalDateTime startDate, LocalDateTime endDate) {
+        Object[] row = tripRepository.summarizeByVehicleIdAndStartTimeBetween(vehicleId, startDate, endDate).get(0);
+        return new TripTotals(((Number) row[0]).longValue(), ((Number) row[1]).doubleValue(), toBigDecimal(row[2]));
+    }
+
+    private ChargingTotals chargingTotals(Long vehicleId, LocalDateTime startDate, LocalDateTime endDate) {
+        Object[] row = chargingSessionRepository.summarizeByVehicleIdAndStartTimeBetween(vehicleId, startDate, endDate).get(0);
+        return new ChargingTotals(((Number) row[0]).longValue(), toBigDecimal(row[1]), toBigDecimal(row[2]));
+    }
+
+    private MaintenanceTotals maintenanceTotals(Long vehicleId, LocalDateTime startDate, LocalDateTime endDate) {
+        Object[] row = maintenanceRecordRepository.summarizeByVehicleIdAndScheduledDateBetween(
+                vehicleId, startDate.toLocalDate(), endDate.toLocalDate()).get(0);
+        return new MaintenanceTotals(((Number) row[0]).longValue(), toBigDecimal(row[1]));
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value instanceof BigDecimal decimal) {
+            return decimal;
+        }
+        return value != null ? BigDecimal.valueOf(((Number) value).doubleValue()) : BigDecimal.ZERO;
+    }
+
+    // ========== TIMELINE ==========
+
+    private record TimelineEvent(LocalDateTime time, String text) {
+    }
+
+    private record TimelineCursor(TimelineEvent head, Iterator<TimelineEvent> rest) {
+    }
+
+    private static void offer(PriorityQueue<TimelineCursor> cursors, Iterator<TimelineEvent> events) {
+        if (events.hasNext()) {
+            cursors.add(new TimelineCursor(events.next(), events));
         }
     }
 
     /**
-     * Helper method to add text field
+     * Drop a streamed row from the persistence context once it has been read
      */
-    private void addTextField(PDPageContentStream contentStream, String label, String value, int yPosition) throws IOException {
-        contentStream.beginText();
-        contentStream.newLineAtOffset(50, yPosition);
-        contentStream.showText(label + " " + (value != null ? value : "N/A"));
-        contentStream.endText();
+    private <T> T detach(T entity) {
+        entityManager.detach(entity);
+        return entity;
+    }
+
+    // ========== FORMATTING ==========
+
+    private static String formatTrip(Trip trip) {
+        return String.format("%s | %.1f km | %.2f kWh",
+                trip.getStartTime().format(DATE_FORMATTER),
+                trip.getDistance() != null ? trip.getDistance() : 0.0,
+                trip.getEnergyConsumed() != null ? trip.getEnergyConsumed() : BigDecimal.ZERO);
+    }
+
+    private static String formatChargingSession(ChargingSession session) {
+        return String.format("%s | %.2f kWh | $%.2f",
+                session.getStartTime().format(DATE_FORMATTER),
+                session.getEnergyConsumed() != null ? session.getEnergyConsumed() : BigDecimal.ZERO,
+                session.getCost() != null ? session.getCost() : BigDecimal.ZERO);
+    }
+
+    private static String formatMaintenanceEvent(MaintenanceRecord record) {
+        return String.format("Maintenance | %s | %s | %s | $%.2f",
+                record.getScheduledDate().format(DATE_ONLY_FORMATTER),
+                record.getType() != null ? record.getType() : "N/A",
+                record.getDescription() != null ? record.getDescription() : "N/A",
+                record.getCost() != null ? record.getCost() : BigDecimal.ZERO);
     }
 }
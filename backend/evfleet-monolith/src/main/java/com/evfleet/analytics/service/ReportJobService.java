@@ -0,0 +1,362 @@
+package com.evfleet.analytics.service;
+
+import com.evfleet.analytics.dto.ReportJobResponse;
+import com.evfleet.analytics.dto.VehicleReportRequest;
+import com.evfleet.analytics.model.ReportJob;
+import com.evfleet.analytics.model.ReportJob.JobStatus;
+import com.evfleet.analytics.model.ReportJob.ReportType;
+import com.evfleet.analytics.repository.ReportJobRepository;
+import com.evfleet.common.exception.ResourceNotFoundException;
+import com.evfleet.common.exception.ServiceUnavailableException;
+import com.evfleet.document.service.FileStorageService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.PathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Report Job Service
+ *
+ * Asynchronous report rendering:
+ * - Submitting returns a job immediately; a bounded worker pool renders it
+ * - Results are written to a "reports" directory next to the document upload
+ *   directory (see {@link FileStorageService}), named by content hash
+ * - The content hash covers report type, parameters and a fingerprint of the
+ *   underlying rows (counts and last update times), so repeated or concurrent
+ *   identical requests share one job and its file until the data changes
+ * - Expired results are deleted hourly; jobs stuck in QUEUED/RUNNING (e.g. after
+ *   a restart) are marked FAILED and re-run on the next identical request
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Service
+@Slf4j
+public class ReportJobService {
+
+    private static final EnumSet<JobStatus> ACTIVE = EnumSet.of(JobStatus.QUEUED, JobStatus.RUNNING);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final ReportJobRepository reportJobRepository;
+    private final ReportGenerationService reportGenerationService;
+    private final ESGReportService esgReportService;
+    private final ObjectMapper objectMapper;
+    private final Path reportDirectory;
+    private final ThreadPoolTaskExecutor workers;
+
+    @Value("${evfleet.reports.jobs.retention-hours:24}")
+    private int retentionHours;
+
+    @Value("${evfleet.reports.jobs.stale-after-minutes:15}")
+    private int staleAfterMinutes;
+
+    // Metrics
+    private final Counter deduplicated;
+    private final Counter completed;
+    private final Counter failed;
+    private final Timer renderTimer;
+
+    public ReportJobService(
+            ReportJobRepository reportJobRepository,
+            ReportGenerationService reportGenerationService,
+            ESGReportService esgReportService,
+            FileStorageService fileStorageService,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${evfleet.reports.jobs.workers:2}") int workerCount,
+            @Value("${evfleet.reports.jobs.queue-capacity:50}") int queueCapacity) {
+        this.reportJobRepository = reportJobRepository;
+        this.reportGenerationService = reportGenerationService;
+        this.esgReportService = esgReportService;
+        this.objectMapper = objectMapper;
+        this.reportDirectory = fileStorageService.getSiblingDirectory("reports");
+
+        this.workers = new ThreadPoolTaskExecutor();
+        this.workers.setCorePoolSize(workerCount);
+        this.workers.setMaxPoolSize(workerCount);
+        this.workers.setQueueCapacity(queueCapacity);
+        this.workers.setThreadNamePrefix("report-job-");
+        this.workers.initialize();
+
+        this.deduplicated = jobs(meterRegistry, "deduplicated");
+        this.completed = jobs(meterRegistry, "completed");
+        this.failed = jobs(meterRegistry, "failed");
+        this.renderTimer = Timer.builder("reports.jobs.render.duration")
+                .description("Time to render an asynchronous report")
+                .register(meterRegistry);
+        Gauge.builder("reports.jobs.queued", workers, w -> w.getThreadPoolExecutor().getQueue().size())
+                .description("Report jobs waiting for a worker")
+                .register(meterRegistry);
+
+        log.info("Report jobs stored in {}", reportDirectory);
+    }
+
+    private static Counter jobs(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("reports.jobs")
+                .tag("result", result)
+                .description("Asynchronous report jobs by outcome")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    // ========== SUBMISSION ==========
+
+    public ReportJobResponse submitVehicleReport(VehicleReportRequest request) {
+        String fingerprint = reportJobRepository.vehicleDataFingerprint(
+                request.getVehicleId(), request.getStartDate(), request.getEndDate());
+        return submit(ReportType.VEHICLE_PDF, request.getVehicleId(), toJson(request), fingerprint);
+    }
+
+    public ReportJobResponse submitGenealogyReport(Long vehicleId, LocalDateTime startDate, LocalDateTime endDate) {
+        VehicleReportRequest request = VehicleReportRequest.builder()
+                .vehicleId(vehicleId)
+                .startDate(startDate)
+                .endDate(endDate)
+                .build();
+        String fingerprint = reportJobRepository.vehicleDataFingerprint(vehicleId, startDate, endDate);
+        return submit(ReportType.GENEALOGY_PDF, vehicleId, toJson(request), fingerprint);
+    }
+
+    public ReportJobResponse submitEsgCsvExport(Long reportId) {
+        String fingerprint = reportJobRepository.esgReportFingerprint(reportId);
+        if (fingerprint == null) {
+            throw new ResourceNotFoundException("ESGReport", "id", reportId);
+        }
+        return submit(ReportType.ESG_CSV, reportId, null, fingerprint);
+    }
+
+    private ReportJobResponse submit(ReportType type, Long subjectId, String payload, String fingerprint) {
+        String contentHash = sha256(type + "|" + subjectId + "|" + payload + "|" + fingerprint);
+
+        ReportJob job = reportJobRepository.findByContentHash(contentHash).orElse(null);
+        if (job != null && isReusable(job)) {
+            deduplicated.increment();
+            log.debug("Report job {} reused for {} {}", job.getJobId(), type, subjectId);
+            return ReportJobResponse.fromEntity(job);
+        }
+
+        if (job == null) {
+            job = ReportJob.builder()
+                    .jobId(UUID.randomUUID().toString())
+                    .reportType(type)
+                    .subjectId(subjectId)
+                    .requestPayload(payload)
+                    .contentHash(contentHash)
+                    .build();
+            try {
+                job = reportJobRepository.saveAndFlush(job);
+            } catch (DataIntegrityViolationException e) {
+                // Identical request submitted concurrently
+                deduplicated.increment();
+                return ReportJobResponse.fromEntity(reportJobRepository.findByContentHash(contentHash)
+                        .orElseThrow(() -> e));
+            }
+        } else {
+            // Failed, abandoned or file removed: run again under the same job
+            job.setStatus(JobStatus.QUEUED);
+            job.setErrorMessage(null);
+            job.setFileName(null);
+            job.setSizeBytes(null);
+            job.setStartedAt(null);
+            job.setCompletedAt(null);
+            job = reportJobRepository.save(job);
+        }
+
+        String jobId = job.getJobId();
+        try {
+            workers.execute(() -> run(jobId));
+        } catch (TaskRejectedException e) {
+            markFailed(job, "Report queue is full");
+            throw new ServiceUnavailableException("Report queue is full, please retry shortly");
+        }
+
+        log.info("Report job {} queued: {} {}", jobId, type, subjectId);
+        return ReportJobResponse.fromEntity(job);
+    }
+
+    private boolean isReusable(ReportJob job) {
+        return switch (job.getStatus()) {
+            case COMPLETED -> job.getFileName() != null && Files.exists(reportDirectory.resolve(job.getFileName()));
+            case QUEUED, RUNNING -> job.getUpdatedAt() != null
+                    && job.getUpdatedAt().isAfter(LocalDateTime.now().minusMinutes(staleAfterMinutes));
+            case FAILED -> false;
+        };
+    }
+
+    // ========== QUERIES ==========
+
+    public ReportJobResponse getJob(String jobId) {
+        return ReportJobResponse.fromEntity(findJob(jobId));
+    }
+
+    /**
+     * Stored result of a completed job
+     */
+    public ReportResult getResult(String jobId) {
+        ReportJob job = findJob(jobId);
+        if (job.getStatus() != JobStatus.COMPLETED) {
+            throw new IllegalStateException("Report job " + jobId + " is " + job.getStatus());
+        }
+        Path file = reportDirectory.resolve(job.getFileName());
+        if (!Files.exists(file)) {
+            throw new ResourceNotFoundException("Report result for job " + jobId + " has expired");
+        }
+        ReportType type = job.getReportType();
+        return new ReportResult(new PathResource(file), type.getContentType(), type.downloadName(job.getSubjectId()));
+    }
+
+    public record ReportResult(Resource resource, String contentType, String downloadName) {
+    }
+
+    private ReportJob findJob(String jobId) {
+        return reportJobRepository.findByJobId(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("ReportJob", "jobId", jobId));
+    }
+
+    // ========== RENDERING ==========
+
+    private void run(String jobId) {
+        ReportJob job = reportJobRepository.findByJobId(jobId).orElse(null);
+        if (job == null || job.getStatus() != JobStatus.QUEUED) {
+            return;
+        }
+
+        job.setStatus(JobStatus.RUNNING);
+        job.setStartedAt(LocalDateTime.now());
+        job = reportJobRepository.save(job);
+
+        String fileName = job.getContentHash() + job.getReportType().getExtension();
+        Path target = reportDirectory.resolve(fileName);
+        Path partial = reportDirectory.resolve(jobId + ".part");
+        Timer.Sample sample = Timer.start();
+        try {
+            render(job, partial);
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            job.setStatus(JobStatus.COMPLETED);
+            job.setFileName(fileName);
+            job.setSizeBytes(Files.size(target));
+            job.setCompletedAt(LocalDateTime.now());
+            reportJobRepository.save(job);
+            completed.increment();
+            log.info("Report job {} completed ({} bytes)", jobId, job.getSizeBytes());
+        } catch (Exception e) {
+            log.error("Report job {} failed", jobId, e);
+            deleteQuietly(partial);
+            markFailed(job, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        } finally {
+            sample.stop(renderTimer);
+        }
+    }
+
+    private void render(ReportJob job, Path file) throws IOException {
+        switch (job.getReportType()) {
+            case VEHICLE_PDF -> reportGenerationService.writeVehicleReport(
+                    fromJson(job.getRequestPayload()), () -> Files.newOutputStream(file));
+            case GENEALOGY_PDF -> {
+                VehicleReportRequest request = fromJson(job.getRequestPayload());
+                reportGenerationService.writeGenealogyReport(request.getVehicleId(),
+                        request.getStartDate(), request.getEndDate(), () -> Files.newOutputStream(file));
+            }
+            case ESG_CSV -> {
+                String csv = esgReportService.exportToCsv(job.getSubjectId());
+                try (OutputStream out = Files.newOutputStream(file)) {
+                    out.write(csv.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        }
+    }
+
+    private void markFailed(ReportJob job, String message) {
+        job.setStatus(JobStatus.FAILED);
+        job.setErrorMessage(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+        reportJobRepository.save(job);
+        failed.increment();
+    }
+
+    // ========== CLEANUP ==========
+
+    /**
+     * Delete expired results and fail abandoned jobs - runs hourly
+     */
+    @Scheduled(cron = "0 15 * * * *")
+    public void cleanup() {
+        LocalDateTime now = LocalDateTime.now();
+        int abandoned = reportJobRepository.failAbandoned(
+                JobStatus.FAILED, ACTIVE, now.minusMinutes(staleAfterMinutes));
+
+        List<ReportJob> expired = reportJobRepository.findByStatusInAndUpdatedAtBefore(
+                EnumSet.of(JobStatus.COMPLETED, JobStatus.FAILED), now.minusHours(retentionHours));
+        for (ReportJob job : expired) {
+            if (job.getFileName() != null) {
+                deleteQuietly(reportDirectory.resolve(job.getFileName()));
+            }
+        }
+        reportJobRepository.deleteAll(expired);
+
+        if (abandoned > 0 || !expired.isEmpty()) {
+            log.info("Report job cleanup: {} abandoned, {} expired", abandoned, expired.size());
+        }
+    }
+
+    // ========== HELPERS ==========
+
+    private String toJson(VehicleReportRequest request) {
+        try {
+            return objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid report request", e);
+        }
+    }
+
+    private VehicleReportRequest fromJson(String payload) throws IOException {
+        return objectMapper.readValue(payload, VehicleReportRequest.class);
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete report file {}: {}", file, e.getMessage());
+        }
+    }
+}
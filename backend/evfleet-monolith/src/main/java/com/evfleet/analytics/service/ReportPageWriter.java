@@ -0,0 +1,86 @@
+package com.evfleet.analytics.service;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Line-oriented writer for report pages
+ *
+ * Keeps only the current page's content stream open and starts a new A4 page
+ * when the current one is full, so long listings can be written row by row
+ * without knowing their length up front.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+class ReportPageWriter implements Closeable {
+
+    private static final float TOP = 750;
+    private static final float BOTTOM = 60;
+    private static final float LEFT = 50;
+
+    private final PDDocument document;
+    private PDPageContentStream contentStream;
+    private float y;
+
+    ReportPageWriter(PDDocument document) {
+        this.document = document;
+    }
+
+    /**
+     * Finish the current page and start a new one at the top margin
+     */
+    void newPage() throws IOException {
+        close();
+        PDPage page = new PDPage(PDRectangle.A4);
+        document.addPage(page);
+        contentStream = new PDPageContentStream(document, page);
+        y = TOP;
+    }
+
+    void heading(String text, float fontSize, float advance) throws IOException {
+        line(text, PDType1Font.HELVETICA_BOLD, fontSize, advance);
+    }
+
+    void field(String label, String value, float fontSize, float advance) throws IOException {
+        line(label + " " + (value != null ? value : "N/A"), PDType1Font.HELVETICA, fontSize, advance);
+    }
+
+    void text(String text, float fontSize, float advance) throws IOException {
+        line(text, PDType1Font.HELVETICA, fontSize, advance);
+    }
+
+    /**
+     * Write a line at the current position, continuing on a new page when full
+     */
+    void line(String text, PDFont font, float fontSize, float advance) throws IOException {
+        if (contentStream == null || y < BOTTOM) {
+            newPage();
+        }
+        contentStream.setFont(font, fontSize);
+        contentStream.beginText();
+        contentStream.newLineAtOffset(LEFT, y);
+        contentStream.showText(text);
+        contentStream.endText();
+        y -= advance;
+    }
+
+    void skip(float gap) {
+        y -= gap;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (contentStream != null) {
+            contentStream.close();
+            contentStream = null;
+        }
+    }
+}
@@ -4,21 +4,16 @@ import com.evfleet.analytics.dto.TCOAnalysisResponse;
 import com.evfleet.analytics.dto.TCOProjectionResponse;
 import com.evfleet.analytics.model.TCOAnalysis;
 import com.evfleet.analytics.repository.TCOAnalysisRepository;
-import com.evfleet.charging.model.ChargingSession;
-import com.evfleet.charging.repository.ChargingSessionRepository;
 import com.evfleet.common.exception.ResourceNotFoundException;
 import com.evfleet.fleet.model.FuelType;
-import com.evfleet.fleet.model.Trip;
 import com.evfleet.fleet.model.Vehicle;
-import com.evfleet.fleet.repository.TripRepository;
 import com.evfleet.fleet.repository.VehicleRepository;
-import com.evfleet.maintenance.model.MaintenanceRecord;
-import com.evfleet.maintenance.repository.MaintenanceRecordRepository;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -37,6 +32,7 @@ import java.util.*;
  * - Carbon cost calculations for ESG
  * - 5-year projections
  * - Cross-fuel type comparison mode
+ * - Usage inputs read from per-vehicle cost ledgers (see TCOLedgerService)
  *
  * @author SEV Platform Team
  * @version 2.0.0
@@ -49,9 +45,7 @@ public class TCOAnalysisService {
 
     private final TCOAnalysisRepository tcoAnalysisRepository;
     private final VehicleRepository vehicleRepository;
-    private final TripRepository tripRepository;
-    private final ChargingSessionRepository chargingSessionRepository;
-    private final MaintenanceRecordRepository maintenanceRecordRepository;
+    private final TCOLedgerService tcoLedgerService;
     private final MeterRegistry meterRegistry;
 
     // ==================== Multi-Fuel Cost Constants ====================
@@ -148,14 +142,29 @@ public class TCOAnalysisService {
                         .fuelType(vehicle.getFuelType())
                         .build());
 
+        applyCalculations(tco, vehicle, period, tcoLedgerService.getInputs(vehicle));
+
+        // Save the analysis
+        tco = tcoAnalysisRepository.save(tco);
+        log.info("TCO analysis saved for vehicle: {} with fuel type: {}", vehicleId, vehicle.getFuelType());
+
+        return convertToResponse(tco, vehicle);
+    }
+
+    /**
+     * Run the full TCO calculation on an analysis row from pre-aggregated inputs.
+     * Performs no queries, so the batch engine can call it for many vehicles in parallel.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void applyCalculations(TCOAnalysis tco, Vehicle vehicle, int period, TCOInputs inputs) {
         // Update analysis metadata
-        tco.setAnalysisDate(today);
+        tco.setAnalysisDate(LocalDate.now());
         tco.setAnalysisPeriodYears(period);
         tco.setFuelType(vehicle.getFuelType());
 
         // Calculate costs
         calculateAcquisitionCosts(tco, vehicle);
-        calculateOperatingCostsByFuelType(tco, vehicle);
+        calculateOperatingCostsByFuelType(tco, vehicle, inputs);
         calculateCarbonCosts(tco, vehicle);
         calculateMetrics(tco, vehicle);
 
@@ -166,12 +175,10 @@ public class TCOAnalysisService {
 
         // Calculate 5-year projection
         calculate5YearProjection(tco, vehicle);
+    }
 
-        // Save the analysis
-        tco = tcoAnalysisRepository.save(tco);
-        log.info("TCO analysis saved for vehicle: {} with fuel type: {}", vehicleId, vehicle.getFuelType());
-
-        return convertToResponse(tco, vehicle);
+    public int getDefaultProjectionYears() {
+        return defaultProjectionYears;
     }
 
     /**
@@ -184,13 +191,7 @@ public class TCOAnalysisService {
         Vehicle vehicle = vehicleRepository.findById(vehicleId)
                 .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with id: " + vehicleId));
 
-        Optional<TCOAnalysis> tcoOpt = tcoAnalysisRepository.findLatestByVehicleId(vehicleId);
-        
-        if (tcoOpt.isEmpty()) {
-            return calculateTCO(vehicleId, defaultProjectionYears);
-        }
-
-        return convertToResponse(tcoOpt.get(), vehicle);
+        return convertToResponse(currentAnalysis(vehicle, defaultProjectionYears), vehicle);
     }
 
     /**
@@ -211,32 +212,6 @@ public class TCOAnalysisService {
                 .toList();
     }
 
-    /**
-     * Recalculate TCO for all vehicles (scheduled job)
-     */
-    @Transactional
-    public void recalculateTCOForAllVehicles() {
-        log.info("Starting TCO recalculation for all vehicles");
-
-        List<Vehicle> vehicles = vehicleRepository.findAll();
-        int count = 0;
-        int errors = 0;
-
-        for (Vehicle vehicle : vehicles) {
-            try {
-                calculateTCO(vehicle.getId(), defaultProjectionYears);
-                count++;
-            } catch (Exception e) {
-                log.error("Error calculating TCO for vehicle: {}", vehicle.getId(), e);
-                errors++;
-            }
-        }
-
-        log.info("Completed TCO recalculation: {} successful, {} errors", count, errors);
-        meterRegistry.gauge("tco.analysis.batch.success", count);
-        meterRegistry.gauge("tco.analysis.batch.errors", errors);
-    }
-
     // ==================== Multi-Fuel Comparison Methods ====================
 
     /**
@@ -304,14 +279,7 @@ public class TCOAnalysisService {
         Vehicle vehicle = vehicleRepository.findById(vehicleId)
                 .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with id: " + vehicleId));
         
-        Optional<TCOAnalysis> tcoOpt = tcoAnalysisRepository.findLatestByVehicleId(vehicleId);
-        
-        if (tcoOpt.isEmpty()) {
-            calculateTCO(vehicleId, 5);
-            tcoOpt = tcoAnalysisRepository.findLatestByVehicleId(vehicleId);
-        }
-        
-        TCOAnalysis tco = tcoOpt.orElseThrow();
+        TCOAnalysis tco = currentAnalysis(vehicle, 5);
         
         BigDecimal costPerKm = BigDecimal.ZERO;
         if (tco.getTotalDistanceKm().compareTo(BigDecimal.ZERO) > 0) {
@@ -334,6 +302,30 @@ public class TCOAnalysisService {
 
     // ==================== Private Calculation Methods ====================
 
+    /**
+     * Up-to-date analysis computed from the vehicle's cost ledger, without saving.
+     * Purchase price, insurance, taxes and region are carried over from the latest
+     * stored analysis.
+     */
+    private TCOAnalysis currentAnalysis(Vehicle vehicle, int period) {
+        TCOAnalysis tco = TCOAnalysis.builder()
+                .companyId(vehicle.getCompanyId())
+                .vehicleId(vehicle.getId())
+                .build();
+
+        tcoAnalysisRepository.findLatestByVehicleId(vehicle.getId()).ifPresent(stored -> {
+            tco.setId(stored.getId());
+            tco.setPurchasePrice(stored.getPurchasePrice());
+            tco.setInsuranceCosts(stored.getInsuranceCosts());
+            tco.setTaxesFees(stored.getTaxesFees());
+            tco.setOtherCosts(stored.getOtherCosts());
+            tco.setRegionCode(stored.getRegionCode());
+        });
+
+        applyCalculations(tco, vehicle, period, tcoLedgerService.getInputs(vehicle));
+        return tco;
+    }
+
     /**
      * Calculate acquisition costs (purchase price and depreciation)
      */
@@ -374,23 +366,21 @@ public class TCOAnalysisService {
     /**
      * Calculate operating costs based on fuel type
      */
-    private void calculateOperatingCostsByFuelType(TCOAnalysis tco, Vehicle vehicle) {
+    private void calculateOperatingCostsByFuelType(TCOAnalysis tco, Vehicle vehicle, TCOInputs inputs) {
         FuelType fuelType = vehicle.getFuelType();
         if (fuelType == null) {
             fuelType = FuelType.ICE;
         }
         
-        List<Trip> trips = tripRepository.findByVehicleId(vehicle.getId());
-        double totalDistance = trips.stream()
-                .mapToDouble(t -> t.getDistance() != null ? t.getDistance() : 0.0)
-                .sum();
-        
+        double totalDistance = inputs.totalDistanceKm();
         tco.setTotalDistanceKm(BigDecimal.valueOf(totalDistance));
         
-        BigDecimal energyCosts = calculateEnergyCostsByFuelType(fuelType, vehicle, totalDistance);
+        BigDecimal energyCosts = fuelType == FuelType.EV
+                ? calculateEVEnergyCosts(inputs.chargingCost(), totalDistance)
+                : calculateEnergyCostsByFuelType(fuelType, totalDistance);
         tco.setEnergyCosts(energyCosts);
 
-        BigDecimal baseMaintenanceCost = calculateBaseMaintenanceCosts(vehicle);
+        BigDecimal baseMaintenanceCost = BigDecimal.valueOf(inputs.maintenanceCost());
         BigDecimal maintenanceFactor = getMaintenanceFactor(fuelType);
         tco.setMaintenanceCosts(baseMaintenanceCost.multiply(maintenanceFactor).setScale(2, RoundingMode.HALF_UP));
 
@@ -410,9 +400,9 @@ public class TCOAnalysisService {
     /**
      * Calculate energy costs based on fuel type
      */
-    private BigDecimal calculateEnergyCostsByFuelType(FuelType fuelType, Vehicle vehicle, double totalDistance) {
+    private BigDecimal calculateEnergyCostsByFuelType(FuelType fuelType, double totalDistance) {
         return switch (fuelType) {
-            case EV -> calculateEVEnergyCosts(vehicle, totalDistance);
+            case EV -> calculateEVEnergyCosts(0.0, totalDistance);
             case HYBRID -> PETROL_FUEL_COST_PER_KM.multiply(HYBRID_FUEL_EFFICIENCY_FACTOR).multiply(BigDecimal.valueOf(totalDistance));
             case CNG -> BigDecimal.valueOf(totalDistance).divide(CNG_EFFICIENCY_KM_PER_KG, 2, RoundingMode.HALF_UP).multiply(CNG_COST_PER_KG);
             case LPG -> BigDecimal.valueOf(totalDistance).divide(LPG_EFFICIENCY_KM_PER_L, 2, RoundingMode.HALF_UP).multiply(LPG_COST_PER_LITER);
@@ -422,15 +412,10 @@ public class TCOAnalysisService {
     }
 
     /**
-     * Calculate EV energy costs from charging sessions
+     * Calculate EV energy costs from charging spend, estimating from distance when none is recorded
      */
-    private BigDecimal calculateEVEnergyCosts(Vehicle vehicle, double totalDistance) {
-        List<ChargingSession> sessions = chargingSessionRepository.findByVehicleId(vehicle.getId());
-        
-        BigDecimal actualCost = sessions.stream()
-                .filter(s -> s.getCost() != null)
-                .map(ChargingSession::getCost)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private BigDecimal calculateEVEnergyCosts(double chargingCost, double totalDistance) {
+        BigDecimal actualCost = BigDecimal.valueOf(chargingCost);
         
         if (actualCost.compareTo(BigDecimal.ZERO) == 0 && totalDistance > 0) {
             actualCost = EV_EFFICIENCY_KWH_PER_KM
@@ -454,18 +439,6 @@ public class TCOAnalysisService {
         };
     }
 
-    /**
-     * Calculate base maintenance costs from records
-     */
-    private BigDecimal calculateBaseMaintenanceCosts(Vehicle vehicle) {
-        List<MaintenanceRecord> records = maintenanceRecordRepository.findByVehicleId(vehicle.getId());
-        
-        return records.stream()
-                .filter(m -> m.getCost() != null)
-                .map(MaintenanceRecord::getCost)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-    }
-
     /**
      * Calculate carbon emissions and costs
      */
@@ -679,7 +652,7 @@ public class TCOAnalysisService {
         BigDecimal adjustedPrice = purchasePrice.add(
                 FUEL_TYPE_PREMIUMS.getOrDefault(fuelType, BigDecimal.ZERO));
         
-        BigDecimal energyCost = calculateEnergyCostsByFuelType(fuelType, null, totalDistance.doubleValue());
+        BigDecimal energyCost = calculateEnergyCostsByFuelType(fuelType, totalDistance.doubleValue());
         energyCost = energyCost.multiply(regionalFactor);
         
         BigDecimal maintenanceCost = ICE_MAINTENANCE_COST_PER_KM
@@ -776,6 +749,12 @@ public class TCOAnalysisService {
 
     // ==================== Inner Classes ====================
 
+    /**
+     * Lifetime usage inputs of a vehicle's TCO
+     */
+    public record TCOInputs(double totalDistanceKm, double chargingCost, double maintenanceCost) {
+    }
+
     /**
      * TCO Comparison Response
      */
@@ -0,0 +1,226 @@
+package com.evfleet.analytics.service;
+
+import com.evfleet.analytics.model.VehicleCostLedger;
+import com.evfleet.analytics.model.VehicleCostLedgerEntry;
+import com.evfleet.analytics.model.VehicleCostLedgerEntry.SourceType;
+import com.evfleet.analytics.repository.VehicleCostLedgerRepository;
+import com.evfleet.analytics.service.TCOAnalysisService.TCOInputs;
+import com.evfleet.fleet.model.Vehicle;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TCO Ledger Service
+ *
+ * Maintains {@link VehicleCostLedger} rows, the running inputs of each vehicle's TCO.
+ *
+ * - A ledger is seeded from history the first time it is read
+ * - Completion events then add to it
+ * - The weekly TCO batch rebuilds ledgers from history, correcting any drift
+ *
+ * Every counted trip, charging session and maintenance record has a
+ * {@link VehicleCostLedgerEntry}. An event adds to the ledger only when it inserts
+ * the entry of its record, and seeding inserts the entries of the committed records
+ * it sums, so a record is counted once no matter whether its event is handled
+ * before, during or after the seed. Both paths lock the ledger row before touching
+ * entries, so they serialize per vehicle and always agree on the totals.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Service
+@Slf4j
+public class TCOLedgerService {
+
+    // Entries of records deleted since; younger entries may belong to events handled just before their commit
+    private static final int ORPHAN_GRACE_HOURS = 1;
+
+    private static final String LOCK_LEDGER_SQL =
+            "SELECT vehicle_id FROM vehicle_cost_ledgers WHERE vehicle_id = ? FOR UPDATE";
+
+    private static final String INSERT_ENTRY_SQL = "INSERT INTO vehicle_cost_ledger_entries " +
+            "(source_type, source_id, vehicle_id, amount, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (source_type, source_id) DO NOTHING";
+
+    private static final String ENSURE_LEDGERS_SQL = "INSERT INTO vehicle_cost_ledgers " +
+            "(vehicle_id, company_id, total_distance_km, charging_cost, maintenance_cost, seeded_at, " +
+            "created_at, updated_at) " +
+            "SELECT v.id, v.company_id, 0, 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP " +
+            "FROM vehicles v WHERE v.id IN (:vehicleIds) ORDER BY v.id " +
+            "ON CONFLICT (vehicle_id) DO NOTHING";
+
+    private static final String LOCK_LEDGERS_SQL = "SELECT vehicle_id FROM vehicle_cost_ledgers " +
+            "WHERE vehicle_id IN (:vehicleIds) ORDER BY vehicle_id FOR UPDATE";
+
+    private static final String UPSERT_ENTRIES_SQL = "INSERT INTO vehicle_cost_ledger_entries " +
+            "(source_type, source_id, vehicle_id, amount, created_at, updated_at) " +
+            "SELECT 'TRIP', t.id, t.vehicle_id, t.distance, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP " +
+            "FROM trips t WHERE t.vehicle_id IN (:vehicleIds) " +
+            "AND t.status = 'COMPLETED' AND t.distance IS NOT NULL " +
+            "UNION ALL " +
+            "SELECT 'CHARGING', s.id, s.vehicle_id, s.cost, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP " +
+            "FROM charging_sessions s WHERE s.vehicle_id IN (:vehicleIds) AND s.cost IS NOT NULL " +
+            "UNION ALL " +
+            "SELECT 'MAINTENANCE', m.id, m.vehicle_id, m.cost, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP " +
+            "FROM maintenance_records m WHERE m.vehicle_id IN (:vehicleIds) " +
+            "AND m.status = 'COMPLETED' AND m.cost IS NOT NULL " +
+            "ON CONFLICT (source_type, source_id) DO UPDATE SET amount = EXCLUDED.amount, " +
+            "updated_at = CURRENT_TIMESTAMP WHERE vehicle_cost_ledger_entries.amount <> EXCLUDED.amount";
+
+    private static final String DELETE_ORPHAN_ENTRIES_SQL = "DELETE FROM vehicle_cost_ledger_entries e " +
+            "WHERE e.vehicle_id IN (:vehicleIds) AND e.created_at < :graceCutoff AND NOT (" +
+            "(e.source_type = 'TRIP' AND EXISTS (SELECT 1 FROM trips t " +
+            "WHERE t.id = e.source_id AND t.status = 'COMPLETED' AND t.distance IS NOT NULL)) OR " +
+            "(e.source_type = 'CHARGING' AND EXISTS (SELECT 1 FROM charging_sessions s " +
+            "WHERE s.id = e.source_id AND s.cost IS NOT NULL)) OR " +
+            "(e.source_type = 'MAINTENANCE' AND EXISTS (SELECT 1 FROM maintenance_records m " +
+            "WHERE m.id = e.source_id AND m.status = 'COMPLETED' AND m.cost IS NOT NULL)))";
+
+    private static final String SUM_ENTRIES_SQL = "UPDATE vehicle_cost_ledgers l SET " +
+            "total_distance_km = COALESCE((SELECT SUM(e.amount) FROM vehicle_cost_ledger_entries e " +
+            "WHERE e.vehicle_id = l.vehicle_id AND e.source_type = 'TRIP'), 0), " +
+            "charging_cost = COALESCE((SELECT SUM(e.amount) FROM vehicle_cost_ledger_entries e " +
+            "WHERE e.vehicle_id = l.vehicle_id AND e.source_type = 'CHARGING'), 0), " +
+            "maintenance_cost = COALESCE((SELECT SUM(e.amount) FROM vehicle_cost_ledger_entries e " +
+            "WHERE e.vehicle_id = l.vehicle_id AND e.source_type = 'MAINTENANCE'), 0), " +
+            "seeded_at = CURRENT_TIMESTAMP, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE l.vehicle_id IN (:vehicleIds) " +
+            "RETURNING l.vehicle_id, l.total_distance_km, l.charging_cost, l.maintenance_cost";
+
+    private final VehicleCostLedgerRepository ledgerRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate ledgerTransaction;
+
+    public TCOLedgerService(
+            VehicleCostLedgerRepository ledgerRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager) {
+        this.ledgerRepository = ledgerRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+
+        // Seeding writes, and TCO reads usually run in read-only transactions
+        this.ledgerTransaction = new TransactionTemplate(transactionManager);
+        this.ledgerTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Current TCO inputs of a vehicle, seeding its ledger on first use
+     */
+    public TCOInputs getInputs(Vehicle vehicle) {
+        VehicleCostLedger ledger = ledgerRepository.findById(vehicle.getId()).orElse(null);
+        if (ledger != null) {
+            return toInputs(ledger);
+        }
+        Map<Long, TCOInputs> seeded = ledgerTransaction.execute(status -> sync(List.of(vehicle.getId())));
+        log.debug("Seeded cost ledger for vehicle {}", vehicle.getId());
+        return seeded != null && seeded.containsKey(vehicle.getId())
+                ? seeded.get(vehicle.getId())
+                : new TCOInputs(0.0, 0.0, 0.0);
+    }
+
+    public void recordTrip(Long tripId, Long vehicleId, Double distanceKm) {
+        if (tripId != null && distanceKm != null && distanceKm > 0) {
+            record(SourceType.TRIP, tripId, vehicleId, BigDecimal.valueOf(distanceKm));
+        }
+    }
+
+    public void recordChargingCost(Long sessionId, Long vehicleId, BigDecimal cost) {
+        if (sessionId != null && cost != null && cost.signum() > 0) {
+            record(SourceType.CHARGING, sessionId, vehicleId, cost);
+        }
+    }
+
+    public void recordMaintenanceCost(Long recordId, Long vehicleId, BigDecimal cost) {
+        if (recordId != null && cost != null && cost.signum() > 0) {
+            record(SourceType.MAINTENANCE, recordId, vehicleId, cost);
+        }
+    }
+
+    /**
+     * Rebuild the vehicles' ledgers from history, creating missing ones, and return their inputs.
+     * Runs in the caller's transaction so the totals commit together with what is derived from them.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<Long, TCOInputs> rebuild(Collection<Long> vehicleIds) {
+        return vehicleIds.isEmpty() ? Map.of() : sync(vehicleIds);
+    }
+
+    // ========== PRIVATE METHODS ==========
+
+    /**
+     * Add one record to its vehicle's ledger, unless it is already counted
+     */
+    private void record(SourceType type, Long sourceId, Long vehicleId, BigDecimal amount) {
+        Boolean applied = ledgerTransaction.execute(status -> {
+            if (jdbcTemplate.queryForList(LOCK_LEDGER_SQL, Long.class, vehicleId).isEmpty()) {
+                // No ledger yet; it will sum this record from history on first read
+                return false;
+            }
+            if (jdbcTemplate.update(INSERT_ENTRY_SQL, type.name(), sourceId, vehicleId, amount) == 0) {
+                return false;
+            }
+            jdbcTemplate.update("UPDATE vehicle_cost_ledgers SET " + columnOf(type) + " = " + columnOf(type)
+                    + " + ?, updated_at = CURRENT_TIMESTAMP WHERE vehicle_id = ?", amount, vehicleId);
+            return true;
+        });
+        if (!Boolean.TRUE.equals(applied)) {
+            log.debug("Skipped {} {} for cost ledger of vehicle {}: no ledger or already counted",
+                    type, sourceId, vehicleId);
+        }
+    }
+
+    /**
+     * Lock (creating if needed) the vehicles' ledgers, bring their entries in line
+     * with committed history and recompute the totals from the entries
+     */
+    private Map<Long, TCOInputs> sync(Collection<Long> vehicleIds) {
+        MapSqlParameterSource params = new MapSqlParameterSource("vehicleIds", vehicleIds)
+                .addValue("graceCutoff", Timestamp.valueOf(LocalDateTime.now().minusHours(ORPHAN_GRACE_HOURS)));
+
+        namedJdbcTemplate.update(ENSURE_LEDGERS_SQL, params);
+        namedJdbcTemplate.queryForList(LOCK_LEDGERS_SQL, params, Long.class);
+        namedJdbcTemplate.update(UPSERT_ENTRIES_SQL, params);
+        namedJdbcTemplate.update(DELETE_ORPHAN_ENTRIES_SQL, params);
+
+        Map<Long, TCOInputs> inputs = new HashMap<>(vehicleIds.size() * 2);
+        namedJdbcTemplate.query(SUM_ENTRIES_SQL, params, rs -> {
+            inputs.put(rs.getLong(1), new TCOInputs(
+                    rs.getDouble(2), rs.getBigDecimal(3).doubleValue(), rs.getBigDecimal(4).doubleValue()));
+        });
+        return inputs;
+    }
+
+    private static String columnOf(SourceType type) {
+        return switch (type) {
+            case TRIP -> "total_distance_km";
+            case CHARGING -> "charging_cost";
+            case MAINTENANCE -> "maintenance_cost";
+        };
+    }
+
+    private static TCOInputs toInputs(VehicleCostLedger ledger) {
+        return new TCOInputs(
+                ledger.getTotalDistanceKm(),
+                ledger.getChargingCost().doubleValue(),
+                ledger.getMaintenanceCost().doubleValue());
+    }
+}
@@ -0,0 +1,176 @@
+package com.evfleet.analytics.service;
+
+import com.evfleet.analytics.model.HistoricalMetric.PeriodType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Trend Engine
+ *
+ * Statistics over a chronological series of metric values held in a primitive
+ * {@code double[]}:
+ * - Mean, min, max and standard deviation (Welford)
+ * - Trailing moving average
+ * - Least-squares slope, intercept and R² against the period index
+ * - Additive seasonal offsets of the detrended series, when the series covers
+ *   at least two seasons (7 days, 12 months or 4 quarters)
+ * - Anomaly z-scores of the residual after trend and seasonality
+ *
+ * Moments, regression sums and the moving average are accumulated in one pass;
+ * residuals need the fitted line and take a second pass over the same array.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Component
+public class TrendEngine {
+
+    @Value("${analytics.trends.moving-average-window:3}")
+    private int movingAverageWindow;
+
+    @Value("${analytics.trends.anomaly-z-threshold:2.5}")
+    private double anomalyZThreshold;
+
+    /**
+     * Analyze a series in chronological order
+     */
+    public SeriesAnalysis analyze(double[] values, PeriodType periodType) {
+        int n = values.length;
+        int window = Math.max(1, Math.min(movingAverageWindow, n));
+        double[] movingAverage = new double[n];
+
+        double mean = 0;
+        double m2 = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        double sumX = 0;
+        double sumXX = 0;
+        double sumXY = 0;
+        double windowSum = 0;
+
+        for (int i = 0; i < n; i++) {
+            double v = values[i];
+
+            double delta = v - mean;
+            mean += delta / (i + 1);
+            m2 += delta * (v - mean);
+
+            min = Math.min(min, v);
+            max = Math.max(max, v);
+
+            sumX += i;
+            sumXX += (double) i * i;
+            sumXY += i * v;
+
+            windowSum += v;
+            if (i >= window) {
+                windowSum -= values[i - window];
+            }
+            movingAverage[i] = i >= window - 1 ? windowSum / window : Double.NaN;
+        }
+
+        if (n == 0) {
+            return new SeriesAnalysis(0, 0, 0, 0, 0, 0, 0, 0, 0,
+                    movingAverage, new double[0], new double[0], new boolean[0], new double[0]);
+        }
+
+        double sumY = mean * n;
+        double denominator = n * sumXX - sumX * sumX;
+        double slope = denominator != 0 ? (n * sumXY - sumX * sumY) / denominator : 0;
+        double intercept = (sumY - slope * sumX) / n;
+
+        // Detrended residuals, and their mean per seasonal phase
+        int season = seasonLength(periodType);
+        boolean seasonal = season > 1 && n >= 2 * season;
+        double[] phaseSum = new double[seasonal ? season : 0];
+        int[] phaseCount = new int[seasonal ? season : 0];
+        double[] residual = new double[n];
+        double ssResidual = 0;
+
+        for (int i = 0; i < n; i++) {
+            residual[i] = values[i] - (intercept + slope * i);
+            ssResidual += residual[i] * residual[i];
+            if (seasonal) {
+                phaseSum[i % season] += residual[i];
+                phaseCount[i % season]++;
+            }
+        }
+
+        double[] seasonalOffsets = new double[phaseSum.length];
+        for (int p = 0; p < seasonalOffsets.length; p++) {
+            seasonalOffsets[p] = phaseSum[p] / phaseCount[p];
+        }
+
+        // Anomalies against what is left after trend and seasonality
+        double ssRemainder = 0;
+        for (int i = 0; i < n; i++) {
+            if (seasonal) {
+                residual[i] -= seasonalOffsets[i % season];
+            }
+            ssRemainder += residual[i] * residual[i];
+        }
+        double remainderStd = n > 2 ? Math.sqrt(ssRemainder / (n - 2)) : 0;
+
+        double[] zScores = new double[n];
+        boolean[] anomalies = new boolean[n];
+        int anomalyCount = 0;
+        for (int i = 0; i < n; i++) {
+            zScores[i] = remainderStd > 0 ? residual[i] / remainderStd : 0;
+            anomalies[i] = Math.abs(zScores[i]) >= anomalyZThreshold;
+            if (anomalies[i]) {
+                anomalyCount++;
+            }
+        }
+
+        double rSquared = m2 > 0 ? 1 - ssResidual / m2 : 0;
+        double stdDeviation = n > 1 ? Math.sqrt(m2 / (n - 1)) : 0;
+        double[] fitted = new double[n];
+        for (int i = 0; i < n; i++) {
+            fitted[i] = intercept + slope * i;
+        }
+
+        return new SeriesAnalysis(n, mean, min, max, stdDeviation, slope, intercept, rSquared,
+                anomalyCount, movingAverage, fitted, zScores, anomalies, seasonalOffsets);
+    }
+
+    /**
+     * Periods per seasonal cycle; 0 where no cycle is modelled
+     */
+    static int seasonLength(PeriodType periodType) {
+        return switch (periodType) {
+            case DAILY -> 7;
+            case MONTHLY -> 12;
+            case QUARTERLY -> 4;
+            case WEEKLY, YEARLY -> 0;
+        };
+    }
+
+    /**
+     * Result of {@link #analyze}; per-period arrays are aligned with the input.
+     * Moving average is NaN until the window is filled; seasonal offsets are
+     * indexed by period position modulo the season length and empty when not modelled.
+     */
+    public record SeriesAnalysis(
+            int count,
+            double mean,
+            double min,
+            double max,
+            double stdDeviation,
+            double slope,
+            double intercept,
+            double rSquared,
+            int anomalyCount,
+            double[] movingAverage,
+            double[] fitted,
+            double[] zScores,
+            boolean[] anomalies,
+            double[] seasonalOffsets) {
+
+        /**
+         * Fitted change over the series as a percentage of its mean
+         */
+        public double trendChangePercent() {
+            return mean != 0 && count > 1 ? slope * (count - 1) / Math.abs(mean) * 100 : 0;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.evfleet.analytics.service;
+
+import com.evfleet.analytics.dto.FleetUtilizationReport;
+import com.evfleet.analytics.dto.VehicleUtilizationResponse;
+import com.evfleet.common.cache.TieredCache;
+import com.evfleet.common.cache.TieredCacheManager;
+import com.evfleet.fleet.model.Vehicle;
+import com.evfleet.fleet.repository.TripRepository;
+import com.evfleet.fleet.repository.VehicleRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Utilization Report Service
+ *
+ * Per-vehicle trips, distance, energy, active hours and utilization for a company
+ * and date range, from one grouped trip query plus the company's vehicle list.
+ *
+ * Reports are cached per (company, range) in a tiered cache region. When a trip
+ * completes, every cached range of that company containing the trip's start date
+ * is invalidated on this node and in the shared L2; ranges cached only by other
+ * nodes' L1 age out within the TTL.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Service
+@Slf4j
+public class UtilizationReportService {
+
+    private static final Duration CACHE_TTL = Duration.ofMinutes(15);
+    private static final Duration STALE_WINDOW = Duration.ofMinutes(1);
+    private static final long MAX_CACHED_REPORTS = 5_000;
+
+    private final VehicleRepository vehicleRepository;
+    private final TripRepository tripRepository;
+    private final TieredCache<FleetUtilizationReport> reportCache;
+    private final Timer computeTimer;
+
+    /**
+     * Ranges cached per company, with the time they were last read, to find the
+     * entries a completed trip affects
+     */
+    private final Map<Long, Map<DateRange, Long>> cachedRanges = new ConcurrentHashMap<>();
+
+    private record DateRange(LocalDate start, LocalDate end) {
+        boolean contains(LocalDate date) {
+            return !date.isBefore(start) && !date.isAfter(end);
+        }
+    }
+
+    public UtilizationReportService(
+            VehicleRepository vehicleRepository,
+            TripRepository tripRepository,
+            TieredCacheManager tieredCacheManager,
+            MeterRegistry meterRegistry) {
+        this.vehicleRepository = vehicleRepository;
+        this.tripRepository = tripRepository;
+        this.reportCache = tieredCacheManager.getCache("utilizationReports", FleetUtilizationReport.class,
+                CACHE_TTL, STALE_WINDOW, MAX_CACHED_REPORTS);
+        this.computeTimer = Timer.builder("analytics.utilization.compute.time")
+                .description("Time to compute a fleet utilization report")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Utilization of every company vehicle, highest first
+     */
+    @Transactional(readOnly = true)
+    public List<VehicleUtilizationResponse> getUtilization(Long companyId, LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        DateRange range = new DateRange(startDate, endDate);
+        FleetUtilizationReport report = reportCache.get(cacheKey(companyId, range),
+                () -> computeTimer.record(() -> compute(companyId, startDate, endDate))).value();
+        // Registered on every read, so ranges loaded from L2 are tracked too
+        cachedRanges.computeIfAbsent(companyId, id -> new ConcurrentHashMap<>())
+                .put(range, System.currentTimeMillis());
+        return report.getVehicles();
+    }
+
+    /**
+     * Drop cached reports of a company whose range contains the given date
+     */
+    public void invalidate(Long companyId, LocalDate date) {
+        Map<DateRange, Long> ranges = cachedRanges.get(companyId);
+        if (ranges == null) {
+            return;
+        }
+        long expiredBefore = System.currentTimeMillis() - CACHE_TTL.plus(STALE_WINDOW).toMillis();
+        ranges.entrySet().removeIf(entry -> {
+            if (entry.getKey().contains(date)) {
+                reportCache.invalidate(cacheKey(companyId, entry.getKey()));
+                return true;
+            }
+            // Not read for longer than the TTL: already gone from the cache
+            return entry.getValue() < expiredBefore;
+        });
+        if (ranges.isEmpty()) {
+            cachedRanges.remove(companyId, ranges);
+        }
+    }
+
+    // ========== COMPUTATION ==========
+
+    private FleetUtilizationReport compute(Long companyId, LocalDate startDate, LocalDate endDate) {
+        List<Vehicle> vehicles = vehicleRepository.findByCompanyId(companyId);
+        Map<Long, Object[]> totals = new HashMap<>(vehicles.size() * 2);
+        for (Object[] row : tripRepository.summarizeUtilizationGroupedByVehicle(
+                companyId, startDate.atStartOfDay(), endDate.atTime(23, 59, 59))) {
+            totals.put(((Number) row[0]).longValue(), row);
+        }
+
+        double totalAvailableHours = (ChronoUnit.DAYS.between(startDate, endDate) + 1) * 24.0;
+        List<VehicleUtilizationResponse> reports = new ArrayList<>(vehicles.size());
+        for (Vehicle vehicle : vehicles) {
+            Object[] row = totals.get(vehicle.getId());
+            int tripCount = row != null ? ((Number) row[1]).intValue() : 0;
+            double totalDistance = row != null ? ((Number) row[2]).doubleValue() : 0.0;
+            double totalEnergy = row != null ? ((Number) row[3]).doubleValue() : 0.0;
+            double activeHours = row != null ? ((Number) row[4]).doubleValue() / 60.0 : 0.0;
+
+            double utilizationRate = (activeHours / totalAvailableHours) * 100;
+            // Efficiency (km/kWh or km/L)
+            double efficiency = totalEnergy > 0 ? totalDistance / totalEnergy : 0.0;
+
+            reports.add(VehicleUtilizationResponse.builder()
+                    .vehicleId(vehicle.getId())
+                    .vehicleName(vehicle.getMake() + " " + vehicle.getModel())
+                    .vehicleNumber(vehicle.getVehicleNumber())
+                    .utilizationRate(utilizationRate)
+                    .activeHours(activeHours)
+                    .trips(tripCount)
+                    .distance(totalDistance)
+                    .efficiency(efficiency)
+                    .status(status(utilizationRate))
+                    .build());
+        }
+
+        // Sort by utilization rate descending
+        reports.sort((a, b) -> Double.compare(b.getUtilizationRate(), a.getUtilizationRate()));
+
+        log.debug("Computed utilization for company {} ({} to {}): {} vehicles, {} with trips",
+                companyId, startDate, endDate, vehicles.size(), totals.size());
+        return FleetUtilizationReport.builder()
+                .companyId(companyId)
+                .startDate(startDate)
+                .endDate(endDate)
+                .computedAt(LocalDateTime.now())
+                .vehicles(reports)
+                .build();
+    }
+
+    private static String status(double utilizationRate) {
+        if (utilizationRate >= 75) {
+            return "optimal";
+        } else if (utilizationRate >= 50) {
+            return "underutilized";
+        }
+        return "severely-underutilized";
+    }
+
+    private static String cacheKey(Long companyId, DateRange range) {
+        return companyId + ":" + range.start() + ":" + range.end();
+    }
+}
@@ -0,0 +1,252 @@
+package com.evfleet.analytics.service;
+
+import com.evfleet.fleet.model.Vehicle;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Vehicle Cluster Index
+ *
+ * Hierarchical grid index over live vehicle positions, one grid level per map zoom
+ * (supercluster-style pyramid). Cells are Web Mercator tile subdivisions, so a
+ * cluster covers roughly the same screen area at every zoom.
+ *
+ * - Moves update only the cells that actually change, O(levels) per update
+ * - Each cell keeps count and coordinate sums (centroid) plus the sum of vehicle ids,
+ *   which identifies the vehicle when the cell holds exactly one
+ * - Viewport queries return clusters and single points inside a bounding box; each
+ *   cluster carries the zoom at which it splits, found by walking its child cells
+ *
+ * Company indexes are seeded from the vehicle list on first use and then fed by
+ * location events.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+public class VehicleClusterIndex {
+
+    public static final int MIN_ZOOM = 0;
+    public static final int MAX_ZOOM = 16;   // Above this, every vehicle is shown individually
+    private static final int CELLS_PER_TILE = 4; // 64px cells on 256px tiles
+
+    private final Map<Long, CompanyIndex> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * Build the index for a company if it does not exist yet
+     */
+    public void seedIfAbsent(Long companyId, List<Vehicle> vehicles) {
+        indexes.computeIfAbsent(companyId, id -> {
+            CompanyIndex index = new CompanyIndex();
+            for (Vehicle vehicle : vehicles) {
+                if (vehicle.getLatitude() != null && vehicle.getLongitude() != null) {
+                    index.move(vehicle.getId(), vehicle.getLatitude(), vehicle.getLongitude());
+                }
+            }
+            log.debug("Seeded cluster index for company {} with {} vehicles", companyId, index.positions.size());
+            return index;
+        });
+    }
+
+    public boolean isSeeded(Long companyId) {
+        return indexes.containsKey(companyId);
+    }
+
+    /**
+     * Apply a position change. Ignored until the company index has been seeded.
+     */
+    public void update(Long companyId, Long vehicleId, double latitude, double longitude) {
+        CompanyIndex index = indexes.get(companyId);
+        if (index == null) {
+            return;
+        }
+        index.lock.writeLock().lock();
+        try {
+            index.move(vehicleId, latitude, longitude);
+        } finally {
+            index.lock.writeLock().unlock();
+        }
+    }
+
+    public void evict(Long companyId) {
+        indexes.remove(companyId);
+    }
+
+    public void evictAll() {
+        indexes.clear();
+    }
+
+    /**
+     * Clusters and single points inside the bounding box at the given zoom.
+     * At zoom above {@link #MAX_ZOOM} every vehicle in view is returned as a point.
+     */
+    public ViewportResult query(Long companyId, double minLat, double minLng,
+                                double maxLat, double maxLng, int zoom) {
+        CompanyIndex index = indexes.get(companyId);
+        if (index == null) {
+            return new ViewportResult(List.of(), List.of());
+        }
+
+        List<Cluster> clusters = new ArrayList<>();
+        List<Long> points = new ArrayList<>();
+
+        index.lock.readLock().lock();
+        try {
+            if (zoom > MAX_ZOOM) {
+                for (Map.Entry<Long, double[]> entry : index.positions.entrySet()) {
+                    double[] p = entry.getValue();
+                    if (inBounds(p[0], p[1], minLat, minLng, maxLat, maxLng)) {
+                        points.add(entry.getKey());
+                    }
+                }
+                return new ViewportResult(clusters, points);
+            }
+
+            int z = Math.max(MIN_ZOOM, zoom);
+            for (Map.Entry<Long, Cell> entry : index.levels[z].entrySet()) {
+                Cell cell = entry.getValue();
+                double lat = cell.sumLat / cell.count;
+                double lng = cell.sumLng / cell.count;
+                if (!inBounds(lat, lng, minLat, minLng, maxLat, maxLng)) {
+                    continue;
+                }
+                if (cell.count == 1) {
+                    points.add(cell.idSum);
+                } else {
+                    clusters.add(new Cluster(lat, lng, cell.count, index.expansionZoom(entry.getKey(), z, cell.count)));
+                }
+            }
+        } finally {
+            index.lock.readLock().unlock();
+        }
+        return new ViewportResult(clusters, points);
+    }
+
+    private static boolean inBounds(double lat, double lng,
+                                    double minLat, double minLng, double maxLat, double maxLng) {
+        if (lat < minLat || lat > maxLat) {
+            return false;
+        }
+        // Bounding boxes crossing the antimeridian have minLng > maxLng
+        return minLng <= maxLng
+                ? lng >= minLng && lng <= maxLng
+                : lng >= minLng || lng <= maxLng;
+    }
+
+    private static long cellKey(double latitude, double longitude, int zoom) {
+        double x = (longitude + 180.0) / 360.0;
+        double sinLat = Math.sin(Math.toRadians(Math.max(-85.0511, Math.min(85.0511, latitude))));
+        double y = 0.5 - Math.log((1 + sinLat) / (1 - sinLat)) / (4 * Math.PI);
+        long cells = (long) CELLS_PER_TILE << zoom;
+        long cx = Math.min(cells - 1, (long) (x * cells));
+        long cy = Math.min(cells - 1, (long) (y * cells));
+        return (cx << 32) | cy;
+    }
+
+    // ========== RESULT TYPES ==========
+
+    public record Cluster(double latitude, double longitude, int count, int expansionZoom) {
+    }
+
+    public record ViewportResult(List<Cluster> clusters, List<Long> vehicleIds) {
+    }
+
+    // ========== INDEX STRUCTURES ==========
+
+    private static class CompanyIndex {
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        final Map<Long, double[]> positions = new HashMap<>();
+        @SuppressWarnings("unchecked")
+        final Map<Long, Cell>[] levels = new Map[MAX_ZOOM + 1];
+
+        CompanyIndex() {
+            for (int z = MIN_ZOOM; z <= MAX_ZOOM; z++) {
+                levels[z] = new HashMap<>();
+            }
+        }
+
+        void move(Long vehicleId, double latitude, double longitude) {
+            double[] previous = positions.get(vehicleId);
+            for (int z = MIN_ZOOM; z <= MAX_ZOOM; z++) {
+                long newKey = cellKey(latitude, longitude, z);
+                if (previous != null) {
+                    long oldKey = cellKey(previous[0], previous[1], z);
+                    Cell old = levels[z].get(oldKey);
+                    if (oldKey == newKey) {
+                        old.sumLat += latitude - previous[0];
+                        old.sumLng += longitude - previous[1];
+                        continue;
+                    }
+                    old.remove(vehicleId, previous[0], previous[1]);
+                    if (old.count == 0) {
+                        levels[z].remove(oldKey);
+                    }
+                }
+                levels[z].computeIfAbsent(newKey, k -> new Cell()).add(vehicleId, latitude, longitude);
+            }
+            if (previous != null) {
+                previous[0] = latitude;
+                previous[1] = longitude;
+            } else {
+                positions.put(vehicleId, new double[] {latitude, longitude});
+            }
+        }
+
+        /**
+         * First zoom at which the members of a cell no longer share one cell. Each
+         * level halves the cell size, so the members are followed into the child
+         * cell holding all of them until none does.
+         */
+        int expansionZoom(long key, int zoom, int count) {
+            long cx = key >>> 32;
+            long cy = key & 0xFFFFFFFFL;
+            for (int z = zoom + 1; z <= MAX_ZOOM; z++) {
+                boolean together = false;
+                for (int child = 0; child < 4 && !together; child++) {
+                    long x = (cx << 1) | (child & 1);
+                    long y = (cy << 1) | (child >> 1);
+                    Cell cell = levels[z].get((x << 32) | y);
+                    if (cell != null && cell.count == count) {
+                        cx = x;
+                        cy = y;
+                        together = true;
+                    }
+                }
+                if (!together) {
+                    return z;
+                }
+            }
+            // Co-located vehicles only separate once shown individually
+            return MAX_ZOOM + 1;
+        }
+    }
+
+    private static class Cell {
+        int count;
+        double sumLat;
+        double sumLng;
+        long idSum;
+
+        void add(long vehicleId, double latitude, double longitude) {
+            count++;
+            sumLat += latitude;
+            sumLng += longitude;
+            idSum += vehicleId;
+        }
+
+        void remove(long vehicleId, double latitude, double longitude) {
+            count--;
+            sumLat -= latitude;
+            sumLng -= longitude;
+            idSum -= vehicleId;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.evfleet.billing.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Billing Idempotency Key Entity
+ *
+ * Marks a billing side effect (renewal invoice, notification email) as done.
+ * Keys are claimed with an insert in the same transaction as the effect, so a
+ * rerun after a crash either sees the key and skips the effect, or finds neither.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "billing_idempotency_keys", indexes = {
+    @Index(name = "idx_bik_created_at", columnList = "created_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BillingIdempotencyKey {
+
+    /**
+     * e.g. renewal-invoice:42:2025-01-31
+     */
+    @Id
+    @Column(name = "idempotency_key", length = 200)
+    private String idempotencyKey;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
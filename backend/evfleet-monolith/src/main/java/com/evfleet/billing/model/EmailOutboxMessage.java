@@ -0,0 +1,78 @@
+package com.evfleet.billing.model;
+
+import com.evfleet.common.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Email Outbox Message Entity
+ *
+ * A rendered billing email waiting for delivery. Rows are written in the same
+ * transaction as the change they announce and sent later by the outbox
+ * dispatcher, so a rolled-back change never emails and a committed one always does.
+ *
+ * A dispatcher leases the messages it is delivering (SENDING). If it dies
+ * mid-batch the lease expires and the messages are delivered again, so delivery
+ * is at least once.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "billing_email_outbox", indexes = {
+    @Index(name = "idx_beo_status_next_attempt", columnList = "status, next_attempt_at, id")
+})
+@Data
+@EqualsAndHashCode(callSuper = false)
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmailOutboxMessage extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "recipient", nullable = false, length = 320)
+    private String recipient;
+
+    @Column(name = "subject", nullable = false, length = 500)
+    private String subject;
+
+    @Column(name = "body", nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    /**
+     * PENDING: earliest retry time; SENDING: when the dispatcher's lease expires
+     */
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    public enum OutboxStatus {
+        PENDING,
+        SENDING,
+        SENT,
+        FAILED
+    }
+}
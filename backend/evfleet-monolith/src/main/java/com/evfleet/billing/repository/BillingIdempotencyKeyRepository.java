@@ -0,0 +1,34 @@
+package com.evfleet.billing.repository;
+
+import com.evfleet.billing.model.BillingIdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Billing Idempotency Key Repository
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Repository
+public interface BillingIdempotencyKeyRepository extends JpaRepository<BillingIdempotencyKey, String> {
+
+    /**
+     * Claim a key for the current transaction
+     *
+     * @return 1 when the key is new, 0 when it was already claimed
+     */
+    @Modifying
+    @Query(value = "INSERT INTO billing_idempotency_keys (idempotency_key, created_at) " +
+            "VALUES (:key, CURRENT_TIMESTAMP) ON CONFLICT (idempotency_key) DO NOTHING", nativeQuery = true)
+    int claim(@Param("key") String key);
+
+    @Modifying
+    @Query("DELETE FROM BillingIdempotencyKey k WHERE k.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") LocalDateTime before);
+}
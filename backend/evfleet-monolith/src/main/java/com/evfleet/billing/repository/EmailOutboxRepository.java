@@ -0,0 +1,37 @@
+package com.evfleet.billing.repository;
+
+import com.evfleet.billing.model.EmailOutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Email Outbox Repository
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+    /**
+     * Lock the oldest messages due for delivery, including leases that expired;
+     * rows locked by another dispatcher are skipped
+     */
+    @Query(value = "SELECT * FROM billing_email_outbox WHERE status IN ('PENDING', 'SENDING') " +
+            "AND next_attempt_at <= :now ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<EmailOutboxMessage> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // Queue size and age: [undelivered count, oldest created_at]
+    @Query("SELECT COUNT(m), MIN(m.createdAt) FROM EmailOutboxMessage m WHERE m.status IN ('PENDING', 'SENDING')")
+    List<Object[]> summarizeUndelivered();
+
+    @Modifying
+    @Query("DELETE FROM EmailOutboxMessage m WHERE m.status = 'SENT' AND m.sentAt < :before")
+    int deleteSentBefore(@Param("before") LocalDateTime before);
+}
@@ -1,6 +1,7 @@
 package com.evfleet.billing.repository;
 
 import com.evfleet.billing.model.Subscription;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -30,5 +31,13 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, Long
     @Query("SELECT s FROM Subscription s WHERE s.status = 'ACTIVE' AND (s.endDate IS NULL OR s.endDate > CURRENT_DATE)")
     List<Subscription> findAllActiveSubscriptions();
 
+    /**
+     * Renewal pipeline: ids of active subscriptions ending on or before the horizon,
+     * in one shard of the id space, after the given id (keyset paging)
+     */
+    @Query("SELECT s.id FROM Subscription s WHERE s.status = 'ACTIVE' AND s.endDate IS NOT NULL " +
+           "AND s.endDate <= :horizon AND s.id > :afterId AND MOD(s.id, :shards) = :shard ORDER BY s.id")
+    List<Long> findDueIdsInShardAfter(LocalDate horizon, int shards, int shard, Long afterId, Pageable pageable);
+
     boolean existsByCompanyIdAndStatus(Long companyId, Subscription.SubscriptionStatus status);
 }
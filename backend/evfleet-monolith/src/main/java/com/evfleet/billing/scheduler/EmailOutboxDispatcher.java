@@ -0,0 +1,319 @@
+package com.evfleet.billing.scheduler;
+
+import com.evfleet.billing.model.EmailOutboxMessage;
+import com.evfleet.billing.model.EmailOutboxMessage.OutboxStatus;
+import com.evfleet.billing.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Email Outbox Dispatcher
+ *
+ * Delivers queued billing emails on a small bounded pool of senders:
+ * - Claim: a short transaction locks a batch of due messages (SKIP LOCKED, so
+ *   several nodes can dispatch) and leases them as SENDING
+ * - Send: each sender delivers its batch over one SMTP session, outside any
+ *   database transaction
+ * - Record: a second short transaction marks messages SENT, or reschedules
+ *   them with exponential backoff and jitter until the attempt limit, after
+ *   which they are marked FAILED and left for inspection
+ *
+ * Each poll only starts idle senders and returns; a sender claims and delivers
+ * batches until it claims a short one, so neither a deep backlog nor a slow mail
+ * server holds the shared scheduler thread.
+ *
+ * Queue depth and the age of the oldest undelivered message are published as
+ * gauges, and the time from queueing to delivery as a timer.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "spring.mail.host")
+public class EmailOutboxDispatcher {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor senders;
+    private final int senderCount;
+
+    @Value("${spring.mail.username:noreply@evfleet.com}")
+    private String fromEmail;
+
+    @Value("${billing.email.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${billing.email.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${billing.email.outbox.backoff.initial-seconds:30}")
+    private long initialBackoffSeconds;
+
+    @Value("${billing.email.outbox.backoff.max-seconds:3600}")
+    private long maxBackoffSeconds;
+
+    @Value("${billing.email.outbox.lease-seconds:300}")
+    private long leaseSeconds;
+
+    // Metrics
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+    private final Timer deliveryDelay;
+    private final AtomicLong undelivered = new AtomicLong();
+    private final AtomicLong oldestAgeSeconds = new AtomicLong();
+    private final AtomicInteger activeSenders = new AtomicInteger();
+
+    public EmailOutboxDispatcher(EmailOutboxRepository emailOutboxRepository,
+                                 JavaMailSender mailSender,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${billing.email.outbox.senders:2}") int senderCount) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // Never more senders started than threads, so the queue stays empty
+        this.senderCount = senderCount;
+        this.senders = new ThreadPoolTaskExecutor();
+        this.senders.setCorePoolSize(senderCount);
+        this.senders.setMaxPoolSize(senderCount);
+        this.senders.setQueueCapacity(senderCount);
+        this.senders.setThreadNamePrefix("email-outbox-");
+        this.senders.initialize();
+
+        this.sentCounter = Counter.builder("billing.email.outbox.dispatched")
+                .tag("result", "sent")
+                .description("Outbox email delivery attempts")
+                .register(meterRegistry);
+        this.retriedCounter = Counter.builder("billing.email.outbox.dispatched")
+                .tag("result", "retry")
+                .description("Outbox email delivery attempts")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("billing.email.outbox.dispatched")
+                .tag("result", "failed")
+                .description("Outbox email delivery attempts")
+                .register(meterRegistry);
+        this.deliveryDelay = Timer.builder("billing.email.outbox.delivery.delay")
+                .description("Time from queueing an email to handing it to the mail server")
+                .register(meterRegistry);
+        Gauge.builder("billing.email.outbox.pending", undelivered, AtomicLong::get)
+                .description("Outbox emails not yet delivered")
+                .register(meterRegistry);
+        Gauge.builder("billing.email.outbox.lag.seconds", oldestAgeSeconds, AtomicLong::get)
+                .description("Age of the oldest undelivered outbox email")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdown();
+    }
+
+    @Scheduled(fixedDelayString = "${billing.email.outbox.poll-interval-ms:2000}")
+    public void dispatch() {
+        refreshQueueMetrics();
+        int active;
+        while ((active = activeSenders.get()) < senderCount) {
+            if (!activeSenders.compareAndSet(active, active + 1)) {
+                continue;
+            }
+            try {
+                senders.execute(this::drain);
+            } catch (TaskRejectedException e) {
+                // Shutting down
+                activeSenders.decrementAndGet();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Claim and deliver batches on a sender thread until the due messages are drained
+     */
+    private void drain() {
+        try {
+            List<EmailOutboxMessage> batch;
+            do {
+                batch = claim();
+                if (!batch.isEmpty()) {
+                    deliver(batch);
+                }
+                // A short batch means the due messages are drained
+            } while (batch.size() == batchSize);
+        } catch (Exception e) {
+            log.error("Email outbox sender failed: {}", e.getMessage());
+        } finally {
+            activeSenders.decrementAndGet();
+        }
+    }
+
+    /**
+     * Lease the next batch of due messages
+     */
+    private List<EmailOutboxMessage> claim() {
+        List<EmailOutboxMessage> batch = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutboxMessage> due = emailOutboxRepository.lockDue(now, batchSize);
+            for (EmailOutboxMessage message : due) {
+                message.setStatus(OutboxStatus.SENDING);
+                message.setNextAttemptAt(now.plusSeconds(leaseSeconds));
+            }
+            return emailOutboxRepository.saveAll(due);
+        });
+        return batch != null ? batch : List.of();
+    }
+
+    /**
+     * Send a batch over one SMTP session and record each message's outcome
+     */
+    private void deliver(List<EmailOutboxMessage> batch) {
+        Map<EmailOutboxMessage, Exception> failures = new HashMap<>();
+        Map<MimeMessage, EmailOutboxMessage> byMime = new IdentityHashMap<>();
+        for (EmailOutboxMessage message : batch) {
+            try {
+                byMime.put(toMime(message), message);
+            } catch (MessagingException e) {
+                failures.put(message, e);
+            }
+        }
+
+        if (!byMime.isEmpty()) {
+            try {
+                mailSender.send(byMime.keySet().toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                // Only the listed messages failed; the rest of the session went through
+                e.getFailedMessages().forEach((mime, error) -> {
+                    EmailOutboxMessage message = byMime.get(mime);
+                    if (message != null) {
+                        failures.put(message, error);
+                    }
+                });
+                if (e.getFailedMessages().isEmpty()) {
+                    byMime.values().forEach(message -> failures.put(message, e));
+                }
+            } catch (MailException e) {
+                // Connection or authentication failure: nothing was sent
+                byMime.values().forEach(message -> failures.put(message, e));
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                for (EmailOutboxMessage message : batch) {
+                    Exception failure = failures.get(message);
+                    if (failure == null) {
+                        markSent(message, now);
+                    } else {
+                        markFailed(message, failure, now);
+                    }
+                }
+                emailOutboxRepository.saveAll(batch);
+            });
+            log.debug("Dispatched {} outbox emails, {} failed", batch.size(), failures.size());
+        } catch (Exception e) {
+            // Leases expire and the batch is sent again
+            log.error("Failed to record delivery of {} outbox emails: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private void markSent(EmailOutboxMessage message, LocalDateTime now) {
+        message.setStatus(OutboxStatus.SENT);
+        message.setSentAt(now);
+        message.setLastError(null);
+        sentCounter.increment();
+        if (message.getCreatedAt() != null) {
+            deliveryDelay.record(Duration.between(message.getCreatedAt(), now));
+        }
+    }
+
+    private void markFailed(EmailOutboxMessage message, Exception failure, LocalDateTime now) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setLastError(truncate(failure.getMessage()));
+        if (attempts >= maxAttempts) {
+            message.setStatus(OutboxStatus.FAILED);
+            failedCounter.increment();
+            log.error("Giving up on outbox email {} to {} after {} attempts: {}",
+                    message.getId(), message.getRecipient(), attempts, failure.getMessage());
+        } else {
+            message.setStatus(OutboxStatus.PENDING);
+            message.setNextAttemptAt(now.plus(backoff(attempts)));
+            retriedCounter.increment();
+            log.warn("Outbox email {} to {} failed (attempt {}), retrying: {}",
+                    message.getId(), message.getRecipient(), attempts, failure.getMessage());
+        }
+    }
+
+    /**
+     * Exponential backoff capped at the maximum, with full jitter over its upper half
+     */
+    private Duration backoff(int attempts) {
+        long ceiling = initialBackoffSeconds << Math.min(attempts - 1, 20);
+        long seconds = Math.min(ceiling, maxBackoffSeconds);
+        long jittered = seconds / 2 + ThreadLocalRandom.current().nextLong(seconds / 2 + 1);
+        return Duration.ofSeconds(Math.max(1, jittered));
+    }
+
+    private void refreshQueueMetrics() {
+        try {
+            List<Object[]> rows = emailOutboxRepository.summarizeUndelivered();
+            Object[] row = rows.isEmpty() ? new Object[]{0L, null} : rows.get(0);
+            undelivered.set(row[0] != null ? ((Number) row[0]).longValue() : 0);
+            LocalDateTime oldest = (LocalDateTime) row[1];
+            oldestAgeSeconds.set(oldest != null
+                    ? Math.max(0, Duration.between(oldest, LocalDateTime.now()).getSeconds())
+                    : 0);
+        } catch (Exception e) {
+            log.warn("Failed to refresh email outbox metrics: {}", e.getMessage());
+        }
+    }
+
+    private MimeMessage toMime(EmailOutboxMessage message) throws MessagingException {
+        MimeMessage mime = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mime, true, "UTF-8");
+        helper.setFrom(fromEmail);
+        helper.setTo(message.getRecipient());
+        helper.setSubject(message.getSubject());
+        helper.setText(message.getBody(), true);
+        return mime;
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > 500 ? error.substring(0, 500) : error;
+    }
+}
@@ -8,24 +8,39 @@ import com.evfleet.billing.model.BillingAddress;
 import com.evfleet.billing.repository.BillingAddressRepository;
 import com.evfleet.billing.repository.InvoiceRepository;
 import com.evfleet.billing.repository.SubscriptionRepository;
+import com.evfleet.billing.service.BillingIdempotencyService;
 import com.evfleet.billing.service.BillingService;
+import com.evfleet.billing.service.EmailOutboxService;
 import com.evfleet.billing.service.PaymentEmailService;
+import com.evfleet.billing.service.PaymentEmailService.EmailContent;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 /**
  * Subscription Renewal Scheduler
@@ -37,6 +52,20 @@ import java.util.concurrent.atomic.AtomicInteger;
  * - Suspends service after grace period ends
  * - Handles expired subscriptions cleanup
  * 
+ * Each run is a pipeline:
+ * 1. Select: every worker pages through its shard of due subscriptions
+ *    (id mod workers) by id, so no subscription is loaded twice
+ * 2. Process: each subscription goes through all steps above in its own
+ *    transaction; a failure only affects that subscription
+ * 3. Notify: emails are queued in the email outbox within that transaction
+ *    and delivered in the background
+ * 
+ * The scheduled call only starts the shards on the pipeline's own workers and
+ * returns, so a long run never holds the shared scheduler thread.
+ * 
+ * Renewal invoices and dated notifications claim an idempotency key in the same
+ * transaction, so rerunning a crashed or repeated run neither bills nor emails twice.
+ * 
  * Schedule: Daily at 6:00 AM IST
  * 
  * @author SEV Platform Team
@@ -46,13 +75,22 @@ import java.util.concurrent.atomic.AtomicInteger;
 @Slf4j
 public class SubscriptionRenewalScheduler {
 
+    private static final int MAX_ATTEMPTS = 3;
+
     private final SubscriptionRepository subscriptionRepository;
     private final InvoiceRepository invoiceRepository;
     private final BillingAddressRepository billingAddressRepository;
     private final BillingService billingService;
     private final PaymentEmailService paymentEmailService;
+    private final EmailOutboxService emailOutboxService;
+    private final BillingIdempotencyService idempotencyService;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor workers;
+    private final int shardCount;
     private final MeterRegistry meterRegistry;
     private final Clock clock;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile LocalDate lastRunDate;
 
     @Autowired
     public SubscriptionRenewalScheduler(
@@ -61,15 +99,32 @@ public class SubscriptionRenewalScheduler {
             BillingAddressRepository billingAddressRepository,
             BillingService billingService,
             @Autowired(required = false) PaymentEmailService paymentEmailService,
+            EmailOutboxService emailOutboxService,
+            BillingIdempotencyService idempotencyService,
+            PlatformTransactionManager transactionManager,
             MeterRegistry meterRegistry,
-            @Autowired(required = false) Clock clock) {
+            @Autowired(required = false) Clock clock,
+            @Value("${subscription.pipeline.workers:4}") int workerCount) {
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("subscription.pipeline.workers must be at least 1");
+        }
         this.subscriptionRepository = subscriptionRepository;
         this.invoiceRepository = invoiceRepository;
         this.billingAddressRepository = billingAddressRepository;
         this.billingService = billingService;
         this.paymentEmailService = paymentEmailService;
+        this.emailOutboxService = emailOutboxService;
+        this.idempotencyService = idempotencyService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
         this.meterRegistry = meterRegistry;
         this.clock = clock != null ? clock : Clock.systemDefaultZone();
+
+        this.shardCount = workerCount;
+        this.workers = new ThreadPoolTaskExecutor();
+        this.workers.setCorePoolSize(workerCount);
+        this.workers.setMaxPoolSize(workerCount);
+        this.workers.setThreadNamePrefix("subscription-renewal-");
+        this.workers.initialize();
     }
 
     // Configuration properties
@@ -82,11 +137,15 @@ public class SubscriptionRenewalScheduler {
     @Value("${subscription.enabled:true}")
     private boolean schedulerEnabled;
 
+    @Value("${subscription.pipeline.page-size:200}")
+    private int pageSize;
+
     // Metrics
     private Counter remindersCounter;
     private Counter renewalsCounter;
     private Counter suspensionsCounter;
     private Counter invoicesGeneratedCounter;
+    private Counter failuresCounter;
 
     @PostConstruct
     public void initMetrics() {
@@ -102,262 +161,266 @@ public class SubscriptionRenewalScheduler {
         invoicesGeneratedCounter = Counter.builder("subscription.invoices.generated")
                 .description("Number of renewal invoices generated")
                 .register(meterRegistry);
+        failuresCounter = Counter.builder("subscription.renewals.failed")
+                .description("Number of subscriptions whose renewal processing failed")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
     }
 
     /**
-     * Main scheduled task - runs daily at 6:00 AM
+     * Main scheduled task - runs daily at 6:00 AM; starts the run and returns
      */
     @Scheduled(cron = "${subscription.scheduler.cron:0 0 6 * * ?}")
-    @Transactional
     public void processSubscriptions() {
         if (!schedulerEnabled) {
             log.info("Subscription scheduler is disabled");
             return;
         }
-
-        LocalDate today = LocalDate.now(clock);
-        log.info("Starting subscription renewal check for date: {}", today);
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Subscription renewal run already in progress, skipping");
+            return;
+        }
 
         try {
-            // Step 1: Send reminders for subscriptions expiring soon
-            sendExpiryReminders(today);
-
-            // Step 2: Generate renewal invoices for expiring subscriptions
-            generateRenewalInvoices(today);
-
-            // Step 3: Handle grace period expirations
-            handleGracePeriodExpirations(today);
-
-            // Step 4: Handle final expirations (after grace period)
-            handleFinalExpirations(today);
-
-            log.info("Subscription renewal check completed");
+            LocalDate today = LocalDate.now(clock);
+            log.info("Starting subscription renewal check for date: {}", today);
+
+            // Everything any step acts on ends before the reminder horizon
+            LocalDate horizon = today.plusDays(reminderDaysBefore);
+            AtomicInteger processed = new AtomicInteger();
+            AtomicInteger failed = new AtomicInteger();
+
+            List<CompletableFuture<Void>> shards = new ArrayList<>(shardCount);
+            for (int shard = 0; shard < shardCount; shard++) {
+                int current = shard;
+                shards.add(CompletableFuture.runAsync(
+                        () -> processShard(current, today, horizon, processed, failed), workers));
+            }
+            CompletableFuture.allOf(shards.toArray(new CompletableFuture[0]))
+                    .whenComplete((result, error) -> {
+                        if (error != null) {
+                            log.error("Error during subscription renewal processing: {}", error.getMessage(), error);
+                        } else {
+                            lastRunDate = today;
+                            log.info("Subscription renewal check completed: {} subscriptions processed, {} failed",
+                                    processed.get(), failed.get());
+                        }
+                        running.set(false);
+                    });
         } catch (Exception e) {
             log.error("Error during subscription renewal processing: {}", e.getMessage(), e);
+            running.set(false);
         }
     }
 
     /**
-     * Send reminder emails for subscriptions expiring in reminderDaysBefore days
+     * Stage 1: page through one shard of the due subscriptions by id
      */
-    private void sendExpiryReminders(LocalDate today) {
-        LocalDate reminderDate = today.plusDays(reminderDaysBefore);
-        
-        log.info("Checking for subscriptions expiring on: {}", reminderDate);
-        
-        List<Subscription> expiringSubscriptions = subscriptionRepository
-                .findByStatusAndEndDateBefore(SubscriptionStatus.ACTIVE, reminderDate.plusDays(1))
-                .stream()
-                .filter(s -> s.getEndDate() != null)
-                .filter(s -> s.getEndDate().isEqual(reminderDate) || 
-                            (s.getEndDate().isAfter(today) && s.getEndDate().isBefore(reminderDate.plusDays(1))))
-                .toList();
-
-        AtomicInteger remindersSent = new AtomicInteger(0);
+    private void processShard(int shard, LocalDate today, LocalDate horizon,
+                              AtomicInteger processed, AtomicInteger failed) {
+        Long afterId = 0L;
+        List<Long> page;
+        do {
+            page = subscriptionRepository.findDueIdsInShardAfter(
+                    horizon, shardCount, shard, afterId, PageRequest.of(0, pageSize));
+            for (Long subscriptionId : page) {
+                if (processWithRetry(subscriptionId, today)) {
+                    processed.incrementAndGet();
+                } else {
+                    failed.incrementAndGet();
+                }
+            }
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1);
+            }
+        } while (page.size() == pageSize);
+    }
 
-        for (Subscription subscription : expiringSubscriptions) {
+    /**
+     * Stage 2: one transaction per subscription, retried when it collides with
+     * a concurrent write (e.g. two invoices drawing the same number)
+     */
+    private boolean processWithRetry(Long subscriptionId, LocalDate today) {
+        for (int attempt = 1; ; attempt++) {
             try {
-                sendReminderEmail(subscription);
-                remindersSent.incrementAndGet();
-                remindersCounter.increment();
+                Set<Action> actions = transactionTemplate.execute(status -> processSubscription(subscriptionId, today));
+                recordMetrics(actions);
+                return true;
+            } catch (DataIntegrityViolationException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    log.error("Failed to process subscription {} after {} attempts: {}",
+                            subscriptionId, attempt, e.getMessage());
+                    failuresCounter.increment();
+                    return false;
+                }
+                log.debug("Retrying subscription {} after conflict: {}", subscriptionId, e.getMessage());
             } catch (Exception e) {
-                log.error("Failed to send reminder for subscription {}: {}", 
-                        subscription.getId(), e.getMessage());
+                log.error("Failed to process subscription {}: {}", subscriptionId, e.getMessage());
+                failuresCounter.increment();
+                return false;
             }
         }
-
-        log.info("Sent {} expiry reminders", remindersSent.get());
     }
 
     /**
-     * Generate renewal invoices for subscriptions that expire today
+     * Run every step that applies to a subscription; returns what was done
      */
-    private void generateRenewalInvoices(LocalDate today) {
-        log.info("Checking for subscriptions expiring today for invoice generation");
-
-        List<Subscription> expiringToday = subscriptionRepository
-                .findSubscriptionsToRenew(today)
-                .stream()
-                .filter(s -> s.getAutoRenew() != null && s.getAutoRenew())
-                .toList();
+    private Set<Action> processSubscription(Long subscriptionId, LocalDate today) {
+        Set<Action> actions = EnumSet.noneOf(Action.class);
+        Subscription subscription = subscriptionRepository.findById(subscriptionId).orElse(null);
+        // May have changed since it was selected
+        if (subscription == null || subscription.getStatus() != SubscriptionStatus.ACTIVE
+                || subscription.getEndDate() == null) {
+            return actions;
+        }
 
-        AtomicInteger invoicesGenerated = new AtomicInteger(0);
+        LocalDate endDate = subscription.getEndDate();
+        LocalDate gracePeriodEnd = today.minusDays(gracePeriodDays);
+        BillingAddress contact = billingAddressRepository.findByCompanyId(subscription.getCompanyId()).orElse(null);
 
-        for (Subscription subscription : expiringToday) {
-            try {
-                // Check if a pending renewal invoice already exists
-                if (hasExistingPendingInvoice(subscription)) {
-                    log.debug("Pending invoice already exists for subscription {}", subscription.getId());
-                    continue;
-                }
+        // Step 1: Send reminders for subscriptions expiring soon
+        if (endDate.isAfter(today) && !endDate.isAfter(today.plusDays(reminderDaysBefore))) {
+            if (queueReminderEmail(subscription, contact, today,
+                    "subscription-reminder:" + subscriptionId + ":" + endDate + ":" + today)) {
+                actions.add(Action.REMINDER);
+            }
+        }
 
-                // Generate renewal invoice
+        // Step 2: Generate renewal invoices for expiring subscriptions
+        if (!endDate.isAfter(today) && Boolean.TRUE.equals(subscription.getAutoRenew())) {
+            if (hasExistingPendingInvoice(subscription)) {
+                log.debug("Pending invoice already exists for subscription {}", subscriptionId);
+            } else if (idempotencyService.claim("renewal-invoice:" + subscriptionId + ":" + endDate)) {
                 Invoice invoice = generateRenewalInvoice(subscription);
-                invoicesGenerated.incrementAndGet();
-                invoicesGeneratedCounter.increment();
+                actions.add(Action.INVOICE);
 
                 // Send invoice notification
-                sendInvoiceNotification(subscription, invoice);
-
-                log.info("Generated renewal invoice {} for subscription {}", 
-                        invoice.getInvoiceNumber(), subscription.getId());
+                queueInvoiceNotification(contact, invoice);
 
-            } catch (Exception e) {
-                log.error("Failed to generate invoice for subscription {}: {}", 
-                        subscription.getId(), e.getMessage());
+                log.info("Generated renewal invoice {} for subscription {}",
+                        invoice.getInvoiceNumber(), subscriptionId);
             }
         }
 
-        log.info("Generated {} renewal invoices", invoicesGenerated.get());
-    }
+        // Step 3: Warn subscriptions in grace period (expired but within grace window)
+        if (endDate.isBefore(today) && endDate.isAfter(gracePeriodEnd)) {
+            queueGracePeriodWarning(subscription, contact, today,
+                    "subscription-grace-warning:" + subscriptionId + ":" + endDate + ":" + today);
+        }
 
-    /**
-     * Handle subscriptions in grace period (expired but within grace window)
-     */
-    private void handleGracePeriodExpirations(LocalDate today) {
-        LocalDate gracePeriodEnd = today.minusDays(gracePeriodDays);
-        
-        log.info("Checking for subscriptions with expired grace period (ended before: {})", gracePeriodEnd);
+        // Step 4: Handle final expirations - suspend service after grace period
+        if (endDate.isBefore(gracePeriodEnd)) {
+            if (hasUnpaidInvoice(subscription)) {
+                suspendSubscription(subscription);
+                actions.add(Action.SUSPENDED);
 
-        // Find subscriptions that expired but haven't been marked as such yet
-        List<Subscription> expiredWithinGrace = subscriptionRepository
-                .findByStatusAndEndDateBefore(SubscriptionStatus.ACTIVE, today)
-                .stream()
-                .filter(s -> s.getEndDate() != null)
-                .filter(s -> s.getEndDate().isAfter(gracePeriodEnd))
-                .toList();
+                // Send suspension notification
+                queueSuspensionNotification(subscription, contact);
 
-        for (Subscription subscription : expiredWithinGrace) {
-            try {
-                // Send grace period warning
-                sendGracePeriodWarning(subscription, today);
-            } catch (Exception e) {
-                log.error("Failed to send grace period warning for subscription {}: {}", 
-                        subscription.getId(), e.getMessage());
+                log.info("Suspended subscription {} due to non-payment", subscriptionId);
+            } else {
+                // Invoice was paid, renew the subscription
+                renewSubscription(subscription);
+                actions.add(Action.RENEWED);
+
+                log.info("Renewed subscription {} after payment confirmation", subscriptionId);
             }
         }
+        return actions;
     }
 
-    /**
-     * Handle final expirations - suspend service after grace period
-     */
-    private void handleFinalExpirations(LocalDate today) {
-        LocalDate gracePeriodEnd = today.minusDays(gracePeriodDays);
-        
-        log.info("Checking for subscriptions past grace period (ended before: {})", gracePeriodEnd);
-
-        List<Subscription> pastGracePeriod = subscriptionRepository
-                .findByStatusAndEndDateBefore(SubscriptionStatus.ACTIVE, gracePeriodEnd);
-
-        AtomicInteger suspensionCount = new AtomicInteger(0);
-
-        for (Subscription subscription : pastGracePeriod) {
-            try {
-                // Check if there's any unpaid invoice
-                boolean hasUnpaidInvoice = hasUnpaidInvoice(subscription);
-                
-                if (hasUnpaidInvoice) {
-                    // Suspend the subscription
-                    suspendSubscription(subscription);
-                    suspensionCount.incrementAndGet();
-                    suspensionsCounter.increment();
-
-                    // Send suspension notification
-                    sendSuspensionNotification(subscription);
-
-                    log.info("Suspended subscription {} due to non-payment", subscription.getId());
-                } else {
-                    // Invoice was paid, renew the subscription
-                    renewSubscription(subscription);
-                    renewalsCounter.increment();
-                    
-                    log.info("Renewed subscription {} after payment confirmation", subscription.getId());
-                }
-            } catch (Exception e) {
-                log.error("Failed to process expired subscription {}: {}", 
-                        subscription.getId(), e.getMessage());
+    private void recordMetrics(Set<Action> actions) {
+        if (actions == null) {
+            return;
+        }
+        for (Action action : actions) {
+            switch (action) {
+                case REMINDER -> remindersCounter.increment();
+                case INVOICE -> invoicesGeneratedCounter.increment();
+                case SUSPENDED -> suspensionsCounter.increment();
+                case RENEWED -> renewalsCounter.increment();
             }
         }
+    }
 
-        log.info("Suspended {} subscriptions, renewed others with paid invoices", suspensionCount.get());
+    private enum Action {
+        REMINDER,
+        INVOICE,
+        SUSPENDED,
+        RENEWED
     }
 
     // ==================== Helper Methods ====================
 
-    private void sendReminderEmail(Subscription subscription) {
+    /**
+     * Stage 3: queue an email in the current transaction
+     *
+     * @return true when the email was queued
+     */
+    private boolean queueEmail(BillingAddress contact, String idempotencyKey,
+                               Function<PaymentEmailService, EmailContent> render) {
         if (paymentEmailService == null) {
-            log.debug("PaymentEmailService not available, skipping reminder email");
-            return;
+            log.debug("PaymentEmailService not available, skipping email");
+            return false;
+        }
+        if (contact == null || contact.getContactEmail() == null) {
+            return false;
         }
-        String email = getCompanyEmail(subscription.getCompanyId());
-        if (email == null) {
+        return emailOutboxService.enqueue(idempotencyKey, contact.getContactEmail(), render.apply(paymentEmailService));
+    }
+
+    private boolean queueReminderEmail(Subscription subscription, BillingAddress contact,
+                                       LocalDate today, String idempotencyKey) {
+        if (contact == null || contact.getContactEmail() == null) {
             log.warn("No email found for company {}", subscription.getCompanyId());
-            return;
+            return false;
         }
 
-        long daysUntilExpiry = ChronoUnit.DAYS.between(LocalDate.now(clock), subscription.getEndDate());
-        
-        paymentEmailService.sendSubscriptionExpiryReminder(
-                email,
-                getCompanyName(subscription.getCompanyId()),
+        long daysUntilExpiry = ChronoUnit.DAYS.between(today, subscription.getEndDate());
+
+        return queueEmail(contact, idempotencyKey, emails -> emails.buildSubscriptionExpiryReminder(
+                companyName(contact),
                 subscription.getPlanType(),
                 subscription.getEndDate(),
                 daysUntilExpiry,
                 subscription.getAmount(),
                 subscription.getAutoRenew() != null && subscription.getAutoRenew()
-        );
+        ));
     }
 
-    private void sendGracePeriodWarning(Subscription subscription, LocalDate today) {
-        if (paymentEmailService == null) {
-            log.debug("PaymentEmailService not available, skipping grace period warning");
-            return;
-        }
-        String email = getCompanyEmail(subscription.getCompanyId());
-        if (email == null) return;
-
+    private void queueGracePeriodWarning(Subscription subscription, BillingAddress contact,
+                                         LocalDate today, String idempotencyKey) {
         long daysInGrace = ChronoUnit.DAYS.between(subscription.getEndDate(), today);
         int daysRemaining = gracePeriodDays - (int) daysInGrace;
 
-        paymentEmailService.sendGracePeriodWarning(
-                email,
-                getCompanyName(subscription.getCompanyId()),
+        queueEmail(contact, idempotencyKey, emails -> emails.buildGracePeriodWarning(
+                companyName(contact),
                 subscription.getEndDate(),
                 daysRemaining,
                 subscription.getAmount()
-        );
+        ));
     }
 
-    private void sendSuspensionNotification(Subscription subscription) {
-        if (paymentEmailService == null) {
-            log.debug("PaymentEmailService not available, skipping suspension notification");
-            return;
-        }
-        String email = getCompanyEmail(subscription.getCompanyId());
-        if (email == null) return;
-
-        paymentEmailService.sendSubscriptionSuspensionNotice(
-                email,
-                getCompanyName(subscription.getCompanyId()),
+    private void queueSuspensionNotification(Subscription subscription, BillingAddress contact) {
+        // Suspension happens once per term: the subscription is not selected again
+        queueEmail(contact, null, emails -> emails.buildSubscriptionSuspensionNotice(
+                companyName(contact),
                 subscription.getPlanType()
-        );
+        ));
     }
 
-    private void sendInvoiceNotification(Subscription subscription, Invoice invoice) {
-        if (paymentEmailService == null) {
-            log.debug("PaymentEmailService not available, skipping invoice notification");
-            return;
-        }
-        String email = getCompanyEmail(subscription.getCompanyId());
-        if (email == null) return;
-
-        paymentEmailService.sendRenewalInvoiceNotification(
-                email,
-                getCompanyName(subscription.getCompanyId()),
+    private void queueInvoiceNotification(BillingAddress contact, Invoice invoice) {
+        // Guarded by the renewal invoice's idempotency key
+        queueEmail(contact, null, emails -> emails.buildRenewalInvoiceNotification(
+                companyName(contact),
                 invoice.getInvoiceNumber(),
                 invoice.getTotalAmount(),
                 invoice.getDueDate()
-        );
+        ));
     }
 
     private Invoice generateRenewalInvoice(Subscription subscription) {
@@ -424,16 +487,10 @@ public class SubscriptionRenewalScheduler {
         };
     }
 
-    private String getCompanyEmail(Long companyId) {
-        return billingAddressRepository.findByCompanyId(companyId)
-                .map(BillingAddress::getContactEmail)
-                .orElse(null);
-    }
-
-    private String getCompanyName(Long companyId) {
-        return billingAddressRepository.findByCompanyId(companyId)
-                .map(BillingAddress::getCompanyName)
-                .orElse("Valued Customer");
+    private static String companyName(BillingAddress contact) {
+        return contact != null && contact.getCompanyName() != null
+                ? contact.getCompanyName()
+                : "Valued Customer";
     }
 
     // ==================== Manual Trigger Methods ====================
@@ -446,8 +503,10 @@ public class SubscriptionRenewalScheduler {
         Subscription subscription = subscriptionRepository.findById(subscriptionId)
                 .orElseThrow(() -> new RuntimeException("Subscription not found: " + subscriptionId));
         
-        sendReminderEmail(subscription);
-        log.info("Manual reminder sent for subscription: {}", subscriptionId);
+        BillingAddress contact = billingAddressRepository.findByCompanyId(subscription.getCompanyId()).orElse(null);
+        // Explicit request: no idempotency key, the reminder is always queued
+        queueReminderEmail(subscription, contact, LocalDate.now(clock), null);
+        log.info("Manual reminder queued for subscription: {}", subscriptionId);
     }
 
     /**
@@ -458,7 +517,7 @@ public class SubscriptionRenewalScheduler {
                 .enabled(schedulerEnabled)
                 .reminderDaysBefore(reminderDaysBefore)
                 .gracePeriodDays(gracePeriodDays)
-                .lastRunDate(null) // Would need to track this
+                .lastRunDate(lastRunDate)
                 .build();
     }
 
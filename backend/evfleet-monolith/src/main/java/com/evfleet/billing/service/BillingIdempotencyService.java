@@ -0,0 +1,59 @@
+package com.evfleet.billing.service;
+
+import com.evfleet.billing.repository.BillingIdempotencyKeyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Billing Idempotency Service
+ *
+ * Guards billing side effects that must happen once even when a job is rerun
+ * after a crash. A key is claimed inside the transaction that performs the
+ * effect: if that transaction rolls back the key is released with it.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class BillingIdempotencyService {
+
+    private final BillingIdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Value("${billing.idempotency.retention-days:400}")
+    private int retentionDays;
+
+    /**
+     * Claim a key in the caller's transaction
+     *
+     * @return true when the effect has not been performed yet and the caller should do it
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean claim(String key) {
+        boolean claimed = idempotencyKeyRepository.claim(key) == 1;
+        if (!claimed) {
+            log.debug("Idempotency key already claimed: {}", key);
+        }
+        return claimed;
+    }
+
+    /**
+     * Drop keys older than any job could still rerun
+     */
+    @Scheduled(cron = "${billing.idempotency.purge-cron:0 45 3 * * ?}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = idempotencyKeyRepository.deleteCreatedBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (deleted > 0) {
+            log.info("Purged {} billing idempotency keys older than {} days", deleted, retentionDays);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.evfleet.billing.service;
+
+import com.evfleet.billing.model.EmailOutboxMessage;
+import com.evfleet.billing.repository.EmailOutboxRepository;
+import com.evfleet.billing.service.PaymentEmailService.EmailContent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Email Outbox Service
+ *
+ * Queues rendered billing emails in the caller's transaction. Delivery happens
+ * in the background (see {@code EmailOutboxDispatcher}), so business
+ * transactions never wait on the mail server.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class EmailOutboxService {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final BillingIdempotencyService idempotencyService;
+
+    @Value("${billing.email.outbox.retention-days:30}")
+    private int retentionDays;
+
+    /**
+     * Queue an email
+     *
+     * @param idempotencyKey key that makes the email one-off, or null to always queue
+     * @return false when an email with the same key was already queued
+     */
+    @Transactional
+    public boolean enqueue(String idempotencyKey, String recipient, EmailContent content) {
+        if (recipient == null || recipient.isBlank()) {
+            log.warn("Cannot queue email '{}' - no recipient email provided", content.subject());
+            return false;
+        }
+        if (idempotencyKey != null && !idempotencyService.claim(idempotencyKey)) {
+            return false;
+        }
+
+        emailOutboxRepository.save(EmailOutboxMessage.builder()
+                .recipient(recipient)
+                .subject(content.subject())
+                .body(content.html())
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+        log.debug("Queued email '{}' to: {}", content.subject(), recipient);
+        return true;
+    }
+
+    /**
+     * Drop delivered emails after the retention period
+     */
+    @Scheduled(cron = "${billing.email.outbox.purge-cron:0 30 3 * * ?}")
+    @Transactional
+    public void purgeSent() {
+        int deleted = emailOutboxRepository.deleteSentBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (deleted > 0) {
+            log.info("Purged {} sent outbox emails older than {} days", deleted, retentionDays);
+        }
+    }
+}
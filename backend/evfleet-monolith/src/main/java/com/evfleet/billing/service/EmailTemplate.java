@@ -0,0 +1,126 @@
+package com.evfleet.billing.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Email Template
+ *
+ * An HTML template with {@code {{name}}} placeholders, parsed once into literal
+ * segments and variable slots. Constants known at startup (application name and
+ * URL) are folded into the literals, so rendering is a single pass appending
+ * segments and values into a presized buffer.
+ *
+ * Values are inserted as-is; callers pass already formatted text.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+public final class EmailTemplate {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{(\\w+)}}");
+
+    private final String[] literals;            // literals[i] precedes placeholder i; the last one trails
+    private final int[] slots;                  // Variable index of each placeholder
+    private final Map<String, Integer> variables;
+    private final int literalLength;
+
+    private EmailTemplate(String[] literals, int[] slots, Map<String, Integer> variables) {
+        this.literals = literals;
+        this.slots = slots;
+        this.variables = variables;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Parse a template, inlining the given constants
+     */
+    public static EmailTemplate compile(String source, Map<String, String> constants) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        Map<String, Integer> variables = new HashMap<>();
+
+        StringBuilder literal = new StringBuilder();
+        Matcher matcher = PLACEHOLDER.matcher(source);
+        int position = 0;
+        while (matcher.find()) {
+            literal.append(source, position, matcher.start());
+            position = matcher.end();
+            String name = matcher.group(1);
+            String constant = constants.get(name);
+            if (constant != null) {
+                literal.append(constant);
+                continue;
+            }
+            literals.add(literal.toString());
+            literal.setLength(0);
+            slots.add(variables.computeIfAbsent(name, n -> variables.size()));
+        }
+        literal.append(source, position, source.length());
+        literals.add(literal.toString());
+
+        return new EmailTemplate(
+                literals.toArray(new String[0]),
+                slots.stream().mapToInt(Integer::intValue).toArray(),
+                Map.copyOf(variables));
+    }
+
+    /**
+     * Start rendering; every variable of the template must be set
+     */
+    public Renderer bind() {
+        return new Renderer();
+    }
+
+    public final class Renderer {
+        private final String[] values = new String[variables.size()];
+        private final boolean[] bound = new boolean[variables.size()];
+
+        private Renderer() {
+        }
+
+        public Renderer set(String name, Object value) {
+            Integer slot = variables.get(name);
+            if (slot == null) {
+                throw new IllegalArgumentException("Unknown template variable: " + name);
+            }
+            values[slot] = String.valueOf(value);
+            bound[slot] = true;
+            return this;
+        }
+
+        public String render() {
+            for (int i = 0; i < values.length; i++) {
+                if (!bound[i]) {
+                    throw new IllegalStateException("Template variable not set: " + nameOf(i));
+                }
+            }
+            int length = literalLength;
+            for (int slot : slots) {
+                length += values[slot].length();
+            }
+
+            StringBuilder html = new StringBuilder(length);
+            for (int i = 0; i < slots.length; i++) {
+                html.append(literals[i]).append(values[slots[i]]);
+            }
+            return html.append(literals[slots.length]).toString();
+        }
+
+        private String nameOf(int slot) {
+            return variables.entrySet().stream()
+                    .filter(e -> e.getValue() == slot)
+                    .map(Map.Entry::getKey)
+                    .findFirst()
+                    .orElse("#" + slot);
+        }
+    }
+}
@@ -217,7 +217,7 @@ public class InvoicePaymentService {
         // Send in-app notification
         sendPaymentSuccessNotification(invoice, payment, isPartialPayment);
 
-        // Send email notification with receipt (async)
+        // Queue email receipt; sent by the outbox dispatcher once this transaction commits
         if (paymentEmailService != null && paymentOrder.getCustomerEmail() != null) {
             paymentEmailService.sendPaymentSuccessEmail(paymentOrder.getCustomerEmail(), receipt);
         }
@@ -270,7 +270,7 @@ public class InvoicePaymentService {
         // Send in-app notification
         sendPaymentFailureNotification(invoice, errorDescription);
 
-        // Send email notification (async)
+        // Queue email notification; sent by the outbox dispatcher once this transaction commits
         if (paymentEmailService != null && paymentOrder.getCustomerEmail() != null) {
             paymentEmailService.sendPaymentFailureEmail(
                     paymentOrder.getCustomerEmail(),
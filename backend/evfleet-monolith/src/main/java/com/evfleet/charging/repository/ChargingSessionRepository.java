@@ -1,13 +1,18 @@
 package com.evfleet.charging.repository;
 
 import com.evfleet.charging.model.ChargingSession;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository for ChargingSession entity
@@ -36,4 +41,25 @@ public interface ChargingSessionRepository extends JpaRepository<ChargingSession
     @Query("SELECT s FROM ChargingSession s WHERE s.vehicleId = :vehicleId " +
             "AND s.startTime BETWEEN :startDate AND :endDate")
     List<ChargingSession> findByVehicleIdAndStartTimeBetween(Long vehicleId, LocalDateTime startDate, LocalDateTime endDate);
+
+    // Streaming PDF reports: [count, energy, cost] totals, latest rows and a cursor in time order
+    @Query("SELECT COUNT(s), COALESCE(SUM(s.energyConsumed), 0), COALESCE(SUM(s.cost), 0) FROM ChargingSession s " +
+            "WHERE s.vehicleId = :vehicleId AND s.startTime BETWEEN :startDate AND :endDate")
+    List<Object[]> summarizeByVehicleIdAndStartTimeBetween(Long vehicleId, LocalDateTime startDate, LocalDateTime endDate);
+
+    List<ChargingSession> findByVehicleIdAndStartTimeBetweenOrderByStartTimeDesc(
+            Long vehicleId, LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s FROM ChargingSession s WHERE s.vehicleId = :vehicleId " +
+            "AND s.startTime BETWEEN :startDate AND :endDate ORDER BY s.startTime")
+    Stream<ChargingSession> streamByVehicleIdAndStartTimeBetween(Long vehicleId, LocalDateTime startDate, LocalDateTime endDate);
+
+    // Bulk energy analytics: [vehicleId, sessions, cost] per vehicle, start time in [from, to)
+    @Query("SELECT s.vehicleId, COUNT(s), SUM(s.cost) FROM ChargingSession s " +
+            "WHERE s.startTime >= :from AND s.startTime < :to GROUP BY s.vehicleId")
+    List<Object[]> summarizeCostGroupedByVehicle(LocalDateTime from, LocalDateTime to);
 }
@@ -0,0 +1,318 @@
+package com.evfleet.common.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Two-level cache region
+ *
+ * L1 is a bounded Caffeine cache (W-TinyLFU eviction) local to the node.
+ * L2 is the shared Redis cache from CacheConfig, when Redis is configured.
+ *
+ * Read path:
+ * - Fresh L1 entry: returned directly
+ * - Stale L1 entry (older than TTL, within the stale window): returned immediately
+ *   while one background refresh per key runs (stale-while-revalidate)
+ * - Miss: one loader per key per node (single-flight); concurrent callers wait for it.
+ *   The loader first checks L2, and takes a short Redis lock so only one node
+ *   recomputes an expired entry
+ *
+ * Invalidation clears L1 on this node and the shared L2 entry; other nodes' L1
+ * copies age out within the TTL.
+ *
+ * Obtain instances from {@link TieredCacheManager}.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Slf4j
+public class TieredCache<V> {
+
+    private static final long LOCK_WAIT_MS = 2000;
+    private static final long LOCK_POLL_MS = 50;
+
+    private final String region;
+    private final Class<V> type;
+    private final long ttlMs;
+    private final Cache<String, Entry<V>> l1;
+    private final org.springframework.cache.Cache l2;
+    private final ObjectMapper objectMapper;
+    private final Executor refreshExecutor;
+    private final Map<String, CompletableFuture<Entry<V>>> inFlight = new ConcurrentHashMap<>();
+
+    // Metrics
+    private final Counter l1Hits;
+    private final Counter l2Hits;
+    private final Counter staleHits;
+    private final Counter misses;
+    private final Counter loadFailures;
+
+    TieredCache(String region, Class<V> type, Duration ttl, Duration staleWindow, long maxEntries,
+                org.springframework.cache.Cache l2, ObjectMapper objectMapper,
+                Executor refreshExecutor, MeterRegistry meterRegistry) {
+        this.region = region;
+        this.type = type;
+        this.ttlMs = ttl.toMillis();
+        this.l2 = l2;
+        this.objectMapper = objectMapper;
+        this.refreshExecutor = refreshExecutor;
+        this.l1 = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl.plus(staleWindow))
+                .build();
+
+        this.l1Hits = requests(meterRegistry, "l1_hit");
+        this.l2Hits = requests(meterRegistry, "l2_hit");
+        this.staleHits = requests(meterRegistry, "stale_hit");
+        this.misses = requests(meterRegistry, "miss");
+        this.loadFailures = Counter.builder("cache.tiered.load.failures")
+                .tag("region", region)
+                .description("Failed cache loads")
+                .register(meterRegistry);
+        Gauge.builder("cache.tiered.l1.size", l1, Cache::estimatedSize)
+                .tag("region", region)
+                .description("Entries held in the local cache")
+                .register(meterRegistry);
+    }
+
+    private Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("cache.tiered.requests")
+                .tag("region", region)
+                .tag("result", result)
+                .description("Tiered cache lookups by outcome")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get a value, loading it at most once per key when absent
+     */
+    public Lookup<V> get(String key, Supplier<V> loader) {
+        Entry<V> entry = l1.getIfPresent(key);
+        if (entry != null) {
+            if (!entry.isStale(ttlMs)) {
+                l1Hits.increment();
+                return new Lookup<>(entry.value, true);
+            }
+            staleHits.increment();
+            refreshAsync(key, loader);
+            return new Lookup<>(entry.value, true);
+        }
+
+        CompletableFuture<Entry<V>> mine = new CompletableFuture<>();
+        CompletableFuture<Entry<V>> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            try {
+                return new Lookup<>(existing.join().value, true);
+            } catch (CompletionException e) {
+                throw unwrap(e);
+            }
+        }
+
+        try {
+            Lookup<V> loaded = loadThroughL2(key, loader);
+            mine.complete(new Entry<>(loaded.value(), System.currentTimeMillis()));
+            return loaded;
+        } catch (RuntimeException e) {
+            loadFailures.increment();
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Remove a key from this node's L1 and from the shared L2
+     */
+    public void invalidate(String key) {
+        l1.invalidate(key);
+        if (l2 != null) {
+            l2.evict(key);
+        }
+    }
+
+    /**
+     * Clear this region on this node and in the shared L2
+     */
+    public void invalidateAll() {
+        l1.invalidateAll();
+        if (l2 != null) {
+            l2.clear();
+        }
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    // ========== PRIVATE METHODS ==========
+
+    private Lookup<V> loadThroughL2(String key, Supplier<V> loader) {
+        boolean locked = false;
+        if (l2 != null) {
+            Entry<V> remote = readL2(key);
+            if (remote != null && !remote.isStale(ttlMs)) {
+                l2Hits.increment();
+                l1.put(key, remote);
+                return new Lookup<>(remote.value, true);
+            }
+
+            // Another node may already be recomputing this key; wait briefly for its result
+            locked = tryLock(key);
+            if (!locked) {
+                Entry<V> awaited = awaitL2(key);
+                if (awaited != null) {
+                    l2Hits.increment();
+                    l1.put(key, awaited);
+                    return new Lookup<>(awaited.value, true);
+                }
+            }
+        }
+
+        misses.increment();
+        try {
+            Entry<V> entry = new Entry<>(loader.get(), System.currentTimeMillis());
+            l1.put(key, entry);
+            writeL2(key, entry);
+            return new Lookup<>(entry.value, false);
+        } finally {
+            if (locked) {
+                unlock(key);
+            }
+        }
+    }
+
+    private void refreshAsync(String key, Supplier<V> loader) {
+        CompletableFuture<Entry<V>> mine = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, mine) != null) {
+            return; // Refresh already running
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    Entry<V> entry = new Entry<>(loader.get(), System.currentTimeMillis());
+                    l1.put(key, entry);
+                    writeL2(key, entry);
+                    mine.complete(entry);
+                } catch (RuntimeException e) {
+                    loadFailures.increment();
+                    log.warn("Background refresh failed for {}:{} - {}", region, key, e.getMessage());
+                    mine.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(key, mine);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key, mine);
+            mine.cancel(false);
+        }
+    }
+
+    private Entry<V> readL2(String key) {
+        try {
+            org.springframework.cache.Cache.ValueWrapper wrapper = l2.get(key);
+            if (wrapper == null || wrapper.get() == null) {
+                return null;
+            }
+            Envelope envelope = objectMapper.convertValue(wrapper.get(), Envelope.class);
+            return new Entry<>(objectMapper.convertValue(envelope.getValue(), type), envelope.getLoadedAt());
+        } catch (RuntimeException e) {
+            log.warn("L2 read failed for {}:{} - {}", region, key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeL2(String key, Entry<V> entry) {
+        if (l2 == null) {
+            return;
+        }
+        try {
+            l2.put(key, new Envelope(entry.loadedAt, entry.value));
+        } catch (RuntimeException e) {
+            log.warn("L2 write failed for {}:{} - {}", region, key, e.getMessage());
+        }
+    }
+
+    private Entry<V> awaitL2(String key) {
+        long deadline = System.currentTimeMillis() + LOCK_WAIT_MS;
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(LOCK_POLL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            Entry<V> remote = readL2(key);
+            if (remote != null && !remote.isStale(ttlMs)) {
+                return remote;
+            }
+        }
+        return null;
+    }
+
+    private boolean tryLock(String key) {
+        try {
+            return l2.putIfAbsent(lockKey(key), System.currentTimeMillis()) == null;
+        } catch (RuntimeException e) {
+            return true; // Redis unavailable: compute locally
+        }
+    }
+
+    private void unlock(String key) {
+        try {
+            l2.evict(lockKey(key));
+        } catch (RuntimeException e) {
+            log.debug("L2 unlock failed for {}:{} - {}", region, key, e.getMessage());
+        }
+    }
+
+    private static String lockKey(String key) {
+        return "lock:" + key;
+    }
+
+    private static RuntimeException unwrap(CompletionException e) {
+        return e.getCause() instanceof RuntimeException re ? re : e;
+    }
+
+    // ========== ENTRY TYPES ==========
+
+    /**
+     * Cached value and whether it was served from L1/L2 rather than computed by this call
+     */
+    public record Lookup<V>(V value, boolean fromCache) {
+    }
+
+    private record Entry<V>(V value, long loadedAt) {
+        boolean isStale(long ttlMs) {
+            return System.currentTimeMillis() - loadedAt > ttlMs;
+        }
+    }
+
+    /**
+     * L2 wire format; keeps the load time so every node agrees on staleness
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Envelope {
+        private long loadedAt;
+        private Object value;
+    }
+}
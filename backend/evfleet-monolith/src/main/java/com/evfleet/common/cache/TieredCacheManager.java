@@ -0,0 +1,97 @@
+package com.evfleet.common.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Factory for {@link TieredCache} regions
+ *
+ * L2 is taken from the Redis-backed CacheManager configured in CacheConfig.
+ * When the application runs with the simple in-memory cache (no Redis), regions
+ * are L1-only.
+ *
+ * Usage:
+ * <pre>
+ * {@code
+ * TieredCache<DashboardMetricsResponse> cache = tieredCacheManager.getCache(
+ *     "dashboardMetrics", DashboardMetricsResponse.class,
+ *     Duration.ofMinutes(5), Duration.ofMinutes(1), 10_000);
+ *
+ * DashboardMetricsResponse metrics = cache.get(companyId.toString(), () -> compute(companyId)).value();
+ * }
+ * </pre>
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+public class TieredCacheManager {
+
+    private final ObjectProvider<CacheManager> cacheManagerProvider;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolTaskExecutor refreshExecutor;
+    private final Map<String, TieredCache<?>> regions = new ConcurrentHashMap<>();
+
+    public TieredCacheManager(ObjectProvider<CacheManager> cacheManagerProvider,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry) {
+        this.cacheManagerProvider = cacheManagerProvider;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+
+        this.refreshExecutor = new ThreadPoolTaskExecutor();
+        this.refreshExecutor.setCorePoolSize(2);
+        this.refreshExecutor.setMaxPoolSize(4);
+        this.refreshExecutor.setQueueCapacity(200);
+        this.refreshExecutor.setThreadNamePrefix("cache-refresh-");
+        this.refreshExecutor.initialize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdown();
+    }
+
+    /**
+     * Get or create a cache region
+     *
+     * @param region      Region name; also the Redis cache name used for L2
+     * @param type        Value type, used to deserialize L2 entries
+     * @param ttl         Age after which entries are refreshed
+     * @param staleWindow Extra time a stale entry may be served while refreshing
+     * @param maxEntries  L1 size bound
+     */
+    @SuppressWarnings("unchecked")
+    public <V> TieredCache<V> getCache(String region, Class<V> type, Duration ttl,
+                                       Duration staleWindow, long maxEntries) {
+        return (TieredCache<V>) regions.computeIfAbsent(region, name -> {
+            Cache l2 = resolveL2(name);
+            log.info("Created tiered cache region '{}' (ttl={}, stale={}, maxEntries={}, l2={})",
+                    name, ttl, staleWindow, maxEntries, l2 != null ? "redis" : "none");
+            return new TieredCache<>(name, type, ttl, staleWindow, maxEntries,
+                    l2, objectMapper, refreshExecutor, meterRegistry);
+        });
+    }
+
+    private Cache resolveL2(String region) {
+        CacheManager cacheManager = cacheManagerProvider.getIfAvailable();
+        if (cacheManager instanceof RedisCacheManager) {
+            return cacheManager.getCache(region);
+        }
+        return null;
+    }
+}
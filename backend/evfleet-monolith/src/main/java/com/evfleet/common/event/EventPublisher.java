@@ -4,6 +4,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * Event Publisher Service
@@ -66,4 +68,25 @@ public class EventPublisher {
         applicationEventPublisher.publishEvent(event);
         log.debug("Event published successfully: {}", event.getEventType());
     }
+
+    /**
+     * Publish a domain event once the current transaction commits, or right away
+     * when there is none. Listeners run on other threads (see EventConfig), so an
+     * event describing a write must not reach them before the write is visible.
+     * Nothing is published if the transaction rolls back.
+     *
+     * @param event The domain event to publish
+     */
+    public void publishAfterCommit(DomainEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(event);
+            }
+        });
+    }
 }
@@ -27,6 +27,8 @@ import java.time.Duration;
  * - roles: Role data cached for 1 hour (rarely changes)
  * - vehicles: Vehicle data cached for 2 minutes
  * - pricing: Pricing plans cached for 1 hour
+ * - dashboardMetrics / dashboardPositions: shared L2 for the dashboard's
+ *   TieredCache regions (TTL covers the refresh age plus the stale window)
  *
  * @author SEV Platform Team
  * @version 1.0.0
@@ -76,7 +78,11 @@ public class CacheConfig {
                 .withCacheConfiguration("chargingStations",
                         defaultConfig.entryTtl(Duration.ofMinutes(10)))
                 .withCacheConfiguration("drivers",
-                        defaultConfig.entryTtl(Duration.ofMinutes(5)));
+                        defaultConfig.entryTtl(Duration.ofMinutes(5)))
+                .withCacheConfiguration("dashboardMetrics",
+                        defaultConfig.entryTtl(Duration.ofMinutes(6)))
+                .withCacheConfiguration("dashboardPositions",
+                        defaultConfig.entryTtl(Duration.ofSeconds(45)));
 
         return builder.build();
     }
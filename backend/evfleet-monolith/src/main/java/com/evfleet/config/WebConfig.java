@@ -1,8 +1,10 @@
 package com.evfleet.config;
 
 import com.evfleet.common.interceptor.RequestLoggingInterceptor;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -11,6 +13,10 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
  *
  * Configures Spring MVC settings including interceptors.
  *
+ * Open-EntityManager-in-view is registered here instead of through
+ * spring.jpa.open-in-view so PDF report endpoints can opt out: they hold a
+ * connection only while loading data, not while streaming the document.
+ *
  * @author SEV Platform Team
  * @version 1.0.0
  */
@@ -19,6 +25,7 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class WebConfig implements WebMvcConfigurer {
 
     private final RequestLoggingInterceptor requestLoggingInterceptor;
+    private final EntityManagerFactory entityManagerFactory;
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
@@ -29,5 +36,10 @@ public class WebConfig implements WebMvcConfigurer {
                         "/swagger-ui/**",
                         "/v3/api-docs/**"
                 );
+
+        OpenEntityManagerInViewInterceptor openEntityManagerInView = new OpenEntityManagerInViewInterceptor();
+        openEntityManagerInView.setEntityManagerFactory(entityManagerFactory);
+        registry.addWebRequestInterceptor(openEntityManagerInView)
+                .excludePathPatterns("/api/v1/analytics/reports/**");
     }
 }
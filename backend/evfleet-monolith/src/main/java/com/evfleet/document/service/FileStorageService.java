@@ -95,6 +95,19 @@ public class FileStorageService {
         }
     }
 
+    /**
+     * Directory next to the upload directory (e.g. for generated files), created if missing
+     */
+    public Path getSiblingDirectory(String name) {
+        Path directory = this.fileStorageLocation.resolveSibling(name).normalize();
+        try {
+            Files.createDirectories(directory);
+            return directory;
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not create directory " + directory, ex);
+        }
+    }
+
     /**
      * Delete a file
      */
@@ -1,6 +1,7 @@
 package com.evfleet.driver.controller;
 
 import com.evfleet.common.dto.ApiResponse;
+import com.evfleet.driver.dto.DriverRankResponse;
 import com.evfleet.driver.dto.DriverRequest;
 import com.evfleet.driver.dto.DriverResponse;
 import com.evfleet.driver.service.DriverService;
@@ -118,12 +119,22 @@ public class DriverController {
     @GetMapping("/leaderboard")
     @Operation(summary = "Get driver leaderboard sorted by performance")
     public ResponseEntity<ApiResponse<List<DriverResponse>>> getDriverLeaderboard(
-            @RequestParam Long companyId) {
-        log.info("GET /api/v1/drivers/leaderboard - companyId: {}", companyId);
-        List<DriverResponse> leaderboard = driverService.getDriverLeaderboard(companyId);
+            @RequestParam Long companyId,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "100") int limit) {
+        log.info("GET /api/v1/drivers/leaderboard - companyId: {}, offset: {}, limit: {}", companyId, offset, limit);
+        List<DriverResponse> leaderboard = driverService.getDriverLeaderboard(companyId, offset, limit);
         return ResponseEntity.ok(ApiResponse.success("Driver leaderboard retrieved successfully", leaderboard));
     }
 
+    @GetMapping("/{id}/rank")
+    @Operation(summary = "Get a driver's position on the company leaderboard")
+    public ResponseEntity<ApiResponse<DriverRankResponse>> getDriverRank(@PathVariable Long id) {
+        log.info("GET /api/v1/drivers/{}/rank", id);
+        DriverRankResponse rank = driverService.getDriverRank(id);
+        return ResponseEntity.ok(ApiResponse.success("Driver rank retrieved successfully", rank));
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete driver")
     public ResponseEntity<ApiResponse<Void>> deleteDriver(@PathVariable Long id) {
@@ -0,0 +1,27 @@
+package com.evfleet.driver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Driver Rank Response DTO
+ * A driver's position on the company leaderboard
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DriverRankResponse {
+
+    private Long driverId;
+    private Long companyId;
+    private Integer rank;
+    private Integer rankedDrivers;
+    private Double safetyScore;
+    private Integer totalTrips;
+}
@@ -2,9 +2,12 @@ package com.evfleet.driver.repository;
 
 import com.evfleet.driver.model.Driver;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,4 +26,11 @@ public interface DriverRepository extends JpaRepository<Driver, Long> {
     // Methods for license expiry scheduler
     List<Driver> findByLicenseExpiryBefore(LocalDate date);
     List<Driver> findByLicenseExpiryBetween(LocalDate start, LocalDate end);
+
+    @Query("SELECT d.id FROM Driver d WHERE d.id IN :driverIds")
+    List<Long> findExistingIds(Collection<Long> driverIds);
+
+    @Modifying
+    @Query("UPDATE Driver d SET d.safetyScore = :safetyScore, d.updatedAt = CURRENT_TIMESTAMP WHERE d.id = :driverId")
+    int updateSafetyScore(Long driverId, Double safetyScore);
 }
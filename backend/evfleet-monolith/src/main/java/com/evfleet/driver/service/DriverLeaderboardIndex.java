@@ -0,0 +1,397 @@
+package com.evfleet.driver.service;
+
+import com.evfleet.driver.model.Driver;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Driver Leaderboard Index
+ *
+ * Per-company driver ranking by safety score (highest first), then total trips
+ * (most first), then driver id. Only drivers with at least one trip are ranked.
+ *
+ * Each board is an indexable skip list: every forward link stores how many
+ * drivers it skips, so inserting or removing a driver, finding a driver's rank
+ * and jumping to the n-th driver are all O(log n), and a page is that jump plus
+ * a walk along the bottom level.
+ *
+ * Boards are seeded from the company's drivers on first use and then fed by score
+ * and trip count changes once their transactions commit. A change for a driver the
+ * board does not know drops the board, and boards older than ten minutes are
+ * rebuilt, which bounds drift from changes made on other nodes.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+public class DriverLeaderboardIndex {
+
+    private static final long MAX_BOARD_AGE_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private final Map<Long, Board> boards = new ConcurrentHashMap<>();
+
+    /**
+     * Build the board for a company if it does not exist yet
+     */
+    public void seedIfAbsent(Long companyId, List<Driver> drivers) {
+        boards.computeIfAbsent(companyId, id -> {
+            Board board = new Board();
+            for (Driver driver : drivers) {
+                board.put(driver.getId(), scoreOf(driver.getSafetyScore()), tripsOf(driver.getTotalTrips()));
+            }
+            log.debug("Seeded driver leaderboard for company {} with {} ranked drivers",
+                    companyId, board.ranked.size);
+            return board;
+        });
+    }
+
+    public boolean isSeeded(Long companyId) {
+        return boards.containsKey(companyId);
+    }
+
+    // ========== UPDATES (applied after commit) ==========
+
+    /**
+     * Add or replace a driver with its current score and trip count
+     */
+    public void put(Driver driver) {
+        Long companyId = driver.getCompanyId();
+        long driverId = driver.getId();
+        double score = scoreOf(driver.getSafetyScore());
+        int trips = tripsOf(driver.getTotalTrips());
+        afterCommit(() -> withBoard(companyId, board -> board.put(driverId, score, trips)));
+    }
+
+    public void remove(Long companyId, Long driverId) {
+        afterCommit(() -> withBoard(companyId, board -> board.remove(driverId)));
+    }
+
+    public void updateScore(Long companyId, Long driverId, Double safetyScore) {
+        double score = scoreOf(safetyScore);
+        afterCommit(() -> withBoard(companyId, board -> {
+            Key current = board.drivers.get(driverId);
+            if (current == null) {
+                return false;
+            }
+            board.put(driverId, score, current.trips());
+            return true;
+        }));
+    }
+
+    public void updateTrips(Long companyId, Long driverId, Integer totalTrips) {
+        int trips = tripsOf(totalTrips);
+        afterCommit(() -> withBoard(companyId, board -> {
+            Key current = board.drivers.get(driverId);
+            if (current == null) {
+                return false;
+            }
+            board.put(driverId, current.score(), trips);
+            return true;
+        }));
+    }
+
+    public void evict(Long companyId) {
+        boards.remove(companyId);
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpired() {
+        long cutoff = System.currentTimeMillis() - MAX_BOARD_AGE_MILLIS;
+        boards.values().removeIf(board -> board.seededAt < cutoff);
+    }
+
+    private interface BoardUpdate {
+        /**
+         * @return false when the board cannot apply the change and must be rebuilt
+         */
+        boolean apply(Board board);
+    }
+
+    private void withBoard(Long companyId, BoardUpdate update) {
+        Board board = boards.get(companyId);
+        if (board == null) {
+            return;
+        }
+        boolean applied;
+        board.lock.writeLock().lock();
+        try {
+            applied = update.apply(board);
+        } finally {
+            board.lock.writeLock().unlock();
+        }
+        if (!applied) {
+            boards.remove(companyId, board);
+        }
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    // ========== QUERIES ==========
+
+    /**
+     * Ranked drivers from position {@code offset} (0-based); empty when the board is not seeded
+     */
+    public List<Ranked> page(Long companyId, int offset, int limit) {
+        Board board = boards.get(companyId);
+        if (board == null) {
+            return List.of();
+        }
+        board.lock.readLock().lock();
+        try {
+            int n = Math.max(0, Math.min(limit, board.ranked.size - offset));
+            List<Ranked> page = new ArrayList<>(n);
+            Node node = n > 0 ? board.ranked.byRank(offset + 1) : null;
+            for (int i = 0; i < n && node != null; i++, node = node.next[0]) {
+                page.add(new Ranked(offset + i + 1, node.key.driverId(), node.key.score(), node.key.trips()));
+            }
+            return page;
+        } finally {
+            board.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * A driver's place; null when the driver is not ranked or the board is not seeded
+     */
+    public Ranked rank(Long companyId, Long driverId) {
+        Board board = boards.get(companyId);
+        if (board == null) {
+            return null;
+        }
+        board.lock.readLock().lock();
+        try {
+            Key key = board.drivers.get(driverId);
+            if (key == null || key.trips() <= 0) {
+                return null;
+            }
+            return new Ranked(board.ranked.rank(key), driverId, key.score(), key.trips());
+        } finally {
+            board.lock.readLock().unlock();
+        }
+    }
+
+    public int rankedCount(Long companyId) {
+        Board board = boards.get(companyId);
+        if (board == null) {
+            return 0;
+        }
+        board.lock.readLock().lock();
+        try {
+            return board.ranked.size;
+        } finally {
+            board.lock.readLock().unlock();
+        }
+    }
+
+    private static double scoreOf(Double safetyScore) {
+        return safetyScore != null ? safetyScore : 0.0;
+    }
+
+    private static int tripsOf(Integer totalTrips) {
+        return totalTrips != null ? totalTrips : 0;
+    }
+
+    // ========== RESULT TYPES ==========
+
+    /**
+     * A driver's 1-based position on the company leaderboard
+     */
+    public record Ranked(int rank, long driverId, double safetyScore, int totalTrips) {
+    }
+
+    // ========== BOARD STRUCTURES ==========
+
+    private static class Board {
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        final Map<Long, Key> drivers = new HashMap<>();
+        final RankedList ranked = new RankedList();
+        final long seededAt = System.currentTimeMillis();
+
+        void put(long driverId, double score, int trips) {
+            Key previous = drivers.put(driverId, new Key(score, trips, driverId));
+            if (previous != null && previous.trips() > 0) {
+                ranked.delete(previous);
+            }
+            if (trips > 0) {
+                ranked.insert(drivers.get(driverId));
+            }
+        }
+
+        boolean remove(long driverId) {
+            Key previous = drivers.remove(driverId);
+            if (previous != null && previous.trips() > 0) {
+                ranked.delete(previous);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Sort key; compares negative when {@code this} ranks ahead of {@code other}
+     */
+    private record Key(double score, int trips, long driverId) implements Comparable<Key> {
+        @Override
+        public int compareTo(Key other) {
+            int byScore = Double.compare(other.score, score);
+            if (byScore != 0) {
+                return byScore;
+            }
+            int byTrips = Integer.compare(other.trips, trips);
+            return byTrips != 0 ? byTrips : Long.compare(driverId, other.driverId);
+        }
+    }
+
+    private static final class Node {
+        final Key key;
+        final Node[] next;
+        final int[] span;   // Bottom-level steps covered by next[i]
+
+        Node(Key key, int levels) {
+            this.key = key;
+            this.next = new Node[levels];
+            this.span = new int[levels];
+        }
+    }
+
+    /**
+     * Indexable skip list with p = 1/4
+     */
+    private static final class RankedList {
+        static final int MAX_LEVEL = 24;
+
+        final Node head = new Node(null, MAX_LEVEL);
+        int level = 1;
+        int size;
+
+        void insert(Key key) {
+            Node[] update = new Node[MAX_LEVEL];
+            int[] rank = new int[MAX_LEVEL];
+            Node x = head;
+            for (int i = level - 1; i >= 0; i--) {
+                rank[i] = i == level - 1 ? 0 : rank[i + 1];
+                while (x.next[i] != null && x.next[i].key.compareTo(key) < 0) {
+                    rank[i] += x.span[i];
+                    x = x.next[i];
+                }
+                update[i] = x;
+            }
+
+            int newLevel = randomLevel();
+            if (newLevel > level) {
+                for (int i = level; i < newLevel; i++) {
+                    rank[i] = 0;
+                    update[i] = head;
+                    update[i].span[i] = size;
+                }
+                level = newLevel;
+            }
+
+            Node node = new Node(key, newLevel);
+            for (int i = 0; i < newLevel; i++) {
+                node.next[i] = update[i].next[i];
+                update[i].next[i] = node;
+                node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+                update[i].span[i] = (rank[0] - rank[i]) + 1;
+            }
+            for (int i = newLevel; i < level; i++) {
+                update[i].span[i]++;
+            }
+            size++;
+        }
+
+        void delete(Key key) {
+            Node[] update = new Node[MAX_LEVEL];
+            Node x = head;
+            for (int i = level - 1; i >= 0; i--) {
+                while (x.next[i] != null && x.next[i].key.compareTo(key) < 0) {
+                    x = x.next[i];
+                }
+                update[i] = x;
+            }
+            x = x.next[0];
+            if (x == null || x.key.compareTo(key) != 0) {
+                return;
+            }
+            for (int i = 0; i < level; i++) {
+                if (update[i].next[i] == x) {
+                    update[i].span[i] += x.span[i] - 1;
+                    update[i].next[i] = x.next[i];
+                } else {
+                    update[i].span[i]--;
+                }
+            }
+            while (level > 1 && head.next[level - 1] == null) {
+                level--;
+            }
+            size--;
+        }
+
+        /**
+         * 1-based rank of a key in the list, 0 when absent
+         */
+        int rank(Key key) {
+            int rank = 0;
+            Node x = head;
+            for (int i = level - 1; i >= 0; i--) {
+                while (x.next[i] != null && x.next[i].key.compareTo(key) <= 0) {
+                    rank += x.span[i];
+                    x = x.next[i];
+                }
+                if (x != head && x.key.compareTo(key) == 0) {
+                    return rank;
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * Node at a 1-based rank, null when out of range
+         */
+        Node byRank(int rank) {
+            int traversed = 0;
+            Node x = head;
+            for (int i = level - 1; i >= 0; i--) {
+                while (x.next[i] != null && traversed + x.span[i] <= rank) {
+                    traversed += x.span[i];
+                    x = x.next[i];
+                }
+                if (traversed == rank) {
+                    return x;
+                }
+            }
+            return null;
+        }
+
+        private static int randomLevel() {
+            int level = 1;
+            while (level < MAX_LEVEL && ThreadLocalRandom.current().nextInt(4) == 0) {
+                level++;
+            }
+            return level;
+        }
+    }
+}
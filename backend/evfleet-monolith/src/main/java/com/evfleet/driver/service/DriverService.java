@@ -1,6 +1,7 @@
 package com.evfleet.driver.service;
 
 import com.evfleet.common.exception.ResourceNotFoundException;
+import com.evfleet.driver.dto.DriverRankResponse;
 import com.evfleet.driver.dto.DriverRequest;
 import com.evfleet.driver.dto.DriverResponse;
 import com.evfleet.driver.model.Driver;
@@ -14,6 +15,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -31,6 +35,9 @@ public class DriverService {
 
     private final DriverRepository driverRepository;
     private final VehicleRepository vehicleRepository;
+    private final DriverLeaderboardIndex driverLeaderboardIndex;
+
+    private static final int MAX_LEADERBOARD_PAGE_SIZE = 500;
 
     public DriverResponse createDriver(Long companyId, DriverRequest request) {
         log.info("POST /api/v1/drivers - Creating driver for company: {}", companyId);
@@ -67,6 +74,7 @@ public class DriverService {
                 .build();
 
         Driver saved = driverRepository.save(driver);
+        driverLeaderboardIndex.put(saved);
         log.info("Driver created successfully: {}", saved.getId());
         return DriverResponse.fromEntity(saved);
     }
@@ -117,32 +125,57 @@ public class DriverService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * One page of the company leaderboard: safety score (highest first), then total
+     * trips (most first), drivers without trips excluded
+     */
     @Transactional(readOnly = true)
-    public List<DriverResponse> getDriverLeaderboard(Long companyId) {
+    public List<DriverResponse> getDriverLeaderboard(Long companyId, int offset, int limit) {
         log.info("GET /api/v1/drivers/leaderboard - Fetching driver leaderboard for company: {}", companyId);
-        List<Driver> drivers = driverRepository.findByCompanyId(companyId);
-        
-        // Sort by safety score (descending), then by total trips (descending)
-        return drivers.stream()
-                .filter(d -> d.getTotalTrips() != null && d.getTotalTrips() > 0) // Only include drivers with trips
-                .sorted((d1, d2) -> {
-                    // Primary sort by safety score (higher is better)
-                    int safetyCompare = Double.compare(
-                        d2.getSafetyScore() != null ? d2.getSafetyScore() : 0.0,
-                        d1.getSafetyScore() != null ? d1.getSafetyScore() : 0.0
-                    );
-                    if (safetyCompare != 0) return safetyCompare;
-                    
-                    // Secondary sort by total trips (more is better)
-                    return Integer.compare(
-                        d2.getTotalTrips() != null ? d2.getTotalTrips() : 0,
-                        d1.getTotalTrips() != null ? d1.getTotalTrips() : 0
-                    );
-                })
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative");
+        }
+        if (limit < 1 || limit > MAX_LEADERBOARD_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LEADERBOARD_PAGE_SIZE);
+        }
+        seedLeaderboard(companyId);
+
+        List<DriverLeaderboardIndex.Ranked> page = driverLeaderboardIndex.page(companyId, offset, limit);
+        Map<Long, Driver> drivers = driverRepository.findAllById(
+                        page.stream().map(DriverLeaderboardIndex.Ranked::driverId).toList()).stream()
+                .collect(Collectors.toMap(Driver::getId, Function.identity()));
+
+        return page.stream()
+                .map(ranked -> drivers.get(ranked.driverId()))
+                .filter(Objects::nonNull)
                 .map(DriverResponse::fromEntity)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public DriverRankResponse getDriverRank(Long driverId) {
+        Driver driver = driverRepository.findById(driverId)
+                .orElseThrow(() -> new ResourceNotFoundException("Driver", "id", driverId));
+        Long companyId = driver.getCompanyId();
+        seedLeaderboard(companyId);
+
+        DriverLeaderboardIndex.Ranked ranked = driverLeaderboardIndex.rank(companyId, driverId);
+        return DriverRankResponse.builder()
+                .driverId(driverId)
+                .companyId(companyId)
+                .rank(ranked != null ? ranked.rank() : null)
+                .rankedDrivers(driverLeaderboardIndex.rankedCount(companyId))
+                .safetyScore(driver.getSafetyScore())
+                .totalTrips(driver.getTotalTrips())
+                .build();
+    }
+
+    private void seedLeaderboard(Long companyId) {
+        if (!driverLeaderboardIndex.isSeeded(companyId)) {
+            driverLeaderboardIndex.seedIfAbsent(companyId, driverRepository.findByCompanyId(companyId));
+        }
+    }
+
     public DriverResponse updateDriver(Long id, DriverRequest request) {
         log.info("PUT /api/v1/drivers/{} - Updating driver", id);
 
@@ -309,11 +342,11 @@ public class DriverService {
     public void deleteDriver(Long id) {
         log.info("DELETE /api/v1/drivers/{} - Deleting driver", id);
 
-        if (!driverRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Driver", "id", id);
-        }
+        Driver driver = driverRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Driver", "id", id));
 
-        driverRepository.deleteById(id);
+        driverRepository.delete(driver);
+        driverLeaderboardIndex.remove(driver.getCompanyId(), id);
         log.info("Driver deleted successfully: {}", id);
     }
 
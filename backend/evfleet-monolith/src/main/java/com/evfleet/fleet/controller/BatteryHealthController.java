@@ -2,6 +2,7 @@ package com.evfleet.fleet.controller;
 
 import com.evfleet.fleet.dto.BatteryHealthRequest;
 import com.evfleet.fleet.dto.BatteryHealthResponse;
+import com.evfleet.fleet.dto.SohDistributionResponse;
 import com.evfleet.fleet.service.BatteryHealthService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -73,6 +74,24 @@ public class BatteryHealthController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get the latest battery health of every vehicle of a company
+     */
+    @GetMapping("/company/{companyId}/latest")
+    public ResponseEntity<List<BatteryHealthResponse>> getLatestBatteryHealthByCompany(@PathVariable Long companyId) {
+        log.info("GET /api/v1/battery-health/company/{}/latest - Fetching latest battery health", companyId);
+        return ResponseEntity.ok(batteryHealthService.getLatestBatteryHealthByCompany(companyId));
+    }
+
+    /**
+     * Get the SOH distribution of a company's vehicles
+     */
+    @GetMapping("/company/{companyId}/soh-distribution")
+    public ResponseEntity<SohDistributionResponse> getSohDistribution(@PathVariable Long companyId) {
+        log.info("GET /api/v1/battery-health/company/{}/soh-distribution - Fetching SOH distribution", companyId);
+        return ResponseEntity.ok(batteryHealthService.getSohDistribution(companyId));
+    }
+
     /**
      * Find vehicles with low SOH
      */
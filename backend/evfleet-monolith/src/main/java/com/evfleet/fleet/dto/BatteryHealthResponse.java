@@ -1,6 +1,7 @@
 package com.evfleet.fleet.dto;
 
 import com.evfleet.fleet.model.BatteryHealth;
+import com.evfleet.fleet.model.VehicleBatteryStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -45,4 +46,19 @@ public class BatteryHealthResponse {
                 .notes(entity.getNotes())
                 .build();
     }
+
+    /**
+     * Latest reading as kept in the battery status table; diagnostics other than
+     * SOH, SOC and cycle count are only in the full history
+     */
+    public static BatteryHealthResponse fromStatus(VehicleBatteryStatus status) {
+        return BatteryHealthResponse.builder()
+                .id(status.getBatteryHealthId())
+                .vehicleId(status.getVehicleId())
+                .soh(status.getSoh())
+                .cycleCount(status.getCycleCount())
+                .currentSoc(status.getCurrentSoc())
+                .recordedAt(status.getRecordedAt())
+                .build();
+    }
 }
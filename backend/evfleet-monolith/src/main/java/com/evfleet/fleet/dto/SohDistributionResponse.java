@@ -0,0 +1,40 @@
+package com.evfleet.fleet.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for a company's battery State of Health distribution,
+ * counting each vehicle once by its latest reading
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SohDistributionResponse {
+
+    private Long companyId;
+    private Double bucketWidth;
+    private Integer totalVehicles;
+    private List<Bucket> buckets;
+
+    /**
+     * Vehicles with SOH in [fromSoh, toSoh); the last bucket includes 100%
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bucket {
+        private Double fromSoh;
+        private Double toSoh;
+        private Integer vehicles;
+    }
+}
@@ -0,0 +1,27 @@
+package com.evfleet.fleet.event;
+
+import com.evfleet.common.event.DomainEvent;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+public class BatteryHealthRecordedEvent extends DomainEvent {
+    private final Long batteryHealthId;
+    private final Long vehicleId;
+    private final Long companyId;
+    private final Double soh;
+    private final Integer cycleCount;
+    private final LocalDateTime recordedAt;
+
+    public BatteryHealthRecordedEvent(Object source, Long batteryHealthId, Long vehicleId, Long companyId,
+                                      Double soh, Integer cycleCount, LocalDateTime recordedAt) {
+        super(source);
+        this.batteryHealthId = batteryHealthId;
+        this.vehicleId = vehicleId;
+        this.companyId = companyId;
+        this.soh = soh;
+        this.cycleCount = cycleCount;
+        this.recordedAt = recordedAt;
+    }
+}
@@ -4,20 +4,25 @@ import com.evfleet.common.event.DomainEvent;
 import lombok.Getter;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Getter
 public class TripCompletedEvent extends DomainEvent {
     private final Long tripId;
     private final Long vehicleId;
+    private final Long companyId;
+    private final LocalDateTime startTime;
     private final Double distance;
     private final Long duration;
     private final BigDecimal energyConsumed;
 
-    public TripCompletedEvent(Object source, Long tripId, Long vehicleId,
+    public TripCompletedEvent(Object source, Long tripId, Long vehicleId, Long companyId, LocalDateTime startTime,
                              Double distance, Long duration, BigDecimal energyConsumed) {
         super(source);
         this.tripId = tripId;
         this.vehicleId = vehicleId;
+        this.companyId = companyId;
+        this.startTime = startTime;
         this.distance = distance;
         this.duration = duration;
         this.energyConsumed = energyConsumed;
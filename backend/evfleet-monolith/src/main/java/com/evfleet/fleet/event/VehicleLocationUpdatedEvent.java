@@ -6,13 +6,22 @@ import lombok.Getter;
 @Getter
 public class VehicleLocationUpdatedEvent extends DomainEvent {
     private final Long vehicleId;
+    private final Long companyId;
     private final Double latitude;
     private final Double longitude;
+    private final Double batterySoc;
 
     public VehicleLocationUpdatedEvent(Object source, Long vehicleId, Double latitude, Double longitude) {
-        super(source);
+        this(source, vehicleId, null, latitude, longitude, null);
+    }
+
+    public VehicleLocationUpdatedEvent(Object source, Long vehicleId, Long companyId,
+                                       Double latitude, Double longitude, Double batterySoc) {
+        super(source, null, companyId);
         this.vehicleId = vehicleId;
+        this.companyId = companyId;
         this.latitude = latitude;
         this.longitude = longitude;
+        this.batterySoc = batterySoc;
     }
 }
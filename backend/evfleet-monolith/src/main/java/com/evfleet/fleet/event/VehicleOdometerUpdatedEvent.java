@@ -0,0 +1,22 @@
+package com.evfleet.fleet.event;
+
+import com.evfleet.common.event.DomainEvent;
+import com.evfleet.fleet.model.Vehicle;
+import lombok.Getter;
+
+@Getter
+public class VehicleOdometerUpdatedEvent extends DomainEvent {
+    private final Long vehicleId;
+    private final Long companyId;
+    private final Vehicle.VehicleType vehicleType;
+    private final Double odometerKm;
+
+    public VehicleOdometerUpdatedEvent(Object source, Long vehicleId, Long companyId,
+                                       Vehicle.VehicleType vehicleType, Double odometerKm) {
+        super(source, null, companyId);
+        this.vehicleId = vehicleId;
+        this.companyId = companyId;
+        this.vehicleType = vehicleType;
+        this.odometerKm = odometerKm;
+    }
+}
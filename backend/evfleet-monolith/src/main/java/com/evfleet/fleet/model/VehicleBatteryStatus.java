@@ -0,0 +1,61 @@
+package com.evfleet.fleet.model;
+
+import com.evfleet.common.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Vehicle Battery Status Entity
+ *
+ * The latest battery health reading of each vehicle, kept alongside the
+ * {@link BatteryHealth} history so fleet-wide reads fetch one row per vehicle
+ * by company instead of looking up each vehicle's newest reading.
+ *
+ * Maintained by {@code BatteryHealthService.recordBatteryHealth}; a reading older
+ * than the stored one does not replace it.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "vehicle_battery_status", indexes = {
+    @Index(name = "idx_battery_status_company", columnList = "company_id")
+})
+@Data
+@EqualsAndHashCode(callSuper = false)
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VehicleBatteryStatus extends BaseEntity {
+
+    @Id
+    @Column(name = "vehicle_id")
+    private Long vehicleId;
+
+    @Column(name = "company_id", nullable = false)
+    private Long companyId;
+
+    /**
+     * The battery_health row this status was taken from
+     */
+    @Column(name = "battery_health_id", nullable = false)
+    private Long batteryHealthId;
+
+    @Column(name = "soh", nullable = false)
+    private Double soh;
+
+    @Column(name = "current_soc")
+    private Double currentSoc;
+
+    @Column(name = "cycle_count", nullable = false)
+    private Integer cycleCount;
+
+    @Column(name = "recorded_at", nullable = false)
+    private LocalDateTime recordedAt;
+}
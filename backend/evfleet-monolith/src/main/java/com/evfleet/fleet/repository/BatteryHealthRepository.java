@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -41,4 +42,20 @@ public interface BatteryHealthRepository extends JpaRepository<BatteryHealth, Lo
            "(SELECT MAX(bh2.id) FROM BatteryHealth bh2 GROUP BY bh2.vehicleId) " +
            "AND bh.soh < :threshold")
     List<Long> findVehicleIdsWithSohBelow(Double threshold);
+
+    /**
+     * Vehicles with at least {@code minReadings} readings: [vehicleId, companyId]
+     */
+    @Query("SELECT bh.vehicleId, v.companyId FROM BatteryHealth bh, Vehicle v WHERE v.id = bh.vehicleId " +
+           "GROUP BY bh.vehicleId, v.companyId HAVING COUNT(bh) >= :minReadings")
+    List<Object[]> findVehiclesWithReadingsAtLeast(long minReadings);
+
+    long countByVehicleId(Long vehicleId);
+
+    /**
+     * Readings of the given vehicles, oldest first per vehicle: [vehicleId, recordedAt, soh, cycleCount]
+     */
+    @Query("SELECT bh.vehicleId, bh.recordedAt, bh.soh, bh.cycleCount FROM BatteryHealth bh " +
+           "WHERE bh.vehicleId IN :vehicleIds ORDER BY bh.vehicleId, bh.recordedAt, bh.id")
+    List<Object[]> findReadingsByVehicleIds(Collection<Long> vehicleIds);
 }
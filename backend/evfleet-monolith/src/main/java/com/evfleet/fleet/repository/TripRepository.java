@@ -1,13 +1,19 @@
 package com.evfleet.fleet.repository;
 
 import com.evfleet.fleet.model.Trip;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository for Trip entity
@@ -36,4 +42,39 @@ public interface TripRepository extends JpaRepository<Trip, Long> {
     @Query("SELECT t FROM Trip t WHERE t.vehicleId = :vehicleId " +
            "AND t.startTime BETWEEN :startDate AND :endDate")
     List<Trip> findByVehicleIdAndStartTimeBetween(Long vehicleId, LocalDateTime startDate, LocalDateTime endDate);
+
+    // Streaming PDF reports: [count, distance, energy] totals, latest rows and a cursor in time order
+    @Query("SELECT COUNT(t), COALESCE(SUM(t.distance), 0), COALESCE(SUM(t.energyConsumed), 0) FROM Trip t " +
+           "WHERE t.vehicleId = :vehicleId AND t.startTime BETWEEN :startDate AND :endDate")
+    List<Object[]> summarizeByVehicleIdAndStartTimeBetween(Long vehicleId, LocalDateTime startDate, LocalDateTime endDate);
+
+    List<Trip> findByVehicleIdAndStartTimeBetweenOrderByStartTimeDesc(
+            Long vehicleId, LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Trip t WHERE t.vehicleId = :vehicleId " +
+           "AND t.startTime BETWEEN :startDate AND :endDate ORDER BY t.startTime")
+    Stream<Trip> streamByVehicleIdAndStartTimeBetween(Long vehicleId, LocalDateTime startDate, LocalDateTime endDate);
+
+    // Utilization report: [vehicleId, trips, distance, energy, active minutes] per vehicle of a company
+    @Query(value = "SELECT t.vehicle_id, COUNT(*), COALESCE(SUM(t.distance), 0), " +
+           "COALESCE(SUM(t.energy_consumed), 0), " +
+           "COALESCE(SUM(TRUNC(EXTRACT(EPOCH FROM (t.end_time - t.start_time)) / 60)), 0) " +
+           "FROM trips t WHERE t.company_id = :companyId AND t.start_time BETWEEN :startDate AND :endDate " +
+           "GROUP BY t.vehicle_id", nativeQuery = true)
+    List<Object[]> summarizeUtilizationGroupedByVehicle(Long companyId, LocalDateTime startDate, LocalDateTime endDate);
+
+    // Bulk energy analytics: [vehicleId, distance, energy, best, worst kWh/100km] per vehicle, start time in [from, to)
+    @Query("SELECT t.vehicleId, SUM(t.distance), SUM(t.energyConsumed), " +
+           "MIN(CASE WHEN t.distance > 0 AND t.energyConsumed > 0 THEN t.energyConsumed * 100 / t.distance END), " +
+           "MAX(CASE WHEN t.distance > 0 AND t.energyConsumed > 0 THEN t.energyConsumed * 100 / t.distance END) " +
+           "FROM Trip t WHERE t.startTime >= :from AND t.startTime < :to GROUP BY t.vehicleId")
+    List<Object[]> summarizeEnergyGroupedByVehicle(LocalDateTime from, LocalDateTime to);
+
+    // Trip drivers: [tripId, driverId] per trip found
+    @Query("SELECT t.id, t.driverId FROM Trip t WHERE t.id IN :tripIds")
+    List<Object[]> findDriverIdsByIdIn(Collection<Long> tripIds);
 }
@@ -0,0 +1,77 @@
+package com.evfleet.fleet.repository;
+
+import com.evfleet.fleet.model.VehicleBatteryStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for the latest battery health reading per vehicle
+ *
+ * Writes are conditional upserts, so concurrent or out-of-order readings for the
+ * same vehicle always leave the newest one in place.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Repository
+public interface VehicleBatteryStatusRepository extends JpaRepository<VehicleBatteryStatus, Long> {
+
+    List<VehicleBatteryStatus> findByCompanyId(Long companyId);
+
+    /**
+     * Store a reading unless the vehicle already has a newer one
+     *
+     * @return 1 when stored, 0 when an existing newer reading was kept
+     */
+    @Modifying
+    @Query(value = "INSERT INTO vehicle_battery_status " +
+           "(vehicle_id, company_id, battery_health_id, soh, current_soc, cycle_count, recorded_at, " +
+           "created_at, updated_at) VALUES (:vehicleId, :companyId, :batteryHealthId, :soh, :currentSoc, " +
+           ":cycleCount, :recordedAt, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) " +
+           "ON CONFLICT (vehicle_id) DO UPDATE SET company_id = EXCLUDED.company_id, " +
+           "battery_health_id = EXCLUDED.battery_health_id, soh = EXCLUDED.soh, " +
+           "current_soc = EXCLUDED.current_soc, cycle_count = EXCLUDED.cycle_count, " +
+           "recorded_at = EXCLUDED.recorded_at, updated_at = CURRENT_TIMESTAMP " +
+           "WHERE vehicle_battery_status.recorded_at <= EXCLUDED.recorded_at",
+           nativeQuery = true)
+    int upsertIfNewer(@Param("vehicleId") Long vehicleId,
+                      @Param("companyId") Long companyId,
+                      @Param("batteryHealthId") Long batteryHealthId,
+                      @Param("soh") Double soh,
+                      @Param("currentSoc") Double currentSoc,
+                      @Param("cycleCount") Integer cycleCount,
+                      @Param("recordedAt") LocalDateTime recordedAt);
+
+    /**
+     * Vehicle counts per SOH bucket of a company: [bucket, count], where bucket is
+     * floor(soh / bucketWidth) clamped to [0, maxBucket]
+     */
+    @Query(value = "SELECT LEAST(GREATEST(CAST(FLOOR(soh / :bucketWidth) AS INTEGER), 0), :maxBucket) AS bucket, " +
+           "COUNT(*) FROM vehicle_battery_status WHERE company_id = :companyId GROUP BY bucket",
+           nativeQuery = true)
+    List<Object[]> countBySohBucket(@Param("companyId") Long companyId,
+                                    @Param("bucketWidth") double bucketWidth,
+                                    @Param("maxBucket") int maxBucket);
+
+    /**
+     * Fill in vehicles that have readings but no status row yet, from their newest reading
+     */
+    @Modifying
+    @Query(value = "INSERT INTO vehicle_battery_status " +
+           "(vehicle_id, company_id, battery_health_id, soh, current_soc, cycle_count, recorded_at, " +
+           "created_at, updated_at) " +
+           "SELECT DISTINCT ON (bh.vehicle_id) bh.vehicle_id, v.company_id, bh.id, bh.soh, bh.current_soc, " +
+           "bh.cycle_count, bh.recorded_at, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP " +
+           "FROM battery_health bh JOIN vehicles v ON v.id = bh.vehicle_id " +
+           "WHERE NOT EXISTS (SELECT 1 FROM vehicle_battery_status s WHERE s.vehicle_id = bh.vehicle_id) " +
+           "ORDER BY bh.vehicle_id, bh.recorded_at DESC, bh.id DESC " +
+           "ON CONFLICT (vehicle_id) DO NOTHING",
+           nativeQuery = true)
+    int seedFromHistory();
+}
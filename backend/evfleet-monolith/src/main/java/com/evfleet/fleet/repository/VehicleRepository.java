@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -69,4 +70,16 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
      */
     @Query("SELECT DISTINCT v.companyId FROM Vehicle v")
     List<Long> findAllCompanyIds();
+
+    /**
+     * Driver assignments: [vehicleId, companyId, currentDriverId] per vehicle found
+     */
+    @Query("SELECT v.id, v.companyId, v.currentDriverId FROM Vehicle v WHERE v.id IN :vehicleIds")
+    List<Object[]> findAssignmentsByIdIn(Collection<Long> vehicleIds);
+
+    /**
+     * Maintenance due state: [vehicleId, type, odometer, totalDistance, createdAt] per vehicle of a company
+     */
+    @Query("SELECT v.id, v.type, v.odometer, v.totalDistance, v.createdAt FROM Vehicle v WHERE v.companyId = :companyId")
+    List<Object[]> findDistanceReadingsByCompanyId(Long companyId);
 }
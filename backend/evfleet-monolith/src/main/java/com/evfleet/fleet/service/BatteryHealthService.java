@@ -1,10 +1,15 @@
 package com.evfleet.fleet.service;
 
+import com.evfleet.common.event.EventPublisher;
 import com.evfleet.common.exception.ResourceNotFoundException;
 import com.evfleet.fleet.dto.BatteryHealthRequest;
 import com.evfleet.fleet.dto.BatteryHealthResponse;
+import com.evfleet.fleet.dto.SohDistributionResponse;
+import com.evfleet.fleet.event.BatteryHealthRecordedEvent;
 import com.evfleet.fleet.model.BatteryHealth;
+import com.evfleet.fleet.model.Vehicle;
 import com.evfleet.fleet.repository.BatteryHealthRepository;
+import com.evfleet.fleet.repository.VehicleRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -28,12 +33,17 @@ import java.util.stream.Collectors;
 public class BatteryHealthService {
 
     private final BatteryHealthRepository batteryHealthRepository;
+    private final VehicleRepository vehicleRepository;
+    private final BatteryStatusService batteryStatusService;
+    private final EventPublisher eventPublisher;
 
     /**
      * Record new battery health data
      */
     public BatteryHealthResponse recordBatteryHealth(BatteryHealthRequest request) {
         log.info("Recording battery health for vehicle: {}", request.getVehicleId());
+        Vehicle vehicle = vehicleRepository.findById(request.getVehicleId())
+                .orElseThrow(() -> new ResourceNotFoundException("Vehicle", "id", request.getVehicleId()));
 
         BatteryHealth health = BatteryHealth.builder()
                 .vehicleId(request.getVehicleId())
@@ -48,6 +58,9 @@ public class BatteryHealthService {
                 .build();
 
         BatteryHealth saved = batteryHealthRepository.save(health);
+        batteryStatusService.apply(saved, vehicle.getCompanyId());
+        eventPublisher.publishAfterCommit(new BatteryHealthRecordedEvent(this, saved.getId(), saved.getVehicleId(),
+                vehicle.getCompanyId(), saved.getSoh(), saved.getCycleCount(), saved.getRecordedAt()));
         log.info("Battery health recorded successfully: {}", saved.getId());
         return BatteryHealthResponse.fromEntity(saved);
     }
@@ -89,6 +102,26 @@ public class BatteryHealthService {
         return BatteryHealthResponse.fromEntity(health);
     }
 
+    /**
+     * Get the latest battery health of every vehicle of a company
+     */
+    @Transactional(readOnly = true)
+    public List<BatteryHealthResponse> getLatestBatteryHealthByCompany(Long companyId) {
+        log.info("Fetching latest battery health for company: {}", companyId);
+        return batteryStatusService.getCompanyStatuses(companyId).stream()
+                .map(BatteryHealthResponse::fromStatus)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get the SOH distribution of a company's vehicles
+     */
+    @Transactional(readOnly = true)
+    public SohDistributionResponse getSohDistribution(Long companyId) {
+        log.info("Fetching SOH distribution for company: {}", companyId);
+        return batteryStatusService.getSohDistribution(companyId);
+    }
+
     /**
      * Find vehicles with low SOH (State of Health)
      */
@@ -5,8 +5,10 @@ import com.evfleet.common.exception.ResourceNotFoundException;
 import com.evfleet.common.exception.InvalidInputException;
 import com.evfleet.driver.model.Driver;
 import com.evfleet.driver.repository.DriverRepository;
+import com.evfleet.driver.service.DriverLeaderboardIndex;
 import com.evfleet.fleet.event.TripCompletedEvent;
 import com.evfleet.fleet.event.TripStartedEvent;
+import com.evfleet.fleet.event.VehicleLocationUpdatedEvent;
 import com.evfleet.fleet.model.Trip;
 import com.evfleet.fleet.model.TripLocationHistory;
 import com.evfleet.fleet.model.Vehicle;
@@ -14,6 +16,7 @@ import com.evfleet.fleet.repository.TripRepository;
 import com.evfleet.fleet.repository.TripLocationHistoryRepository;
 import com.evfleet.fleet.repository.VehicleRepository;
 import com.evfleet.maintenance.service.MaintenanceService;
+import com.evfleet.telematics.service.LocationUpdateGate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -46,8 +49,10 @@ public class TripService {
     private final TripLocationHistoryRepository locationHistoryRepository;
     private final VehicleRepository vehicleRepository;
     private final DriverRepository driverRepository;
+    private final DriverLeaderboardIndex driverLeaderboardIndex;
     private final EventPublisher eventPublisher;
     private final MaintenanceService maintenanceService;
+    private final LocationUpdateGate locationUpdateGate;
     
     private static final double MAX_SPEED_KMH = 200.0; // Maximum realistic speed
     private static final double EARTH_RADIUS_KM = 6371.0; // Earth's radius in kilometers
@@ -114,8 +119,8 @@ public class TripService {
             .build();
         locationHistoryRepository.save(startLocation);
 
-        // Publish event
-        eventPublisher.publish(new TripStartedEvent(this, saved.getId(), vehicleId, driverId));
+        // Publish event once the new assignment is committed
+        eventPublisher.publishAfterCommit(new TripStartedEvent(this, saved.getId(), vehicleId, driverId));
 
         log.info("Trip started with ID: {}", saved.getId());
         return saved;
@@ -228,6 +233,12 @@ public class TripService {
         vehicle.setLastUpdated(now);
         vehicleRepository.save(vehicle);
 
+        if (locationUpdateGate.shouldPublish(vehicle.getId(), latitude, longitude, vehicle.getCurrentBatterySoc())) {
+            eventPublisher.publish(new VehicleLocationUpdatedEvent(
+                this, vehicle.getId(), vehicle.getCompanyId(), latitude, longitude, vehicle.getCurrentBatterySoc()
+            ));
+        }
+
         log.debug("Trip {}: Location updated - seq={}, dist={:.2f}km, speed={:.2f}km/h", 
             tripId, sequenceNumber, distanceFromPrevious, speed);
 
@@ -395,12 +406,22 @@ public class TripService {
                 driver.setTotalDistance(driver.getTotalDistance() + distance);
                 
                 driverRepository.save(driver);
+                driverLeaderboardIndex.updateTrips(driver.getCompanyId(), driver.getId(), driver.getTotalTrips());
             });
         }
 
-        // Publish event
-        eventPublisher.publish(new TripCompletedEvent(
-            this, tripId, trip.getVehicleId(), distance, durationSeconds, energyConsumed
+        // Final position always goes out, whatever the gate last saw
+        if (endLat != null && endLon != null) {
+            locationUpdateGate.markPublished(vehicle.getId(), endLat, endLon, vehicle.getCurrentBatterySoc());
+            eventPublisher.publishAfterCommit(new VehicleLocationUpdatedEvent(
+                this, vehicle.getId(), vehicle.getCompanyId(), endLat, endLon, vehicle.getCurrentBatterySoc()
+            ));
+        }
+
+        // Publish event once the completed trip is committed
+        eventPublisher.publishAfterCommit(new TripCompletedEvent(
+            this, tripId, trip.getVehicleId(), trip.getCompanyId(), trip.getStartTime(),
+            distance, durationSeconds, energyConsumed
         ));
 
         // Check and auto-schedule maintenance based on mileage policies
@@ -408,7 +429,7 @@ public class TripService {
                 vehicle.getId(),
                 vehicle.getCompanyId(),
                 vehicle.getType(),
-                vehicle.getTotalDistance()
+                vehicle.getOdometer() != null ? vehicle.getOdometer() : vehicle.getTotalDistance()
         );
 
         log.info("Trip completed: {} - Distance: {} km, Duration: {} sec", tripId, distance, durationSeconds);
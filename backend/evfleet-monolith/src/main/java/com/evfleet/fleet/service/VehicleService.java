@@ -6,11 +6,13 @@ import com.evfleet.fleet.repository.VehicleRepository;
 import com.evfleet.fleet.dto.VehicleResponse;
 import com.evfleet.fleet.event.VehicleCreatedEvent;
 import com.evfleet.fleet.event.BatteryLowEvent;
+import com.evfleet.fleet.event.VehicleLocationUpdatedEvent;
 import com.evfleet.common.event.EventPublisher;
 import com.evfleet.common.exception.ResourceNotFoundException;
 import com.evfleet.common.exception.InvalidInputException;
 import com.evfleet.driver.model.Driver;
 import com.evfleet.driver.repository.DriverRepository;
+import com.evfleet.telematics.service.LocationUpdateGate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -47,6 +49,7 @@ public class VehicleService {
     private final VehicleRepository vehicleRepository;
     private final DriverRepository driverRepository;
     private final EventPublisher eventPublisher;
+    private final LocationUpdateGate locationUpdateGate;
 
     // Allowed charger types for validation
     private static final Set<String> ALLOWED_CHARGER_TYPES = Set.of(
@@ -402,6 +405,13 @@ public class VehicleService {
         vehicle.setLastUpdated(LocalDateTime.now());
         Vehicle updated = vehicleRepository.save(vehicle);
 
+        if (latitude != null && longitude != null
+                && locationUpdateGate.shouldPublish(vehicleId, latitude, longitude, vehicle.getCurrentBatterySoc())) {
+            eventPublisher.publish(new VehicleLocationUpdatedEvent(
+                this, vehicleId, vehicle.getCompanyId(), latitude, longitude, vehicle.getCurrentBatterySoc()
+            ));
+        }
+
         // Check battery level and publish warning if low
         // Only for 4-wheelers (LCV) with battery tracking - 2W/3W use GPS-only
         if (vehicle.getType() == Vehicle.VehicleType.LCV && 
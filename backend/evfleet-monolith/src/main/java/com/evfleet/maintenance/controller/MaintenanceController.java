@@ -1,6 +1,8 @@
 package com.evfleet.maintenance.controller;
 
 import com.evfleet.common.dto.ApiResponse;
+import com.evfleet.maintenance.dto.MaintenanceAlertPageResponse;
+import com.evfleet.maintenance.dto.MaintenanceDueResponse;
 import com.evfleet.maintenance.dto.MaintenanceRecordRequest;
 import com.evfleet.maintenance.dto.MaintenanceRecordResponse;
 import com.evfleet.maintenance.service.MaintenanceService;
@@ -116,6 +118,32 @@ public class MaintenanceController {
         return ResponseEntity.ok(ApiResponse.success("Maintenance alerts retrieved successfully", alerts));
     }
 
+    @GetMapping("/alerts/page")
+    @Operation(summary = "Get maintenance alerts one page at a time, continuing from a cursor")
+    public ResponseEntity<ApiResponse<MaintenanceAlertPageResponse>> getMaintenanceAlertPage(
+            @RequestParam Long companyId,
+            @RequestParam(required = false, defaultValue = "30") Integer daysAhead,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        log.info("GET /api/v1/maintenance/alerts/page - companyId: {}, daysAhead: {}, cursor: {}, limit: {}",
+                companyId, daysAhead, cursor, limit);
+        MaintenanceAlertPageResponse page =
+                maintenanceService.getMaintenanceAlertPage(companyId, daysAhead, cursor, limit);
+        return ResponseEntity.ok(ApiResponse.success("Maintenance alerts retrieved successfully", page));
+    }
+
+    @GetMapping("/due")
+    @Operation(summary = "Get policy maintenance due within a distance or number of days across the fleet")
+    public ResponseEntity<ApiResponse<List<MaintenanceDueResponse>>> getMaintenanceDue(
+            @RequestParam Long companyId,
+            @RequestParam(defaultValue = "500") double withinKm,
+            @RequestParam(defaultValue = "14") int withinDays) {
+        log.info("GET /api/v1/maintenance/due - companyId: {}, withinKm: {}, withinDays: {}",
+                companyId, withinKm, withinDays);
+        List<MaintenanceDueResponse> due = maintenanceService.getMaintenanceDue(companyId, withinKm, withinDays);
+        return ResponseEntity.ok(ApiResponse.success("Maintenance due retrieved successfully", due));
+    }
+
     @GetMapping("/types")
     @Operation(summary = "Get all maintenance types")
     public ResponseEntity<ApiResponse<List<String>>> getMaintenanceTypes() {
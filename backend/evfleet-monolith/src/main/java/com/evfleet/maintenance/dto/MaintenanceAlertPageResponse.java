@@ -0,0 +1,28 @@
+package com.evfleet.maintenance.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for a page of Maintenance Alerts
+ *
+ * Alerts are ordered by scheduled date (most urgent first). Pass {@code nextCursor}
+ * back as {@code cursor} to read the following page; it is null on the last page.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MaintenanceAlertPageResponse {
+
+    private List<MaintenanceAlertResponse> alerts;
+    private String nextCursor;
+    private boolean hasMore;
+}
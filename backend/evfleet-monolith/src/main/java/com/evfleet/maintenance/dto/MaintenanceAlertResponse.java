@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 
 /**
@@ -30,6 +31,8 @@ public class MaintenanceAlertResponse {
     private Priority priority;
     private String description;
     private Integer daysUntilDue;
+    private Integer lineItemCount;
+    private BigDecimal lineItemTotal;
 
     public enum Priority {
         HIGH,    // Overdue
@@ -0,0 +1,34 @@
+package com.evfleet.maintenance.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Response DTO for policy maintenance coming due
+ *
+ * Remaining values are negative when the vehicle is past due.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MaintenanceDueResponse {
+
+    private Long vehicleId;
+    private Long policyId;
+    private String policyName;
+    private String maintenanceType;
+    private Double currentDistanceKm;
+    private Double dueDistanceKm;
+    private Double remainingKm;
+    private LocalDate dueDate;
+    private Long remainingDays;
+    private Boolean scheduled;
+}
@@ -0,0 +1,21 @@
+package com.evfleet.maintenance.event;
+
+import com.evfleet.common.event.DomainEvent;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+@Getter
+public class MaintenanceCompletedEvent extends DomainEvent {
+    private final Long recordId;
+    private final Long vehicleId;
+    private final BigDecimal cost;
+
+    public MaintenanceCompletedEvent(Object source, Long recordId, Long vehicleId,
+                                     Long companyId, BigDecimal cost) {
+        super(source, null, companyId);
+        this.recordId = recordId;
+        this.vehicleId = vehicleId;
+        this.cost = cost;
+    }
+}
@@ -0,0 +1,50 @@
+package com.evfleet.maintenance.listener;
+
+import com.evfleet.common.event.EventListenerSupport;
+import com.evfleet.fleet.event.VehicleOdometerUpdatedEvent;
+import com.evfleet.maintenance.event.MaintenanceCompletedEvent;
+import com.evfleet.maintenance.service.MaintenanceDueEngine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Feeds the maintenance due engine from odometer updates and completed maintenance
+ *
+ * Odometer events carry the reading they apply. MaintenanceService publishes
+ * completions only after the record commits, so the rebuild a completion triggers
+ * starts the next interval from the completed record.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class MaintenanceDueEventListener extends EventListenerSupport {
+
+    private final MaintenanceDueEngine maintenanceDueEngine;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleOdometerUpdated(VehicleOdometerUpdatedEvent event) {
+        try {
+            maintenanceDueEngine.recordDistance(event.getVehicleId(), event.getCompanyId(),
+                    event.getVehicleType(), event.getOdometerKm());
+        } catch (Exception e) {
+            logEventError(event, e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleMaintenanceCompleted(MaintenanceCompletedEvent event) {
+        logEventReceived(event);
+
+        try {
+            maintenanceDueEngine.evict(event.getCompanyId());
+            logEventProcessed(event);
+        } catch (Exception e) {
+            logEventError(event, e);
+        }
+    }
+}
@@ -11,7 +11,9 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "maintenance_records")
+@Table(name = "maintenance_records", indexes = {
+    @Index(name = "idx_maintenance_company_scheduled", columnList = "company_id, scheduled_date, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
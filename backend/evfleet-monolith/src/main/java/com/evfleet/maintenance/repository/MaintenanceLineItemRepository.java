@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -19,6 +20,8 @@ public interface MaintenanceLineItemRepository extends JpaRepository<Maintenance
 
     List<MaintenanceLineItem> findByMaintenanceRecordId(Long maintenanceRecordId);
 
+    List<MaintenanceLineItem> findByMaintenanceRecordIdIn(Collection<Long> maintenanceRecordIds);
+
     List<MaintenanceLineItem> findByMaintenanceRecordIdAndType(Long maintenanceRecordId, MaintenanceLineItem.LineItemType type);
 
     @Query("SELECT SUM(li.totalPrice) FROM MaintenanceLineItem li WHERE li.maintenanceRecordId = :recordId")
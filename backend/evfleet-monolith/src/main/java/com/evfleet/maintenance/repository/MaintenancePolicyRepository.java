@@ -3,6 +3,7 @@ package com.evfleet.maintenance.repository;
 import com.evfleet.fleet.model.Vehicle;
 import com.evfleet.maintenance.model.MaintenancePolicy;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -21,4 +22,7 @@ public interface MaintenancePolicyRepository extends JpaRepository<MaintenancePo
     List<MaintenancePolicy> findByVehicleTypeAndActiveTrue(Vehicle.VehicleType vehicleType);
 
     List<MaintenancePolicy> findByCompanyIdAndVehicleTypeAndActiveTrue(Long companyId, Vehicle.VehicleType vehicleType);
+
+    @Query("SELECT DISTINCT p.companyId FROM MaintenancePolicy p WHERE p.active = true AND p.companyId IS NOT NULL")
+    List<Long> findCompanyIdsWithActivePolicies();
 }
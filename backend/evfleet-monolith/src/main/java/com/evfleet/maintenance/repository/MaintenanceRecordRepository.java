@@ -1,13 +1,19 @@
 package com.evfleet.maintenance.repository;
 
 import com.evfleet.maintenance.model.MaintenanceRecord;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface MaintenanceRecordRepository extends JpaRepository<MaintenanceRecord, Long> {
@@ -19,13 +25,29 @@ public interface MaintenanceRecordRepository extends JpaRepository<MaintenanceRe
     
     /**
      * Find maintenance alerts for a company within the next N days
-     * Excludes COMPLETED and CANCELLED records
+     * Excludes COMPLETED and CANCELLED records. Rows come in (scheduledDate, id) order
+     * with the vehicle and line-item totals joined in:
+     * [id, vehicleId, licensePlate, fuelType, type, scheduledDate, status, description, lineItemCount, lineItemTotal]
      */
-    @Query("SELECT m FROM MaintenanceRecord m WHERE m.companyId = :companyId " +
-           "AND m.scheduledDate <= :endDate " +
-           "AND m.status NOT IN ('COMPLETED', 'CANCELLED') " +
-           "ORDER BY m.scheduledDate ASC")
-    List<MaintenanceRecord> findUpcomingMaintenanceAlerts(Long companyId, LocalDate endDate);
+    String ALERT_ROW_SELECT = "SELECT m.id, m.vehicleId, v.licensePlate, v.fuelType, m.type, m.scheduledDate, " +
+           "m.status, m.description, COUNT(li.id), COALESCE(SUM(li.totalPrice), 0) " +
+           "FROM MaintenanceRecord m " +
+           "LEFT JOIN Vehicle v ON v.id = m.vehicleId " +
+           "LEFT JOIN MaintenanceLineItem li ON li.maintenanceRecordId = m.id " +
+           "WHERE m.companyId = :companyId AND m.scheduledDate <= :endDate " +
+           "AND m.status NOT IN ('COMPLETED', 'CANCELLED') ";
+    String ALERT_ROW_GROUP_ORDER = "GROUP BY m.id, m.vehicleId, v.licensePlate, v.fuelType, m.type, " +
+           "m.scheduledDate, m.status, m.description " +
+           "ORDER BY m.scheduledDate ASC, m.id ASC";
+
+    @Query(ALERT_ROW_SELECT + ALERT_ROW_GROUP_ORDER)
+    List<Object[]> findAlertRows(Long companyId, LocalDate endDate, Pageable pageable);
+
+    @Query(ALERT_ROW_SELECT +
+           "AND (m.scheduledDate > :afterDate OR (m.scheduledDate = :afterDate AND m.id > :afterId)) " +
+           ALERT_ROW_GROUP_ORDER)
+    List<Object[]> findAlertRowsAfter(Long companyId, LocalDate endDate, LocalDate afterDate, Long afterId,
+                                      Pageable pageable);
     
     Optional<MaintenanceRecord> findTopByVehicleIdAndTypeAndStatusOrderByCompletedDateDesc(
             Long vehicleId, MaintenanceRecord.MaintenanceType type, MaintenanceRecord.MaintenanceStatus status);
@@ -37,4 +59,34 @@ public interface MaintenanceRecordRepository extends JpaRepository<MaintenanceRe
     @Query("SELECT m FROM MaintenanceRecord m WHERE m.vehicleId = :vehicleId " +
             "AND m.scheduledDate BETWEEN :startDate AND :endDate")
     List<MaintenanceRecord> findByVehicleIdAndScheduledDateBetween(Long vehicleId, LocalDate startDate, LocalDate endDate);
+
+    // Streaming PDF reports: [count, cost] totals, first rows and a cursor in date order
+    @Query("SELECT COUNT(m), COALESCE(SUM(m.cost), 0) FROM MaintenanceRecord m " +
+            "WHERE m.vehicleId = :vehicleId AND m.scheduledDate BETWEEN :startDate AND :endDate")
+    List<Object[]> summarizeByVehicleIdAndScheduledDateBetween(Long vehicleId, LocalDate startDate, LocalDate endDate);
+
+    List<MaintenanceRecord> findByVehicleIdAndScheduledDateBetweenOrderByScheduledDateAsc(
+            Long vehicleId, LocalDate startDate, LocalDate endDate, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT m FROM MaintenanceRecord m WHERE m.vehicleId = :vehicleId " +
+            "AND m.scheduledDate BETWEEN :startDate AND :endDate ORDER BY m.scheduledDate")
+    Stream<MaintenanceRecord> streamByVehicleIdAndScheduledDateBetween(Long vehicleId, LocalDate startDate, LocalDate endDate);
+
+    // Maintenance due engine: [vehicleId, type, last distance, last completed date] of completed work per vehicle
+    @Query("SELECT m.vehicleId, m.type, MAX(m.vehicleDistanceKm), MAX(m.completedDate) FROM MaintenanceRecord m " +
+           "WHERE m.companyId = :companyId AND m.status = 'COMPLETED' GROUP BY m.vehicleId, m.type")
+    List<Object[]> findLastCompletedGroupedByVehicleAndType(Long companyId);
+
+    // Open policy-generated work: [vehicleId, policyId]
+    @Query("SELECT m.vehicleId, m.policyId FROM MaintenanceRecord m WHERE m.companyId = :companyId " +
+           "AND m.policyId IS NOT NULL AND m.status IN ('SCHEDULED', 'IN_PROGRESS')")
+    List<Object[]> findOpenPolicyRecordsByCompanyId(Long companyId);
+
+    @Query("SELECT m.vehicleId, m.policyId FROM MaintenanceRecord m WHERE m.vehicleId IN :vehicleIds " +
+           "AND m.policyId IS NOT NULL AND m.status IN ('SCHEDULED', 'IN_PROGRESS')")
+    List<Object[]> findOpenPolicyRecordsByVehicleIdIn(Collection<Long> vehicleIds);
 }
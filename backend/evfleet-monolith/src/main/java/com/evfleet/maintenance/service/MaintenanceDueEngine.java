@@ -0,0 +1,374 @@
+package com.evfleet.maintenance.service;
+
+import com.evfleet.fleet.model.Vehicle;
+import com.evfleet.fleet.repository.VehicleRepository;
+import com.evfleet.maintenance.dto.MaintenanceDueResponse;
+import com.evfleet.maintenance.model.MaintenancePolicy;
+import com.evfleet.maintenance.model.MaintenanceRecord;
+import com.evfleet.maintenance.repository.MaintenancePolicyRepository;
+import com.evfleet.maintenance.repository.MaintenanceRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maintenance Due Engine
+ *
+ * Keeps, per vehicle, the next-due distance and date of every active mileage or
+ * time policy of its company and vehicle type:
+ * - Due distance = distance at the last completed maintenance of the policy's type
+ *   (0 when none) + interval; due date = that completion date (or the vehicle's
+ *   creation date) + interval
+ * - A distance reading is compared against the vehicle's nearest due distance, so
+ *   updates that cross nothing are O(1); a crossing marks the policy scheduled and
+ *   queues a record
+ * - Date-based due work is found by a daily scan of the same state
+ * - Queued records are created in bulk, skipping policies that already have open work
+ *
+ * State is loaded per company on first use with four queries and rebuilt hourly or
+ * when maintenance completes; vehicles created after the load join on their first
+ * reading. The fleet "due soon" view reads this state without per-vehicle queries.
+ *
+ * Distance readings are the telematics odometer when a vehicle has one, otherwise
+ * its accumulated trip distance.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+public class MaintenanceDueEngine {
+
+    private static final int SCHEDULE_LEAD_DAYS = 7;
+    private static final long MAX_STATE_AGE_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final MaintenancePolicyRepository maintenancePolicyRepository;
+    private final MaintenanceRecordRepository maintenanceRecordRepository;
+    private final VehicleRepository vehicleRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final Map<Long, CompanyDue> companies = new ConcurrentHashMap<>();
+    private final Queue<DueWork> pending = new ConcurrentLinkedQueue<>();
+
+    public MaintenanceDueEngine(MaintenancePolicyRepository maintenancePolicyRepository,
+                                MaintenanceRecordRepository maintenanceRecordRepository,
+                                VehicleRepository vehicleRepository,
+                                PlatformTransactionManager transactionManager) {
+        this.maintenancePolicyRepository = maintenancePolicyRepository;
+        this.maintenanceRecordRepository = maintenanceRecordRepository;
+        this.vehicleRepository = vehicleRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    // ========== FEED ==========
+
+    /**
+     * Apply a vehicle distance reading and queue records for policies it crosses
+     */
+    public void recordDistance(Long vehicleId, Long companyId, Vehicle.VehicleType vehicleType, Double distanceKm) {
+        if (vehicleId == null || companyId == null || distanceKm == null) {
+            return;
+        }
+        CompanyDue company = companyState(companyId);
+        synchronized (company) {
+            VehicleDue vehicle = company.vehicles.computeIfAbsent(vehicleId,
+                    id -> company.newVehicle(vehicleType, distanceKm, LocalDate.now()));
+            vehicle.distanceKm = distanceKm;
+            if (distanceKm < vehicle.nextDueKm) {
+                return;
+            }
+            for (DueItem item : vehicle.items) {
+                if (!item.scheduled && item.dueKm <= distanceKm) {
+                    item.scheduled = true;
+                    pending.add(new DueWork(vehicleId, companyId, item.policy, distanceKm,
+                            String.format("Auto-scheduled: %s - Vehicle reached %,.0f km",
+                                    item.policy.getName(), distanceKm)));
+                }
+            }
+            vehicle.updateNextDue();
+        }
+    }
+
+    /**
+     * Rebuild a company's state on next use
+     */
+    public void evict(Long companyId) {
+        if (companyId != null) {
+            companies.remove(companyId);
+        }
+    }
+
+    @Scheduled(fixedDelay = 300_000)
+    public void evictExpired() {
+        long cutoff = System.currentTimeMillis() - MAX_STATE_AGE_MILLIS;
+        companies.values().removeIf(company -> company.loadedAt < cutoff);
+    }
+
+    /**
+     * Queue records for time policies that have come due
+     */
+    @Scheduled(cron = "0 15 1 * * *")
+    public void scanDueDates() {
+        LocalDate today = LocalDate.now();
+        int queued = 0;
+        for (Long companyId : maintenancePolicyRepository.findCompanyIdsWithActivePolicies()) {
+            CompanyDue company = companyState(companyId);
+            synchronized (company) {
+                for (Map.Entry<Long, VehicleDue> entry : company.vehicles.entrySet()) {
+                    for (DueItem item : entry.getValue().items) {
+                        if (!item.scheduled && item.dueDate != null && !item.dueDate.isAfter(today)) {
+                            item.scheduled = true;
+                            pending.add(new DueWork(entry.getKey(), companyId, item.policy,
+                                    entry.getValue().distanceKm,
+                                    String.format("Auto-scheduled: %s - Due by %s", item.policy.getName(), item.dueDate)));
+                            queued++;
+                        }
+                    }
+                    entry.getValue().updateNextDue();
+                }
+            }
+        }
+        log.info("Queued {} date-based maintenance records", queued);
+        createPending();
+    }
+
+    /**
+     * Create queued records in one transaction, skipping vehicle/policy pairs that
+     * already have open work (e.g. created on another node)
+     */
+    @Scheduled(fixedDelay = 30_000)
+    public void createPending() {
+        List<DueWork> batch = new ArrayList<>();
+        for (DueWork work; (work = pending.poll()) != null; ) {
+            batch.add(work);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            Integer created = transactionTemplate.execute(status -> {
+                Set<Long> vehicleIds = new HashSet<>();
+                batch.forEach(work -> vehicleIds.add(work.vehicleId()));
+                Set<List<Long>> open = new HashSet<>();
+                for (Object[] row : maintenanceRecordRepository.findOpenPolicyRecordsByVehicleIdIn(vehicleIds)) {
+                    open.add(List.of((Long) row[0], (Long) row[1]));
+                }
+
+                LocalDate scheduledDate = LocalDate.now().plusDays(SCHEDULE_LEAD_DAYS);
+                List<MaintenanceRecord> records = new ArrayList<>();
+                for (DueWork work : batch) {
+                    if (open.add(List.of(work.vehicleId(), work.policy().getId()))) {
+                        records.add(MaintenanceRecord.builder()
+                                .vehicleId(work.vehicleId())
+                                .companyId(work.companyId())
+                                .type(work.policy().getMaintenanceType())
+                                .scheduledDate(scheduledDate)
+                                .status(MaintenanceRecord.MaintenanceStatus.SCHEDULED)
+                                .description(work.description())
+                                .vehicleDistanceKm(work.distanceKm())
+                                .policyId(work.policy().getId())
+                                .build());
+                    }
+                }
+                maintenanceRecordRepository.saveAll(records);
+                return records.size();
+            });
+            log.info("Auto-created {} maintenance records ({} due crossings)", created, batch.size());
+        } catch (Exception e) {
+            // Crossings stay marked until the state is rebuilt, which re-detects them
+            log.error("Failed to create {} due maintenance records: {}", batch.size(), e.getMessage(), e);
+        }
+    }
+
+    // ========== QUERIES ==========
+
+    /**
+     * Policy work of a company due within the given distance or days, most urgent first
+     */
+    public List<MaintenanceDueResponse> getDueSoon(Long companyId, double withinKm, int withinDays) {
+        LocalDate today = LocalDate.now();
+        List<MaintenanceDueResponse> due = new ArrayList<>();
+        CompanyDue company = companyState(companyId);
+        synchronized (company) {
+            company.vehicles.forEach((vehicleId, vehicle) -> {
+                for (DueItem item : vehicle.items) {
+                    Double remainingKm = item.hasMileage() ? item.dueKm - vehicle.distanceKm : null;
+                    Long remainingDays = item.dueDate != null ? ChronoUnit.DAYS.between(today, item.dueDate) : null;
+                    boolean soon = (remainingKm != null && remainingKm <= withinKm)
+                            || (remainingDays != null && remainingDays <= withinDays);
+                    if (soon) {
+                        due.add(MaintenanceDueResponse.builder()
+                                .vehicleId(vehicleId)
+                                .policyId(item.policy.getId())
+                                .policyName(item.policy.getName())
+                                .maintenanceType(item.policy.getMaintenanceType().name())
+                                .currentDistanceKm(vehicle.distanceKm)
+                                .dueDistanceKm(item.hasMileage() ? item.dueKm : null)
+                                .remainingKm(remainingKm)
+                                .dueDate(item.dueDate)
+                                .remainingDays(remainingDays)
+                                .scheduled(item.scheduled)
+                                .build());
+                    }
+                }
+            });
+        }
+        due.sort(Comparator.comparing(MaintenanceDueResponse::getRemainingKm, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(MaintenanceDueResponse::getRemainingDays, Comparator.nullsLast(Comparator.naturalOrder())));
+        return due;
+    }
+
+    // ========== STATE ==========
+
+    /**
+     * Loaded outside the map so the four queries never hold a map bin lock; when two
+     * threads load the same company at once the first result is kept
+     */
+    private CompanyDue companyState(Long companyId) {
+        CompanyDue company = companies.get(companyId);
+        if (company != null) {
+            return company;
+        }
+        CompanyDue loaded = readOnlyTransaction.execute(status -> load(companyId));
+        CompanyDue existing = companies.putIfAbsent(companyId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private CompanyDue load(Long companyId) {
+        Map<Vehicle.VehicleType, List<MaintenancePolicy>> policies = new EnumMap<>(Vehicle.VehicleType.class);
+        for (MaintenancePolicy policy : maintenancePolicyRepository.findByCompanyIdAndActiveTrue(companyId)) {
+            boolean hasInterval = (policy.getMileageIntervalKm() != null && policy.getMileageIntervalKm() > 0)
+                    || (policy.getTimeIntervalDays() != null && policy.getTimeIntervalDays() > 0);
+            if (policy.getVehicleType() != null && hasInterval) {
+                policies.computeIfAbsent(policy.getVehicleType(), type -> new ArrayList<>()).add(policy);
+            }
+        }
+        CompanyDue company = new CompanyDue(policies);
+        if (policies.isEmpty()) {
+            return company;
+        }
+
+        Map<Long, Map<MaintenanceRecord.MaintenanceType, Object[]>> completed = new HashMap<>();
+        for (Object[] row : maintenanceRecordRepository.findLastCompletedGroupedByVehicleAndType(companyId)) {
+            completed.computeIfAbsent((Long) row[0], id -> new EnumMap<>(MaintenanceRecord.MaintenanceType.class))
+                    .put((MaintenanceRecord.MaintenanceType) row[1], new Object[]{row[2], row[3]});
+        }
+        Set<List<Long>> open = new HashSet<>();
+        for (Object[] row : maintenanceRecordRepository.findOpenPolicyRecordsByCompanyId(companyId)) {
+            open.add(List.of((Long) row[0], (Long) row[1]));
+        }
+
+        for (Object[] row : vehicleRepository.findDistanceReadingsByCompanyId(companyId)) {
+            Long vehicleId = (Long) row[0];
+            Vehicle.VehicleType type = (Vehicle.VehicleType) row[1];
+            Double odometer = (Double) row[2];
+            Double totalDistance = (Double) row[3];
+            LocalDate createdOn = row[4] != null ? ((LocalDateTime) row[4]).toLocalDate() : LocalDate.now();
+            double distance = odometer != null ? odometer : totalDistance != null ? totalDistance : 0.0;
+
+            VehicleDue vehicle = new VehicleDue(distance);
+            Map<MaintenanceRecord.MaintenanceType, Object[]> last = completed.getOrDefault(vehicleId, Map.of());
+            for (MaintenancePolicy policy : policies.getOrDefault(type, List.of())) {
+                Object[] done = last.get(policy.getMaintenanceType());
+                Double baseKm = done != null ? (Double) done[0] : null;
+                LocalDate baseDate = done != null && done[1] != null ? (LocalDate) done[1] : createdOn;
+                vehicle.items.add(new DueItem(policy, baseKm != null ? baseKm : 0.0, baseDate,
+                        open.contains(List.of(vehicleId, policy.getId()))));
+            }
+            vehicle.updateNextDue();
+            company.vehicles.put(vehicleId, vehicle);
+        }
+        log.debug("Loaded maintenance due state for company {}: {} vehicles", companyId, company.vehicles.size());
+        return company;
+    }
+
+    private record DueWork(Long vehicleId, Long companyId, MaintenancePolicy policy, double distanceKm,
+                           String description) {
+    }
+
+    private static class CompanyDue {
+        final Map<Vehicle.VehicleType, List<MaintenancePolicy>> policies;
+        final Map<Long, VehicleDue> vehicles = new HashMap<>();
+        final long loadedAt = System.currentTimeMillis();
+
+        CompanyDue(Map<Vehicle.VehicleType, List<MaintenancePolicy>> policies) {
+            this.policies = policies;
+        }
+
+        /**
+         * State of a vehicle created after the load; it has no completed maintenance yet
+         */
+        VehicleDue newVehicle(Vehicle.VehicleType type, double distanceKm, LocalDate createdOn) {
+            VehicleDue vehicle = new VehicleDue(distanceKm);
+            for (MaintenancePolicy policy : policies.getOrDefault(type, List.of())) {
+                vehicle.items.add(new DueItem(policy, 0.0, createdOn, false));
+            }
+            vehicle.updateNextDue();
+            return vehicle;
+        }
+    }
+
+    private static class VehicleDue {
+        final List<DueItem> items = new ArrayList<>(4);
+        double distanceKm;
+        double nextDueKm = Double.POSITIVE_INFINITY;   // Nearest due distance of unscheduled mileage policies
+
+        VehicleDue(double distanceKm) {
+            this.distanceKm = distanceKm;
+        }
+
+        void updateNextDue() {
+            nextDueKm = Double.POSITIVE_INFINITY;
+            for (DueItem item : items) {
+                if (!item.scheduled && item.hasMileage()) {
+                    nextDueKm = Math.min(nextDueKm, item.dueKm);
+                }
+            }
+        }
+    }
+
+    private static class DueItem {
+        final MaintenancePolicy policy;
+        final double dueKm;
+        final LocalDate dueDate;
+        boolean scheduled;
+
+        DueItem(MaintenancePolicy policy, double baseKm, LocalDate baseDate, boolean scheduled) {
+            this.policy = policy;
+            this.dueKm = hasMileage(policy) ? baseKm + policy.getMileageIntervalKm() : Double.POSITIVE_INFINITY;
+            this.dueDate = policy.getTimeIntervalDays() != null && policy.getTimeIntervalDays() > 0
+                    ? baseDate.plusDays(policy.getTimeIntervalDays()) : null;
+            this.scheduled = scheduled;
+        }
+
+        boolean hasMileage() {
+            return hasMileage(policy);
+        }
+
+        private static boolean hasMileage(MaintenancePolicy policy) {
+            return policy.getMileageIntervalKm() != null && policy.getMileageIntervalKm() > 0;
+        }
+    }
+}
@@ -1,29 +1,35 @@
 package com.evfleet.maintenance.service;
 
+import com.evfleet.common.event.EventPublisher;
 import com.evfleet.common.exception.ResourceNotFoundException;
+import com.evfleet.fleet.model.FuelType;
 import com.evfleet.fleet.model.Vehicle;
 import com.evfleet.fleet.repository.VehicleRepository;
+import com.evfleet.maintenance.dto.MaintenanceAlertPageResponse;
 import com.evfleet.maintenance.dto.MaintenanceAlertResponse;
+import com.evfleet.maintenance.dto.MaintenanceDueResponse;
 import com.evfleet.maintenance.dto.MaintenanceLineItemRequest;
 import com.evfleet.maintenance.dto.MaintenanceLineItemResponse;
 import com.evfleet.maintenance.dto.MaintenanceRecordRequest;
 import com.evfleet.maintenance.dto.MaintenanceRecordResponse;
+import com.evfleet.maintenance.event.MaintenanceCompletedEvent;
 import com.evfleet.maintenance.model.MaintenanceLineItem;
-import com.evfleet.maintenance.model.MaintenancePolicy;
 import com.evfleet.maintenance.model.MaintenanceRecord;
 import com.evfleet.maintenance.repository.MaintenanceLineItemRepository;
-import com.evfleet.maintenance.repository.MaintenancePolicyRepository;
 import com.evfleet.maintenance.repository.MaintenanceRecordRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -39,11 +45,14 @@ import java.util.stream.Collectors;
 @Transactional
 public class MaintenanceService {
 
+    private static final int MAX_ALERT_PAGE_SIZE = 500;
+
     private final MaintenanceRecordRepository maintenanceRecordRepository;
     private final VehicleRepository vehicleRepository;
     private final com.evfleet.analytics.service.AnalyticsService analyticsService;
-    private final MaintenancePolicyRepository maintenancePolicyRepository;
     private final MaintenanceLineItemRepository maintenanceLineItemRepository;
+    private final EventPublisher eventPublisher;
+    private final MaintenanceDueEngine maintenanceDueEngine;
 
     public MaintenanceRecordResponse createMaintenanceRecord(Long companyId, MaintenanceRecordRequest request) {
         log.info("POST /api/v1/maintenance/records - Creating maintenance record for vehicle: {}", request.getVehicleId());
@@ -102,9 +111,7 @@ public class MaintenanceService {
     public List<MaintenanceRecordResponse> getAllMaintenanceRecords(Long companyId) {
         log.info("GET /api/v1/maintenance/records - Fetching all maintenance records for company: {}", companyId);
         List<MaintenanceRecord> records = maintenanceRecordRepository.findByCompanyId(companyId);
-        return records.stream()
-                .map(this::getMaintenanceRecordResponseWithLineItems)
-                .collect(Collectors.toList());
+        return getMaintenanceRecordResponsesWithLineItems(records);
     }
 
     @Transactional(readOnly = true)
@@ -119,9 +126,7 @@ public class MaintenanceService {
     public List<MaintenanceRecordResponse> getMaintenanceRecordsByVehicle(Long vehicleId) {
         log.info("GET /api/v1/maintenance/records/vehicle/{} - Fetching maintenance records", vehicleId);
         List<MaintenanceRecord> records = maintenanceRecordRepository.findByVehicleId(vehicleId);
-        return records.stream()
-                .map(this::getMaintenanceRecordResponseWithLineItems)
-                .collect(Collectors.toList());
+        return getMaintenanceRecordResponsesWithLineItems(records);
     }
 
     @Transactional(readOnly = true)
@@ -152,6 +157,7 @@ public class MaintenanceService {
         if (request.getCompletedDate() != null) {
             record.setCompletedDate(request.getCompletedDate());
         }
+        MaintenanceRecord.MaintenanceStatus previousStatus = record.getStatus();
         if (request.getStatus() != null) {
             record.setStatus(MaintenanceRecord.MaintenanceStatus.valueOf(request.getStatus().toUpperCase()));
         }
@@ -166,6 +172,10 @@ public class MaintenanceService {
         }
 
         MaintenanceRecord updated = maintenanceRecordRepository.save(record);
+        if (previousStatus != MaintenanceRecord.MaintenanceStatus.COMPLETED
+                && updated.getStatus() == MaintenanceRecord.MaintenanceStatus.COMPLETED) {
+            publishCompleted(updated);
+        }
         log.info("Maintenance record updated successfully: {}", id);
         return MaintenanceRecordResponse.fromEntity(updated);
     }
@@ -175,11 +185,15 @@ public class MaintenanceService {
 
         MaintenanceRecord record = maintenanceRecordRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("MaintenanceRecord", "id", id));
+        boolean alreadyCompleted = record.getStatus() == MaintenanceRecord.MaintenanceStatus.COMPLETED;
 
         record.setStatus(MaintenanceRecord.MaintenanceStatus.COMPLETED);
         record.setCompletedDate(LocalDate.now());
 
         MaintenanceRecord updated = maintenanceRecordRepository.save(record);
+        if (!alreadyCompleted) {
+            publishCompleted(updated);
+        }
         
         // Update analytics with maintenance cost
         if (updated.getCost() != null && updated.getCost().compareTo(java.math.BigDecimal.ZERO) > 0) {
@@ -200,6 +214,15 @@ public class MaintenanceService {
         return MaintenanceRecordResponse.fromEntity(updated);
     }
 
+    /**
+     * Published once the completion commits, so listeners rebuilding state from
+     * the stored records see it
+     */
+    private void publishCompleted(MaintenanceRecord record) {
+        eventPublisher.publishAfterCommit(new MaintenanceCompletedEvent(
+                this, record.getId(), record.getVehicleId(), record.getCompanyId(), record.getCost()));
+    }
+
     public void deleteMaintenanceRecord(Long id) {
         log.info("DELETE /api/v1/maintenance/records/{} - Deleting maintenance record", id);
 
@@ -213,7 +236,9 @@ public class MaintenanceService {
 
     /**
      * Get maintenance alerts for a company
-     * Returns upcoming maintenance within the next 30 days, prioritized by urgency
+     * Returns upcoming maintenance within the next 30 days, prioritized by urgency.
+     * Priority only depends on how soon the work is due, so the SQL order by
+     * scheduled date is also the priority order.
      */
     @Transactional(readOnly = true)
     public List<MaintenanceAlertResponse> getMaintenanceAlerts(Long companyId, Integer daysAhead) {
@@ -221,108 +246,141 @@ public class MaintenanceService {
                 companyId, daysAhead);
         
         LocalDate endDate = LocalDate.now().plusDays(daysAhead != null ? daysAhead : 30);
-        List<MaintenanceRecord> upcomingRecords = maintenanceRecordRepository.findUpcomingMaintenanceAlerts(
-                companyId, endDate);
-        
-        return upcomingRecords.stream()
-                .map(record -> {
-                    Vehicle vehicle = vehicleRepository.findById(record.getVehicleId()).orElse(null);
-                    LocalDate now = LocalDate.now();
-                    long daysUntil = ChronoUnit.DAYS.between(now, record.getScheduledDate());
-                    
-                    MaintenanceAlertResponse.Priority priority;
-                    if (daysUntil < 0) {
-                        priority = MaintenanceAlertResponse.Priority.HIGH; // Overdue
-                    } else if (daysUntil <= 7) {
-                        priority = MaintenanceAlertResponse.Priority.MEDIUM; // Due within 7 days
-                    } else {
-                        priority = MaintenanceAlertResponse.Priority.LOW; // Due within 30 days
-                    }
-                    
-                    return MaintenanceAlertResponse.builder()
-                            .id(record.getId())
-                            .vehicleId(record.getVehicleId())
-                            .vehicleNumber(vehicle != null ? vehicle.getLicensePlate() : "Unknown")
-                            .fuelType(vehicle != null ? vehicle.getFuelType() : null)
-                            .maintenanceType(record.getType().name())
-                            .scheduledDate(record.getScheduledDate())
-                            .status(daysUntil < 0 ? "OVERDUE" : record.getStatus().name())
-                            .priority(priority)
-                            .description(record.getDescription())
-                            .daysUntilDue((int) daysUntil)
-                            .build();
-                })
-                .sorted((a, b) -> {
-                    // Sort by priority first, then by scheduled date
-                    int priorityCompare = a.getPriority().compareTo(b.getPriority());
-                    if (priorityCompare != 0) {
-                        return priorityCompare;
-                    }
-                    return a.getScheduledDate().compareTo(b.getScheduledDate());
-                })
-                .collect(Collectors.toList());
+        List<Object[]> rows = maintenanceRecordRepository.findAlertRows(companyId, endDate, Pageable.unpaged());
+        return toAlerts(rows, LocalDate.now());
     }
 
     /**
-     * Check if vehicle requires maintenance based on mileage policies
-     * Called automatically after trip completion
+     * Get one page of maintenance alerts, continuing after {@code cursor} when given
      */
-    public void checkAndCreateMaintenanceByMileage(Long vehicleId, Long companyId, Vehicle.VehicleType vehicleType, Double currentDistance) {
-        log.debug("Checking maintenance policies for vehicle: {} at distance: {} km", vehicleId, currentDistance);
+    @Transactional(readOnly = true)
+    public MaintenanceAlertPageResponse getMaintenanceAlertPage(Long companyId, Integer daysAhead,
+                                                                String cursor, int limit) {
+        log.info("GET /api/v1/maintenance/alerts/page - Fetching alerts for company: {}, cursor: {}, limit: {}",
+                companyId, cursor, limit);
+        if (limit < 1 || limit > MAX_ALERT_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_ALERT_PAGE_SIZE);
+        }
+
+        LocalDate endDate = LocalDate.now().plusDays(daysAhead != null ? daysAhead : 30);
+        // One extra row tells whether another page follows
+        Pageable pageable = PageRequest.of(0, limit + 1);
+        List<Object[]> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = maintenanceRecordRepository.findAlertRows(companyId, endDate, pageable);
+        } else {
+            AlertCursor after = AlertCursor.parse(cursor);
+            rows = maintenanceRecordRepository.findAlertRowsAfter(
+                    companyId, endDate, after.scheduledDate(), after.id(), pageable);
+        }
 
-        // Get active policies for this vehicle type
-        List<MaintenancePolicy> policies = maintenancePolicyRepository
-                .findByCompanyIdAndVehicleTypeAndActiveTrue(companyId, vehicleType);
+        boolean hasMore = rows.size() > limit;
+        List<MaintenanceAlertResponse> alerts = toAlerts(hasMore ? rows.subList(0, limit) : rows, LocalDate.now());
+        String nextCursor = null;
+        if (hasMore) {
+            MaintenanceAlertResponse last = alerts.get(alerts.size() - 1);
+            nextCursor = new AlertCursor(last.getScheduledDate(), last.getId()).format();
+        }
+        return MaintenanceAlertPageResponse.builder()
+                .alerts(alerts)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
 
-        for (MaintenancePolicy policy : policies) {
-            if (policy.getMileageIntervalKm() == null || policy.getMileageIntervalKm() <= 0) {
-                continue;
+    private List<MaintenanceAlertResponse> toAlerts(List<Object[]> rows, LocalDate today) {
+        List<MaintenanceAlertResponse> alerts = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            LocalDate scheduledDate = (LocalDate) row[5];
+            long daysUntil = ChronoUnit.DAYS.between(today, scheduledDate);
+
+            MaintenanceAlertResponse.Priority priority;
+            if (daysUntil < 0) {
+                priority = MaintenanceAlertResponse.Priority.HIGH; // Overdue
+            } else if (daysUntil <= 7) {
+                priority = MaintenanceAlertResponse.Priority.MEDIUM; // Due within 7 days
+            } else {
+                priority = MaintenanceAlertResponse.Priority.LOW; // Due within 30 days
             }
 
-            // Find last completed maintenance of this type for this vehicle
-            Optional<MaintenanceRecord> lastMaintenance = maintenanceRecordRepository
-                    .findTopByVehicleIdAndTypeAndStatusOrderByCompletedDateDesc(
-                            vehicleId, 
-                            policy.getMaintenanceType(), 
-                            MaintenanceRecord.MaintenanceStatus.COMPLETED
-                    );
-
-            Double lastMaintenanceDistance = lastMaintenance
-                    .map(MaintenanceRecord::getVehicleDistanceKm)
-                    .orElse(0.0);
-
-            // Check if policy should trigger
-            if (policy.shouldTriggerByMileage(lastMaintenanceDistance, currentDistance)) {
-                // Check if maintenance is already scheduled
-                boolean alreadyScheduled = maintenanceRecordRepository
-                        .existsByVehicleIdAndTypeAndPolicyIdAndStatusIn(
-                                vehicleId,
-                                policy.getMaintenanceType(),
-                                policy.getId(),
-                                List.of(MaintenanceRecord.MaintenanceStatus.SCHEDULED, 
-                                       MaintenanceRecord.MaintenanceStatus.IN_PROGRESS)
-                        );
-
-                if (!alreadyScheduled) {
-                    // Create new scheduled maintenance record
-                    MaintenanceRecord newRecord = MaintenanceRecord.builder()
-                            .vehicleId(vehicleId)
-                            .companyId(companyId)
-                            .type(policy.getMaintenanceType())
-                            .scheduledDate(LocalDate.now().plusDays(7)) // Schedule for next week
-                            .status(MaintenanceRecord.MaintenanceStatus.SCHEDULED)
-                            .description(String.format("Auto-scheduled: %s - Vehicle reached %,.0f km", 
-                                    policy.getName(), currentDistance))
-                            .vehicleDistanceKm(currentDistance)
-                            .policyId(policy.getId())
-                            .build();
-
-                    maintenanceRecordRepository.save(newRecord);
-                    log.info("Auto-created maintenance record for vehicle {} - Type: {}, Policy: {}", 
-                            vehicleId, policy.getMaintenanceType(), policy.getName());
-                }
+            String licensePlate = (String) row[2];
+            alerts.add(MaintenanceAlertResponse.builder()
+                    .id((Long) row[0])
+                    .vehicleId((Long) row[1])
+                    .vehicleNumber(licensePlate != null ? licensePlate : "Unknown")
+                    .fuelType((FuelType) row[3])
+                    .maintenanceType(((MaintenanceRecord.MaintenanceType) row[4]).name())
+                    .scheduledDate(scheduledDate)
+                    .status(daysUntil < 0 ? "OVERDUE" : ((MaintenanceRecord.MaintenanceStatus) row[6]).name())
+                    .priority(priority)
+                    .description((String) row[7])
+                    .daysUntilDue((int) daysUntil)
+                    .lineItemCount(((Number) row[8]).intValue())
+                    .lineItemTotal((BigDecimal) row[9])
+                    .build());
+        }
+        return alerts;
+    }
+
+    /**
+     * Keyset position of the last alert on a page, written as {@code <scheduledDate>_<id>}
+     */
+    private record AlertCursor(LocalDate scheduledDate, Long id) {
+
+        static AlertCursor parse(String cursor) {
+            int separator = cursor.indexOf('_');
+            try {
+                return new AlertCursor(LocalDate.parse(cursor.substring(0, separator)),
+                        Long.valueOf(cursor.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid alert cursor: " + cursor);
             }
         }
+
+        String format() {
+            return scheduledDate + "_" + id;
+        }
+    }
+
+    /**
+     * Check if vehicle requires maintenance based on mileage policies
+     * Called automatically after trip completion; due records are created in bulk
+     * by the {@link MaintenanceDueEngine}
+     */
+    public void checkAndCreateMaintenanceByMileage(Long vehicleId, Long companyId, Vehicle.VehicleType vehicleType, Double currentDistance) {
+        log.debug("Checking maintenance policies for vehicle: {} at distance: {} km", vehicleId, currentDistance);
+        maintenanceDueEngine.recordDistance(vehicleId, companyId, vehicleType, currentDistance);
+    }
+
+    @Transactional(readOnly = true)
+    public List<MaintenanceDueResponse> getMaintenanceDue(Long companyId, double withinKm, int withinDays) {
+        log.info("GET /api/v1/maintenance/due - Fetching maintenance due for company: {}", companyId);
+        if (withinKm < 0 || withinDays < 0) {
+            throw new IllegalArgumentException("Due window must not be negative");
+        }
+        return maintenanceDueEngine.getDueSoon(companyId, withinKm, withinDays);
+    }
+
+    /**
+     * Build responses for many records, loading all their line items in one query
+     */
+    private List<MaintenanceRecordResponse> getMaintenanceRecordResponsesWithLineItems(List<MaintenanceRecord> records) {
+        if (records.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<MaintenanceLineItemResponse>> lineItemsByRecord = maintenanceLineItemRepository
+                .findByMaintenanceRecordIdIn(records.stream().map(MaintenanceRecord::getId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(MaintenanceLineItem::getMaintenanceRecordId,
+                        Collectors.mapping(MaintenanceLineItemResponse::fromEntity, Collectors.toList())));
+
+        return records.stream()
+                .map(record -> {
+                    MaintenanceRecordResponse response = MaintenanceRecordResponse.fromEntity(record);
+                    response.setLineItems(lineItemsByRecord.getOrDefault(record.getId(), new ArrayList<>()));
+                    return response;
+                })
+                .collect(Collectors.toList());
     }
 
     /**
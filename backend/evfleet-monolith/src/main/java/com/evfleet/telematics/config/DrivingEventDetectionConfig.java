@@ -0,0 +1,115 @@
+package com.evfleet.telematics.config;
+
+import com.evfleet.fleet.model.Vehicle;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Driving Event Detection Configuration Properties
+ *
+ * Thresholds for deriving driving events from raw accelerometer telemetry.
+ * Accelerations are in g; longitudinal is positive forward, lateral either side.
+ *
+ * Configure per vehicle type in application.yml:
+ * <pre>
+ * telematics:
+ *   detection:
+ *     thresholds:
+ *       THREE_WHEELER:
+ *         braking-g: 0.35
+ * </pre>
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Configuration
+@ConfigurationProperties(prefix = "telematics.detection")
+@Data
+public class DrivingEventDetectionConfig {
+
+    /**
+     * Whether events are derived from synced telemetry
+     */
+    private boolean enabled = true;
+
+    /**
+     * Providers whose devices classify driving events themselves; their telemetry
+     * is not run through detection, so a manoeuvre is never counted twice
+     */
+    private Set<String> selfClassifyingProviders = new HashSet<>();
+
+    /**
+     * Vehicles that posted their own driving events within this many hours are
+     * skipped by detection, whatever provider syncs them
+     */
+    private int selfReportingHours = 24;
+
+    /**
+     * Samples kept per vehicle
+     */
+    private int ringSize = 32;
+
+    /**
+     * Samples within this span of the latest one are averaged before thresholds
+     * are applied, so a single-sample spike is damped on high-rate devices
+     */
+    private long smoothingWindowMs = 1500;
+
+    /**
+     * Longest gap between two samples for deriving longitudinal acceleration from
+     * the speed change when the device reports no accelerometer value
+     */
+    private long maxSpeedDerivationGapMs = 5000;
+
+    /**
+     * A fired event re-arms once the smoothed signal falls below this share of its threshold
+     */
+    private double releaseRatio = 0.7;
+
+    /**
+     * Speed below which the vehicle counts as stationary, in km/h
+     */
+    private double idleSpeedKmh = 2.0;
+
+    /**
+     * Shortest stationary period with ignition on reported as IDLING
+     */
+    private int idleMinSeconds = 300;
+
+    /**
+     * Vehicles without telemetry for this long lose their buffered samples
+     */
+    private int stateTtlMinutes = 60;
+
+    /**
+     * Thresholds for vehicles without a type or a configured entry
+     */
+    private Thresholds defaults = new Thresholds(0.40, 0.30, 0.35);
+
+    private Map<Vehicle.VehicleType, Thresholds> thresholds = new EnumMap<>(Map.of(
+            Vehicle.VehicleType.TWO_WHEELER, new Thresholds(0.45, 0.35, 0.45),
+            Vehicle.VehicleType.THREE_WHEELER, new Thresholds(0.35, 0.25, 0.30),
+            Vehicle.VehicleType.LCV, new Thresholds(0.40, 0.30, 0.35)
+    ));
+
+    public Thresholds thresholdsFor(Vehicle.VehicleType type) {
+        return type != null ? thresholds.getOrDefault(type, defaults) : defaults;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Thresholds {
+        private double brakingG;
+        private double accelerationG;
+        private double corneringG;
+    }
+}
@@ -2,6 +2,8 @@ package com.evfleet.telematics.controller;
 
 import com.evfleet.common.dto.ApiResponse;
 import com.evfleet.telematics.dto.DrivingEventResponse;
+import com.evfleet.telematics.dto.TelematicsBatchResponse;
+import com.evfleet.telematics.dto.TelematicsEventBatchRequest;
 import com.evfleet.telematics.dto.TelematicsEventRequest;
 import com.evfleet.telematics.scheduler.TelemetrySyncScheduler;
 import com.evfleet.telematics.service.TelematicsService;
@@ -47,6 +49,16 @@ public class TelematicsController {
                 .body(ApiResponse.success("Event ingested successfully", event));
     }
 
+    @PostMapping("/events/batch")
+    @Operation(summary = "Ingest a burst of telematics events with per-event results")
+    public ResponseEntity<ApiResponse<TelematicsBatchResponse>> ingestEvents(
+            @Valid @RequestBody TelematicsEventBatchRequest request) {
+        log.info("POST /api/v1/telematics/events/batch - events: {}", request.getEvents().size());
+
+        TelematicsBatchResponse result = telematicsService.ingestEvents(request.getEvents());
+        return ResponseEntity.ok(ApiResponse.success("Event batch processed", result));
+    }
+
     @GetMapping("/events/trip/{tripId}")
     @Operation(summary = "Get all events for a specific trip")
     public ResponseEntity<ApiResponse<List<DrivingEventResponse>>> getEventsByTrip(
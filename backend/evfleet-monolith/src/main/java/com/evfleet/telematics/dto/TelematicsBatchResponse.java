@@ -0,0 +1,48 @@
+package com.evfleet.telematics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for batch telematics ingestion
+ *
+ * Holds one result per submitted event, in submission order.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TelematicsBatchResponse {
+
+    private int received;
+    private int accepted;
+    private int rejected;
+    private List<ItemResult> results;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ItemResult {
+        private int index;
+        private boolean accepted;
+        private Long eventId;
+        private Long driverId;
+        private String error;
+
+        public static ItemResult accepted(int index, Long eventId, Long driverId) {
+            return ItemResult.builder().index(index).accepted(true).eventId(eventId).driverId(driverId).build();
+        }
+
+        public static ItemResult rejected(int index, String error) {
+            return ItemResult.builder().index(index).accepted(false).error(error).build();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.evfleet.telematics.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for ingesting a burst of telematics events
+ *
+ * Events are validated one by one during ingestion, so an invalid event is
+ * rejected in the per-item results instead of failing the whole batch.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TelematicsEventBatchRequest {
+
+    @NotEmpty(message = "At least one event is required")
+    private List<TelematicsEventRequest> events;
+}
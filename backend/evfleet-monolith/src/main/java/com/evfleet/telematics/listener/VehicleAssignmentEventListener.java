@@ -0,0 +1,51 @@
+package com.evfleet.telematics.listener;
+
+import com.evfleet.common.event.EventListenerSupport;
+import com.evfleet.fleet.event.TripCompletedEvent;
+import com.evfleet.fleet.event.TripStartedEvent;
+import com.evfleet.telematics.service.VehicleAssignmentCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts a vehicle's cached driver assignment when a trip starts or completes
+ *
+ * TripService publishes both events only after the trip's transaction commits,
+ * so the next load sees the new assignment and cannot re-cache the old one.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class VehicleAssignmentEventListener extends EventListenerSupport {
+
+    private final VehicleAssignmentCache vehicleAssignmentCache;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleTripStarted(TripStartedEvent event) {
+        logEventReceived(event);
+
+        try {
+            vehicleAssignmentCache.evict(event.getVehicleId());
+            logEventProcessed(event);
+        } catch (Exception e) {
+            logEventError(event, e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleTripCompleted(TripCompletedEvent event) {
+        logEventReceived(event);
+
+        try {
+            vehicleAssignmentCache.evict(event.getVehicleId());
+            logEventProcessed(event);
+        } catch (Exception e) {
+            logEventError(event, e);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.evfleet.telematics.model;
+
+import com.evfleet.common.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Driver Safety Bucket Entity
+ *
+ * One day of a driver's safety penalty and event counts. Each driver has a ring
+ * of {@link #RING_DAYS} slots, slot = epoch day mod ring size, so a day's bucket
+ * overwrites the bucket from {@code RING_DAYS} days earlier and the ring always
+ * holds the scoring window; no cleanup job is needed.
+ *
+ * A slot whose {@code bucketDate} is outside the window is stale and ignored.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "driver_safety_buckets",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_safety_bucket_driver_slot", columnNames = {"driver_id", "slot"})
+    })
+@Data
+@EqualsAndHashCode(callSuper = false)
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DriverSafetyBucket extends BaseEntity {
+
+    /**
+     * Days in the safety scoring window
+     */
+    public static final int RING_DAYS = 30;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "driver_id", nullable = false)
+    private Long driverId;
+
+    @Column(name = "company_id", nullable = false)
+    private Long companyId;
+
+    @Column(name = "slot", nullable = false)
+    private Integer slot;
+
+    @Column(name = "bucket_date", nullable = false)
+    private LocalDate bucketDate;
+
+    @Column(name = "penalty", nullable = false)
+    @Builder.Default
+    private Integer penalty = 0;
+
+    // Event counts per DrivingEvent.EventType
+    @Column(name = "harsh_braking", nullable = false)
+    @Builder.Default
+    private Integer harshBraking = 0;
+
+    @Column(name = "harsh_acceleration", nullable = false)
+    @Builder.Default
+    private Integer harshAcceleration = 0;
+
+    @Column(name = "harsh_cornering", nullable = false)
+    @Builder.Default
+    private Integer harshCornering = 0;
+
+    @Column(name = "speeding", nullable = false)
+    @Builder.Default
+    private Integer speeding = 0;
+
+    @Column(name = "idling", nullable = false)
+    @Builder.Default
+    private Integer idling = 0;
+
+    @Column(name = "rapid_lane_change", nullable = false)
+    @Builder.Default
+    private Integer rapidLaneChange = 0;
+
+    @Column(name = "distracted_driving", nullable = false)
+    @Builder.Default
+    private Integer distractedDriving = 0;
+
+    public static int slotOf(LocalDate date) {
+        return (int) Math.floorMod(date.toEpochDay(), RING_DAYS);
+    }
+}
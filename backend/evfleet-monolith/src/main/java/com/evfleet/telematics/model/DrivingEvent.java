@@ -9,6 +9,9 @@ import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * Driving Event Entity
@@ -88,13 +91,40 @@ public class DrivingEvent extends BaseEntity {
         SPEEDING,
         IDLING,
         RAPID_LANE_CHANGE,
-        DISTRACTED_DRIVING
+        DISTRACTED_DRIVING;
+
+        private static final Map<String, EventType> BY_NAME = lookupTable(values());
+
+        /**
+         * Resolve a device-supplied name ignoring case and '-'/' ' separators; null when unknown
+         */
+        public static EventType lookup(String name) {
+            return name != null ? BY_NAME.get(normalize(name)) : null;
+        }
     }
 
     public enum Severity {
         LOW,
         MEDIUM,
         HIGH,
-        CRITICAL
+        CRITICAL;
+
+        private static final Map<String, Severity> BY_NAME = lookupTable(values());
+
+        public static Severity lookup(String name) {
+            return name != null ? BY_NAME.get(normalize(name)) : null;
+        }
+    }
+
+    private static <E extends Enum<E>> Map<String, E> lookupTable(E[] values) {
+        Map<String, E> table = new HashMap<>();
+        for (E value : values) {
+            table.put(value.name(), value);
+        }
+        return Map.copyOf(table);
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toUpperCase(Locale.ROOT).replace('-', '_').replace(' ', '_');
     }
 }
@@ -40,4 +40,15 @@ public interface DrivingEventRepository extends JpaRepository<DrivingEvent, Long
         @Param("start") LocalDateTime start, 
         @Param("end") LocalDateTime end
     );
+
+    /**
+     * Event counts per type for a driver within a time range: [eventType, count]
+     */
+    @Query("SELECT e.eventType, COUNT(e) FROM DrivingEvent e WHERE e.driverId = :driverId " +
+           "AND e.eventTime BETWEEN :start AND :end GROUP BY e.eventType")
+    List<Object[]> countByDriverIdGroupedByEventType(
+        @Param("driverId") Long driverId,
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end
+    );
 }
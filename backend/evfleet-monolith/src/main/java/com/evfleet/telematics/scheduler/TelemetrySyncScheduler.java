@@ -1,11 +1,15 @@
 package com.evfleet.telematics.scheduler;
 
+import com.evfleet.common.event.EventPublisher;
+import com.evfleet.fleet.event.VehicleLocationUpdatedEvent;
+import com.evfleet.fleet.event.VehicleOdometerUpdatedEvent;
 import com.evfleet.fleet.model.Vehicle;
 import com.evfleet.fleet.repository.VehicleRepository;
 import com.evfleet.telematics.dto.VehicleTelemetryData;
 import com.evfleet.telematics.model.TelemetrySnapshot;
 import com.evfleet.telematics.provider.TelemetryProvider;
 import com.evfleet.telematics.repository.TelemetrySnapshotRepository;
+import com.evfleet.telematics.service.DrivingEventDetector;
 import com.evfleet.telematics.service.TelemetryAlertService;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -47,6 +51,9 @@ public class TelemetrySyncScheduler {
     private final List<TelemetryProvider> telemetryProviders;
     private final MeterRegistry meterRegistry;
     private final TelemetryAlertService alertService;
+    private final EventPublisher eventPublisher;
+    private final DrivingEventDetector drivingEventDetector;
+    private final LocationUpdateGate locationUpdateGate;
 
     // Configuration
     @Value("${telematics.sync.enabled:true}")
@@ -80,12 +87,18 @@ public class TelemetrySyncScheduler {
             TelemetrySnapshotRepository snapshotRepository,
             List<TelemetryProvider> telemetryProviders,
             MeterRegistry meterRegistry,
-            TelemetryAlertService alertService) {
+            TelemetryAlertService alertService,
+            EventPublisher eventPublisher,
+            DrivingEventDetector drivingEventDetector,
+            LocationUpdateGate locationUpdateGate) {
         this.vehicleRepository = vehicleRepository;
         this.snapshotRepository = snapshotRepository;
         this.telemetryProviders = telemetryProviders;
         this.meterRegistry = meterRegistry;
         this.alertService = alertService;
+        this.eventPublisher = eventPublisher;
+        this.drivingEventDetector = drivingEventDetector;
+        this.locationUpdateGate = locationUpdateGate;
     }
 
     @PostConstruct
@@ -222,10 +235,22 @@ public class TelemetrySyncScheduler {
 
         // Update vehicle with latest telemetry
         updateVehicleFromTelemetry(vehicle, data);
+        if (data.getOdometer() != null) {
+            eventPublisher.publish(new VehicleOdometerUpdatedEvent(
+                this, vehicle.getId(), vehicle.getCompanyId(), vehicle.getType(), data.getOdometer()
+            ));
+        }
 
         // Process telemetry for alerts (battery, speed, etc.)
         alertService.processAndGenerateAlerts(vehicle, data);
 
+        // Derive driving events for devices that do not report them
+        try {
+            drivingEventDetector.process(vehicle, data, provider.getProviderId());
+        } catch (Exception e) {
+            log.error("Error detecting driving events for vehicle {}: {}", vehicle.getId(), e.getMessage());
+        }
+
         log.debug("Successfully synced telemetry for vehicle {} - SOC: {}%, Speed: {} km/h", 
             vehicle.getId(), data.getBatterySoc(), data.getSpeed());
 
@@ -324,6 +349,16 @@ public class TelemetrySyncScheduler {
         vehicle.setTelemetryDataQuality(determineDataQuality(data));
 
         vehicleRepository.save(vehicle);
+
+        // Feed the live map stream; samples without a meaningful change are not published
+        if (data.getLatitude() != null && data.getLongitude() != null
+                && locationUpdateGate.shouldPublish(vehicle.getId(), data.getLatitude(), data.getLongitude(),
+                        vehicle.getCurrentBatterySoc())) {
+            eventPublisher.publish(new VehicleLocationUpdatedEvent(
+                this, vehicle.getId(), vehicle.getCompanyId(),
+                data.getLatitude(), data.getLongitude(), vehicle.getCurrentBatterySoc()
+            ));
+        }
     }
 
     /**
@@ -0,0 +1,360 @@
+package com.evfleet.telematics.service;
+
+import com.evfleet.driver.repository.DriverRepository;
+import com.evfleet.driver.service.DriverLeaderboardIndex;
+import com.evfleet.telematics.model.DriverSafetyBucket;
+import com.evfleet.telematics.model.DrivingEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Driver Safety Window Service
+ *
+ * Keeps each driver's safety penalty and event counts for the last
+ * {@link DriverSafetyBucket#RING_DAYS} days in a ring of daily buckets:
+ * - Recording an event adds its penalty and count to the day's bucket with one
+ *   atomic upsert, resetting the slot first if it still holds an older day
+ * - Score, breakdown and whole-day stats sum at most 30 rows of one driver
+ * - {@code Driver.safetyScore} is refreshed on every event and, for drivers whose
+ *   oldest day just left the window, once a day
+ *
+ * Safety Score Algorithm:
+ * - Base score: 100
+ * - Harsh braking: -5 (LOW), -7 (MEDIUM), -10 (HIGH), -15 (CRITICAL)
+ * - Speeding: -5 (LOW), -10 (MEDIUM), -15 (HIGH), -20 (CRITICAL)
+ * - Harsh acceleration: -3 (LOW), -5 (MEDIUM), -7 (HIGH), -10 (CRITICAL)
+ * - Harsh cornering: -3 (LOW), -5 (MEDIUM), -7 (HIGH), -10 (CRITICAL)
+ * - Rapid lane change: -2 (LOW), -4 (MEDIUM), -6 (HIGH), -8 (CRITICAL)
+ * - Distracted driving: -10 (LOW), -15 (MEDIUM), -20 (HIGH), -25 (CRITICAL)
+ * - Idling: -1 per 5 minutes
+ * - Minimum score: 0, Maximum score: 100
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Service
+@Slf4j
+@Transactional
+public class DriverSafetyWindowService {
+
+    private static final int BASE_SAFETY_SCORE = 100;
+    private static final int MIN_SAFETY_SCORE = 0;
+    private static final int MAX_SAFETY_SCORE = 100;
+
+    // Penalty points by severity (LOW, MEDIUM, HIGH, CRITICAL)
+    private static final int[] HARSH_BRAKING_PENALTIES = {5, 7, 10, 15};
+    private static final int[] SPEEDING_PENALTIES = {5, 10, 15, 20};
+    private static final int[] HARSH_ACCELERATION_PENALTIES = {3, 5, 7, 10};
+    private static final int[] HARSH_CORNERING_PENALTIES = {3, 5, 7, 10};
+    private static final int[] RAPID_LANE_CHANGE_PENALTIES = {2, 4, 6, 8};
+    private static final int IDLING_PENALTY_PER_5_MINUTES = 1;
+
+    private static final int UPSERT_BATCH_SIZE = 500;
+
+    private static final DrivingEvent.EventType[] EVENT_TYPES = DrivingEvent.EventType.values();
+
+    /**
+     * Bucket count column per event type, in ordinal order
+     */
+    private static final List<String> COUNT_COLUMNS = Arrays.stream(EVENT_TYPES)
+            .map(type -> type.name().toLowerCase(Locale.ROOT))
+            .toList();
+
+    private static final String UPSERT_SQL = "INSERT INTO driver_safety_buckets AS b " +
+            "(driver_id, company_id, slot, bucket_date, penalty, " + String.join(", ", COUNT_COLUMNS) +
+            ", created_at, updated_at) VALUES (?, ?, ?, ?, ?" + ", ?".repeat(COUNT_COLUMNS.size()) +
+            ", CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (driver_id, slot) DO UPDATE SET company_id = EXCLUDED.company_id, " +
+            accumulate("penalty") + ", " +
+            COUNT_COLUMNS.stream().map(DriverSafetyWindowService::accumulate).collect(Collectors.joining(", ")) +
+            ", bucket_date = EXCLUDED.bucket_date, updated_at = CURRENT_TIMESTAMP " +
+            // A late event for a day the slot has already moved past is outside the window
+            "WHERE b.bucket_date <= EXCLUDED.bucket_date";
+
+    private static final String SUM_SQL = "SELECT COALESCE(SUM(penalty), 0), " +
+            COUNT_COLUMNS.stream().map(c -> "COALESCE(SUM(" + c + "), 0)").collect(Collectors.joining(", ")) +
+            " FROM driver_safety_buckets WHERE driver_id = ? AND bucket_date BETWEEN ? AND ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DriverRepository driverRepository;
+    private final DriverLeaderboardIndex driverLeaderboardIndex;
+
+    public DriverSafetyWindowService(JdbcTemplate jdbcTemplate, DriverRepository driverRepository,
+                                     DriverLeaderboardIndex driverLeaderboardIndex) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.driverRepository = driverRepository;
+        this.driverLeaderboardIndex = driverLeaderboardIndex;
+    }
+
+    private static String accumulate(String column) {
+        return column + " = CASE WHEN b.bucket_date = EXCLUDED.bucket_date THEN b." + column +
+                " + EXCLUDED." + column + " ELSE EXCLUDED." + column + " END";
+    }
+
+    // ========== RECORDING ==========
+
+    /**
+     * Add a saved event to its driver's bucket and refresh the driver's score.
+     * Events outside the window do not change the score and are not bucketed.
+     */
+    public void record(DrivingEvent event) {
+        LocalDate day = event.getEventTime().toLocalDate();
+        if (!inWindow(day)) {
+            log.debug("Driving event {} on {} is outside the safety window", event.getId(), day);
+            return;
+        }
+        int[] bucket = new int[EVENT_TYPES.length + 1];
+        addToBucket(bucket, event);
+        jdbcTemplate.update(UPSERT_SQL, ps -> bind(ps, event.getDriverId(), event.getCompanyId(), day, bucket));
+        refreshScore(event.getDriverId(), event.getCompanyId());
+    }
+
+    /**
+     * Add a batch of saved events with one batched upsert of a bucket per driver and
+     * day, then refresh each driver's score once
+     */
+    public void recordAll(List<DrivingEvent> events) {
+        Map<BucketKey, int[]> buckets = new HashMap<>();
+        Map<Long, Long> companies = new HashMap<>();
+        for (DrivingEvent event : events) {
+            LocalDate day = event.getEventTime().toLocalDate();
+            if (inWindow(day)) {
+                addToBucket(buckets.computeIfAbsent(new BucketKey(event.getDriverId(), day),
+                        key -> new int[EVENT_TYPES.length + 1]), event);
+                companies.put(event.getDriverId(), event.getCompanyId());
+            }
+        }
+        upsertAll(buckets, companies);
+        companies.forEach(this::refreshScore);
+    }
+
+    private record BucketKey(long driverId, LocalDate day) {
+    }
+
+    /**
+     * Bucket layout: [penalty, count per event type in ordinal order]
+     */
+    private static void addToBucket(int[] bucket, DrivingEvent event) {
+        bucket[0] += penaltyOf(event);
+        bucket[event.getEventType().ordinal() + 1]++;
+    }
+
+    private void upsertAll(Map<BucketKey, int[]> buckets, Map<Long, Long> companies) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, new ArrayList<>(buckets.entrySet()), UPSERT_BATCH_SIZE,
+                (ps, entry) -> bind(ps, entry.getKey().driverId(), companies.get(entry.getKey().driverId()),
+                        entry.getKey().day(), entry.getValue()));
+    }
+
+    private static void bind(PreparedStatement ps, long driverId, long companyId, LocalDate day, int[] bucket)
+            throws SQLException {
+        int i = 1;
+        ps.setLong(i++, driverId);
+        ps.setLong(i++, companyId);
+        ps.setInt(i++, DriverSafetyBucket.slotOf(day));
+        ps.setDate(i++, Date.valueOf(day));
+        for (int value : bucket) {
+            ps.setInt(i++, value);
+        }
+    }
+
+    /**
+     * Recompute a driver's stored safety score from the window
+     */
+    public double refreshScore(Long driverId, Long companyId) {
+        double score = getWindow(driverId).score();
+        driverRepository.updateSafetyScore(driverId, score);
+        driverLeaderboardIndex.updateScore(companyId, driverId, score);
+        return score;
+    }
+
+    // ========== READS ==========
+
+    /**
+     * Penalty and event counts of the current window
+     */
+    @Transactional(readOnly = true)
+    public SafetyWindow getWindow(Long driverId) {
+        LocalDate today = LocalDate.now();
+        return sum(driverId, today.minusDays(DriverSafetyBucket.RING_DAYS - 1), today);
+    }
+
+    /**
+     * Event counts per type between two days (both inclusive) inside the window
+     */
+    @Transactional(readOnly = true)
+    public Map<DrivingEvent.EventType, Long> getCounts(Long driverId, LocalDate from, LocalDate to) {
+        return sum(driverId, from, to).counts();
+    }
+
+    /**
+     * Whether [start, end] is answerable from buckets: it starts at midnight of a
+     * day inside the window and ends at the end of a day or not before now
+     */
+    public boolean coversWholeDays(LocalDateTime start, LocalDateTime end) {
+        if (!start.toLocalTime().equals(LocalTime.MIDNIGHT) || !inWindow(start.toLocalDate())) {
+            return false;
+        }
+        return !end.isBefore(LocalDateTime.now()) || !end.toLocalTime().isBefore(LocalTime.of(23, 59, 59));
+    }
+
+    private SafetyWindow sum(Long driverId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.queryForObject(SUM_SQL, (rs, rowNum) -> {
+            Map<DrivingEvent.EventType, Long> counts = new EnumMap<>(DrivingEvent.EventType.class);
+            for (int i = 0; i < EVENT_TYPES.length; i++) {
+                long count = rs.getLong(i + 2);
+                if (count > 0) {
+                    counts.put(EVENT_TYPES[i], count);
+                }
+            }
+            return new SafetyWindow(rs.getInt(1), counts);
+        }, driverId, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    private static boolean inWindow(LocalDate day) {
+        LocalDate today = LocalDate.now();
+        return !day.isBefore(today.minusDays(DriverSafetyBucket.RING_DAYS - 1)) && !day.isAfter(today);
+    }
+
+    public record SafetyWindow(int penalty, Map<DrivingEvent.EventType, Long> counts) {
+
+        public double score() {
+            return Math.max(MIN_SAFETY_SCORE, Math.min(MAX_SAFETY_SCORE, BASE_SAFETY_SCORE - penalty));
+        }
+
+        public long totalEvents() {
+            return counts.values().stream().mapToLong(Long::longValue).sum();
+        }
+    }
+
+    // ========== WINDOW MAINTENANCE ==========
+
+    /**
+     * Scores recover as old days leave the window; refresh the drivers whose
+     * expired day had events
+     */
+    @Scheduled(cron = "0 5 0 * * *")
+    public void refreshExpiredScores() {
+        LocalDate expired = LocalDate.now().minusDays(DriverSafetyBucket.RING_DAYS);
+        Map<Long, Long> drivers = new HashMap<>();
+        jdbcTemplate.query("SELECT driver_id, company_id FROM driver_safety_buckets WHERE bucket_date = ?",
+                (ResultSet rs) -> {
+                    drivers.put(rs.getLong(1), rs.getLong(2));
+                },
+                Date.valueOf(expired));
+        drivers.forEach(this::refreshScore);
+        log.info("Refreshed safety scores of {} drivers after {} left the window", drivers.size(), expired);
+    }
+
+    /**
+     * Build buckets from stored events for drivers that have none, so events
+     * recorded before the buckets existed keep counting
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedMissingBuckets() {
+        LocalDate from = LocalDate.now().minusDays(DriverSafetyBucket.RING_DAYS - 1);
+        Map<BucketKey, int[]> buckets = new HashMap<>();
+        Map<Long, Long> companies = new HashMap<>();
+
+        jdbcTemplate.query("SELECT e.driver_id, e.company_id, e.event_time, e.event_type, e.severity, e.duration " +
+                        "FROM driving_events e WHERE e.event_time >= ? AND NOT EXISTS " +
+                        "(SELECT 1 FROM driver_safety_buckets b WHERE b.driver_id = e.driver_id)",
+                (ResultSet rs) -> {
+                    DrivingEvent event = toEvent(rs);
+                    LocalDate day = event.getEventTime().toLocalDate();
+                    if (day.isAfter(LocalDate.now())) {
+                        return;
+                    }
+                    addToBucket(buckets.computeIfAbsent(new BucketKey(event.getDriverId(), day),
+                            key -> new int[EVENT_TYPES.length + 1]), event);
+                    companies.put(event.getDriverId(), event.getCompanyId());
+                },
+                Timestamp.valueOf(from.atStartOfDay()));
+
+        upsertAll(buckets, companies);
+        companies.forEach(this::refreshScore);
+        if (!companies.isEmpty()) {
+            log.info("Seeded safety buckets for {} drivers ({} days) from driving events",
+                    companies.size(), buckets.size());
+        }
+    }
+
+    private static DrivingEvent toEvent(ResultSet rs) throws SQLException {
+        String severity = rs.getString("severity");
+        int duration = rs.getInt("duration");
+        boolean noDuration = rs.wasNull();
+        return DrivingEvent.builder()
+                .driverId(rs.getLong("driver_id"))
+                .companyId(rs.getLong("company_id"))
+                .eventTime(rs.getTimestamp("event_time").toLocalDateTime())
+                .eventType(DrivingEvent.EventType.valueOf(rs.getString("event_type")))
+                .severity(severity != null ? DrivingEvent.Severity.valueOf(severity) : null)
+                .duration(noDuration ? null : duration)
+                .build();
+    }
+
+    // ========== PENALTIES ==========
+
+    /**
+     * Penalty points of a single event
+     */
+    public static int penaltyOf(DrivingEvent event) {
+        int severityIndex = getSeverityIndex(event.getSeverity());
+
+        switch (event.getEventType()) {
+            case HARSH_BRAKING:
+                return HARSH_BRAKING_PENALTIES[severityIndex];
+            case SPEEDING:
+                return SPEEDING_PENALTIES[severityIndex];
+            case HARSH_ACCELERATION:
+                return HARSH_ACCELERATION_PENALTIES[severityIndex];
+            case HARSH_CORNERING:
+                return HARSH_CORNERING_PENALTIES[severityIndex];
+            case RAPID_LANE_CHANGE:
+                return RAPID_LANE_CHANGE_PENALTIES[severityIndex];
+            case IDLING:
+                // Penalty based on duration
+                if (event.getDuration() != null) {
+                    return (event.getDuration() / 300) * IDLING_PENALTY_PER_5_MINUTES;
+                }
+                return IDLING_PENALTY_PER_5_MINUTES;
+            case DISTRACTED_DRIVING:
+                // High penalty for distracted driving
+                return 10 + (severityIndex * 5);
+            default:
+                return 0;
+        }
+    }
+
+    private static int getSeverityIndex(DrivingEvent.Severity severity) {
+        if (severity == null) return 1; // Default to MEDIUM
+        switch (severity) {
+            case LOW: return 0;
+            case MEDIUM: return 1;
+            case HIGH: return 2;
+            case CRITICAL: return 3;
+            default: return 1;
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.evfleet.telematics.service;
+
+import com.evfleet.fleet.model.Vehicle;
+import com.evfleet.telematics.config.DrivingEventDetectionConfig;
+import com.evfleet.telematics.dto.VehicleTelemetryData;
+import com.evfleet.telematics.model.DrivingEvent;
+import com.evfleet.telematics.repository.DrivingEventRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Driving Event Detector
+ *
+ * Derives driving events from the synced telemetry of each vehicle, so drivers of
+ * devices that do not classify events themselves are scored the same way:
+ * - HARSH_BRAKING / HARSH_ACCELERATION: smoothed longitudinal acceleration beyond
+ *   the vehicle type's threshold; taken from {@code accelerationY}, or derived from
+ *   the speed change when consecutive samples are close enough
+ * - HARSH_CORNERING: smoothed lateral acceleration ({@code accelerationX}) beyond threshold
+ * - IDLING: ignition on and stationary for at least the configured period,
+ *   reported with its duration once the vehicle moves or switches off
+ *
+ * Each vehicle keeps its recent samples in primitive ring buffers. A threshold
+ * event fires once when the signal crosses it and re-arms only after the signal
+ * falls back below the release ratio, so one manoeuvre yields one event. Severity
+ * follows how far the signal exceeded the threshold.
+ *
+ * Events need the vehicle's current driver; detections on unassigned vehicles are dropped.
+ *
+ * Devices that classify events themselves are left alone: providers listed as
+ * self-classifying are skipped, and so is any vehicle that posted its own driving
+ * events recently.
+ *
+ * The only feed is the telemetry sync, which polls once per sync interval. At that
+ * rate the smoothing window holds a single sample and consecutive samples are too
+ * far apart to derive acceleration from speed, so polled vehicles get single-sample
+ * thresholding on reported accelerometer values only.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+public class DrivingEventDetector {
+
+    private static final double STANDARD_GRAVITY = 9.80665;
+    private static final String DESCRIPTION = "Detected from vehicle telemetry";
+
+    private final DrivingEventDetectionConfig config;
+    private final DrivingEventRepository drivingEventRepository;
+    private final DriverSafetyWindowService driverSafetyWindowService;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Long, VehicleSignal> signals = new ConcurrentHashMap<>();
+    private final Cache<Long, Boolean> selfReporting;
+
+    public DrivingEventDetector(DrivingEventDetectionConfig config,
+                                DrivingEventRepository drivingEventRepository,
+                                DriverSafetyWindowService driverSafetyWindowService,
+                                MeterRegistry meterRegistry) {
+        this.config = config;
+        this.drivingEventRepository = drivingEventRepository;
+        this.driverSafetyWindowService = driverSafetyWindowService;
+        this.meterRegistry = meterRegistry;
+        this.selfReporting = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofHours(config.getSelfReportingHours()))
+                .build();
+    }
+
+    /**
+     * Note vehicles whose devices posted their own driving events, so their
+     * telemetry is not classified a second time
+     */
+    public void markSelfReporting(Collection<Long> vehicleIds) {
+        for (Long vehicleId : vehicleIds) {
+            selfReporting.put(vehicleId, Boolean.TRUE);
+            signals.remove(vehicleId);
+        }
+    }
+
+    /**
+     * Feed one telemetry sample of a vehicle and store the events it completes
+     */
+    public List<DrivingEvent> process(Vehicle vehicle, VehicleTelemetryData data, String providerId) {
+        if (!config.isEnabled() || data.getTimestamp() == null) {
+            return List.of();
+        }
+        if (config.getSelfClassifyingProviders().contains(providerId)
+                || selfReporting.getIfPresent(vehicle.getId()) != null) {
+            return List.of();
+        }
+
+        VehicleSignal signal = signals.computeIfAbsent(vehicle.getId(), id -> new VehicleSignal(config.getRingSize()));
+        List<Detection> detections;
+        synchronized (signal) {
+            detections = signal.accept(data, config.thresholdsFor(vehicle.getType()), config);
+        }
+        if (detections.isEmpty()) {
+            return List.of();
+        }
+
+        Long driverId = vehicle.getCurrentDriverId();
+        if (driverId == null) {
+            log.debug("Dropping {} detected events of vehicle {}: no driver assigned",
+                    detections.size(), vehicle.getId());
+            return List.of();
+        }
+
+        List<DrivingEvent> events = new ArrayList<>(detections.size());
+        for (Detection detection : detections) {
+            events.add(DrivingEvent.builder()
+                    .driverId(driverId)
+                    .vehicleId(vehicle.getId())
+                    .companyId(vehicle.getCompanyId())
+                    .eventType(detection.type())
+                    .eventTime(toDateTime(detection.atMillis()))
+                    .latitude(data.getLatitude())
+                    .longitude(data.getLongitude())
+                    .speed(data.getSpeed())
+                    .gForce(detection.type() != DrivingEvent.EventType.IDLING
+                            ? BigDecimal.valueOf(detection.magnitude()).setScale(2, RoundingMode.HALF_UP) : null)
+                    .severity(detection.severity())
+                    .duration(detection.durationSeconds())
+                    .description(DESCRIPTION)
+                    .build());
+            meterRegistry.counter("telematics.detection.events", "type", detection.type().name()).increment();
+        }
+
+        List<DrivingEvent> saved = drivingEventRepository.saveAll(events);
+        driverSafetyWindowService.recordAll(saved);
+        log.debug("Detected {} driving events for vehicle {} (driver {})", saved.size(), vehicle.getId(), driverId);
+        return saved;
+    }
+
+    /**
+     * Drop buffered samples of vehicles that stopped reporting
+     */
+    @Scheduled(fixedDelay = 600_000)
+    public void evictStale() {
+        long cutoff = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(config.getStateTtlMinutes());
+        signals.values().removeIf(signal -> signal.lastSeenMillis < cutoff);
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+
+    private static DrivingEvent.Severity severityOf(double ratio) {
+        if (ratio < 1.25) return DrivingEvent.Severity.LOW;
+        if (ratio < 1.5) return DrivingEvent.Severity.MEDIUM;
+        if (ratio < 2.0) return DrivingEvent.Severity.HIGH;
+        return DrivingEvent.Severity.CRITICAL;
+    }
+
+    private record Detection(DrivingEvent.EventType type, long atMillis, double magnitude,
+                             DrivingEvent.Severity severity, Integer durationSeconds) {
+    }
+
+    /**
+     * Per-vehicle signal state; missing values are stored as NaN
+     */
+    private static final class VehicleSignal {
+        final long[] times;
+        final double[] longitudinal;
+        final double[] lateral;
+        final double[] speeds;
+        int head = -1;   // Index of the latest sample
+        int count;
+
+        boolean brakingLatched;
+        boolean accelerationLatched;
+        boolean corneringLatched;
+        long idleStartMillis = -1;
+        volatile long lastSeenMillis = System.currentTimeMillis();
+
+        VehicleSignal(int capacity) {
+            times = new long[capacity];
+            longitudinal = new double[capacity];
+            lateral = new double[capacity];
+            speeds = new double[capacity];
+        }
+
+        List<Detection> accept(VehicleTelemetryData data, DrivingEventDetectionConfig.Thresholds thresholds,
+                               DrivingEventDetectionConfig config) {
+            long t = toMillis(data.getTimestamp());
+            // Providers return the latest reading on every sync; repeats carry no new information
+            if (count > 0 && t <= times[head]) {
+                return List.of();
+            }
+            lastSeenMillis = System.currentTimeMillis();
+
+            double speed = data.getSpeed() != null ? data.getSpeed() : Double.NaN;
+            double longG = data.getAccelerationY() != null ? data.getAccelerationY() : Double.NaN;
+            if (Double.isNaN(longG) && count > 0 && !Double.isNaN(speed) && !Double.isNaN(speeds[head])
+                    && t - times[head] <= config.getMaxSpeedDerivationGapMs()) {
+                double seconds = (t - times[head]) / 1000.0;
+                longG = (speed - speeds[head]) / 3.6 / seconds / STANDARD_GRAVITY;
+            }
+            push(t, longG, data.getAccelerationX() != null ? data.getAccelerationX() : Double.NaN, speed);
+
+            List<Detection> detections = new ArrayList<>(1);
+            long windowStart = t - config.getSmoothingWindowMs();
+            double meanLong = windowMean(longitudinal, windowStart);
+            double meanLat = Math.abs(windowMean(lateral, windowStart));
+            double release = config.getReleaseRatio();
+
+            if (!Double.isNaN(meanLong)) {
+                brakingLatched = crossed(-meanLong, thresholds.getBrakingG(), release, brakingLatched,
+                        DrivingEvent.EventType.HARSH_BRAKING, t, detections);
+                accelerationLatched = crossed(meanLong, thresholds.getAccelerationG(), release, accelerationLatched,
+                        DrivingEvent.EventType.HARSH_ACCELERATION, t, detections);
+            }
+            if (!Double.isNaN(meanLat)) {
+                corneringLatched = crossed(meanLat, thresholds.getCorneringG(), release, corneringLatched,
+                        DrivingEvent.EventType.HARSH_CORNERING, t, detections);
+            }
+
+            boolean idle = Boolean.TRUE.equals(data.getIgnitionOn()) && !Double.isNaN(speed)
+                    && speed < config.getIdleSpeedKmh();
+            if (idle) {
+                if (idleStartMillis < 0) {
+                    idleStartMillis = t;
+                }
+            } else if (idleStartMillis >= 0) {
+                int seconds = (int) ((t - idleStartMillis) / 1000);
+                if (seconds >= config.getIdleMinSeconds()) {
+                    detections.add(new Detection(DrivingEvent.EventType.IDLING, idleStartMillis, 0, null, seconds));
+                }
+                idleStartMillis = -1;
+            }
+            return detections;
+        }
+
+        /**
+         * Fire when the signal reaches the threshold while armed; returns the new latch state
+         */
+        private static boolean crossed(double value, double threshold, double release, boolean latched,
+                                       DrivingEvent.EventType type, long t, List<Detection> detections) {
+            if (value >= threshold) {
+                if (!latched) {
+                    detections.add(new Detection(type, t, value, severityOf(value / threshold), null));
+                }
+                return true;
+            }
+            return latched && value > threshold * release;
+        }
+
+        private void push(long t, double longG, double latG, double speed) {
+            head = (head + 1) % times.length;
+            times[head] = t;
+            longitudinal[head] = longG;
+            lateral[head] = latG;
+            speeds[head] = speed;
+            if (count < times.length) {
+                count++;
+            }
+        }
+
+        /**
+         * Mean of the non-missing values sampled at or after {@code from}; NaN when none
+         */
+        private double windowMean(double[] values, long from) {
+            double sum = 0;
+            int n = 0;
+            for (int k = 0, i = head; k < count && times[i] >= from; k++, i = (i - 1 + times.length) % times.length) {
+                if (!Double.isNaN(values[i])) {
+                    sum += values[i];
+                    n++;
+                }
+            }
+            return n > 0 ? sum / n : Double.NaN;
+        }
+    }
+}
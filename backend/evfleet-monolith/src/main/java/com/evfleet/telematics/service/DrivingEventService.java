@@ -1,7 +1,6 @@
 package com.evfleet.telematics.service;
 
 import com.evfleet.common.exception.ResourceNotFoundException;
-import com.evfleet.driver.model.Driver;
 import com.evfleet.driver.repository.DriverRepository;
 import com.evfleet.telematics.dto.DrivingEventRequest;
 import com.evfleet.telematics.dto.DrivingEventResponse;
@@ -25,15 +24,8 @@ import java.util.stream.Collectors;
  * - Retrieving events by trip, driver, or vehicle
  * - Calculating driver safety scores
  *
- * Safety Score Algorithm:
- * - Base score: 100
- * - Harsh braking: -5 (LOW), -7 (MEDIUM), -10 (HIGH), -15 (CRITICAL)
- * - Speeding: -5 (LOW), -10 (MEDIUM), -15 (HIGH), -20 (CRITICAL)
- * - Harsh acceleration: -3 (LOW), -5 (MEDIUM), -7 (HIGH), -10 (CRITICAL)
- * - Harsh cornering: -3 (LOW), -5 (MEDIUM), -7 (HIGH), -10 (CRITICAL)
- * - Rapid lane change: -2 (LOW), -4 (MEDIUM), -6 (HIGH), -8 (CRITICAL)
- * - Idling: -1 per 5 minutes
- * - Minimum score: 0, Maximum score: 100
+ * Safety scores come from the driver's 30-day window of daily buckets, see
+ * {@link DriverSafetyWindowService} for the algorithm.
  *
  * @author SEV Platform Team
  * @version 1.0.0
@@ -46,18 +38,7 @@ public class DrivingEventService {
 
     private final DrivingEventRepository drivingEventRepository;
     private final DriverRepository driverRepository;
-
-    private static final int BASE_SAFETY_SCORE = 100;
-    private static final int MIN_SAFETY_SCORE = 0;
-    private static final int MAX_SAFETY_SCORE = 100;
-
-    // Penalty points by event type and severity
-    private static final int[][] HARSH_BRAKING_PENALTIES = {{5, 7, 10, 15}};
-    private static final int[][] SPEEDING_PENALTIES = {{5, 10, 15, 20}};
-    private static final int[][] HARSH_ACCELERATION_PENALTIES = {{3, 5, 7, 10}};
-    private static final int[][] HARSH_CORNERING_PENALTIES = {{3, 5, 7, 10}};
-    private static final int[][] RAPID_LANE_CHANGE_PENALTIES = {{2, 4, 6, 8}};
-    private static final int IDLING_PENALTY_PER_5_MINUTES = 1;
+    private final DriverSafetyWindowService driverSafetyWindowService;
 
     /**
      * Record a new driving event from telematics data.
@@ -122,8 +103,8 @@ public class DrivingEventService {
         DrivingEvent saved = drivingEventRepository.save(event);
         log.info("Driving event recorded: id={}, severity={}", saved.getId(), severity);
 
-        // Update driver safety score
-        updateDriverSafetyScore(request.getDriverId());
+        // Add to the driver's safety window and update the stored score
+        driverSafetyWindowService.record(saved);
 
         return DrivingEventResponse.fromEntity(saved);
     }
@@ -209,105 +190,17 @@ public class DrivingEventService {
 
     /**
      * Calculate driver safety score based on recent events.
-     * Uses a weighted algorithm considering event types and severities.
+     * Sums the penalties of the driver's last 30 daily buckets.
      * 
      * @param driverId The driver ID
      * @return Safety score (0-100)
      */
     @Transactional(readOnly = true)
     public double calculateDriverSafetyScore(Long driverId) {
-        log.info("Calculating safety score for driver: {}", driverId);
-        
-        // Look at events from last 30 days
-        LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
-        LocalDateTime now = LocalDateTime.now();
-        
-        List<DrivingEvent> recentEvents = drivingEventRepository.findByDriverIdAndEventTimeBetween(
-            driverId, thirtyDaysAgo, now);
-
-        if (recentEvents.isEmpty()) {
-            log.info("No recent events for driver {}, returning base score", driverId);
-            return BASE_SAFETY_SCORE;
-        }
-
-        int totalPenalty = 0;
-        
-        for (DrivingEvent event : recentEvents) {
-            totalPenalty += calculateEventPenalty(event);
-        }
-
-        int score = BASE_SAFETY_SCORE - totalPenalty;
-        
-        // Clamp score to valid range
-        score = Math.max(MIN_SAFETY_SCORE, Math.min(MAX_SAFETY_SCORE, score));
-        
-        log.info("Driver {} safety score: {} (penalty: {}, events: {})", 
-            driverId, score, totalPenalty, recentEvents.size());
-        
-        return score;
-    }
-
-    /**
-     * Calculate penalty points for a single event.
-     */
-    private int calculateEventPenalty(DrivingEvent event) {
-        int severityIndex = getSeverityIndex(event.getSeverity());
-        
-        switch (event.getEventType()) {
-            case HARSH_BRAKING:
-                return getPenalty(HARSH_BRAKING_PENALTIES, severityIndex);
-            case SPEEDING:
-                return getPenalty(SPEEDING_PENALTIES, severityIndex);
-            case HARSH_ACCELERATION:
-                return getPenalty(HARSH_ACCELERATION_PENALTIES, severityIndex);
-            case HARSH_CORNERING:
-                return getPenalty(HARSH_CORNERING_PENALTIES, severityIndex);
-            case RAPID_LANE_CHANGE:
-                return getPenalty(RAPID_LANE_CHANGE_PENALTIES, severityIndex);
-            case IDLING:
-                // Penalty based on duration
-                if (event.getDuration() != null) {
-                    return (event.getDuration() / 300) * IDLING_PENALTY_PER_5_MINUTES;
-                }
-                return IDLING_PENALTY_PER_5_MINUTES;
-            case DISTRACTED_DRIVING:
-                // High penalty for distracted driving
-                return 10 + (severityIndex * 5);
-            default:
-                return 0;
-        }
-    }
-
-    private int getSeverityIndex(DrivingEvent.Severity severity) {
-        if (severity == null) return 1; // Default to MEDIUM
-        switch (severity) {
-            case LOW: return 0;
-            case MEDIUM: return 1;
-            case HIGH: return 2;
-            case CRITICAL: return 3;
-            default: return 1;
-        }
-    }
-
-    private int getPenalty(int[][] penaltyTable, int severityIndex) {
-        if (penaltyTable.length > 0 && penaltyTable[0].length > severityIndex) {
-            return penaltyTable[0][severityIndex];
-        }
-        return 0;
-    }
-
-    /**
-     * Update driver's safety score in the database.
-     */
-    private void updateDriverSafetyScore(Long driverId) {
-        double newScore = calculateDriverSafetyScore(driverId);
-        
-        Driver driver = driverRepository.findById(driverId).orElse(null);
-        if (driver != null) {
-            driver.setSafetyScore(newScore);
-            driverRepository.save(driver);
-            log.info("Updated driver {} safety score to {}", driverId, newScore);
-        }
+        DriverSafetyWindowService.SafetyWindow window = driverSafetyWindowService.getWindow(driverId);
+        log.info("Driver {} safety score: {} (penalty: {}, events: {})",
+            driverId, window.score(), window.penalty(), window.totalEvents());
+        return window.score();
     }
 
     /**
@@ -321,22 +214,10 @@ public class DrivingEventService {
     }
 
     /**
-     * Get event breakdown for a driver (count per event type).
+     * Get event breakdown for a driver (count per event type) over the last 30 days.
      */
     @Transactional(readOnly = true)
     public java.util.Map<DrivingEvent.EventType, Long> getEventBreakdown(Long driverId) {
-        LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
-        LocalDateTime now = LocalDateTime.now();
-        
-        java.util.Map<DrivingEvent.EventType, Long> breakdown = new java.util.HashMap<>();
-        
-        for (DrivingEvent.EventType eventType : DrivingEvent.EventType.values()) {
-            long count = getEventCountByType(driverId, eventType, thirtyDaysAgo, now);
-            if (count > 0) {
-                breakdown.put(eventType, count);
-            }
-        }
-        
-        return breakdown;
+        return driverSafetyWindowService.getWindow(driverId).counts();
     }
 }
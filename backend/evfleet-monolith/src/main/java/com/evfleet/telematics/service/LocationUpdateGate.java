@@ -0,0 +1,91 @@
+package com.evfleet.telematics.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Location Update Gate
+ *
+ * Decides whether a telemetry sample is worth a VehicleLocationUpdatedEvent.
+ * Every event is dispatched on its own multicaster thread, so samples of a
+ * parked vehicle (or jitter within a few metres) are dropped. A sample passes when:
+ * - the vehicle moved at least the minimum distance since the last published position
+ * - the battery changed by at least the minimum SOC step
+ * - the last published position is older than the refresh interval, so listeners
+ *   still see stationary vehicles periodically
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Component
+public class LocationUpdateGate {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_000;
+
+    private final Cache<Long, Published> lastPublished;
+    private final double minDistanceMeters;
+    private final double minSocChange;
+    private final long refreshMillis;
+
+    public LocationUpdateGate(
+            @Value("${telematics.location-events.min-distance-meters:10}") double minDistanceMeters,
+            @Value("${telematics.location-events.min-soc-change:1.0}") double minSocChange,
+            @Value("${telematics.location-events.refresh-seconds:60}") long refreshSeconds) {
+        this.minDistanceMeters = minDistanceMeters;
+        this.minSocChange = minSocChange;
+        this.refreshMillis = Duration.ofSeconds(refreshSeconds).toMillis();
+        this.lastPublished = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(refreshSeconds * 2))
+                .build();
+    }
+
+    /**
+     * Record the sample and return true when it should be published
+     */
+    public boolean shouldPublish(Long vehicleId, double latitude, double longitude, Double batterySoc) {
+        long now = System.currentTimeMillis();
+        boolean[] publish = new boolean[1];
+        lastPublished.asMap().compute(vehicleId, (id, last) -> {
+            if (last == null
+                    || now - last.atMillis() >= refreshMillis
+                    || distanceMeters(last.latitude(), last.longitude(), latitude, longitude) >= minDistanceMeters
+                    || socChanged(last.batterySoc(), batterySoc)) {
+                publish[0] = true;
+                return new Published(latitude, longitude, batterySoc, now);
+            }
+            return last;
+        });
+        return publish[0];
+    }
+
+    /**
+     * Record a position that was published regardless of the thresholds, such as
+     * a trip's final position
+     */
+    public void markPublished(Long vehicleId, double latitude, double longitude, Double batterySoc) {
+        lastPublished.put(vehicleId, new Published(latitude, longitude, batterySoc, System.currentTimeMillis()));
+    }
+
+    private boolean socChanged(Double previous, Double current) {
+        if (current == null) {
+            return false;
+        }
+        return previous == null || Math.abs(current - previous) >= minSocChange;
+    }
+
+    /**
+     * Equirectangular approximation; accurate to well under a metre at these distances
+     */
+    private static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double x = Math.toRadians(lon2 - lon1) * Math.cos(Math.toRadians((lat1 + lat2) / 2));
+        double y = Math.toRadians(lat2 - lat1);
+        return Math.sqrt(x * x + y * y) * EARTH_RADIUS_METERS;
+    }
+
+    private record Published(double latitude, double longitude, Double batterySoc, long atMillis) {
+    }
+}
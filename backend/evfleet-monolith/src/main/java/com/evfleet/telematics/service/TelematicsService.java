@@ -8,6 +8,7 @@ import com.evfleet.fleet.model.Vehicle;
 import com.evfleet.fleet.repository.TripRepository;
 import com.evfleet.fleet.repository.VehicleRepository;
 import com.evfleet.telematics.dto.DrivingEventResponse;
+import com.evfleet.telematics.dto.TelematicsBatchResponse;
 import com.evfleet.telematics.dto.TelematicsEventRequest;
 import com.evfleet.telematics.model.DrivingEvent;
 import com.evfleet.telematics.provider.FlespiTelematicsProvider;
@@ -15,14 +16,23 @@ import com.evfleet.telematics.provider.TelemetryProvider;
 import com.evfleet.telematics.repository.DrivingEventRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -38,12 +48,36 @@ import java.util.stream.Collectors;
 @Transactional
 public class TelematicsService {
 
+    private static final String RESERVE_IDS_SQL =
+            "SELECT nextval(pg_get_serial_sequence('driving_events', 'id')) FROM generate_series(1, ?)";
+    private static final String INSERT_SQL_PREFIX = "INSERT INTO driving_events (id, trip_id, driver_id, vehicle_id, " +
+            "company_id, event_type, event_time, latitude, longitude, speed, g_force, severity, duration, " +
+            "speed_limit, description, created_at, updated_at) VALUES ";
+    private static final String INSERT_ROW =
+            "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)";
+    private static final int[] INSERT_ROW_TYPES = {
+            Types.BIGINT, Types.BIGINT, Types.BIGINT, Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.TIMESTAMP,
+            Types.DOUBLE, Types.DOUBLE, Types.DOUBLE, Types.NUMERIC, Types.VARCHAR, Types.INTEGER,
+            Types.DOUBLE, Types.VARCHAR
+    };
+
     private final DrivingEventRepository drivingEventRepository;
     private final VehicleRepository vehicleRepository;
     private final DriverRepository driverRepository;
     private final TripRepository tripRepository;
     private final List<TelemetryProvider> telemetryProviders;
     private final Optional<FlespiTelematicsProvider> flespiProvider;
+    private final DriverSafetyWindowService driverSafetyWindowService;
+    private final VehicleAssignmentCache vehicleAssignmentCache;
+    private final DrivingEventDetector drivingEventDetector;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${telematics.ingest.batch.max-size:1000}")
+    private int maxBatchSize;
+
+    // Rows per multi-row INSERT; 15 parameters per row
+    @Value("${telematics.ingest.batch.insert-chunk-size:500}")
+    private int insertChunkSize;
 
     /**
      * Ingest a telematics event from vehicle sensors
@@ -75,30 +109,223 @@ public class TelematicsService {
         Driver driver = driverRepository.findById(finalDriverId)
                 .orElseThrow(() -> new ResourceNotFoundException("Driver", "id", finalDriverId));
 
+        DrivingEvent.EventType eventType = DrivingEvent.EventType.lookup(request.getType());
+        if (eventType == null) {
+            throw new IllegalArgumentException("Unknown event type: " + request.getType());
+        }
+        DrivingEvent.Severity severity = DrivingEvent.Severity.lookup(request.getSeverity());
+        if (request.getSeverity() != null && severity == null) {
+            throw new IllegalArgumentException("Unknown severity: " + request.getSeverity());
+        }
+
         // Create driving event
-        DrivingEvent event = DrivingEvent.builder()
+        DrivingEvent event = toEvent(request, finalDriverId, vehicle.getCompanyId(), eventType, severity);
+
+        DrivingEvent saved = drivingEventRepository.save(event);
+        log.info("Telematics event recorded: id={}, type={}, driverId={}", 
+            saved.getId(), saved.getEventType(), saved.getDriverId());
+        driverSafetyWindowService.record(saved);
+        drivingEventDetector.markSelfReporting(List.of(saved.getVehicleId()));
+
+        return DrivingEventResponse.fromEntity(saved);
+    }
+
+    /**
+     * Ingest a burst of telematics events.
+     *
+     * Each event is validated on its own and gets a result at its index; accepted
+     * events are stored together. Round trips per batch: vehicle assignments (cached,
+     * misses loaded in bulk), trip drivers for events on unassigned vehicles, one
+     * multi-row insert per {@code insertChunkSize} events and the safety window update.
+     */
+    public TelematicsBatchResponse ingestEvents(List<TelematicsEventRequest> requests) {
+        log.info("Ingesting batch of {} telematics events", requests.size());
+        if (requests.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Batch exceeds the maximum of " + maxBatchSize + " events");
+        }
+
+        Set<Long> vehicleIds = requests.stream()
+                .filter(Objects::nonNull)
+                .map(TelematicsEventRequest::getVehicleId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, VehicleAssignmentCache.Assignment> assignments = vehicleAssignmentCache.getAll(vehicleIds);
+        Map<Long, Long> tripDrivers = resolveTripDrivers(requests, assignments);
+
+        TelematicsBatchResponse.ItemResult[] results = new TelematicsBatchResponse.ItemResult[requests.size()];
+        List<DrivingEvent> events = new ArrayList<>();
+        List<Integer> eventIndexes = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            TelematicsEventRequest request = requests.get(i);
+            String error = validate(request);
+            if (error != null) {
+                results[i] = TelematicsBatchResponse.ItemResult.rejected(i, error);
+                continue;
+            }
+            VehicleAssignmentCache.Assignment assignment = assignments.get(request.getVehicleId());
+            if (assignment == null) {
+                results[i] = TelematicsBatchResponse.ItemResult.rejected(i,
+                        "Vehicle not found with id: " + request.getVehicleId());
+                continue;
+            }
+            Long driverId = assignment.hasDriver() ? assignment.driverId()
+                    : request.getTripId() != null ? tripDrivers.get(request.getTripId()) : null;
+            if (driverId == null) {
+                results[i] = TelematicsBatchResponse.ItemResult.rejected(i,
+                        "Cannot record driving event: No driver assigned to vehicle");
+                continue;
+            }
+            events.add(toEvent(request, driverId, assignment.companyId(),
+                    DrivingEvent.EventType.lookup(request.getType()),
+                    DrivingEvent.Severity.lookup(request.getSeverity())));
+            eventIndexes.add(i);
+        }
+
+        insertAll(events);
+        driverSafetyWindowService.recordAll(events);
+        drivingEventDetector.markSelfReporting(
+                events.stream().map(DrivingEvent::getVehicleId).collect(Collectors.toSet()));
+
+        for (int k = 0; k < events.size(); k++) {
+            DrivingEvent event = events.get(k);
+            int index = eventIndexes.get(k);
+            results[index] = TelematicsBatchResponse.ItemResult.accepted(index, event.getId(), event.getDriverId());
+        }
+        log.info("Telematics batch ingested: {} accepted, {} rejected",
+                events.size(), requests.size() - events.size());
+
+        return TelematicsBatchResponse.builder()
+                .received(requests.size())
+                .accepted(events.size())
+                .rejected(requests.size() - events.size())
+                .results(List.of(results))
+                .build();
+    }
+
+    /**
+     * Drivers of the trips referenced by events on vehicles without a current
+     * driver, restricted to drivers that exist
+     */
+    private Map<Long, Long> resolveTripDrivers(List<TelematicsEventRequest> requests,
+                                               Map<Long, VehicleAssignmentCache.Assignment> assignments) {
+        Set<Long> tripIds = new HashSet<>();
+        for (TelematicsEventRequest request : requests) {
+            if (request == null || request.getTripId() == null) {
+                continue;
+            }
+            VehicleAssignmentCache.Assignment assignment = assignments.get(request.getVehicleId());
+            if (assignment != null && !assignment.hasDriver()) {
+                tripIds.add(request.getTripId());
+            }
+        }
+        if (tripIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, Long> tripDrivers = new HashMap<>();
+        for (Object[] row : tripRepository.findDriverIdsByIdIn(tripIds)) {
+            if (row[1] != null) {
+                tripDrivers.put((Long) row[0], (Long) row[1]);
+            }
+        }
+        if (!tripDrivers.isEmpty()) {
+            Set<Long> existing = new HashSet<>(driverRepository.findExistingIds(new HashSet<>(tripDrivers.values())));
+            tripDrivers.values().removeIf(driverId -> !existing.contains(driverId));
+        }
+        return tripDrivers;
+    }
+
+    /**
+     * Field checks of one batched event, mirroring the single-event request
+     * constraints; null when valid
+     */
+    private static String validate(TelematicsEventRequest request) {
+        if (request == null) {
+            return "Event is required";
+        }
+        if (request.getVehicleId() == null) {
+            return "Vehicle ID is required";
+        }
+        if (request.getType() == null) {
+            return "Event type is required";
+        }
+        if (request.getTimestamp() == null) {
+            return "Event timestamp is required";
+        }
+        if (DrivingEvent.EventType.lookup(request.getType()) == null) {
+            return "Unknown event type: " + request.getType();
+        }
+        if (request.getSeverity() != null && DrivingEvent.Severity.lookup(request.getSeverity()) == null) {
+            return "Unknown severity: " + request.getSeverity();
+        }
+        if (request.getLatitude() != null && (request.getLatitude() < -90 || request.getLatitude() > 90)) {
+            return "Latitude must be between -90 and 90";
+        }
+        if (request.getLongitude() != null && (request.getLongitude() < -180 || request.getLongitude() > 180)) {
+            return "Longitude must be between -180 and 180";
+        }
+        return null;
+    }
+
+    private static DrivingEvent toEvent(TelematicsEventRequest request, Long driverId, Long companyId,
+                                        DrivingEvent.EventType eventType, DrivingEvent.Severity severity) {
+        return DrivingEvent.builder()
                 .tripId(request.getTripId())
-                .driverId(finalDriverId)
+                .driverId(driverId)
                 .vehicleId(request.getVehicleId())
-                .companyId(vehicle.getCompanyId())
-                .eventType(DrivingEvent.EventType.valueOf(request.getType().toUpperCase()))
+                .companyId(companyId)
+                .eventType(eventType)
                 .eventTime(request.getTimestamp())
                 .latitude(request.getLatitude())
                 .longitude(request.getLongitude())
                 .speed(request.getSpeed())
                 .gForce(request.getGForce())
-                .severity(request.getSeverity() != null ? 
-                    DrivingEvent.Severity.valueOf(request.getSeverity().toUpperCase()) : null)
+                .severity(severity)
                 .duration(request.getDuration())
                 .speedLimit(request.getSpeedLimit())
                 .description(request.getDescription())
                 .build();
+    }
 
-        DrivingEvent saved = drivingEventRepository.save(event);
-        log.info("Telematics event recorded: id={}, type={}, driverId={}", 
-            saved.getId(), saved.getEventType(), saved.getDriverId());
+    /**
+     * Store events with one multi-row INSERT per chunk. Ids are reserved from the
+     * table's sequence up front and inserted with the rows, since PostgreSQL does
+     * not promise RETURNING rows in VALUES order; creation times are read back by id.
+     */
+    private void insertAll(List<DrivingEvent> events) {
+        for (int from = 0; from < events.size(); from += insertChunkSize) {
+            List<DrivingEvent> chunk = events.subList(from, Math.min(events.size(), from + insertChunkSize));
+            Object[] args = new Object[chunk.size() * INSERT_ROW_TYPES.length];
+            int[] types = new int[args.length];
+            List<Long> ids = jdbcTemplate.queryForList(RESERVE_IDS_SQL, Long.class, chunk.size());
+            int p = 0;
+            for (int k = 0; k < chunk.size(); k++) {
+                DrivingEvent event = chunk.get(k);
+                event.setId(ids.get(k));
+                Object[] row = {
+                        event.getId(), event.getTripId(), event.getDriverId(), event.getVehicleId(), event.getCompanyId(),
+                        event.getEventType().name(), Timestamp.valueOf(event.getEventTime()),
+                        event.getLatitude(), event.getLongitude(), event.getSpeed(), event.getGForce(),
+                        event.getSeverity() != null ? event.getSeverity().name() : null,
+                        event.getDuration(), event.getSpeedLimit(), event.getDescription()
+                };
+                System.arraycopy(row, 0, args, p, row.length);
+                System.arraycopy(INSERT_ROW_TYPES, 0, types, p, row.length);
+                p += row.length;
+            }
 
-        return DrivingEventResponse.fromEntity(saved);
+            String sql = INSERT_SQL_PREFIX + String.join(", ", Collections.nCopies(chunk.size(), INSERT_ROW)) +
+                    " RETURNING id, created_at";
+            Map<Long, LocalDateTime> createdAt = new HashMap<>(chunk.size() * 2);
+            jdbcTemplate.query(sql, args, types,
+                    rs -> {
+                        createdAt.put(rs.getLong(1), rs.getTimestamp(2).toLocalDateTime());
+                    });
+            for (DrivingEvent event : chunk) {
+                event.setCreatedAt(createdAt.get(event.getId()));
+                event.setUpdatedAt(event.getCreatedAt());
+            }
+        }
     }
 
     /**
@@ -151,14 +378,21 @@ public class TelematicsService {
     public DriverEventStats getDriverEventStats(Long driverId, LocalDateTime start, LocalDateTime end) {
         log.info("Calculating event statistics for driver: {} between {} and {}", driverId, start, end);
         
-        long harshBraking = drivingEventRepository.countByDriverIdAndEventTypeAndEventTimeBetween(
-            driverId, DrivingEvent.EventType.HARSH_BRAKING, start, end);
-        long harshAcceleration = drivingEventRepository.countByDriverIdAndEventTypeAndEventTimeBetween(
-            driverId, DrivingEvent.EventType.HARSH_ACCELERATION, start, end);
-        long speeding = drivingEventRepository.countByDriverIdAndEventTypeAndEventTimeBetween(
-            driverId, DrivingEvent.EventType.SPEEDING, start, end);
-        long idling = drivingEventRepository.countByDriverIdAndEventTypeAndEventTimeBetween(
-            driverId, DrivingEvent.EventType.IDLING, start, end);
+        // Whole days inside the safety window are summed from its daily buckets
+        Map<DrivingEvent.EventType, Long> counts;
+        if (driverSafetyWindowService.coversWholeDays(start, end)) {
+            counts = driverSafetyWindowService.getCounts(driverId, start.toLocalDate(), end.toLocalDate());
+        } else {
+            counts = new HashMap<>();
+            for (Object[] row : drivingEventRepository.countByDriverIdGroupedByEventType(driverId, start, end)) {
+                counts.put((DrivingEvent.EventType) row[0], ((Number) row[1]).longValue());
+            }
+        }
+
+        long harshBraking = counts.getOrDefault(DrivingEvent.EventType.HARSH_BRAKING, 0L);
+        long harshAcceleration = counts.getOrDefault(DrivingEvent.EventType.HARSH_ACCELERATION, 0L);
+        long speeding = counts.getOrDefault(DrivingEvent.EventType.SPEEDING, 0L);
+        long idling = counts.getOrDefault(DrivingEvent.EventType.IDLING, 0L);
 
         return new DriverEventStats(harshBraking, harshAcceleration, speeding, idling);
     }
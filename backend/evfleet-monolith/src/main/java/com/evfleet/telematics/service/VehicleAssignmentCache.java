@@ -0,0 +1,100 @@
+package com.evfleet.telematics.service;
+
+import com.evfleet.driver.repository.DriverRepository;
+import com.evfleet.fleet.repository.VehicleRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Vehicle Assignment Cache
+ *
+ * Node-local cache of vehicle → (company, current driver) used to attribute
+ * ingested driving events without reading the vehicle for every event. Misses are
+ * loaded in bulk: one query for the vehicles and one to check their drivers exist.
+ * A driver id that no longer exists is cached as unassigned.
+ *
+ * Entries expire after a short TTL; trip start and completion on this node evict
+ * the vehicle right away, so only assignments changed outside trips (or on another
+ * node) can be served stale, for at most the TTL.
+ *
+ * @author SEV Platform Team
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+public class VehicleAssignmentCache {
+
+    private final VehicleRepository vehicleRepository;
+    private final DriverRepository driverRepository;
+    private final Cache<Long, Assignment> assignments;
+
+    public VehicleAssignmentCache(VehicleRepository vehicleRepository,
+                                  DriverRepository driverRepository,
+                                  @Value("${telematics.ingest.assignment-cache.ttl-seconds:30}") long ttlSeconds,
+                                  @Value("${telematics.ingest.assignment-cache.max-size:50000}") long maxSize) {
+        this.vehicleRepository = vehicleRepository;
+        this.driverRepository = driverRepository;
+        this.assignments = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    /**
+     * Assignments of the given vehicles; vehicles that do not exist are absent from the result
+     */
+    public Map<Long, Assignment> getAll(Collection<Long> vehicleIds) {
+        return assignments.getAll(vehicleIds, this::load);
+    }
+
+    public void evict(Long vehicleId) {
+        assignments.invalidate(vehicleId);
+    }
+
+    private Map<Long, Assignment> load(Set<? extends Long> vehicleIds) {
+        List<Object[]> rows = vehicleRepository.findAssignmentsByIdIn(List.copyOf(vehicleIds));
+
+        Set<Long> driverIds = new HashSet<>();
+        for (Object[] row : rows) {
+            if (row[2] != null) {
+                driverIds.add((Long) row[2]);
+            }
+        }
+        Set<Long> existingDrivers = driverIds.isEmpty()
+                ? Set.of()
+                : new HashSet<>(driverRepository.findExistingIds(driverIds));
+
+        Map<Long, Assignment> loaded = new HashMap<>();
+        for (Object[] row : rows) {
+            Long driverId = (Long) row[2];
+            if (driverId != null && !existingDrivers.contains(driverId)) {
+                log.warn("Vehicle {} is assigned to missing driver {}", row[0], driverId);
+                driverId = null;
+            }
+            loaded.put((Long) row[0], new Assignment((Long) row[1], driverId));
+        }
+        log.debug("Loaded {} vehicle assignments ({} requested)", loaded.size(), vehicleIds.size());
+        return loaded;
+    }
+
+    /**
+     * Vehicle's company and current driver (null when unassigned)
+     */
+    public record Assignment(Long companyId, Long driverId) {
+
+        public boolean hasDriver() {
+            return driverId != null;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.evfleet.telematics.service;
 
+import com.evfleet.common.event.EventPublisher;
+import com.evfleet.fleet.event.VehicleLocationUpdatedEvent;
+import com.evfleet.fleet.event.VehicleOdometerUpdatedEvent;
 import com.evfleet.fleet.model.Vehicle;
 import com.evfleet.fleet.repository.VehicleRepository;
 import com.evfleet.telematics.dto.VehicleTelemetryData;
@@ -26,9 +29,14 @@ public class VehicleTelemetryService {
 
     private final VehicleRepository vehicleRepository;
     private final List<TelemetryProvider> providers;
+    private final EventPublisher eventPublisher;
+    private final LocationUpdateGate locationUpdateGate;
 
-    public VehicleTelemetryService(VehicleRepository vehicleRepository, List<TelemetryProvider> providers) {
+    public VehicleTelemetryService(VehicleRepository vehicleRepository, List<TelemetryProvider> providers,
+                                   EventPublisher eventPublisher, LocationUpdateGate locationUpdateGate) {
         this.vehicleRepository = vehicleRepository;
+        this.eventPublisher = eventPublisher;
+        this.locationUpdateGate = locationUpdateGate;
         this.providers = providers != null ? providers : new ArrayList<>();
         log.info("VehicleTelemetryService initialized with {} providers", this.providers.size());
 
@@ -136,6 +144,21 @@ public class VehicleTelemetryService {
         log.info("Vehicle {} updated with telemetry data from {}",
             vehicleId, telemetry.getProviderName());
 
+        if (telemetry.getOdometer() != null) {
+            eventPublisher.publish(new VehicleOdometerUpdatedEvent(
+                this, vehicleId, vehicle.getCompanyId(), vehicle.getType(), telemetry.getOdometer()
+            ));
+        }
+
+        if (telemetry.getLatitude() != null && telemetry.getLongitude() != null
+                && locationUpdateGate.shouldPublish(vehicleId, telemetry.getLatitude(), telemetry.getLongitude(),
+                        vehicle.getCurrentBatterySoc())) {
+            eventPublisher.publish(new VehicleLocationUpdatedEvent(
+                this, vehicleId, vehicle.getCompanyId(),
+                telemetry.getLatitude(), telemetry.getLongitude(), vehicle.getCurrentBatterySoc()
+            ));
+        }
+
         return true;
     }
 
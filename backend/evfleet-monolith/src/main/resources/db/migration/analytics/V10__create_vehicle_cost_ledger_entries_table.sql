@@ -0,0 +1,25 @@
+-- Vehicle Cost Ledger Entries Table
+-- V10: Source records counted in each cost ledger, making ledger increments idempotent
+
+CREATE TABLE IF NOT EXISTS vehicle_cost_ledger_entries (
+    id BIGSERIAL PRIMARY KEY,
+    source_type VARCHAR(20) NOT NULL,
+    source_id BIGINT NOT NULL,
+    vehicle_id BIGINT NOT NULL,
+    amount DECIMAL(16, 3) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT uk_cost_ledger_entry_source UNIQUE (source_type, source_id),
+    CONSTRAINT chk_cost_ledger_entry_source CHECK (source_type IN ('TRIP', 'CHARGING', 'MAINTENANCE'))
+);
+
+CREATE INDEX idx_cost_ledger_entry_vehicle ON vehicle_cost_ledger_entries(vehicle_id);
+
+-- Existing ledgers were seeded without entries; clear them so the next read or
+-- weekly rebuild seeds them again from history
+DELETE FROM vehicle_cost_ledgers;
+
+COMMENT ON TABLE vehicle_cost_ledger_entries IS 'Trips, charging sessions and completed maintenance counted in vehicle_cost_ledgers';
+COMMENT ON COLUMN vehicle_cost_ledger_entries.amount IS 'Distance in km for trips, cost in INR otherwise';
+COMMENT ON COLUMN vehicle_cost_ledgers.seeded_at IS 'Last rebuild from history';
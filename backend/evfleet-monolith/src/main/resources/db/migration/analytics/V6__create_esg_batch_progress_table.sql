@@ -0,0 +1,25 @@
+-- ESG Batch Progress Table
+-- V6: Per-company checkpoints for scheduled ESG report batches
+
+CREATE TABLE IF NOT EXISTS esg_batch_progress (
+    id BIGSERIAL PRIMARY KEY,
+    batch_key VARCHAR(50) NOT NULL,
+    company_id BIGINT NOT NULL,
+    period_start DATE NOT NULL,
+    period_end DATE NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    report_id BIGINT,
+    error_message VARCHAR(500),
+    completed_at TIMESTAMP,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT chk_esg_batch_status CHECK (status IN ('PENDING', 'COMPLETED', 'FAILED')),
+    CONSTRAINT uk_esg_batch_company UNIQUE (batch_key, company_id)
+);
+
+CREATE INDEX idx_esg_batch_status ON esg_batch_progress(batch_key, status);
+
+COMMENT ON TABLE esg_batch_progress IS 'Per-company progress of scheduled ESG report batches, used to resume after restart';
+COMMENT ON COLUMN esg_batch_progress.batch_key IS 'Batch identifier, e.g. MONTHLY:2025-01';
@@ -0,0 +1,18 @@
+-- Vehicle Cost Ledgers Table
+-- V7: Running per-vehicle TCO inputs, maintained from trip, charging and maintenance events
+
+CREATE TABLE IF NOT EXISTS vehicle_cost_ledgers (
+    vehicle_id BIGINT PRIMARY KEY,
+    company_id BIGINT NOT NULL,
+    total_distance_km DOUBLE PRECISION NOT NULL DEFAULT 0,
+    charging_cost DECIMAL(14, 2) NOT NULL DEFAULT 0,
+    maintenance_cost DECIMAL(14, 2) NOT NULL DEFAULT 0,
+    seeded_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_cost_ledger_company ON vehicle_cost_ledgers(company_id);
+
+COMMENT ON TABLE vehicle_cost_ledgers IS 'Lifetime distance and spend per vehicle, used as TCO inputs';
+COMMENT ON COLUMN vehicle_cost_ledgers.seeded_at IS 'Last rebuild from history; earlier events are already included';
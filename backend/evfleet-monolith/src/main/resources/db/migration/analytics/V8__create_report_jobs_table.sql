@@ -0,0 +1,29 @@
+-- Report Jobs Table
+-- V8: Asynchronously rendered reports, deduplicated by content hash
+
+CREATE TABLE IF NOT EXISTS report_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    job_id VARCHAR(36) NOT NULL,
+    report_type VARCHAR(20) NOT NULL,
+    subject_id BIGINT NOT NULL,
+    request_payload TEXT,
+    content_hash VARCHAR(64) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'QUEUED',
+    file_name VARCHAR(100),
+    size_bytes BIGINT,
+    error_message VARCHAR(500),
+    started_at TIMESTAMP,
+    completed_at TIMESTAMP,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT chk_report_job_type CHECK (report_type IN ('VEHICLE_PDF', 'GENEALOGY_PDF', 'ESG_CSV')),
+    CONSTRAINT chk_report_job_status CHECK (status IN ('QUEUED', 'RUNNING', 'COMPLETED', 'FAILED')),
+    CONSTRAINT uk_report_job_id UNIQUE (job_id),
+    CONSTRAINT uk_report_job_hash UNIQUE (content_hash)
+);
+
+CREATE INDEX idx_report_job_status ON report_jobs(status, updated_at);
+
+COMMENT ON TABLE report_jobs IS 'Asynchronous report renders; results are stored on disk next to document uploads';
+COMMENT ON COLUMN report_jobs.content_hash IS 'SHA-256 of report type, parameters and a fingerprint of the underlying data';
@@ -0,0 +1,46 @@
+-- Battery Degradation Fits Table
+-- V9: Per-vehicle SOH degradation lines and end-of-life projections
+
+CREATE TABLE IF NOT EXISTS battery_degradation_fits (
+    vehicle_id BIGINT PRIMARY KEY,
+    company_id BIGINT NOT NULL,
+    origin_at TIMESTAMP NOT NULL,
+    sample_count INTEGER NOT NULL DEFAULT 0,
+
+    -- Weighted running sums (x = days since origin, c = cycles, y = SOH)
+    weight_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    sum_x DOUBLE PRECISION NOT NULL DEFAULT 0,
+    sum_y DOUBLE PRECISION NOT NULL DEFAULT 0,
+    sum_xx DOUBLE PRECISION NOT NULL DEFAULT 0,
+    sum_xy DOUBLE PRECISION NOT NULL DEFAULT 0,
+    sum_yy DOUBLE PRECISION NOT NULL DEFAULT 0,
+    sum_c DOUBLE PRECISION NOT NULL DEFAULT 0,
+    sum_cc DOUBLE PRECISION NOT NULL DEFAULT 0,
+    sum_cy DOUBLE PRECISION NOT NULL DEFAULT 0,
+    residual_scale DOUBLE PRECISION NOT NULL DEFAULT 0,
+
+    -- Fitted lines
+    intercept DOUBLE PRECISION,
+    slope_per_day DOUBLE PRECISION,
+    cycle_intercept DOUBLE PRECISION,
+    slope_per_cycle DOUBLE PRECISION,
+    r_squared DOUBLE PRECISION,
+
+    -- Latest reading and projection
+    last_soh DOUBLE PRECISION NOT NULL,
+    last_cycle_count INTEGER NOT NULL,
+    last_recorded_at TIMESTAMP NOT NULL,
+    eol_soh DOUBLE PRECISION NOT NULL,
+    projected_eol_date DATE,
+    projected_eol_cycles INTEGER,
+
+    fitted_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_degradation_company_eol ON battery_degradation_fits(company_id, projected_eol_date);
+
+COMMENT ON TABLE battery_degradation_fits IS 'Robust SOH-vs-time and SOH-vs-cycles lines per vehicle, refit nightly and updated per reading';
+COMMENT ON COLUMN battery_degradation_fits.residual_scale IS 'Robust residual standard deviation used to weight readings added between refits';
+COMMENT ON COLUMN battery_degradation_fits.projected_eol_date IS 'Date the time line reaches eol_soh; NULL when SOH is not declining';
@@ -0,0 +1,33 @@
+-- V3__create_renewal_pipeline_tables.sql
+-- Idempotency keys and email outbox for the subscription renewal pipeline
+
+-- One row per side effect (renewal invoice, notification) already performed;
+-- inserted in the same transaction as the effect so reruns skip it
+CREATE TABLE IF NOT EXISTS billing_idempotency_keys (
+    idempotency_key VARCHAR(200) PRIMARY KEY,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_bik_created_at ON billing_idempotency_keys(created_at);
+
+-- Emails written with the business change and delivered by a background dispatcher
+CREATE TABLE IF NOT EXISTS billing_email_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    recipient VARCHAR(320) NOT NULL,
+    subject VARCHAR(500) NOT NULL,
+    body TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_error VARCHAR(500),
+    sent_at TIMESTAMP,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT chk_beo_status CHECK (status IN ('PENDING', 'SENT', 'FAILED'))
+);
+
+CREATE INDEX IF NOT EXISTS idx_beo_status_next_attempt ON billing_email_outbox(status, next_attempt_at, id);
+
+-- Renewal pipeline selects due subscriptions with keyset paging over id
+CREATE INDEX IF NOT EXISTS idx_subscriptions_status_end_date ON subscriptions(status, end_date, id);
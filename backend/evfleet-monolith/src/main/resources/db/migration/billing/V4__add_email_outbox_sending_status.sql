@@ -0,0 +1,9 @@
+-- V4__add_email_outbox_sending_status.sql
+-- Outbox messages are leased (SENDING) while a dispatcher delivers them outside
+-- the claiming transaction; an expired lease makes the message claimable again
+
+ALTER TABLE billing_email_outbox DROP CONSTRAINT IF EXISTS chk_beo_status;
+ALTER TABLE billing_email_outbox
+    ADD CONSTRAINT chk_beo_status CHECK (status IN ('PENDING', 'SENDING', 'SENT', 'FAILED'));
+
+COMMENT ON COLUMN billing_email_outbox.next_attempt_at IS 'PENDING: earliest retry time; SENDING: lease expiry';
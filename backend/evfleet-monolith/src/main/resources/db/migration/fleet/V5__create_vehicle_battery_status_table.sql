@@ -0,0 +1,30 @@
+-- Vehicle Battery Status Table
+-- V5: Latest battery health reading per vehicle, maintained on every recorded reading
+
+CREATE TABLE IF NOT EXISTS vehicle_battery_status (
+    vehicle_id BIGINT PRIMARY KEY,
+    company_id BIGINT NOT NULL,
+    battery_health_id BIGINT NOT NULL,
+    soh DOUBLE PRECISION NOT NULL,
+    current_soc DOUBLE PRECISION,
+    cycle_count INTEGER NOT NULL,
+    recorded_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_battery_status_vehicle FOREIGN KEY (vehicle_id) REFERENCES vehicles(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_battery_status_company ON vehicle_battery_status(company_id);
+
+-- Seed from existing history
+INSERT INTO vehicle_battery_status
+    (vehicle_id, company_id, battery_health_id, soh, current_soc, cycle_count, recorded_at)
+SELECT DISTINCT ON (bh.vehicle_id)
+       bh.vehicle_id, v.company_id, bh.id, bh.soh, bh.current_soc, bh.cycle_count, bh.recorded_at
+FROM battery_health bh
+JOIN vehicles v ON v.id = bh.vehicle_id
+ORDER BY bh.vehicle_id, bh.recorded_at DESC, bh.id DESC
+ON CONFLICT (vehicle_id) DO NOTHING;
+
+COMMENT ON TABLE vehicle_battery_status IS 'Latest battery health reading per vehicle, for fleet-wide battery analytics';
+COMMENT ON COLUMN vehicle_battery_status.battery_health_id IS 'Source row in battery_health';
@@ -0,0 +1,5 @@
+-- Maintenance Alert Indexes
+-- V2: Alerts are read per company in (scheduled_date, id) order with keyset pagination
+
+CREATE INDEX IF NOT EXISTS idx_maintenance_company_scheduled
+    ON maintenance_records(company_id, scheduled_date, id);
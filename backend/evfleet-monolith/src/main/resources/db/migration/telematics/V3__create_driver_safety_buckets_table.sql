@@ -0,0 +1,30 @@
+-- V3__create_driver_safety_buckets_table.sql
+-- Daily safety penalty and event counts per driver, kept as a 30-slot ring
+-- (slot = epoch day mod 30) covering the safety scoring window
+
+CREATE TABLE IF NOT EXISTS driver_safety_buckets (
+    id BIGSERIAL PRIMARY KEY,
+    driver_id BIGINT NOT NULL,
+    company_id BIGINT NOT NULL,
+    slot INTEGER NOT NULL,
+    bucket_date DATE NOT NULL,
+    penalty INTEGER NOT NULL DEFAULT 0,
+
+    -- Event counts per type
+    harsh_braking INTEGER NOT NULL DEFAULT 0,
+    harsh_acceleration INTEGER NOT NULL DEFAULT 0,
+    harsh_cornering INTEGER NOT NULL DEFAULT 0,
+    speeding INTEGER NOT NULL DEFAULT 0,
+    idling INTEGER NOT NULL DEFAULT 0,
+    rapid_lane_change INTEGER NOT NULL DEFAULT 0,
+    distracted_driving INTEGER NOT NULL DEFAULT 0,
+
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT uk_safety_bucket_driver_slot UNIQUE (driver_id, slot),
+    CONSTRAINT chk_safety_bucket_slot CHECK (slot >= 0 AND slot < 30)
+);
+
+COMMENT ON TABLE driver_safety_buckets IS 'Ring of daily safety buckets per driver; a slot is reused 30 days later';
+COMMENT ON COLUMN driver_safety_buckets.bucket_date IS 'Day the slot currently holds; slots older than the window are ignored';